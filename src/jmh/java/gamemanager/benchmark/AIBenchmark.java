@@ -0,0 +1,67 @@
+package gamemanager.benchmark;
+
+import gamemanager.core.AIManager;
+import gameobject.ball.Ball;
+import gameobject.paddle.Paddle;
+import gameobject.powerup.Powerup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static gameconfig.GameConfig.*;
+
+/**
+ * AIBenchmark - Một lần AIManager.update với 1, 10, 300 bóng đang rơi về phía paddle
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AIBenchmark {
+
+    @Param({"1", "10", "300"})
+    public int ballCount;
+
+    private AIManager ai;
+    private Paddle paddle;
+    private final List<Ball> balls = new ArrayList<>();
+    private final List<Powerup> powerups = new ArrayList<>();
+    private double tpf;
+
+    @Setup
+    public void setup() {
+        tpf = 1.0 / DEFAULT_TICK_RATE;
+        paddle = new Paddle(GAME_WIDTH / 2 - PADDLE_WIDTH / 2, GAME_HEIGHT - 50, PADDLE_WIDTH, PADDLE_HEIGHT, PADDLE_SPEED);
+        ai = new AIManager(paddle, new Random(7));
+
+        Random random = new Random(8);
+        balls.clear();
+        for (int i = 0; i < ballCount; i++) {
+            Ball ball = new Ball(random.nextDouble() * GAME_WIDTH, random.nextDouble() * GAME_HEIGHT / 2,
+                    BALL_RADIUS, BALL_SPEED);
+            ball.launch(random.nextDouble() - 0.5, 1.0);
+            balls.add(ball);
+        }
+    }
+
+    @Benchmark
+    public double update() {
+        ai.update(balls, powerups, tpf);
+        return paddle.getX();
+    }
+}
@@ -0,0 +1,81 @@
+package gamemanager.benchmark;
+
+import gamemanager.core.BallHash;
+import gamemanager.core.LevelManager;
+import gamemanager.manager.CollisionManager;
+import gameobject.ball.Ball;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static gameconfig.GameConfig.*;
+
+/**
+ * BallCollisionBenchmark - Va chạm bóng-bóng cho 1 tick (dựng spatial hash + tìm cặp + phản xạ)
+ *
+ * Bóng rải đều khắp màn hình; mỗi lần đo chạy trên vị trí đã bị đẩy ra ở lần trước
+ * (trạng thái ổn định, giống game). bruteForce = quét mọi cặp O(n²), giữ để so sánh.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BallCollisionBenchmark {
+
+    @Param({"300", "1000", "2000"})
+    public int ballCount;
+
+    private List<Ball> balls;
+    private BallHash hash;
+    private CollisionManager collisionManager;
+
+    @Setup
+    public void setup() {
+        collisionManager = new CollisionManager(new LevelManager(new Random(1)), new Random(2));
+        hash = new BallHash();
+        Random random = new Random(5);
+        balls = new ArrayList<>(ballCount);
+        for (int i = 0; i < ballCount; i++) {
+            Ball ball = new Ball(random.nextDouble() * GAME_WIDTH, random.nextDouble() * GAME_HEIGHT, BALL_RADIUS, BALL_SPEED);
+            ball.launch(random);
+            balls.add(ball);
+        }
+    }
+
+    @Benchmark
+    public int spatialHash() {
+        hash.build(balls);
+        int pairs = hash.findPairs();
+        for (int k = 0; k < pairs; k++) {
+            collisionManager.handleBallBallCollision(hash.ball(hash.pairA(k)), hash.ball(hash.pairB(k)));
+        }
+        hash.clear();
+        return pairs;
+    }
+
+    @Benchmark
+    public int bruteForce() {
+        int hits = 0;
+        for (int a = 0; a < balls.size(); a++) {
+            for (int b = a + 1; b < balls.size(); b++) {
+                if (collisionManager.handleBallBallCollision(balls.get(a), balls.get(b))) hits++;
+            }
+        }
+        return hits;
+    }
+}
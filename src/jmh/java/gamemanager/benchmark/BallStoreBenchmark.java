@@ -0,0 +1,92 @@
+package gamemanager.benchmark;
+
+import gamemanager.core.LevelManager;
+import gamemanager.manager.CollisionManager;
+import gameobject.ball.Ball;
+import gameobject.ball.BallKernel;
+import gameobject.ball.BallStore;
+import gameobject.paddle.Paddle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static gameconfig.GameConfig.*;
+
+/**
+ * BallStoreBenchmark - Tích phân + va chạm tường của 1 tick cho nhiều bóng
+ *
+ * - perBall: Ball.update() + CollisionManager.checkWallCollision() từng bóng (cách cũ)
+ * - scalar / vector: BallStore.integrate() + collideWalls() theo lô với từng BallKernel
+ * - fixed: như trên với kernel Q32.32 (chế độ vật lý FIXED)
+ *
+ * Tường đáy nảy (invincible) để bóng không rơi khỏi màn trong lúc đo.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BallStoreBenchmark {
+
+    @Param({"1000", "10000"})
+    public int ballCount;
+
+    @Param({"perBall", "scalar", "vector", "fixed"})
+    public String kernel;
+
+    private List<Ball> balls;
+    private BallStore store;
+    private CollisionManager collisionManager;
+    private Paddle paddle;
+    private double tpf;
+
+    @Setup
+    public void setup() {
+        tpf = 1.0 / DEFAULT_TICK_RATE;
+        paddle = new Paddle(GAME_WIDTH / 2 - PADDLE_WIDTH / 2, GAME_HEIGHT - 50, PADDLE_WIDTH, PADDLE_HEIGHT, PADDLE_SPEED);
+        collisionManager = new CollisionManager(new LevelManager(new Random(1)), new Random(2));
+        collisionManager.setInvincible(true);
+        Random random = new Random(4);
+        balls = new ArrayList<>(ballCount);
+        for (int i = 0; i < ballCount; i++) {
+            Ball ball = new Ball(random.nextDouble() * GAME_WIDTH, random.nextDouble() * GAME_HEIGHT, BALL_RADIUS, BALL_SPEED);
+            ball.launch(random);
+            balls.add(ball);
+        }
+        if (!kernel.equals("perBall")) {
+            store = new BallStore(kernel.equals("vector") ? BallKernel.vector()
+                    : kernel.equals("fixed") ? BallKernel.fixed() : BallKernel.scalar());
+            store.sync(balls);
+        }
+    }
+
+    @Benchmark
+    public int tick() {
+        if (store == null) {
+            int bounces = 0;
+            for (int i = 0, n = balls.size(); i < n; i++) {
+                Ball ball = balls.get(i);
+                ball.update(tpf, paddle, false);
+                if (collisionManager.checkWallCollision(ball, GAME_WIDTH, GAME_HEIGHT) != null) bounces++;
+            }
+            return bounces;
+        }
+        store.sync(balls);
+        store.integrate(tpf, paddle, false);
+        return store.collideWalls(GAME_WIDTH, GAME_HEIGHT, true);
+    }
+}
@@ -0,0 +1,67 @@
+package gamemanager.benchmark;
+
+import gameobject.ball.Ball;
+import gameobject.paddle.Paddle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static gameconfig.GameConfig.*;
+
+/**
+ * BallUpdateBenchmark - Tích phân vị trí bóng (Ball.update) cho 1 tick
+ *
+ * Đuôi bóng được vẽ ở BallView trên FX thread (không nằm trong tick),
+ * cần JavaFX toolkit nên không đo ở đây; xem phase RENDER của TickProfiler.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BallUpdateBenchmark {
+
+    @Param({"1", "10", "300"})
+    public int ballCount;
+
+    private Ball[] balls;
+    private Paddle paddle;
+    private double tpf;
+
+    @Setup
+    public void setup() {
+        tpf = 1.0 / DEFAULT_TICK_RATE;
+        paddle = new Paddle(GAME_WIDTH / 2 - PADDLE_WIDTH / 2, GAME_HEIGHT - 50, PADDLE_WIDTH, PADDLE_HEIGHT, PADDLE_SPEED);
+        Random random = new Random(4);
+        balls = new Ball[ballCount];
+        for (int i = 0; i < ballCount; i++) {
+            balls[i] = new Ball(random.nextDouble() * GAME_WIDTH, random.nextDouble() * GAME_HEIGHT, BALL_RADIUS, BALL_SPEED);
+            balls[i].launch(random);
+        }
+    }
+
+    @Benchmark
+    public double update() {
+        double sum = 0;
+        for (Ball ball : balls) {
+            ball.update(tpf, paddle, false);
+            // Bật lại khi ra khỏi màn hình để vị trí không trôi vô hạn
+            if (ball.getX() < 0 || ball.getRightX() > GAME_WIDTH) ball.setVx(-ball.getVx());
+            if (ball.getY() < 0 || ball.getBottomY() > GAME_HEIGHT) ball.setVy(-ball.getVy());
+            sum += ball.getX();
+        }
+        return sum;
+    }
+}
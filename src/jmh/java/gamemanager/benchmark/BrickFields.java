@@ -0,0 +1,86 @@
+package gamemanager.benchmark;
+
+import gamemanager.core.BrickGrid;
+import gamemanager.core.LevelManager;
+import gameobject.brick.Brick;
+import gameobject.brick.ExplodingBrick;
+import gameobject.brick.StandardBrick;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static gameconfig.GameConfig.BRICK_HEIGHT;
+import static gameconfig.GameConfig.GAME_HEIGHT;
+import static gameconfig.GameConfig.GAME_WIDTH;
+
+/**
+ * BrickFields - Tạo lưới gạch cho benchmark (cùng bố cục với LevelManager.loadLevelFromPattern)
+ * 6x14 là màn chơi thật, các kích thước lớn hơn giữ nguyên bề rộng màn hình.
+ */
+final class BrickFields {
+    static final double SPACING = 4;
+    static final double Y_OFFSET = 50;
+
+    private BrickFields() {
+    }
+
+    static double brickWidth(int cols) {
+        return (GAME_WIDTH - cols * SPACING) / cols;
+    }
+
+    static double brickHeight(int rows) {
+        // Lưới dày hơn 6 hàng thì thu nhỏ gạch để vẫn nằm trong nửa trên màn hình
+        return rows <= 6 ? BRICK_HEIGHT : BRICK_HEIGHT * 6 / rows;
+    }
+
+    static List<Brick> standard(int rows, int cols) {
+        List<Brick> bricks = new ArrayList<>(rows * cols);
+        double w = brickWidth(cols);
+        double h = brickHeight(rows);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                bricks.add(new StandardBrick(c * (w + SPACING) + 1, r * (h + SPACING) + Y_OFFSET, w, h));
+            }
+        }
+        return bricks;
+    }
+
+    /**
+     * Lưới toàn gạch nổ, gắn vào levelManager (xóa gạch cũ)
+     */
+    static List<ExplodingBrick> exploding(LevelManager levelManager, int rows, int cols) {
+        levelManager.clearAllBricks();
+        List<ExplodingBrick> created = new ArrayList<>(rows * cols);
+        double w = brickWidth(cols);
+        double h = brickHeight(rows);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                ExplodingBrick brick = new ExplodingBrick(c * (w + SPACING) + 1, r * (h + SPACING) + Y_OFFSET, w, h);
+                brick.setLevelManager(levelManager);
+                levelManager.addBrick(brick);
+                created.add(brick);
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Lưới broadphase cùng bố cục với standard()/exploding()
+     */
+    static BrickGrid grid(List<? extends Brick> bricks, int rows, int cols) {
+        BrickGrid grid = new BrickGrid(1 - SPACING / 2, Y_OFFSET - SPACING / 2,
+                brickWidth(cols) + SPACING, brickHeight(rows) + SPACING, GAME_WIDTH, GAME_HEIGHT);
+        for (Brick brick : bricks) {
+            grid.add(brick);
+        }
+        return grid;
+    }
+
+    static int rows(String field) {
+        return Integer.parseInt(field.substring(0, field.indexOf('x')));
+    }
+
+    static int cols(String field) {
+        return Integer.parseInt(field.substring(field.indexOf('x') + 1));
+    }
+}
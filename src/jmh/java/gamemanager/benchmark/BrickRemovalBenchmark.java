@@ -0,0 +1,62 @@
+package gamemanager.benchmark;
+
+import gamemanager.core.LevelManager;
+import gameobject.brick.Brick;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BrickRemovalBenchmark - Phá hết gạch của level, mỗi gạch 1 "tick": removeBrick() rồi isLevelComplete()
+ * (như GameEngine: gạch vỡ trong processEvents, kiểm tra hoàn thành level cuối tick)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BrickRemovalBenchmark {
+
+    @Param({"6x14", "12x28", "24x56"})
+    public String field;
+
+    private LevelManager levelManager;
+    private List<Brick> order;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        levelManager = new LevelManager(new Random(5));
+        levelManager.clearAllBricks();
+        order = BrickFields.standard(BrickFields.rows(field), BrickFields.cols(field));
+        for (Brick brick : order) {
+            levelManager.addBrick(brick);
+        }
+        Collections.shuffle(order, new Random(8));
+    }
+
+    @Benchmark
+    public int clearLevel() {
+        int ticks = 0;
+        for (Brick brick : order) {
+            levelManager.removeBrick(brick);
+            ticks++;
+            if (levelManager.isLevelComplete()) break;
+        }
+        return ticks;
+    }
+}
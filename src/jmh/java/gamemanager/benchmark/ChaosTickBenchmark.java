@@ -0,0 +1,71 @@
+package gamemanager.benchmark;
+
+import gameconfig.GameConfig;
+import gameconfig.GameConfig.PhysicsMode;
+import gamemanager.core.EngineContext;
+import gamemanager.core.GameEngine;
+import gameobject.ball.Ball;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static gameconfig.GameConfig.*;
+
+/**
+ * ChaosTickBenchmark - 1 tick của engine headless với 2000 bóng (pha bóng chia phân vùng)
+ *
+ * Mỗi iteration dựng lại ván (level 1, 2000 bóng ở nửa dưới màn, invincible) và đo 40 tick đầu,
+ * trước khi bóng phá hết gạch. Kết quả mỗi tick giống nhau với mọi số luồng; chỉ thời gian khác.
+ * mode: vật lý double hoặc Q32.32 (FIXED) - tích phân, tường, paddle, gạch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, batchSize = 40)
+@Measurement(iterations = 20, batchSize = 40)
+@Fork(1)
+public class ChaosTickBenchmark {
+
+    @Param({"1", "4"})
+    public int workers;
+
+    @Param({"DOUBLE", "FIXED"})
+    public PhysicsMode mode;
+
+    private GameEngine engine;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        EngineContext context = new EngineContext(DEFAULT_TICK_RATE, 1.0, true, false, false, workers, mode);
+        engine = new GameEngine(context);
+        engine.setSeed(9L);
+        engine.setRecordingEnabled(false);
+        engine.startSinglePlayerGame();
+        engine.startGame();
+        Random random = new Random(9);
+        while (engine.getBalls().size() < 2000) {
+            Ball ball = new Ball(random.nextDouble() * GAME_WIDTH,
+                    GAME_HEIGHT / 2 + random.nextDouble() * GAME_HEIGHT / 3, BALL_RADIUS, BALL_SPEED);
+            ball.launch(random);
+            engine.getBalls().add(ball);
+        }
+    }
+
+    @Benchmark
+    public int tick() {
+        engine.tick();
+        return engine.getScore() + (engine.getGameState() == GameConfig.GameState.PLAYING ? 1 : 0);
+    }
+}
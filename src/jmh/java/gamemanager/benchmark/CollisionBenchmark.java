@@ -0,0 +1,126 @@
+package gamemanager.benchmark;
+
+import gamemanager.core.BrickGrid;
+import gamemanager.core.LevelManager;
+import gamemanager.manager.CollisionManager;
+import gameobject.ball.Ball;
+import gameobject.brick.Brick;
+import gameobject.paddle.Paddle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static gameconfig.GameConfig.*;
+
+/**
+ * CollisionBenchmark - Va chạm bóng-gạch (quét toàn bộ danh sách) và bóng-paddle
+ *
+ * checkBrickBall: 64 vị trí bóng cố định rải khắp nửa trên màn hình,
+ * phần lớn không trúng gạch nào → đo đúng chi phí quét cả lưới.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+    private static final int BALL_POSITIONS = 64;
+
+    @Param({"6x14", "12x28", "24x56"})
+    public String field;
+
+    private CollisionManager collisionManager;
+    private List<Brick> bricks;
+    private BrickGrid grid;
+    private Ball[] balls;
+    private double[] startX, startY;
+    private Paddle paddle;
+    private Ball paddleBall;
+
+    @Setup
+    public void setup() {
+        LevelManager levelManager = new LevelManager(new Random(1));
+        collisionManager = new CollisionManager(levelManager, new Random(2));
+        int rows = BrickFields.rows(field);
+        int cols = BrickFields.cols(field);
+        bricks = BrickFields.standard(rows, cols);
+        grid = BrickFields.grid(bricks, rows, cols);
+
+        Random random = new Random(3);
+        balls = new Ball[BALL_POSITIONS];
+        startX = new double[BALL_POSITIONS];
+        startY = new double[BALL_POSITIONS];
+        for (int i = 0; i < balls.length; i++) {
+            balls[i] = new Ball(random.nextDouble() * GAME_WIDTH,
+                    random.nextDouble() * GAME_HEIGHT / 2, BALL_RADIUS, BALL_SPEED);
+            balls[i].launch(random);
+            startX[i] = balls[i].getX();
+            startY[i] = balls[i].getY();
+        }
+
+        paddle = new Paddle(GAME_WIDTH / 2 - PADDLE_WIDTH / 2, GAME_HEIGHT - 50, PADDLE_WIDTH, PADDLE_HEIGHT, PADDLE_SPEED);
+        paddleBall = new Ball(0, 0, BALL_RADIUS, BALL_SPEED);
+    }
+
+    /**
+     * Một truy vấn lưới cho mỗi vị trí bóng (kết quả chia cho BALL_POSITIONS = 1 bóng / tick)
+     */
+    @Benchmark
+    public void checkBrickBallCollision(Blackhole bh) {
+        for (Ball ball : balls) {
+            bh.consume(collisionManager.checkBrickBallCollision(ball, grid));
+        }
+    }
+
+    /**
+     * Quét tuyến tính cả danh sách (trước khi có BrickGrid), giữ lại để so sánh
+     */
+    @Benchmark
+    public void checkBrickBallCollisionLinear(Blackhole bh) {
+        for (Ball ball : balls) {
+            bh.consume(collisionManager.checkBrickBallCollision(ball, bricks));
+        }
+    }
+
+    /**
+     * Va chạm liên tục: mỗi bóng đi 1 bước 60 Hz từ vị trí cố định rồi quét cả đoạn đường
+     * (gồm cả Ball.update; so với checkBrickBallCollision + BallUpdateBenchmark)
+     */
+    @Benchmark
+    public void sweepBrickBallCollision(Blackhole bh) {
+        for (int i = 0; i < balls.length; i++) {
+            Ball ball = balls[i];
+            ball.setX(startX[i]);
+            ball.setY(startY[i]);
+            ball.update(1.0 / 60, paddle, false);
+            bh.consume(collisionManager.sweepBrickBallCollision(ball, grid));
+        }
+    }
+
+    /**
+     * Bóng rơi xuống lệch tâm paddle: phản xạ + chỉnh góc + chuẩn hóa tốc độ
+     */
+    @Benchmark
+    public double handlePaddleBallCollision() {
+        paddleBall.setX(paddle.getX() + paddle.getWidth() * 0.3);
+        paddleBall.setY(paddle.getY() - BALL_RADIUS * 2 + 3);
+        paddleBall.setVx(BALL_SPEED * 0.7);
+        paddleBall.setVy(BALL_SPEED);
+        collisionManager.handlePaddleBallCollision(paddle, paddleBall);
+        return paddleBall.getVx();
+    }
+}
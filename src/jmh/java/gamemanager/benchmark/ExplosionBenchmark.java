@@ -0,0 +1,59 @@
+package gamemanager.benchmark;
+
+import gamemanager.core.LevelManager;
+import gameobject.brick.ExplodingBrick;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExplosionBenchmark - Nổ dây chuyền trên lưới toàn gạch nổ
+ *
+ * Kích nổ 1 gạch ở giữa (igniteQueuedExplosions như cuối tick), gọi updateExplosions mỗi tick tới khi hết lịch nổ
+ * (mỗi đợt cách nhau explosionWaveTicks tick) → đo cả chuỗi.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExplosionBenchmark {
+    @Param({"6x14", "12x28"})
+    public String field;
+
+    private LevelManager levelManager;
+    private ExplodingBrick trigger;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        levelManager = new LevelManager(new Random(5));
+        int rows = BrickFields.rows(field);
+        int cols = BrickFields.cols(field);
+        List<ExplodingBrick> bricks = BrickFields.exploding(levelManager, rows, cols);
+        trigger = bricks.get((rows / 2) * cols + cols / 2);
+    }
+
+    @Benchmark
+    public int chainReaction() {
+        trigger.explode();
+        levelManager.igniteQueuedExplosions();
+        while (levelManager.hasPendingExplosions()) {
+            levelManager.updateExplosions();
+        }
+        return levelManager.getBricks().size();
+    }
+}
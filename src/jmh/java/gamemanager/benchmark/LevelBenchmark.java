@@ -0,0 +1,57 @@
+package gamemanager.benchmark;
+
+import gamemanager.core.LevelManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LevelBenchmark - Tải level từ file (loadLevel) và sinh level endless
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelBenchmark {
+
+    private LevelManager levelManager;
+
+    /**
+     * Level cần tải (chỉ loadLevel dùng tham số này)
+     */
+    @State(Scope.Thread)
+    public static class LevelParam {
+        @Param({"1", "5", "9"})
+        public int level;
+    }
+
+    @Setup
+    public void setup() {
+        levelManager = new LevelManager(new Random(6));
+    }
+
+    @Benchmark
+    public int loadLevel(LevelParam param) {
+        levelManager.loadLevel(param.level);
+        return levelManager.getBricks().size();
+    }
+
+    @Benchmark
+    public int generateEndlessLevel() {
+        levelManager.generateEndlessLevel();
+        return levelManager.getBricks().size();
+    }
+}
@@ -0,0 +1,85 @@
+package gamemanager.benchmark;
+
+import gamemanager.manager.ObjectPool;
+import gameobject.ball.Ball;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static gameconfig.GameConfig.*;
+
+/**
+ * MultiballBenchmark - 1 đợt MULTIPLY liên tiếp (1 → ballCount bóng) rồi mất hết bóng phụ
+ *
+ * Cùng cách tạo bóng như GameEngine.spawnExtraBall: pooled = lấy từ ObjectPool + respawn, trả về kho khi mất;
+ * pooled = false = new Ball mỗi lần (như trước khi có kho). Đo với -prof gc để xem lượng cấp phát mỗi đợt.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultiballBenchmark {
+
+    @Param({"64", "512"})
+    public int ballCount;
+
+    @Param({"true", "false"})
+    public boolean pooled;
+
+    private ObjectPool<Ball> pool;
+    private final List<Ball> balls = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        pool = new ObjectPool<>(() -> new Ball(0, 0, BALL_RADIUS, BALL_SPEED), BALL_POOL_CAPACITY);
+        pool.prewarm(BALL_POOL_PREWARM);
+        balls.add(new Ball(GAME_WIDTH / 2, GAME_HEIGHT / 2, BALL_RADIUS, BALL_SPEED));
+        balls.get(0).launch(0.6, -1);
+    }
+
+    @Benchmark
+    public int burst() {
+        while (balls.size() < ballCount) {
+            int size = balls.size();
+            for (int i = 0; i < size; i++) {
+                Ball ref = balls.get(i);
+                double x = ref.getX() + ref.getRadius();
+                double y = ref.getY() + ref.getRadius();
+                Ball ball;
+                if (pooled) {
+                    ball = pool.acquire();
+                    ball.respawn(x, y, ref.getRadius(), ref.speed);
+                } else {
+                    ball = new Ball(x, y, ref.getRadius(), ref.speed);
+                }
+                ball.setVx(-ref.getVx());
+                ball.setVy(ref.getVy());
+                ball.setStuck(false);
+                ball.applySkin(ref.getCurrentSkinResource());
+                balls.add(ball);
+            }
+        }
+        int spawned = balls.size();
+        // Mất hết bóng phụ, giữ bóng đầu
+        for (int i = spawned - 1; i > 0; i--) {
+            Ball lost = balls.remove(i);
+            if (pooled) pool.release(lost);
+        }
+        return spawned;
+    }
+}
@@ -0,0 +1,70 @@
+package gamemanager.benchmark;
+
+import gamemanager.core.LevelManager;
+import gamemanager.render.WorldSnapshot;
+import gameobject.brick.Brick;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SnapshotBenchmark - Chụp lớp gạch vào WorldSnapshot (thread mô phỏng, mỗi lần publish)
+ *
+ * changed = true: mỗi lần có 1 gạch bị hit (markBrickChanged) → chỉ chụp lại gạch đó (nhật ký gạch)
+ * changed = false: lớp gạch không đổi → captureBricks() không chụp gì
+ * Cả 2 trường hợp không phụ thuộc kích thước lưới.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+
+    @Param({"6x14", "12x28", "24x56"})
+    public String field;
+
+    @Param({"true", "false"})
+    public boolean changed;
+
+    private LevelManager levelManager;
+    private final WorldSnapshot snapshot = new WorldSnapshot();
+    private List<Brick> bricks;
+    private int next = 0;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        levelManager = new LevelManager(new Random(5));
+        levelManager.clearAllBricks();
+        for (Brick brick : BrickFields.standard(BrickFields.rows(field), BrickFields.cols(field))) {
+            levelManager.addBrick(brick);
+        }
+        bricks = levelManager.getBricks();
+    }
+
+    @Benchmark
+    public int captureBricks() {
+        if (changed) {
+            levelManager.markBrickChanged(bricks.get(next));
+            next = (next + 1) % bricks.size();
+        }
+        snapshot.begin(1, 0);
+        snapshot.captureBricks(levelManager.getBrickEpoch(), bricks,
+                levelManager.getBrickLog(), levelManager.getBrickLogSize());
+        return snapshot.getBrickCount();
+    }
+}
@@ -34,6 +34,7 @@ public final class GameConfig {
     public static final int EXPLODING_HIT_COUNT = 1;
     public static final String EXPLODING_COLOR = "#e67e22";
     public static final int EXPLOSION_RANGE = 1;
+    public static final int EXPLOSION_BRICK_SCORE = 10;  // Điểm cho mỗi gạch bị vụ nổ phá
 
     // Brick skin paths
     public static final String BRICK_STANDARD_SKIN = "/imagebrick/brick1hit.png";
@@ -56,6 +57,13 @@ public final class GameConfig {
     public static final double POWERUP_HEIGHT = 30;
     public static final double POWERUP_FALL_SPEED = 1.0;
 
+    // Object pools: số đối tượng rảnh giữ lại tối đa / tạo sẵn trước ván
+    // (soak autopilot 33 ván: đỉnh 4 bóng, 4 power-up; MULTIPLY liên tiếp nhân đôi 1 → 64 → hơn 300 bóng)
+    public static final int BALL_POOL_CAPACITY = 512;
+    public static final int BALL_POOL_PREWARM = 64;
+    public static final int POWERUP_POOL_CAPACITY = 32;
+    public static final int POWERUP_POOL_PREWARM = 8;
+
     // UI scaling factors based on resolution
     public static double UI_SCALE_X = 1.0;  // Width scale
     public static double UI_SCALE_Y = 1.0;  // Height scale
@@ -63,9 +71,26 @@ public final class GameConfig {
     // For elements that should scale uniformly, use the smaller scale
     public static double UI_SCALE = 1.0;
 
+    // Video settings
+    public static RendererType RENDERER = RendererType.SCENE_GRAPH; // CANVAS: vẽ cả sân chơi lên 1 Canvas
+
     // Debug settings
     public static double DEBUG_PADDLE_LENGTH_MULTIPLIER = 1.0;
     public static boolean DEBUG_INVINCIBLE_MODE = false;
+    public static boolean DEBUG_SAVE_REPLAYS = false;     // Lưu replay mỗi ván vào REPLAY_DIRECTORY
+    public static final String REPLAY_DIRECTORY = "replays";
+    public static boolean DEBUG_TICK_PROFILER = false;    // Đo thời gian từng phase của tick (F3 để in)
+
+    // Physics loop settings
+    public static final int[] TICK_RATES = {120, 240, 480, 1000};
+    public static final int DEFAULT_TICK_RATE = 240;
+    public static int TICK_RATE = DEFAULT_TICK_RATE;     // Số bước mô phỏng mỗi giây (Hz)
+    public static final double SIMULATION_SPEED = 0.5;   // 1s thực = 0.5s mô phỏng (tốc độ bóng/paddle như cũ)
+    public static final double MAX_FRAME_CATCHUP = 0.1;  // Tối đa 0.1s mô phỏng mỗi frame
+    public static boolean BALL_COLLISIONS = false;       // Bóng va chạm đàn hồi với nhau (spatial hash)
+    public static final int PARALLEL_BALL_THRESHOLD = 512; // Từ số bóng này, pha bóng chạy theo phân vùng
+    public static int PHYSICS_WORKERS = 1;               // Số luồng cho pha bóng (1 cho tới khi có số đo đa lõi, xem BASELINE.md)
+    public static PhysicsMode PHYSICS_MODE = PhysicsMode.DOUBLE; // FIXED: vật lý bóng bằng số nguyên Q32.32
 
     // Calculate UI scale based on current dimensions (1280x720 is base resolution)
     public static void updateUIScale() {
@@ -81,6 +106,13 @@ public final class GameConfig {
         BALL_SPEED = BASE_BALL_SPEED * UI_SCALE;
     }
 
+    public enum GameMode {
+        SINGLEPLAYER,
+        ENDLESS,
+        BOT,
+        ONE_V_ONE
+    }
+
     public enum GameState {
         MENU,
         GAME_MODE,
@@ -101,6 +133,16 @@ public final class GameConfig {
         GOLDEN
     }
 
+    public enum PhysicsMode {
+        DOUBLE,
+        FIXED
+    }
+
+    public enum RendererType {
+        SCENE_GRAPH,
+        CANVAS
+    }
+
     public enum WallSideType {
         NORTH,
         SOUTH,
@@ -0,0 +1,61 @@
+package gameconfig;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static gameconfig.GameConfig.BALL_DEFAULT_SKIN;
+import static gameconfig.GameConfig.BALL_ONESHOT_SKIN;
+
+/**
+ * SkinRegistry - Skin bóng / paddle đăng ký theo id → đường dẫn ảnh
+ *
+ * Entity và snapshot chỉ giữ chuỗi (resource của bóng, id skin của paddle); renderer và màn hình shop
+ * lấy Image / ImagePattern dùng chung từ ImageManager theo đường dẫn này, nên đổi skin chỉ đổi Paint đã có.
+ * Id không đăng ký dùng skin "default" (ví dụ paddle "blue" / "red" của chế độ đối kháng).
+ */
+public final class SkinRegistry {
+    private SkinRegistry() {}
+
+    public static final String DEFAULT = "default";
+
+    private static final Map<String, String> BALL_SKINS = new ConcurrentHashMap<>();
+    private static final Map<String, String> PADDLE_SKINS = new ConcurrentHashMap<>();
+
+    static {
+        registerBallSkin(DEFAULT, BALL_DEFAULT_SKIN);
+        registerBallSkin("skin1", "/imageball/skin1.png");
+        registerBallSkin("skin2", "/imageball/skin2.png");
+        registerBallSkin("oneshot", BALL_ONESHOT_SKIN);
+
+        registerPaddleSkin(DEFAULT, "/imagepaddle/default.png");
+        registerPaddleSkin("skin1", "/imagepaddle/skin1.png");
+        registerPaddleSkin("skin2", "/imagepaddle/skin2.png");
+    }
+
+    public static void registerBallSkin(String id, String resource) {
+        BALL_SKINS.put(id, resource);
+    }
+
+    public static void registerPaddleSkin(String id, String resource) {
+        PADDLE_SKINS.put(id, resource);
+    }
+
+    /**
+     * Ảnh của skin bóng (id null hoặc chưa đăng ký → ảnh mặc định)
+     */
+    public static String ballResource(String skinId) {
+        return lookup(BALL_SKINS, skinId);
+    }
+
+    /**
+     * Ảnh của skin paddle (id null hoặc chưa đăng ký → ảnh mặc định)
+     */
+    public static String paddleResource(String skinId) {
+        return lookup(PADDLE_SKINS, skinId);
+    }
+
+    private static String lookup(Map<String, String> skins, String skinId) {
+        String resource = skinId != null ? skins.get(skinId) : null;
+        return resource != null ? resource : skins.get(DEFAULT);
+    }
+}
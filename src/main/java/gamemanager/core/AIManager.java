@@ -34,6 +34,7 @@ public class AIManager {
 
     private final Paddle paddle;
     private final Random random;
+    private final boolean topPaddle;      // Bot ở trên (chế độ bot) hay ở dưới (autopilot)
     private double targetX;
     private double mistakeOffset;
     private int mistakeRecalcCounter;
@@ -45,10 +46,12 @@ public class AIManager {
     /**
      * KHỞI TẠO AI CHO BOT
      * @param paddle Paddle mà bot sẽ điều khiển
+     * @param random Stream AI của RandomManager
      */
-    public AIManager(Paddle paddle) {
+    public AIManager(Paddle paddle, Random random) {
         this.paddle = paddle;
-        this.random = new Random();
+        this.random = random;
+        this.topPaddle = paddle.getY() < GAME_HEIGHT / 2;
         this.targetX = getPaddleCenterX();
         this.mistakeOffset = 0;
         this.mistakeRecalcCounter = 0;
@@ -169,8 +172,8 @@ public class AIManager {
      * 5. Di chuyển paddle đến vị trí mục tiêu
      */
     private void handleBallTracking(Ball ball, double tpf) {
-        // Nếu bóng bay lên (không nguy hiểm) → bỏ qua
-        if (ball.getVy() >= 0) {
+        // Nếu bóng bay ra xa (không nguy hiểm) → bỏ qua
+        if (!isBallMovingDown(ball)) {
             return;
         }
 
@@ -223,18 +226,20 @@ public class AIManager {
 
     /**
      * KIỂM TRA BÓNG CÓ BAY XUỐNG KHÔNG
-     * - vy < 0 = bay xuống (về phía bot)
-     * - vy > 0 = bay lên (an toàn)
+     * - Bot ở trên: vy < 0 = bay về phía bot, vy > 0 = an toàn
+     * - Paddle ở dưới (autopilot): ngược lại
      */
     private boolean isBallMovingDown(Ball ball) {
-        return ball.getVy() < 0;
+        return topPaddle ? ball.getVy() < 0 : ball.getVy() > 0;
     }
 
     /**
      * TÍNH KHOẢNG CÁCH TỪ BÓNG ĐẾN PADDLE
      */
     private double calculateDistanceToPaddle(Ball ball) {
-
+        if (!topPaddle) {
+            return paddle.getY() - ball.getBottomY();
+        }
         return paddle.getY() - (ball.getY() + ball.getRadius() * 2);
     }
 
@@ -358,8 +363,8 @@ public class AIManager {
         double vx = ball.getVx();
         double vy = ball.getVy();
 
-        // Bóng bay lên → không dự đoán được
-        if (vy >= 0) {
+        // Bóng bay ra xa → không dự đoán được
+        if (!isBallMovingDown(ball)) {
             return ballX;
         }
 
@@ -0,0 +1,201 @@
+package gamemanager.core;
+
+import gameobject.ball.Ball;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * BallHash - Spatial hash cho va chạm bóng-bóng, dựng lại mỗi tick
+ *
+ * HOẠT ĐỘNG:
+ * - Ô vuông cạnh = đường kính bóng lớn nhất → 2 bóng chạm nhau chỉ có thể nằm ở 2 ô kề nhau
+ * - build() O(n): băm ô của từng bóng vào bảng 2^k bucket, counting sort theo bucket
+ *   (trong 1 bucket các bóng giữ THỨ TỰ DANH SÁCH)
+ * - findPairs() O(n): mỗi bóng xét 3x3 ô lân cận, chỉ ghép với bóng đứng sau trong danh sách
+ *   → mỗi cặp 1 lần, thứ tự cặp xác định (không phụ thuộc hash)
+ *
+ * Bóng đang dính paddle không tham gia (nhiều bóng dính chồng lên nhau).
+ * Không cấp phát khi số bóng không tăng. Không thread-safe.
+ */
+public final class BallHash {
+    private Ball[] balls = new Ball[64];
+    private int[] bucketOf = new int[64];     // Bucket của từng bóng (theo chỉ số danh sách)
+    private int[] cellX = new int[64];
+    private int[] cellY = new int[64];
+    private int[] bucketStart = new int[129]; // bucketStart[b]..bucketStart[b+1]: bóng trong bucket b
+    private int[] entries = new int[64];      // Chỉ số bóng, sắp theo bucket
+    private int[] bucketFill = new int[128];  // Số bóng đã điền vào từng bucket (lúc build)
+    private int bucketMask = 127;
+    private int count = 0;
+    private double cellSize = 1;
+
+    // Cặp ứng viên tìm được (chỉ số danh sách), a < b
+    private int[] pairA = new int[64];
+    private int[] pairB = new int[64];
+    private int pairCount = 0;
+
+    // Bucket của 3x3 ô lân cận đang xét (bỏ bucket trùng khi 2 ô băm vào cùng bucket)
+    private final int[] neighborBuckets = new int[9];
+
+    /**
+     * Dựng lại bảng băm từ danh sách bóng (O(n))
+     */
+    public void build(List<Ball> ballList) {
+        int n = ballList.size();
+        ensureCapacity(n);
+        int buckets = Math.max(128, Integer.highestOneBit(Math.max(1, n)) << 2);
+        if (bucketStart.length != buckets + 1) {
+            bucketStart = new int[buckets + 1];
+        }
+        bucketMask = buckets - 1;
+
+        double maxRadius = 0;
+        for (int i = 0; i < n; i++) {
+            Ball ball = ballList.get(i);
+            balls[i] = ball;
+            maxRadius = Math.max(maxRadius, ball.getRadius());
+        }
+        count = n;
+        cellSize = maxRadius > 0 ? maxRadius * 2 : 1;
+
+        Arrays.fill(bucketStart, 0);
+        for (int i = 0; i < n; i++) {
+            Ball ball = balls[i];
+            if (ball.isStuck()) {
+                bucketOf[i] = -1;
+                continue;
+            }
+            int cx = (int) Math.floor(ball.getCenterX() / cellSize);
+            int cy = (int) Math.floor(ball.getCenterY() / cellSize);
+            cellX[i] = cx;
+            cellY[i] = cy;
+            int bucket = bucket(cx, cy);
+            bucketOf[i] = bucket;
+            bucketStart[bucket + 1]++;
+        }
+        for (int b = 0; b < buckets; b++) {
+            bucketStart[b + 1] += bucketStart[b];
+        }
+        // Điền theo thứ tự danh sách → trong mỗi bucket chỉ số tăng dần
+        int[] fill = resetBucketFill(buckets);
+        for (int i = 0; i < n; i++) {
+            int bucket = bucketOf[i];
+            if (bucket < 0) continue;
+            entries[bucketStart[bucket] + fill[bucket]++] = i;
+        }
+    }
+
+    /**
+     * Tìm mọi cặp bóng đang chồng lên nhau (khoảng cách tâm < tổng bán kính)
+     * @return Số cặp, đọc bằng pairA(k) / pairB(k) (chỉ số trong danh sách lúc build)
+     */
+    public int findPairs() {
+        pairCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (bucketOf[i] < 0) continue;
+            int buckets = 0;
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    int bucket = bucket(cellX[i] + dx, cellY[i] + dy);
+                    boolean seen = false;
+                    for (int k = 0; k < buckets; k++) {
+                        if (neighborBuckets[k] == bucket) {
+                            seen = true;
+                            break;
+                        }
+                    }
+                    if (!seen) neighborBuckets[buckets++] = bucket;
+                }
+            }
+            // Thứ tự giữa các bucket phụ thuộc hàm băm → sortPairs() đưa về (a, b) tăng dần
+            for (int k = 0; k < buckets; k++) {
+                int bucket = neighborBuckets[k];
+                for (int e = bucketStart[bucket], end = bucketStart[bucket + 1]; e < end; e++) {
+                    int j = entries[e];
+                    if (j > i && overlaps(balls[i], balls[j])) {
+                        addPair(i, j);
+                    }
+                }
+            }
+        }
+        sortPairs();
+        return pairCount;
+    }
+
+    public int pairA(int k) {
+        return pairA[k];
+    }
+
+    public int pairB(int k) {
+        return pairB[k];
+    }
+
+    public Ball ball(int i) {
+        return balls[i];
+    }
+
+    /**
+     * Bỏ tham chiếu tới bóng (sau khi xử lý xong tick)
+     */
+    public void clear() {
+        Arrays.fill(balls, 0, count, null);
+        count = 0;
+        pairCount = 0;
+    }
+
+    private static boolean overlaps(Ball a, Ball b) {
+        double dx = b.getCenterX() - a.getCenterX();
+        double dy = b.getCenterY() - a.getCenterY();
+        double r = a.getRadius() + b.getRadius();
+        return dx * dx + dy * dy < r * r;
+    }
+
+    private int bucket(int cx, int cy) {
+        return ((cx * 73856093) ^ (cy * 19349663)) & bucketMask;
+    }
+
+    private int[] resetBucketFill(int buckets) {
+        if (bucketFill.length < buckets) {
+            bucketFill = new int[buckets];
+        } else {
+            Arrays.fill(bucketFill, 0, buckets, 0);
+        }
+        return bucketFill;
+    }
+
+    private void ensureCapacity(int n) {
+        if (balls.length >= n) return;
+        int capacity = Math.max(n, balls.length * 2);
+        balls = Arrays.copyOf(balls, capacity);
+        bucketOf = new int[capacity];
+        cellX = new int[capacity];
+        cellY = new int[capacity];
+        entries = new int[capacity];
+    }
+
+    private void addPair(int a, int b) {
+        if (pairCount == pairA.length) {
+            pairA = Arrays.copyOf(pairA, pairCount * 2);
+            pairB = Arrays.copyOf(pairB, pairCount * 2);
+        }
+        pairA[pairCount] = a;
+        pairB[pairCount] = b;
+        pairCount++;
+    }
+
+    /**
+     * Insertion sort theo (a, b): a đã tăng dần, chỉ cần sắp b trong cùng a (rất ít phần tử)
+     */
+    private void sortPairs() {
+        for (int k = 1; k < pairCount; k++) {
+            int a = pairA[k], b = pairB[k];
+            int m = k;
+            while (m > 0 && pairA[m - 1] == a && pairB[m - 1] > b) {
+                pairB[m] = pairB[m - 1];
+                m--;
+            }
+            pairB[m] = b;
+        }
+    }
+}
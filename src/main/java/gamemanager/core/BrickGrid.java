@@ -0,0 +1,214 @@
+package gamemanager.core;
+
+import gameobject.brick.Brick;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * BrickGrid - Lưới đều chỉ mục gạch cho broadphase va chạm
+ *
+ * HOẠT ĐỘNG:
+ * - Mỗi ô có kích thước bằng 1 bước lưới gạch (gạch + khoảng cách), gạch của level
+ *   nằm gọn trong 1 ô; AABB của bóng chỉ chạm 1-4 ô
+ * - query() trả về gạch ứng viên theo THỨ TỰ THÊM VÀO (giống thứ tự LevelManager.getBricks()),
+ *   không trùng lặp → kết quả va chạm giống hệt quét cả danh sách
+ * - remove() O(1): tìm chỉ số bằng IdentityHashMap, xóa khỏi vài ô bằng swap-remove
+ *
+ * Gạch / vùng truy vấn ngoài lưới được kẹp vào ô biên nên không bao giờ bị bỏ sót.
+ * Không thread-safe khi sửa lưới. Nhiều luồng CÙNG ĐỌC được nếu mỗi luồng truy vấn bằng Cursor riêng
+ * (ParallelBallPhysics); query() không tham số Cursor dùng bộ đệm chung của lưới.
+ */
+public final class BrickGrid {
+    private static final int INITIAL_CELL_CAPACITY = 2;
+
+    private final double originX, originY;
+    private final double cellWidth, cellHeight;
+    private final int cols, rows;
+
+    // Mỗi ô giữ chỉ số gạch (thứ tự thêm vào)
+    private final int[][] cells;
+    private final int[] cellSizes;
+
+    private Brick[] bricks = new Brick[128];
+    private int nextIndex = 0;
+    private final Map<Brick, Integer> indexOf = new IdentityHashMap<>();
+
+    // Kết quả truy vấn gần nhất của query() không Cursor (tái sử dụng, không cấp phát)
+    private final Cursor sharedCursor = new Cursor();
+
+    /**
+     * Bộ đệm kết quả truy vấn; mỗi luồng đọc lưới giữ 1 Cursor riêng
+     */
+    public static final class Cursor {
+        private int[] results = new int[16];
+        private int count = 0;
+        private Brick[] bricks;
+
+        public int size() {
+            return count;
+        }
+
+        public Brick get(int i) {
+            return bricks[results[i]];
+        }
+
+        /**
+         * Chèn có thứ tự + bỏ trùng (số ứng viên nhỏ nên insertion sort là đủ)
+         */
+        private void insert(int index) {
+            int pos = count;
+            while (pos > 0 && results[pos - 1] > index) {
+                pos--;
+            }
+            if (pos > 0 && results[pos - 1] == index) {
+                return;
+            }
+            if (count == results.length) {
+                results = Arrays.copyOf(results, results.length * 2);
+            }
+            System.arraycopy(results, pos, results, pos + 1, count - pos);
+            results[pos] = index;
+            count++;
+        }
+    }
+
+    /**
+     * @param originX, originY Góc trên trái của ô (0, 0)
+     * @param cellWidth, cellHeight Kích thước 1 ô
+     * @param width, height Phạm vi phủ của lưới (thường là cả màn chơi)
+     */
+    public BrickGrid(double originX, double originY, double cellWidth, double cellHeight,
+                     double width, double height) {
+        if (cellWidth <= 0 || cellHeight <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive");
+        }
+        this.originX = originX;
+        this.originY = originY;
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        this.cols = Math.max(1, (int) Math.ceil((width - originX) / cellWidth));
+        this.rows = Math.max(1, (int) Math.ceil((height - originY) / cellHeight));
+        this.cells = new int[cols * rows][];
+        this.cellSizes = new int[cols * rows];
+    }
+
+    public void add(Brick brick) {
+        if (indexOf.containsKey(brick)) return;
+        if (nextIndex == bricks.length) {
+            bricks = Arrays.copyOf(bricks, bricks.length * 2);
+        }
+        int index = nextIndex++;
+        bricks[index] = brick;
+        indexOf.put(brick, index);
+
+        int c0 = col(brick.getX()), c1 = col(brick.getRightX());
+        int r0 = row(brick.getY()), r1 = row(brick.getBottomY());
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                addToCell(r * cols + c, index);
+            }
+        }
+    }
+
+    /**
+     * Xóa gạch khỏi lưới (không làm gì nếu gạch không có trong lưới)
+     */
+    public void remove(Brick brick) {
+        Integer boxed = indexOf.remove(brick);
+        if (boxed == null) return;
+        int index = boxed;
+        bricks[index] = null;
+
+        int c0 = col(brick.getX()), c1 = col(brick.getRightX());
+        int r0 = row(brick.getY()), r1 = row(brick.getBottomY());
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                removeFromCell(r * cols + c, index);
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(cellSizes, 0);
+        Arrays.fill(bricks, 0, nextIndex, null);
+        nextIndex = 0;
+        indexOf.clear();
+        sharedCursor.count = 0;
+    }
+
+    public boolean contains(Brick brick) {
+        return indexOf.containsKey(brick);
+    }
+
+    public int size() {
+        return indexOf.size();
+    }
+
+    /**
+     * Tìm các gạch có ô giao với hình chữ nhật [minX, maxX] x [minY, maxY]
+     * @return Số ứng viên, đọc bằng result(i) (sắp theo thứ tự thêm vào, không trùng)
+     */
+    public int query(double minX, double minY, double maxX, double maxY) {
+        return query(minX, minY, maxX, maxY, sharedCursor);
+    }
+
+    public Brick result(int i) {
+        return sharedCursor.get(i);
+    }
+
+    /**
+     * Như query() nhưng ghi kết quả vào cursor của người gọi (đọc bằng cursor.get(i))
+     */
+    public int query(double minX, double minY, double maxX, double maxY, Cursor cursor) {
+        cursor.count = 0;
+        cursor.bricks = bricks;
+        int c0 = col(minX), c1 = col(maxX);
+        int r0 = row(minY), r1 = row(maxY);
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int cell = r * cols + c;
+                int[] entries = cells[cell];
+                for (int i = 0, n = cellSizes[cell]; i < n; i++) {
+                    cursor.insert(entries[i]);
+                }
+            }
+        }
+        return cursor.count;
+    }
+
+    private int col(double x) {
+        int c = (int) Math.floor((x - originX) / cellWidth);
+        return c < 0 ? 0 : Math.min(c, cols - 1);
+    }
+
+    private int row(double y) {
+        int r = (int) Math.floor((y - originY) / cellHeight);
+        return r < 0 ? 0 : Math.min(r, rows - 1);
+    }
+
+    private void addToCell(int cell, int index) {
+        int[] entries = cells[cell];
+        int size = cellSizes[cell];
+        if (entries == null) {
+            entries = cells[cell] = new int[INITIAL_CELL_CAPACITY];
+        } else if (size == entries.length) {
+            entries = cells[cell] = Arrays.copyOf(entries, size * 2);
+        }
+        entries[size] = index;
+        cellSizes[cell] = size + 1;
+    }
+
+    private void removeFromCell(int cell, int index) {
+        int[] entries = cells[cell];
+        int size = cellSizes[cell];
+        for (int i = 0; i < size; i++) {
+            if (entries[i] == index) {
+                entries[i] = entries[size - 1];
+                cellSizes[cell] = size - 1;
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package gamemanager.core;
+
+import gameobject.brick.Brick;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * BrickStore - Danh sách gạch của level với xóa O(1) (tombstone) và bộ đếm gạch phá được
+ *
+ * HOẠT ĐỘNG:
+ * - add(): thêm vào cuối (thứ tự = thứ tự thêm, giống BrickGrid)
+ * - remove(): tìm slot bằng IdentityHashMap, đặt slot = null (tombstone), trừ bộ đếm → O(1)
+ * - Tombstone được dồn lại (compact, giữ thứ tự) khi chúng nhiều hơn số gạch còn sống,
+ *   hoặc khi cần truy cập theo chỉ số (view().get(i)) → trung bình O(1) mỗi lần xóa
+ * - getDestructibleCount(): số gạch còn sống có hitCount >= 0 lúc thêm vào (gạch không phá được = -1)
+ *   → kiểm tra hoàn thành level là so sánh 1 số, không duyệt danh sách
+ *
+ * view() là List chỉ đọc: size() O(1), duyệt (for-each) bỏ qua tombstone không cần compact.
+ * Iterator fail-fast: add / remove / clear trong lúc duyệt → ConcurrentModificationException ở next()
+ * (thay vì lặng lẽ bỏ sót gạch khi mảng bị dồn). view().get(i) trong lúc duyệt vẫn được: dồn mảng giữ
+ * thứ tự, iterator tự tìm lại vị trí.
+ * Không thread-safe: chỉ sửa / đọc trên thread mô phỏng.
+ */
+public final class BrickStore {
+    private Brick[] slots = new Brick[128];
+    private boolean[] destructible = new boolean[128];
+    private int used = 0;          // Số slot đã dùng (gồm cả tombstone)
+    private int live = 0;          // Số gạch còn sống
+    private int destructibleLive = 0;
+    private int modifications = 0; // Tăng khi thêm / xóa gạch (iterator fail-fast)
+    private int compactions = 0;   // Tăng khi compact() dồn mảng (iterator tìm lại vị trí)
+    private final Map<Brick, Integer> slotOf = new IdentityHashMap<>();
+    private final List<Brick> view = new View();
+
+    public void add(Brick brick) {
+        if (slotOf.containsKey(brick)) return;
+        if (used == slots.length) {
+            if (live < used) {
+                compact();
+            } else {
+                slots = Arrays.copyOf(slots, slots.length * 2);
+                destructible = Arrays.copyOf(destructible, destructible.length * 2);
+            }
+        }
+        boolean canBreak = brick.getHitCount() >= 0;
+        slots[used] = brick;
+        destructible[used] = canBreak;
+        slotOf.put(brick, used);
+        used++;
+        live++;
+        modifications++;
+        if (canBreak) destructibleLive++;
+    }
+
+    /**
+     * Xóa gạch (tombstone), O(1)
+     * @return false nếu gạch không có trong store
+     */
+    public boolean remove(Brick brick) {
+        Integer boxed = slotOf.remove(brick);
+        if (boxed == null) return false;
+        int slot = boxed;
+        slots[slot] = null;
+        live--;
+        modifications++;
+        if (destructible[slot]) destructibleLive--;
+        if (live == 0) {
+            used = 0; // Toàn tombstone: bỏ hết, không cần dồn
+        } else if (used - live > live) {
+            compact();
+        }
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(slots, 0, used, null);
+        used = 0;
+        live = 0;
+        destructibleLive = 0;
+        slotOf.clear();
+        modifications++;
+    }
+
+    public boolean contains(Brick brick) {
+        return slotOf.containsKey(brick);
+    }
+
+    public int size() {
+        return live;
+    }
+
+    public boolean isEmpty() {
+        return live == 0;
+    }
+
+    /**
+     * Số gạch còn sống phá được (level xong khi = 0)
+     */
+    public int getDestructibleCount() {
+        return destructibleLive;
+    }
+
+    /**
+     * Danh sách chỉ đọc của gạch còn sống, theo thứ tự thêm vào
+     */
+    public List<Brick> view() {
+        return view;
+    }
+
+    /**
+     * Dồn các gạch còn sống về đầu mảng (giữ thứ tự), cập nhật slot trong slotOf
+     */
+    private void compact() {
+        if (live == used) return;
+        int kept = 0;
+        for (int i = 0; i < used; i++) {
+            Brick brick = slots[i];
+            if (brick == null) continue;
+            if (kept != i) {
+                slots[kept] = brick;
+                destructible[kept] = destructible[i];
+                slotOf.put(brick, kept);
+            }
+            kept++;
+        }
+        Arrays.fill(slots, kept, used, null);
+        used = kept;
+        compactions++;
+    }
+
+    private final class View extends AbstractList<Brick> {
+        @Override
+        public Brick get(int index) {
+            if (index < 0 || index >= live) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", size: " + live);
+            }
+            compact();
+            return slots[index];
+        }
+
+        @Override
+        public int size() {
+            return live;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Brick && slotOf.containsKey(o);
+        }
+
+        @Override
+        public Iterator<Brick> iterator() {
+            return new Iterator<>() {
+                private final int expectedModifications = modifications;
+                private int seenCompactions = compactions;
+                private int returned = 0;   // Số gạch đã trả về
+                private int next = skip(0);
+
+                private int skip(int i) {
+                    while (i < used && slots[i] == null) i++;
+                    return i;
+                }
+
+                /**
+                 * Mảng vừa bị dồn (get(i)) mà không có gạch nào thêm / xóa: hết tombstone, thứ tự giữ nguyên
+                 * → gạch kế tiếp ở slot = số gạch đã trả về
+                 */
+                private void relocate() {
+                    if (seenCompactions != compactions && expectedModifications == modifications) {
+                        seenCompactions = compactions;
+                        next = returned;
+                    }
+                }
+
+                @Override
+                public boolean hasNext() {
+                    relocate();
+                    return next < used;
+                }
+
+                @Override
+                public Brick next() {
+                    if (expectedModifications != modifications) throw new ConcurrentModificationException();
+                    relocate();
+                    if (next >= used) throw new NoSuchElementException();
+                    Brick brick = slots[next];
+                    next = skip(next + 1);
+                    returned++;
+                    return brick;
+                }
+            };
+        }
+    }
+}
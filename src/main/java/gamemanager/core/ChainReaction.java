@@ -0,0 +1,238 @@
+package gamemanager.core;
+
+import gameobject.brick.Brick;
+import gameobject.brick.ExplodingBrick;
+import gameobject.brick.IndestructibleBrick;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import static gameconfig.GameConfig.EXPLOSION_RANGE;
+
+/**
+ * ChainReaction - Lịch nổ dây chuyền của gạch nổ, tính 1 lần bằng BFS trên lưới gạch
+ *
+ * HOẠT ĐỘNG:
+ * - ignite(): BFS từ gạch bị kích nổ. Gạch nổ ở đợt k phá các gạch cùng hàng / cùng cột trong
+ *   EXPLOSION_RANGE bước lưới (ô kề theo kích thước gạch + khoảng cách) ngay ở đợt k; gạch nổ bị cuốn
+ *   theo sẽ nổ ở đợt k + 1. Cả vùng nổ được lên lịch ngay, mỗi gạch đúng 1 lần.
+ * - Đợt k đến hạn ở tick (lúc kích nổ + k * waveTicks) - đồng hồ mô phỏng, không phụ thuộc khung hình
+ * - advance() / applyDue(): xử lý MỌI mục đến hạn thành 1 đợt (gỡ gạch hàng loạt, đếm số gạch bị phá)
+ *
+ * Lịch là 3 mảng song song sắp theo tick đến hạn (BFS cho thứ tự không giảm; kích nổ chồng lên lịch
+ * đang chạy thì trộn 2 đoạn đã sắp qua bộ đệm tái sử dụng) → không cấp phát đối tượng nào cho mỗi đợt.
+ */
+final class ChainReaction {
+    private final double spacing;
+
+    // Lịch: mục [head, tail) chưa xử lý, sắp theo due tăng dần (ổn định)
+    private Brick[] scheduled = new Brick[64];
+    private int[] due = new int[64];
+    private boolean[] explodes = new boolean[64];   // true: gạch nổ ở tick này; false: gạch bị phá
+    private int head = 0, tail = 0;
+
+    // Gạch đã có trong lịch (không lên lịch lại khi các vụ nổ chồng lên nhau)
+    private final Set<Brick> planned = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    // Hàng đợi BFS (tái sử dụng)
+    private Brick[] frontier = new Brick[64];
+    private int[] frontierWave = new int[64];
+
+    // Bộ đệm trộn của merge() (tái sử dụng, nới theo lịch)
+    private Brick[] mergeBricks = new Brick[0];
+    private int[] mergeDue = new int[0];
+    private boolean[] mergeExplodes = new boolean[0];
+
+    private final BrickGrid.Cursor cursor = new BrickGrid.Cursor();
+    private int now = 0;
+
+    // Kết quả đợt vừa xử lý
+    private boolean exploded = false;
+    private Brick[] wave = new Brick[16];          // Gạch bị phá trong đợt (LevelManager ghi vào nhật ký gạch)
+    private int waveSize = 0;
+
+    /**
+     * @param spacing Khoảng cách giữa 2 gạch kề nhau của bố cục level
+     */
+    ChainReaction(double spacing) {
+        this.spacing = spacing;
+    }
+
+    /**
+     * Lên lịch cả vùng nổ của trigger (trigger đã được gỡ khỏi level). Đợt 0 đến hạn ngay tick này.
+     *
+     * @param alive Gạch còn sống - gạch đã bị phá không bị cuốn theo
+     */
+    void ignite(ExplodingBrick trigger, BrickGrid grid, BrickStore alive, int waveTicks) {
+        // Đã bị vụ nổ trước cuốn theo: vùng nổ của nó đã có trong lịch
+        if (!planned.add(trigger)) return;
+        int before = tail - head; // append() có thể dồn mảng → nhớ số mục cũ, không nhớ chỉ số
+        int first = 0, last = 0;
+        frontier[last] = trigger;
+        frontierWave[last++] = 0;
+
+        while (first < last) {
+            Brick source = frontier[first];
+            int wave = frontierWave[first++];
+            int tick = now + wave * waveTicks;
+            append(source, tick, true);
+
+            double cx = source.getX() + source.getWidth() / 2;
+            double cy = source.getY() + source.getHeight() / 2;
+            double stepX = source.getWidth() + spacing;
+            double stepY = source.getHeight() + spacing;
+            for (int d = 1; d <= EXPLOSION_RANGE; d++) {
+                for (int side = 0; side < 4; side++) {
+                    double px = cx + (side == 0 ? -d * stepX : side == 1 ? d * stepX : 0);
+                    double py = cy + (side == 2 ? -d * stepY : side == 3 ? d * stepY : 0);
+                    int candidates = grid.query(px, py, px, py, cursor);
+                    for (int i = 0; i < candidates; i++) {
+                        Brick brick = cursor.get(i);
+                        if (brick instanceof IndestructibleBrick || !covers(brick, px, py)) continue;
+                        // Gạch đã về 0 máu (bóng vừa phá, chờ removeBrick cuối tick) không bị cuốn theo
+                        if (brick.getHitCount() == 0 || !alive.contains(brick) || !planned.add(brick)) continue;
+                        append(brick, tick, false);
+                        if (brick instanceof ExplodingBrick) {
+                            if (last == frontier.length) {
+                                frontier = Arrays.copyOf(frontier, last * 2);
+                                frontierWave = Arrays.copyOf(frontierWave, last * 2);
+                            }
+                            frontier[last] = brick;
+                            frontierWave[last++] = wave + 1;
+                        }
+                    }
+                }
+            }
+        }
+        Arrays.fill(frontier, 0, last, null);
+
+        int start = head + before;
+        // Lịch cũ còn mục đến hạn muộn hơn đoạn mới → trộn để giữ thứ tự theo tick
+        if (start > head && start < tail && due[start - 1] > due[start]) {
+            merge(start);
+        }
+    }
+
+    /**
+     * Sang tick mô phỏng kế tiếp và xử lý đợt đến hạn
+     * @return Số gạch bị phá trong đợt
+     */
+    int advance(BrickGrid grid, BrickStore alive) {
+        now++;
+        return applyDue(grid, alive);
+    }
+
+    /**
+     * Xử lý mọi mục đến hạn (due <= tick hiện tại) thành 1 đợt
+     * @return Số gạch bị phá trong đợt (gạch đã bị bóng phá trước đó không tính - kể cả gạch đã về 0 máu
+     *         nhưng chưa được removeBrick gỡ: sự kiện BRICK_DESTROYED của nó đã tính điểm / thống kê)
+     */
+    int applyDue(BrickGrid grid, BrickStore alive) {
+        exploded = false;
+        Arrays.fill(wave, 0, waveSize, null);
+        int destroyed = 0;
+        while (head < tail && due[head] <= now) {
+            Brick brick = scheduled[head];
+            if (explodes[head]) {
+                exploded = true;
+            } else if (brick.getHitCount() > 0 && alive.remove(brick)) {
+                grid.remove(brick);
+                brick.destroy();
+                if (destroyed == wave.length) {
+                    wave = Arrays.copyOf(wave, destroyed * 2);
+                }
+                wave[destroyed++] = brick;
+            }
+            scheduled[head++] = null;
+        }
+        if (head == tail) {
+            head = tail = 0;
+            now = 0; // Lịch trống: đếm lại từ 0
+            planned.clear();
+        }
+        waveSize = destroyed;
+        return destroyed;
+    }
+
+    /**
+     * Gạch thứ i bị phá trong đợt vừa xử lý (0 <= i < giá trị applyDue() trả về)
+     */
+    Brick destroyedBrick(int i) {
+        return wave[i];
+    }
+
+    /**
+     * Đợt vừa xử lý có gạch nổ không (1 tiếng nổ cho cả đợt)
+     */
+    boolean exploded() {
+        return exploded;
+    }
+
+    boolean isPending() {
+        return head < tail;
+    }
+
+    void clear() {
+        Arrays.fill(scheduled, head, tail, null);
+        head = tail = 0;
+        now = 0;
+        planned.clear();
+        exploded = false;
+        Arrays.fill(wave, 0, waveSize, null);
+        waveSize = 0;
+    }
+
+    private static boolean covers(Brick brick, double x, double y) {
+        return x >= brick.getX() && x <= brick.getRightX() && y >= brick.getY() && y <= brick.getBottomY();
+    }
+
+    private void append(Brick brick, int tick, boolean explosion) {
+        if (tail == scheduled.length) {
+            if (head > 0) {
+                // Dồn phần chưa xử lý về đầu mảng trước khi nới
+                int pending = tail - head;
+                System.arraycopy(scheduled, head, scheduled, 0, pending);
+                System.arraycopy(due, head, due, 0, pending);
+                System.arraycopy(explodes, head, explodes, 0, pending);
+                Arrays.fill(scheduled, pending, tail, null);
+                head = 0;
+                tail = pending;
+            }
+            if (tail == scheduled.length) {
+                scheduled = Arrays.copyOf(scheduled, tail * 2);
+                due = Arrays.copyOf(due, tail * 2);
+                explodes = Arrays.copyOf(explodes, tail * 2);
+            }
+        }
+        scheduled[tail] = brick;
+        due[tail] = tick;
+        explodes[tail] = explosion;
+        tail++;
+    }
+
+    /**
+     * Trộn ổn định 2 đoạn đã sắp [head, start) và [start, tail) qua bộ đệm trộn (không cấp phát khi đủ chỗ)
+     */
+    private void merge(int start) {
+        int n = tail - head;
+        if (mergeBricks.length < n) {
+            int capacity = Math.max(n, scheduled.length);
+            mergeBricks = new Brick[capacity];
+            mergeDue = new int[capacity];
+            mergeExplodes = new boolean[capacity];
+        }
+        int a = head, b = start;
+        for (int k = 0; k < n; k++) {
+            int from = b >= tail || (a < start && due[a] <= due[b]) ? a++ : b++;
+            mergeBricks[k] = scheduled[from];
+            mergeDue[k] = due[from];
+            mergeExplodes[k] = explodes[from];
+        }
+        System.arraycopy(mergeBricks, 0, scheduled, head, n);
+        System.arraycopy(mergeDue, 0, due, head, n);
+        System.arraycopy(mergeExplodes, 0, explodes, head, n);
+        Arrays.fill(mergeBricks, 0, n, null); // Không giữ gạch đã vỡ sống qua bộ đệm
+    }
+}
@@ -0,0 +1,120 @@
+package gamemanager.core;
+
+import gameconfig.GameConfig;
+import gameconfig.GameConfig.PhysicsMode;
+
+/**
+ * EngineContext - Cấu hình riêng của một GameEngine
+ *
+ * MỤC ĐÍCH:
+ * - GameConfig giữ các biến static có thể đổi lúc chạy (Debug/Settings panel)
+ * - Engine chỉ đọc bản chụp này → nhiều engine chạy song song trong 1 JVM
+ *   không ảnh hưởng nhau (xem SimulationHarness)
+ *
+ * Engine UI không truyền context: mỗi ván mới chụp lại từ GameConfig
+ * để nhận thay đổi trong màn hình Settings.
+ *
+ * physicsWorkers: số luồng cho pha bóng khi nhiều bóng (ParallelBallPhysics). defaults() dùng 1 vì
+ * SimulationHarness đã chạy nhiều engine song song; kết quả mô phỏng không phụ thuộc giá trị này.
+ *
+ * physicsMode: DOUBLE (mặc định) hoặc FIXED - tích phân, va chạm tường / paddle / gạch của bóng bằng số nguyên
+ * Q32.32 (BallKernel.fixed()), cho kết quả như nhau trên mọi máy (lockstep, replay dài).
+ */
+public final class EngineContext {
+    private final int tickRate;
+    private final double paddleLengthMultiplier;
+    private final boolean invincible;
+    private final boolean profiling;
+    private final boolean ballCollisions;
+    private final int physicsWorkers;
+    private final PhysicsMode physicsMode;
+
+    public EngineContext(int tickRate, double paddleLengthMultiplier, boolean invincible) {
+        this(tickRate, paddleLengthMultiplier, invincible, false);
+    }
+
+    public EngineContext(int tickRate, double paddleLengthMultiplier, boolean invincible, boolean profiling) {
+        this(tickRate, paddleLengthMultiplier, invincible, profiling, false);
+    }
+
+    public EngineContext(int tickRate, double paddleLengthMultiplier, boolean invincible, boolean profiling,
+                         boolean ballCollisions) {
+        this(tickRate, paddleLengthMultiplier, invincible, profiling, ballCollisions, 1);
+    }
+
+    public EngineContext(int tickRate, double paddleLengthMultiplier, boolean invincible, boolean profiling,
+                         boolean ballCollisions, int physicsWorkers) {
+        this(tickRate, paddleLengthMultiplier, invincible, profiling, ballCollisions, physicsWorkers,
+                PhysicsMode.DOUBLE);
+    }
+
+    public EngineContext(int tickRate, double paddleLengthMultiplier, boolean invincible, boolean profiling,
+                         boolean ballCollisions, int physicsWorkers, PhysicsMode physicsMode) {
+        if (tickRate <= 0) {
+            throw new IllegalArgumentException("Tick rate must be positive: " + tickRate);
+        }
+        if (physicsWorkers <= 0) {
+            throw new IllegalArgumentException("Physics workers must be positive: " + physicsWorkers);
+        }
+        this.tickRate = tickRate;
+        this.paddleLengthMultiplier = paddleLengthMultiplier;
+        this.invincible = invincible;
+        this.profiling = profiling;
+        this.ballCollisions = ballCollisions;
+        this.physicsWorkers = physicsWorkers;
+        this.physicsMode = physicsMode != null ? physicsMode : PhysicsMode.DOUBLE;
+    }
+
+    /**
+     * Chụp cấu hình hiện tại từ GameConfig
+     */
+    public static EngineContext fromGameConfig() {
+        return new EngineContext(GameConfig.TICK_RATE,
+                GameConfig.DEBUG_PADDLE_LENGTH_MULTIPLIER,
+                GameConfig.DEBUG_INVINCIBLE_MODE,
+                GameConfig.DEBUG_TICK_PROFILER,
+                GameConfig.BALL_COLLISIONS,
+                Math.max(1, GameConfig.PHYSICS_WORKERS),
+                GameConfig.PHYSICS_MODE);
+    }
+
+    /**
+     * Cấu hình mặc định cho mô phỏng (không dùng các tùy chọn debug)
+     */
+    public static EngineContext defaults() {
+        return new EngineContext(GameConfig.DEFAULT_TICK_RATE, 1.0, false);
+    }
+
+    public EngineContext withTickRate(int tickRate) {
+        return new EngineContext(tickRate, paddleLengthMultiplier, invincible, profiling, ballCollisions, physicsWorkers,
+                physicsMode);
+    }
+
+    public EngineContext withProfiling(boolean profiling) {
+        return new EngineContext(tickRate, paddleLengthMultiplier, invincible, profiling, ballCollisions, physicsWorkers,
+                physicsMode);
+    }
+
+    public EngineContext withBallCollisions(boolean ballCollisions) {
+        return new EngineContext(tickRate, paddleLengthMultiplier, invincible, profiling, ballCollisions, physicsWorkers,
+                physicsMode);
+    }
+
+    public EngineContext withPhysicsWorkers(int physicsWorkers) {
+        return new EngineContext(tickRate, paddleLengthMultiplier, invincible, profiling, ballCollisions, physicsWorkers,
+                physicsMode);
+    }
+
+    public EngineContext withPhysicsMode(PhysicsMode physicsMode) {
+        return new EngineContext(tickRate, paddleLengthMultiplier, invincible, profiling, ballCollisions, physicsWorkers,
+                physicsMode);
+    }
+
+    public int getTickRate() { return tickRate; }
+    public double getPaddleLengthMultiplier() { return paddleLengthMultiplier; }
+    public boolean isInvincible() { return invincible; }
+    public boolean isProfiling() { return profiling; }
+    public boolean isBallCollisions() { return ballCollisions; }
+    public int getPhysicsWorkers() { return physicsWorkers; }
+    public PhysicsMode getPhysicsMode() { return physicsMode; }
+}
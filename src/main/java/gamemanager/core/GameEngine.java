@@ -1,28 +1,41 @@
 package gamemanager.core;
 
 import gameconfig.GameConfig;
+import gameconfig.SkinRegistry;
 import gamemanager.manager.CoinManager;
 import gamemanager.manager.CollisionManager;
+import gamemanager.manager.ObjectPool;
+import gamemanager.manager.RandomManager;
 import gamemanager.manager.ScoreManager;
 import gamemanager.manager.SoundManager;
+import gamemanager.profiling.TickProfiler;
+import gamemanager.profiling.TickProfiler.Phase;
+import gamemanager.render.CanvasRenderer;
+import gamemanager.render.GameRenderer;
+import gamemanager.render.SceneGraphRenderer;
+import gamemanager.render.WorldSnapshot;
+import gamemanager.replay.InputRecorder;
+import gamemanager.replay.Replay;
+import gamemanager.replay.ReplayPlayer;
+import gamemanager.ui.ImageManager;
 import gameobject.ball.Ball;
+import gameobject.ball.BallKernel;
+import gameobject.ball.BallStore;
 import gameobject.brick.Brick;
 import gameobject.paddle.Indicator;
 import gameobject.paddle.Paddle;
 import gameobject.powerup.Powerup;
 import javafx.animation.AnimationTimer;
-import javafx.animation.FadeTransition;
-import javafx.animation.Interpolator;
-import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.scene.Scene;
 import javafx.scene.layout.Pane;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Rectangle;
-import javafx.util.Duration;
 import userinterface.gamescreen.BotScreen;
 import userinterface.gamescreen.EndlessScreen;
+import userinterface.gamescreen.GameScreen;
 import userinterface.gamescreen.OneVOneScreen;
 import userinterface.gamescreen.SingleplayerScreen;
 
+import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -34,29 +47,63 @@ public class GameEngine {
     private javafx.scene.shape.Rectangle transitionOverlay;
 
     // ========== THÀNH PHẦN CHÍNH ==========
-    private final Pane root; // Container chứa tất cả UI và game objects
-    private GameConfig.GameState gameState = GameConfig.GameState.MENU;
-    private GameConfig.GameState previousGameState = GameConfig.GameState.MENU;
+    private final Pane root; // Container chứa tất cả UI và game objects (null = headless)
+    private GameRenderer renderer; // Vẽ game objects (null khi headless), theo GameConfig.RENDERER
+    private RendererType rendererType;
+    private Scene profiledScene;   // Scene đã gắn listener đo CSS + layout mỗi pulse
+    private long scenePulseStart;
+    // volatile: FX thread (InputHandler, GamePlay) đọc trạng thái do thread mô phỏng ghi
+    private volatile GameConfig.GameState gameState = GameConfig.GameState.MENU;
+    private volatile GameConfig.GameState previousGameState = GameConfig.GameState.MENU;
 
     // ========== CÁC MANAGER (Quản lý từng phần riêng) ==========
     private final LevelManager levelManager;           // Quản lý level (load gạch từ file)
     private final CollisionManager collisionManager;   // Xử lý va chạm
-    private final ScoreManager scoreManager;           // Quản lý điểm số
-    private final CoinManager coinManager;             // Quản lý xu và shop
-    private final SoundManager soundManager;           // Quản lý âm thanh
+    private final BallHash ballHash = new BallHash();    // Broadphase bóng-bóng (EngineContext.isBallCollisions)
+    private BallStore ballStore;                         // Vị trí/vận tốc bóng dạng SoA, tích phân + tường theo lô
+    private ParallelBallPhysics ballPhysics;             // Pha bóng song song (xem usePartitionedBalls())
+    // Việc của từng phân vùng (tạo 1 lần, không cấp phát lambda mỗi tick) + tham số của tick hiện tại
+    private final ParallelBallPhysics.RangeTask integrateRange = this::integrateRange;
+    private final ParallelBallPhysics.RangeTask collideRange = this::collideRange;
+    private double stepTpf;
+    private Paddle stepHolder;
+    private boolean stepTopServe;
+    private boolean stepInvincible;
+    private Paddle stepSecondPaddle;
+    private BrickGrid stepGrid;
+    private int[] ballOutcomes = new int[0];             // Kết quả ballLost() từng bóng của pha song song
+    private final ScoreManager scoreManager;           // Quản lý điểm số (null khi headless)
+    private final CoinManager coinManager;             // Quản lý xu và shop (null khi headless)
+    private final SoundManager soundManager;           // Quản lý âm thanh (null khi headless)
+    private final RandomManager randomManager;         // Nguồn ngẫu nhiên có seed cho mọi subsystem
+    private Long fixedSeed = null;                     // != null → mọi ván dùng seed này (chế độ xác định)
+    private final EngineContext configuredContext;     // null → chụp lại từ GameConfig mỗi ván
+    private EngineContext context;                     // Cấu hình của ván hiện tại (tick rate, debug)
 
     // ========== GAME OBJECTS (Đối tượng trong game) ==========
     private Paddle paddle;                             // Thanh đỡ người chơi 1
     private Paddle paddle2;                            // Thanh đỡ người chơi 2 (chế độ 1v1)
     private final List<Ball> balls = new ArrayList<>(); // Danh sách bóng (có thể có nhiều bóng)
+    // Bóng rời danh sách (mất bóng / dọn ván) quay về kho → đợt MULTIPLY không cấp phát giữa lượt chơi
+    private final ObjectPool<Ball> ballPool =
+            new ObjectPool<>(() -> new Ball(0, 0, BALL_RADIUS, BALL_SPEED), BALL_POOL_CAPACITY);
     private Indicator indicator;                       // Mũi tên chỉ hướng bắn bóng
     private AIManager aiManager;                       // AI điều khiển bot
+    private AIManager autopilot;                       // AI điều khiển paddle người chơi 1 (soak test)
+    private boolean autopilotEnabled = false;
 
     // ========== CÁC CỜ CHẾ ĐỘ CHƠI ==========
     private boolean isBotMode = false;                 // Có đang chơi với bot không?
     private boolean isOneVOneMode = false;             // Có đang chơi 1v1 không?
+    private boolean isEndlessMode = false;             // Có đang chơi endless không?
     private int lastScoredPlayer = 1;                  // Người chơi nào ghi điểm cuối (1v1)
 
+    // ========== ĐIỂM SỐ & MẠNG ==========
+    // Engine giữ trạng thái, màn hình UI chỉ hiển thị lại
+    private int score = 0;
+    private int lives = 3;                             // Mạng người chơi 1 / người chơi
+    private int lives2 = 3;                            // Mạng người chơi 2 / bot
+
     // ========== XỬ LÝ DI CHUYỂN ==========
     // Các cờ để xử lý input (phím bấm)
     private boolean isMovingLeft = false;              // Player 1 đang di chuyển trái
@@ -71,31 +118,189 @@ public class GameEngine {
     private EndlessScreen endlessScreen;
 
     // ========== TIMER & ANIMATION ==========
-    private PauseTransition oneshotTimer;              // Đếm thời gian cho power-up "oneshot"
-    private AnimationTimer gameLoop;                   // Vòng lặp game chính
+    private double oneshotTimeRemaining = 0;           // Thời gian còn lại của power-up "oneshot" (giây)
+    private AnimationTimer gameLoop;                   // Vòng lặp vẽ trên FX thread (chỉ đọc snapshot)
+
+    // ========== THREAD MÔ PHỎNG ==========
+    // Mọi thay đổi trạng thái engine đều giữ monitor của engine (synchronized),
+    // thread mô phỏng giữ nó trong lúc tick, FX thread giữ khi xử lý phím / bắt đầu ván.
+    private SimulationThread simulationThread;         // null khi headless
+    private TripleBuffer<WorldSnapshot> snapshots;     // Thread mô phỏng → FX thread, không khóa
+    private final WorldSnapshot immediateSnapshot = new WorldSnapshot(); // Vẽ ngay trên FX thread
+    private volatile long worldGeneration = 0;         // Tăng khi dọn ván/chuyển level → bỏ snapshot cũ
 
     private Runnable onGameOver;                       // Callback khi game over
 
+    // ========== GHI / PHÁT LẠI INPUT ==========
+    // Input được ghi theo tick: cùng seed + cùng chuỗi input → cùng ván game
+    private GameMode gameMode;                         // Chế độ của ván hiện tại
+    private boolean recordingEnabled = true;           // Tắt khi chạy benchmark/bot để khỏi tốn bộ nhớ
+    private InputRecorder recorder;                    // Ghi input ván hiện tại (null khi đang phát lại)
+    private ReplayPlayer replayPlayer;                 // != null → input lấy từ replay, bỏ qua bàn phím
+    private ReplayPlayer pendingReplay;                // Replay sẽ phát ở ván bắt đầu tiếp theo
+    private int pendingEvents = 0;                     // Sự kiện (xoay/bắn/debug) đã xảy ra trong tick này
+
+    // ========== HÀNG ĐỢI INPUT ==========
+    private final InputQueue inputQueue = new InputQueue(256);    // FX thread → tick, có timestamp
+    private long inputDeadline = InputQueue.NO_DEADLINE;       // Tick hiện tại nhận input tới thời điểm này
+    private int tappedMoves = 0;                               // Phím di chuyển đã nhấn trong tick này (bit MOVE_* của Replay)
+
+    // ========== PROFILER ==========
+    private final TickProfiler profiler = new TickProfiler();  // Tắt mặc định, bật qua EngineContext
+
+    // ========== THỐNG KÊ VÁN (fast-forward) ==========
+    private long tickCount = 0;                        // Số tick mô phỏng từ đầu ván
+    private int livesLost = 0;                         // Số mạng người chơi 1 đã mất
+    private int levelsCleared = 0;                     // Số level đã phá hết gạch
+
     // ========== TỐI ƯU HÓA PERFORMANCE ==========
     // Danh sách tạm để xóa objects (tránh ConcurrentModificationException)
-    private final List<Ball> ballsToRemove = new ArrayList<>();
-    private final List<Brick> cachedBricks = new ArrayList<>();
     private final List<Powerup> cachedPowerups = new ArrayList<>();
+    private final List<Ball> lostBalls = new ArrayList<>();      // Bóng rơi khỏi màn trong tick, theo thứ tự trong balls
 
     // ========== CẤU HÌNH GAME LOOP ==========
-    private static final double FIXED_TIME_STEP = 1.0 / 240.0;  // Cập nhật logic 240 lần/giây
-    private static final long FRAME_TIME_NANOS = 16_666_667L;   // Vẽ màn hình ~60 FPS
+    // Tần số mô phỏng lấy từ context (mặc định GameConfig.TICK_RATE: 120/240/480/1000 Hz)
+    private double accumulator = 0;                             // Thời gian mô phỏng chưa chạy (giây)
+    private static final double ONESHOT_DURATION = 7.5;         // Thời gian hiệu lực oneshot (giây)
 
     public GameEngine(Pane root) {
+        this(root, null);
+    }
+
+    /**
+     * @param root    Pane chứa game (null = headless)
+     * @param context Cấu hình cố định cho engine, null = đọc GameConfig mỗi ván
+     */
+    public GameEngine(Pane root, EngineContext context) {
         this.root = root;
-        this.levelManager = new LevelManager();
-        this.collisionManager = new CollisionManager(levelManager, root);
-        this.scoreManager = new ScoreManager();
-        this.coinManager = new CoinManager();
-        this.soundManager = SoundManager.getInstance();
+        this.configuredContext = context;
+        this.context = context != null ? context : EngineContext.fromGameConfig();
+        this.randomManager = new RandomManager();
+        this.levelManager = new LevelManager(randomManager.get(RandomManager.Stream.LEVEL));
+        this.collisionManager = new CollisionManager(levelManager, randomManager.get(RandomManager.Stream.POWERUP));
+        this.ballStore = createBallStore(this.context);
+
+        if (root != null) {
+            this.rendererType = RENDERER;
+            this.renderer = createRenderer(root, rendererType);
+            this.scoreManager = new ScoreManager();
+            this.coinManager = new CoinManager();
+            this.soundManager = SoundManager.getInstance();
+        } else {
+            this.renderer = null;
+            this.scoreManager = null;
+            this.coinManager = null;
+            this.soundManager = null;
+        }
 
+        levelManager.setSoundManager(soundManager);
+        collisionManager.setSoundManager(soundManager);
         collisionManager.setCoinManager(coinManager);
         collisionManager.setScoreManager(scoreManager);
+        ballPool.prewarm(BALL_POOL_PREWARM);
+    }
+
+    /**
+     * Engine HEADLESS: không có Pane, màn hình, âm thanh hay game loop.
+     * Gọi tick() để chạy mô phỏng (dùng cho test, bot, benchmark).
+     */
+    public GameEngine() {
+        this(null, null);
+    }
+
+    /**
+     * Engine HEADLESS với cấu hình riêng (chạy song song nhiều engine)
+     */
+    public GameEngine(EngineContext context) {
+        this(null, context);
+    }
+
+    public boolean isHeadless() {
+        return root == null;
+    }
+
+    /**
+     * BẬT CHẾ ĐỘ XÁC ĐỊNH: mọi ván bắt đầu sau lời gọi này dùng cùng seed.
+     * Cùng seed + cùng chuỗi input → cùng kết quả.
+     */
+    public void setSeed(long seed) {
+        this.fixedSeed = seed;
+    }
+
+    /**
+     * Tắt chế độ xác định: mỗi ván dùng một seed mới
+     */
+    public void clearSeed() {
+        this.fixedSeed = null;
+    }
+
+    /**
+     * Seed của ván hiện tại (ghi vào replay)
+     */
+    public long getSeed() {
+        return randomManager.getSeed();
+    }
+
+    /**
+     * CHUẨN BỊ VÁN MỚI
+     * - Chụp cấu hình (replay đang chờ thì dùng nguyên EngineContext đã ghi trong replay)
+     * - Đặt lại RNG
+     */
+    private void prepareNewGame() {
+        if (pendingReplay != null) {
+            context = pendingReplay.getReplay().getContext();
+        } else {
+            context = configuredContext != null ? configuredContext : EngineContext.fromGameConfig();
+        }
+        collisionManager.setInvincible(context.isInvincible());
+        levelManager.setTickRate(context.getTickRate());
+        profiler.setEnabled(context.isProfiling());
+        if (ballStore.isFixedPoint() != (context.getPhysicsMode() == PhysicsMode.FIXED)) {
+            ballStore.release();
+            ballStore = createBallStore(context);
+        }
+
+        randomManager.reseed(fixedSeed != null ? fixedSeed : System.nanoTime());
+    }
+
+    /**
+     * BallStore theo chế độ vật lý: FIXED → kernel Q32.32, DOUBLE → SIMD nếu có
+     */
+    private static BallStore createBallStore(EngineContext context) {
+        return new BallStore(context.getPhysicsMode() == PhysicsMode.FIXED ? BallKernel.fixed() : BallKernel.best());
+    }
+
+    public EngineContext getContext() {
+        return context;
+    }
+
+    /**
+     * Profiler của vòng lặp (bật khi EngineContext.isProfiling())
+     */
+    public TickProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * IN BẢNG THỜI GIAN TỪNG PHASE (lệnh debug, phím F3)
+     */
+    public synchronized void dumpProfile(PrintStream out) {
+        if (!profiler.isEnabled()) {
+            out.println("Tick profiler is off (enable it in Debug settings)");
+            return;
+        }
+        out.printf("Tick profile after %d ticks, %d balls alive, %d Hz%n",
+                tickCount, balls.size(), context.getTickRate());
+        profiler.dump(out);
+        out.println("input queue: " + inputQueue);
+        out.println("ball pool: " + ballPool);
+        out.println("powerup pool: " + levelManager.getPowerupPool());
+        if (renderer instanceof SceneGraphRenderer sceneGraph) {
+            sceneGraph.dumpPools(out);
+        }
+        if (renderer != null) {
+            out.println("image cache: " + ImageManager.stats());
+        }
     }
 
     /**
@@ -110,36 +315,336 @@ public class GameEngine {
         }
     }
 
+    /**
+     * KHỞI ĐỘNG VÒNG LẶP
+     * - Thread mô phỏng: tick + chụp snapshot
+     * - AnimationTimer trên FX thread: chỉ vẽ snapshot mới nhất
+     */
     public void initGameLoop() {
+        snapshots = new TripleBuffer<>(WorldSnapshot::new);
         gameLoop = new AnimationTimer() {
-            private long lastUpdate = 0;
-
             @Override
             public void handle(long now) {
-                // GIỚI HẠN FRAME RATE: Nếu chưa đủ 16.6ms thì bỏ qua
-                if (now - lastUpdate < FRAME_TIME_NANOS) {
+                renderLatest();
+            }
+        };
+        gameLoop.start();
+        startSimulationThread();
+    }
+
+    /**
+     * Chạy thread mô phỏng nếu chưa chạy (chỉ khi có UI, sau initGameLoop)
+     */
+    private void startSimulationThread() {
+        if (snapshots != null && (simulationThread == null || !simulationThread.isRunning())) {
+            simulationThread = new SimulationThread(this);
+            simulationThread.start();
+        }
+    }
+
+    /**
+     * Dừng thread mô phỏng (không chờ: có thể đang được gọi từ chính thread đó, hoặc thread đó đang chờ monitor)
+     */
+    private void stopSimulationThread() {
+        if (simulationThread != null) {
+            simulationThread.stop();
+        }
+    }
+
+    /**
+     * THOÁT GAME: dừng vòng lặp vẽ và thread mô phỏng
+     */
+    public synchronized void shutdown() {
+        if (gameLoop != null) {
+            runOnFxThread(gameLoop::stop);
+        }
+        stopSimulationThread();
+    }
+
+    /**
+     * Gọi bởi SimulationThread mỗi vòng lặp: chạy các bước mô phỏng và publish snapshot
+     * (thread đã bị dừng và thay thế có thể gọi thêm 1 lần - bỏ qua)
+     */
+    synchronized void stepSimulation(double realSeconds, long nowNanos) {
+        if (simulationThread == null || !simulationThread.isCurrentThread()) {
+            return;
+        }
+        if (!isSimulating()) {
+            // Pause, menu, chuyển level: không tích thời gian, vẫn nhận nhả phím
+            accumulator = 0;
+            drainInput();
+            return;
+        }
+        if (advance(realSeconds, nowNanos) > 0) {
+            WorldSnapshot snapshot = snapshots.back();
+            long t = profiler.start();
+            captureSnapshot(snapshot);
+            profiler.record(Phase.SNAPSHOT, t);
+            snapshots.publish();
+        }
+    }
+
+    /**
+     * Chạy code UI (màn hình HUD, hiệu ứng, callback) trên FX thread.
+     * Có thread mô phỏng (engine có UI) và không ở FX thread → Platform.runLater, còn lại chạy ngay
+     * (kể cả thread mô phỏng cũ vừa bị dừng và thay thế, đang chạy nốt bước cuối).
+     */
+    private void runOnUi(Runnable action) {
+        if (simulationThread != null && !Platform.isFxApplicationThread()) {
+            Platform.runLater(action);
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Chạy trên FX thread, gọi từ bất kỳ thread nào (thread mô phỏng, thread của SimulationHarness...):
+     * đang ở FX thread thì chạy ngay, còn lại Platform.runLater.
+     * Chỉ dùng khi có UI (renderer / gameLoop) - engine headless không khởi động JavaFX.
+     */
+    private void runOnFxThread(Runnable action) {
+        if (Platform.isFxApplicationThread()) {
+            action.run();
+        } else {
+            Platform.runLater(action);
+        }
+    }
+
+    /**
+     * CHẠY MÔ PHỎNG THEO THỜI GIAN THỰC (fixed timestep + accumulator)
+     * - Cộng thời gian frame vào accumulator
+     * - Chạy tick() cho tới khi accumulator < 1 bước
+     * - Giới hạn số bước mỗi frame: máy chậm thì bỏ phần tồn đọng
+     *   thay vì chạy ngày càng nhiều bước (spiral of death)
+     *
+     * @param realSeconds Thời gian thực đã trôi qua từ frame trước
+     * @return Số bước mô phỏng đã chạy
+     */
+    public synchronized int advance(double realSeconds) {
+        return advance(realSeconds, InputQueue.NO_DEADLINE);
+    }
+
+    /**
+     * Như advance(realSeconds), đồng thời chia input trong hàng đợi theo bước:
+     * mỗi tick chỉ nhận các sự kiện có timestamp nằm trong khoảng thời gian thực của nó.
+     *
+     * @param nowNanos System.nanoTime() lúc đo realSeconds (NO_DEADLINE: tick đầu nhận hết)
+     */
+    synchronized int advance(double realSeconds, long nowNanos) {
+        double dt = getFixedTimeStep();
+        int maxSteps = getMaxStepsPerFrame();
+        accumulator += realSeconds * SIMULATION_SPEED;
+
+        // Thời điểm thực kết thúc bước đầu tiên, mỗi bước sau cộng thêm stepNanos
+        long stepNanos = (long) (dt / SIMULATION_SPEED * 1_000_000_000L);
+        long deadline = nowNanos - (long) ((accumulator - dt) / SIMULATION_SPEED * 1_000_000_000L);
+
+        int steps = 0;
+        while (accumulator >= dt && steps < maxSteps) {
+            inputDeadline = nowNanos == InputQueue.NO_DEADLINE ? InputQueue.NO_DEADLINE : deadline;
+            tick();
+            accumulator -= dt;
+            steps++;
+            deadline += stepNanos;
+        }
+        inputDeadline = InputQueue.NO_DEADLINE;
+
+        // Vượt giới hạn → bỏ phần thời gian còn tồn đọng
+        if (accumulator >= dt) {
+            accumulator = 0;
+        }
+        return steps;
+    }
+
+    /**
+     * MỘT BƯỚC MÔ PHỎNG (không vẽ)
+     * - Chỉ chạy khi đang PLAYING hoặc START
+     * - Va chạm được xử lý ở mọi bước
+     * - Dùng chung cho game loop và chế độ headless
+     */
+    public synchronized void tick() {
+        // Only update when playing or starting
+        if (gameState == GameConfig.GameState.PLAYING ||
+                gameState == GameConfig.GameState.START) {
+
+            tickCount++;
+            long tickStart = profiler.start();
+            double dt = getFixedTimeStep();
+            drainInput();
+
+            int input;
+            if (replayPlayer != null) {
+                input = replayPlayer.next();
+                applyInputFrame(input);
+            } else {
+                input = buildInputFrame();
+                if (recorder != null) recorder.record(input);
+            }
+            pendingEvents = 0;
+            tappedMoves = 0;
+
+            // Xóa gạch chạy ở đầu tick (cả khi chơi lẫn khi phát lại) vì có thể kết thúc level
+            if ((input & Replay.CLEAR_BRICKS) != 0) {
+                clearBricksAndCheckLevel();
+                if (!isSimulating()) {
+                    profiler.endTick(tickStart);
                     return;
                 }
-                lastUpdate = now;
+            }
 
-                // Only update when playing or starting
-                if (gameState == GameConfig.GameState.PLAYING ||
-                        gameState == GameConfig.GameState.START) {
+            // Autopilot tự bắn bóng khi bóng đang dính paddle
+            if (autopilot != null && gameState == GameState.START) {
+                launchBalls();
+            }
 
-                    // Always do input and game update
-                    for (int i = 0; i < 2; i++) {
-                        processInput();  // Xử lý phím bấm
-                        updateGame();    // Cập nhật vị trí objects
-                    }
+            long t = profiler.start();
+            processInput(dt, input);  // Xử lý phím bấm
+            profiler.lap(Phase.INPUT, t);
+            updateGame(dt);    // Cập nhật vị trí objects
 
-                    // KIỂM TRA VA CHẠM (có thể giảm tần suất để tối ưu)
-                    if (gameState == GameState.PLAYING) {
-                        handleCollisions();
+            if (gameState == GameState.PLAYING) {
+                handleCollisions();
+            }
+            profiler.endTick(tickStart);
+        }
+    }
+
+    /**
+     * CHẠY NHANH HẾT MỨC (fast-forward)
+     * - Gọi tick() liên tục, không vẽ, không chờ frame 60 FPS
+     * - Dừng khi game over, khi phá xong 1 level hoặc sau maxTicks tick
+     * - Dùng cho soak test level / AI (kết hợp setAutopilot(true))
+     * - Gọi được từ mọi thread; có UI thì dừng / vẽ lại / chạy lại game loop đều đi qua FX thread
+     *
+     * @param maxTicks Số tick tối đa của lần chạy này
+     * @return Thống kê từ đầu ván
+     */
+    public synchronized SimulationResult runFastForward(long maxTicks) {
+        if (gameLoop != null) {
+            runOnFxThread(gameLoop::stop);
+        }
+
+        long startTick = tickCount;
+        int startLevels = levelsCleared;
+        long start = System.nanoTime();
+        while (tickCount - startTick < maxTicks && isSimulating() && levelsCleared == startLevels) {
+            tick();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        // Vẽ lại trạng thái cuối 1 lần và tiếp tục game loop thường (nếu có UI), trên FX thread
+        accumulator = 0;
+        if (renderer != null || gameLoop != null) {
+            runOnFxThread(() -> {
+                synchronized (this) {
+                    renderNow();
+                    if (gameLoop != null && isSimulating()) {
+                        gameLoop.start();
                     }
                 }
-            }
-        };
-        gameLoop.start();
+            });
+        }
+
+        return new SimulationResult(score, livesLost, tickCount, levelManager.getBricksDestroyed(),
+                levelsCleared, gameState, elapsed);
+    }
+
+    /**
+     * Thời gian mô phỏng của 1 bước (giây) = 1 / tick rate
+     */
+    public double getFixedTimeStep() {
+        return 1.0 / context.getTickRate();
+    }
+
+    /**
+     * Số bước tối đa mỗi frame, tương ứng MAX_FRAME_CATCHUP giây mô phỏng
+     */
+    public int getMaxStepsPerFrame() {
+        return Math.max(1, (int) Math.ceil(context.getTickRate() * MAX_FRAME_CATCHUP));
+    }
+
+    /**
+     * VẼ SNAPSHOT MỚI NHẤT (FX thread, mỗi frame)
+     * - Không có snapshot mới → giữ nguyên frame trước
+     * - Snapshot của ván/level cũ (khác generation) bị bỏ qua
+     */
+    private void renderLatest() {
+        if (renderer == null || !snapshots.hasFresh()) return;
+        WorldSnapshot snapshot = snapshots.acquire();
+        if (snapshot.getGeneration() == worldGeneration) {
+            long t = profiler.start();
+            renderer.render(snapshot);
+            profiler.record(Phase.RENDER, t);
+        }
+    }
+
+    /**
+     * VẼ NGAY TRẠNG THÁI HIỆN TẠI (FX thread, đang giữ monitor của engine; bỏ qua khi headless)
+     */
+    private void renderNow() {
+        if (renderer != null) {
+            captureSnapshot(immediateSnapshot);
+            renderer.render(immediateSnapshot);
+        }
+    }
+
+    /**
+     * Chụp trạng thái hiển thị của tất cả entity vào snapshot
+     */
+    private void captureSnapshot(WorldSnapshot snapshot) {
+        snapshot.begin(worldGeneration, tickCount);
+        snapshot.captureBricks(levelManager.getBrickEpoch(), levelManager.getBricks(),
+                levelManager.getBrickLog(), levelManager.getBrickLogSize());
+        for (Powerup p : levelManager.getPowerups()) {
+            snapshot.addPowerup(p);
+        }
+        snapshot.addPaddle(paddle);
+        snapshot.addPaddle(paddle2);
+        for (Ball b : balls) {
+            snapshot.addBall(b);
+        }
+        snapshot.addIndicator(indicator);
+    }
+
+    private void playSound(SoundManager.SoundType type) {
+        if (soundManager != null) {
+            soundManager.playSound(type);
+        }
+    }
+
+    private void playGameMusic() {
+        if (soundManager != null) {
+            soundManager.playMusic(SoundManager.SoundType.GAME_MUSIC, true);
+        }
+    }
+
+    /**
+     * Gắn lớp hiển thị vào root trước khi tạo màn hình HUD
+     */
+    private void attachRenderer() {
+        if (renderer == null) return;
+        if (rendererType != RENDERER) {
+            // Đổi renderer trong VideoSettingsPanel: áp dụng từ ván mới
+            renderer.clear();
+            rendererType = RENDERER;
+            renderer = createRenderer(root, rendererType);
+        }
+        renderer.attach();
+        profileScenePulse(root.getScene());
+    }
+
+    private static GameRenderer createRenderer(Pane root, RendererType type) {
+        return type == RendererType.CANVAS ? new CanvasRenderer(root) : new SceneGraphRenderer(root);
+    }
+
+    /**
+     * Đo CSS + layout của Scene mỗi pulse (phase SCENE_PULSE) - phần chi phí tỉ lệ với số Node
+     */
+    private void profileScenePulse(Scene scene) {
+        if (scene == null || scene == profiledScene) return;
+        profiledScene = scene;
+        scene.addPreLayoutPulseListener(() -> scenePulseStart = profiler.start());
+        scene.addPostLayoutPulseListener(() -> profiler.record(Phase.SCENE_PULSE, scenePulseStart));
     }
 
     /**
@@ -155,12 +660,12 @@ public class GameEngine {
         double paddleX = (GAME_WIDTH - PADDLE_WIDTH) / 2;
         double paddleY = GAME_HEIGHT - 50;
         paddle = new Paddle(paddleX, paddleY, PADDLE_WIDTH, PADDLE_HEIGHT, PADDLE_SPEED);
-        paddle.updateDebugWidth(DEBUG_PADDLE_LENGTH_MULTIPLIER);
+        paddle.updateDebugWidth(context.getPaddleLengthMultiplier());
 
         // Tạo BÓNG trên paddle
         double ballX = GAME_WIDTH / 2;
         double ballY = GAME_HEIGHT - 35;
-        Ball ball = new Ball(ballX, ballY, BALL_RADIUS, BALL_SPEED);
+        Ball ball = obtainBall(ballX, ballY, BALL_RADIUS, BALL_SPEED);
 
         // ÁP DỤNG SKIN từ shop (nếu đã mua)
         if (coinManager != null) {
@@ -181,52 +686,70 @@ public class GameEngine {
         indicator = new Indicator(ballX, ballY);
         indicator.pointAtBall(ball);
         indicator.setRotation(-90);
-
-        // Thêm tất cả vào màn hình
-        root.getChildren().addAll(paddle.getNode(), ball.getTrailGroup(),
-                ball.getNode(), indicator.getNode());
     }
 
     public void startSinglePlayerGame() {
+        startSinglePlayerGame(1);
+    }
+
+    /**
+     * Bắt đầu single player từ một level bất kỳ (dùng khi phát lại replay)
+     */
+    public synchronized void startSinglePlayerGame(int level) {
         cleanupGameObjects();
-        soundManager.playMusic(SoundManager.SoundType.GAME_MUSIC, true);
+        prepareNewGame();
+        playGameMusic();
         initializeGameElements();
         isBotMode = false;
         isOneVOneMode = false;
+        isEndlessMode = false;
+        score = 0;
+        lives = 3;
 
-        singleplayerScreen = new SingleplayerScreen(root, coinManager);
-        singleplayerScreen.updateLives(3);
-        singleplayerScreen.updateScore(0);
-        singleplayerScreen.updateCoins();
+        attachRenderer();
+        createSingleplayerScreen();
 
-        levelManager.loadLevel(1, root);
+        levelManager.loadLevel(level);
+        beginSession(GameMode.SINGLEPLAYER, level);
         changeGameState(GameState.START);
     }
 
-    public void startBotGame() {
+    private void createSingleplayerScreen() {
+        if (root == null) return;
+        singleplayerScreen = new SingleplayerScreen(root, coinManager);
+        singleplayerScreen.updateLives(lives);
+        singleplayerScreen.updateScore(score);
+        singleplayerScreen.updateCoins();
+    }
+
+    public synchronized void startBotGame() {
         cleanupGameObjects();
-        soundManager.playMusic(SoundManager.SoundType.GAME_MUSIC, true);
+        prepareNewGame();
+        playGameMusic();
 
         isBotMode = true;
         isOneVOneMode = false;
+        isEndlessMode = false;
         lastScoredPlayer = 1;
+        lives = 3;
+        lives2 = 3;
 
         // Tạo paddle cho người chơi và bot
         double paddleX = (GAME_WIDTH - PADDLE_WIDTH) / 2;
         paddle = new Paddle(paddleX, GAME_HEIGHT - 50, PADDLE_WIDTH, PADDLE_HEIGHT, PADDLE_SPEED);
         paddle2 = new Paddle(paddleX, 30, PADDLE_WIDTH, PADDLE_HEIGHT, PADDLE_SPEED);
-        paddle.updateDebugWidth(DEBUG_PADDLE_LENGTH_MULTIPLIER);
-        paddle2.updateDebugWidth(DEBUG_PADDLE_LENGTH_MULTIPLIER);
+        paddle.updateDebugWidth(context.getPaddleLengthMultiplier());
+        paddle2.updateDebugWidth(context.getPaddleLengthMultiplier());
         paddle.applySkin("blue");
         paddle2.applySkin("red");
 
         // Khởi tạo AI cho bot
-        aiManager = new AIManager(paddle2);
+        aiManager = new AIManager(paddle2, randomManager.get(RandomManager.Stream.AI));
 
         // Tạo bóng bắt đầu trên paddle
         double ballX = paddle.getX() + paddle.getWidth() / 2;
         double ballY = paddle.getY() - 8;
-        Ball ball = new Ball(ballX, ballY, BALL_RADIUS, BALL_SPEED);
+        Ball ball = obtainBall(ballX, ballY, BALL_RADIUS, BALL_SPEED);
         ball.setStuck(true);
 
         // Áp dụng skin bóng từ shop (nếu có)
@@ -241,16 +764,17 @@ public class GameEngine {
         indicator.setTopPaddle(false);
         indicator.pointAtBall(ball);
 
-        // Thêm tất cả vào màn hình
-        root.getChildren().addAll(paddle.getNode(), paddle2.getNode(),
-                ball.getTrailGroup(), ball.getNode(), indicator.getNode());
+        attachRenderer();
 
         // Khởi tạo màn hình bot
-        botScreen = new BotScreen(root);
-        botScreen.updatePlayerLives(3);
-        botScreen.updateBotLives(3);
+        if (root != null) {
+            botScreen = new BotScreen(root);
+            botScreen.updatePlayerLives(lives);
+            botScreen.updateBotLives(lives2);
+        }
 
-        levelManager.loadOneVOneLevel(root);
+        levelManager.loadOneVOneLevel();
+        beginSession(GameMode.BOT, 0);
         changeGameState(GameState.START);
     }
 
@@ -259,27 +783,31 @@ public class GameEngine {
      * - 2 người chơi cạnh tranh
      * - Phá hết gạch của đối phương trước để thắng
      */
-    public void startOneVOneGame() {
+    public synchronized void startOneVOneGame() {
         cleanupGameObjects();
-        soundManager.playMusic(SoundManager.SoundType.GAME_MUSIC, true);
+        prepareNewGame();
+        playGameMusic();
 
         isOneVOneMode = true;
         isBotMode = false;
+        isEndlessMode = false;
         lastScoredPlayer = 1;
+        lives = 3;
+        lives2 = 3;
 
         // Tạo paddle cho 2 người chơi
         double paddleX = (GAME_WIDTH - PADDLE_WIDTH) / 2;
         paddle = new Paddle(paddleX, GAME_HEIGHT - 50, PADDLE_WIDTH, PADDLE_HEIGHT, PADDLE_SPEED);
         paddle2 = new Paddle(paddleX, 30, PADDLE_WIDTH, PADDLE_HEIGHT, PADDLE_SPEED);
-        paddle.updateDebugWidth(DEBUG_PADDLE_LENGTH_MULTIPLIER);
-        paddle2.updateDebugWidth(DEBUG_PADDLE_LENGTH_MULTIPLIER);
+        paddle.updateDebugWidth(context.getPaddleLengthMultiplier());
+        paddle2.updateDebugWidth(context.getPaddleLengthMultiplier());
         paddle.applySkin("blue");
         paddle2.applySkin("red");
 
         // Tạo bóng bắt đầu trên paddle
         double ballX = paddle.getX() + paddle.getWidth() / 2;
         double ballY = paddle.getY() - 8;
-        Ball ball = new Ball(ballX, ballY, BALL_RADIUS, BALL_SPEED);
+        Ball ball = obtainBall(ballX, ballY, BALL_RADIUS, BALL_SPEED);
         ball.setStuck(true);
 
         // Áp dụng skin bóng từ shop (nếu có)
@@ -294,16 +822,17 @@ public class GameEngine {
         indicator.setTopPaddle(false);
         indicator.pointAtBall(ball);
 
-        // Thêm tất cả vào màn hình
-        root.getChildren().addAll(paddle.getNode(), paddle2.getNode(),
-                ball.getTrailGroup(), ball.getNode(), indicator.getNode());
+        attachRenderer();
 
         // Khởi tạo màn hình 1v1
-        oneVOneScreen = new OneVOneScreen(root);
-        oneVOneScreen.updatePlayer1Lives(3);
-        oneVOneScreen.updatePlayer2Lives(3);
+        if (root != null) {
+            oneVOneScreen = new OneVOneScreen(root);
+            oneVOneScreen.updatePlayer1Lives(lives);
+            oneVOneScreen.updatePlayer2Lives(lives2);
+        }
 
-        levelManager.loadOneVOneLevel(root);
+        levelManager.loadOneVOneLevel();
+        beginSession(GameMode.ONE_V_ONE, 0);
         changeGameState(GameState.START);
     }
 
@@ -312,20 +841,28 @@ public class GameEngine {
      * - Chơi không giới hạn level
      * - Mỗi level có độ khó tăng dần
      */
-    public void startEndlessGame() {
+    public synchronized void startEndlessGame() {
         cleanupGameObjects();
-        soundManager.playMusic(SoundManager.SoundType.GAME_MUSIC, true);
+        prepareNewGame();
+        playGameMusic();
         initializeGameElements();
         isBotMode = false;
         isOneVOneMode = false;
+        isEndlessMode = true;
+        score = 0;
+        lives = 3;
+
+        attachRenderer();
+        if (root != null) {
+            endlessScreen = new EndlessScreen(root, coinManager);
+            endlessScreen.updateLives(lives);
+            endlessScreen.updateScore(score);
+            endlessScreen.updateCoins();
+            endlessScreen.showLevel(1);
+        }
 
-        endlessScreen = new EndlessScreen(root, coinManager);
-        endlessScreen.updateLives(3);
-        endlessScreen.updateScore(0);
-        endlessScreen.updateCoins();
-        endlessScreen.showLevel(1);
-
-        levelManager.generateEndlessLevel(root);
+        levelManager.generateEndlessLevel();
+        beginSession(GameMode.ENDLESS, 0);
         changeGameState(GameState.START);
     }
 
@@ -334,28 +871,30 @@ public class GameEngine {
      * - Thả bóng ra khỏi paddle
      * - Đổi trạng thái game thành PLAYING
      */
-    public void startGame() {
+    public synchronized void startGame() {
+        if (acceptEvent(Replay.LAUNCH, Replay.LAUNCH | Replay.DEBUG_BALL | Replay.CLEAR_BRICKS)) {
+            launchBalls();
+        }
+    }
+
+    private void launchBalls() {
         double[] launchDirection = null;
         if (indicator != null) {
             launchDirection = indicator.getLaunchDirection();
         }
 
+        ballStore.sync(balls); // Bóng trong store chế độ FIXED chuẩn hóa hướng bắn bằng Q32.32
         for (Ball b : balls) {
             b.setStuck(false);
             if (launchDirection != null) {
                 b.launch(launchDirection[0], launchDirection[1]);
             } else {
-                b.launch();
+                b.launch(randomManager.get(RandomManager.Stream.BALL));
             }
         }
 
         // Xóa mũi tên chỉ hướng sau khi bắn
-        if (indicator != null) {
-            if (indicator.getNode().getParent() != null) {
-                root.getChildren().remove(indicator.getNode());
-            }
-            indicator = null;
-        }
+        indicator = null;
 
         changeGameState(GameConfig.GameState.PLAYING);
     }
@@ -365,18 +904,23 @@ public class GameEngine {
      * - Đổi trạng thái game thành PAUSED
      * - Dừng game loop
      */
-    public void pauseGame() {
+    public synchronized void pauseGame() {
         previousGameState = gameState;
         gameState = GameState.PAUSED;
-        gameLoop.stop();
+        if (gameLoop != null) {
+            gameLoop.stop();
+        }
     }
 
     /**
      * TIẾP TỤC GAME SAU KHI TẠM DỪNG
      */
-    public void resumeGame() {
+    public synchronized void resumeGame() {
         gameState = previousGameState;
-        gameLoop.start();
+        if (gameLoop != null) {
+            gameLoop.start();
+        }
+        startSimulationThread();
     }
 
     /**
@@ -384,17 +928,19 @@ public class GameEngine {
      * - Xóa tất cả objects
      * - Tạo lại từ đầu
      */
-    public void retryLevel() {
+    public synchronized void retryLevel() {
         changeGameState(GameState.MENU);
         cleanupGameObjects();
+        prepareNewGame();
 
         initializeGameElements();
-        singleplayerScreen = new SingleplayerScreen(root, coinManager);
-        singleplayerScreen.updateLives(3);
-        singleplayerScreen.updateScore(0);
-        singleplayerScreen.updateCoins();
+        score = 0;
+        lives = 3;
+        attachRenderer();
+        createSingleplayerScreen();
 
-        levelManager.loadLevel(levelManager.currentLevel, root);
+        levelManager.loadLevel(levelManager.currentLevel);
+        beginSession(GameMode.SINGLEPLAYER, levelManager.currentLevel);
         changeGameState(GameState.START);
     }
 
@@ -403,18 +949,20 @@ public class GameEngine {
      * - Xóa tất cả objects
      * - Đặt lại level về 1
      */
-    public void startNewGame() {
+    public synchronized void startNewGame() {
         changeGameState(GameState.MENU);
         cleanupGameObjects();
+        prepareNewGame();
 
         levelManager.currentLevel = 1;
         initializeGameElements();
-        singleplayerScreen = new SingleplayerScreen(root, coinManager);
-        singleplayerScreen.updateLives(3);
-        singleplayerScreen.updateScore(0);
-        singleplayerScreen.updateCoins();
+        score = 0;
+        lives = 3;
+        attachRenderer();
+        createSingleplayerScreen();
 
-        levelManager.loadLevel(1, root);
+        levelManager.loadLevel(1);
+        beginSession(GameMode.SINGLEPLAYER, 1);
         changeGameState(GameState.START);
     }
 
@@ -423,26 +971,35 @@ public class GameEngine {
      * - Di chuyển paddle trái/phải
      * - Chỉ định hướng bắn cho bóng
      */
-    private void processInput(double tpf) {
+    private void processInput(double tpf, int input) {
+        boolean left = (input & Replay.MOVE_LEFT) != 0;
+        boolean right = (input & Replay.MOVE_RIGHT) != 0;
+        boolean left2 = (input & Replay.MOVE_LEFT_2) != 0;
+        boolean right2 = (input & Replay.MOVE_RIGHT_2) != 0;
+
+        if (autopilot != null && gameState == GameState.PLAYING) {
+            autopilot.update(balls, levelManager.getPowerups(), tpf);
+        }
+
         if (isBotMode && aiManager != null) {
             if (gameState == GameState.START) {
                 return;
             }
             aiManager.update(balls, levelManager.getPowerups(), tpf);
-            if (isMovingLeft) paddle.moveLeft(tpf);
-            if (isMovingRight) paddle.moveRight(tpf);
+            if (left) paddle.moveLeft(tpf);
+            if (right) paddle.moveRight(tpf);
         } else if (isOneVOneMode) {
             if (gameState == GameState.START) {
                 return;
             }
-            if (isMovingLeft) paddle.moveLeft(tpf);
-            if (isMovingRight) paddle.moveRight(tpf);
-            if (isMovingLeft2) paddle2.moveLeft(tpf);
-            if (isMovingRight2) paddle2.moveRight(tpf);
+            if (left) paddle.moveLeft(tpf);
+            if (right) paddle.moveRight(tpf);
+            if (left2) paddle2.moveLeft(tpf);
+            if (right2) paddle2.moveRight(tpf);
         } else {
             if (gameState != GameState.START || indicator == null) {
-                if (isMovingLeft) paddle.moveLeft(tpf);
-                if (isMovingRight) paddle.moveRight(tpf);
+                if (left) paddle.moveLeft(tpf);
+                if (right) paddle.moveRight(tpf);
             }
         }
     }
@@ -452,15 +1009,22 @@ public class GameEngine {
      * - Cập nhật vị trí bóng, paddle
      * - Kiểm tra và xử lý va chạm với brick, paddle, tường
      */
-    private void updateGame() {
+    private void updateGame(double tpf) {
+        long t = profiler.start();
         int ballCount = balls.size();
-        for (Ball b : balls) {
-            if ((isOneVOneMode || isBotMode) && gameState == GameState.START) {
-                b.update(GameEngine.FIXED_TIME_STEP, lastScoredPlayer == 2 ? paddle2 : paddle, lastScoredPlayer == 2);
-            } else {
-                b.update(GameEngine.FIXED_TIME_STEP, paddle, false);
-            }
+        ballStore.sync(balls);
+        boolean topServe = (isOneVOneMode || isBotMode) && gameState == GameState.START && lastScoredPlayer == 2;
+        Paddle holder = topServe ? paddle2 : paddle;
+        if (usePartitionedBalls(ballCount)) {
+            stepTpf = tpf;
+            stepHolder = holder;
+            stepTopServe = topServe;
+            ballPhysics().run(ballCount, integrateRange);
+            stepHolder = null;
+        } else {
+            ballStore.integrate(tpf, holder, topServe);
         }
+        t = profiler.lap(Phase.BALLS, t);
 
         // Cập nhật vị trí mũi tên chỉ hướng theo bóng
         if (indicator != null && ballCount > 0 && gameState == GameState.START) {
@@ -474,355 +1038,388 @@ public class GameEngine {
         for (Powerup p : cachedPowerups) {
             p.update();
         }
+
+        // Đợt nổ dây chuyền đến hạn (đếm theo tick) + đếm ngược oneshot (đo bằng thời gian thực)
+        levelManager.updateExplosions();
+        int blast = levelManager.takeExplosionScore();
+        if (blast != 0) {
+            addScore(blast);
+        }
+        double realDt = tpf / SIMULATION_SPEED;
+        updateOneshotTimer(realDt);
+        profiler.lap(Phase.POWERUPS, t);
     }
 
     /**
-     * KIỂM TRA VÀ XỬ LÝ CÁC VA CHẠM TRONG GAME
-     * - Bóng va chạm với tường, paddle, brick
-     * - Xử lý ghi điểm, mất mạng, kết thúc game
+     * Va chạm tường / paddle / gạch của từng bóng, tuần tự: gạch mất máu ngay khi bị chạm
+     * (bóng sau trong cùng tick không nảy vào gạch đã vỡ)
      */
-    private void handleCollisions() {
-        if (gameState != GameConfig.GameState.PLAYING) return;
-
-        List<Ball> toRemove = new ArrayList<>();
-
-        // Kiểm tra va chạm cho từng bóng
-        for (Ball b : new ArrayList<>(balls)) {
-            GameConfig.WallSideType wallHit = collisionManager.checkWallCollision(b, GAME_WIDTH, GAME_HEIGHT);
-
-            // Xử lý va chạm với tường
-            if (isOneVOneMode || isBotMode) {
-                if (wallHit == GameConfig.WallSideType.BOTTOM_HIT) {
-                    toRemove.add(b);
-                    lastScoredPlayer = 1;
-                    continue;
-                } else if (wallHit == GameConfig.WallSideType.NORTH) {
-                    if (b.getY() < paddle2.getY() + paddle2.getHeight()) {
-                        toRemove.add(b);
-                        lastScoredPlayer = 2;
-                        continue;
-                    }
-                }
-            } else {
-                if (wallHit == GameConfig.WallSideType.BOTTOM_HIT) {
-                    toRemove.add(b);
-                    continue;
-                }
+    private void collideBalls(List<Ball> toRemove) {
+        // Va chạm tường cho cả lô bóng (BallStore, SIMD nếu có)
+        long wallStart = profiler.start();
+        ballStore.sync(balls);
+        collisionManager.recordWallHits(ballStore.collideWalls(GAME_WIDTH, GAME_HEIGHT, context.isInvincible()));
+        profiler.lap(Phase.WALL, wallStart);
+
+        // Kiểm tra va chạm cho từng bóng (slot i của ballStore = balls.get(i))
+        for (int i = 0, n = balls.size(); i < n; i++) {
+            Ball b = balls.get(i);
+            long t = profiler.start();
+            int lost = ballLost(b, ballStore.getWallHit(i));
+            if (lost != 0) {
+                removeLostBall(b, lost, toRemove);
+                continue;
             }
 
-            // Kiểm tra va chạm giữa paddle và bóng
-            if (collisionManager.checkPaddleBallCollision(paddle, b)) {
+            // Kiểm tra va chạm giữa paddle và bóng (swept: lùi về điểm chạm, phản xạ, đi nốt bước)
+            if (collisionManager.sweepPaddleBallCollision(paddle, b)) {
                 collisionManager.handlePaddleBallCollision(paddle, b);
+                b.completeStep();
             }
 
             // Kiểm tra va chạm giữa paddle2 (nếu có) và bóng
             if ((isOneVOneMode || isBotMode) && paddle2 != null) {
-                if (collisionManager.checkPaddleBallCollision(paddle2, b)) {
+                if (collisionManager.sweepPaddleBallCollision(paddle2, b)) {
                     collisionManager.handlePaddleBallCollision(paddle2, b);
+                    b.completeStep();
                 }
             }
-
-            // Kiểm tra va chạm giữa bóng và các brick
-            List<Brick> bricks = levelManager.getBricks();
-            Brick hitBrick = collisionManager.checkBrickBallCollision(b, bricks);
-            if (hitBrick != null) {
-                if (isOneVOneMode && oneVOneScreen != null) {
-                    int player = hitBrick.getY() < GAME_HEIGHT / 2 ? 1 : 2;
-                    collisionManager.handleBrickBallCollision(b, hitBrick, oneVOneScreen, player);
-                } else if (isBotMode && botScreen != null) {
-                    collisionManager.handleBrickBallCollision(b, hitBrick, botScreen, 0);
-                } else if (endlessScreen != null) {
-                    collisionManager.handleBrickBallCollision(b, hitBrick, endlessScreen);
-                } else if (singleplayerScreen != null) {
-                    collisionManager.handleBrickBallCollision(b, hitBrick, singleplayerScreen);
-                }
-
-                // Kiểm tra hoàn thành level (chỉ với single player)
-                if (!isOneVOneMode && !isBotMode && levelManager.isLevelComplete()) {
-                    if (endlessScreen != null) {
-                        levelManager.generateEndlessLevel(root);
-                        resetBallAndPaddle();
-                        int currentEndlessLevel = (endlessScreen.getScore() / 1000) + 1;
-                        endlessScreen.showLevel(currentEndlessLevel);
-                    } else {
-                        changeGameState(GameState.LEVEL_CLEARED);
-                    }
-                    return;
-                }
+            t = profiler.lap(Phase.PADDLE, t);
+
+            // Kiểm tra va chạm giữa bóng và các brick (swept; mọi gạch chạm cùng lúc → 1 phản xạ gộp)
+            int contacts = collisionManager.sweepBrickContacts(b, levelManager.getBrickGrid());
+            if (contacts > 0) {
+                collisionManager.resolveBrickContacts(b);
+                collisionManager.hitBrickContacts(!isOneVOneMode && !isBotMode);
+                b.completeStep();
             }
+            profiler.lap(Phase.BRICK, t);
         }
+    }
 
-        // Xóa các bóng đã chết
-        for (Ball dead : toRemove) {
-            // XÓA ĐUÔI NGAY LẬP TỨC - CRITICAL!
-            dead.clearTrail();
-
-            // Xóa trail group khỏi root
-            if (dead.getTrailGroup() != null && dead.getTrailGroup().getParent() != null) {
-                root.getChildren().remove(dead.getTrailGroup());
-            }
-
-            // Hiệu ứng mờ dần cho bóng
-            if (dead.getNode() != null) {
-                FadeTransition ballFade = new FadeTransition(Duration.millis(300), dead.getNode());
-                ballFade.setFromValue(1.0);
-                ballFade.setToValue(0.0);
-                ballFade.setOnFinished(e -> {
-                    if (dead.getNode().getParent() != null) {
-                        root.getChildren().remove(dead.getNode());
-                    }
-                });
-                ballFade.play();
-            }
-
-            // Xóa ball khỏi danh sách
-            balls.remove(dead);
+    /**
+     * Như collideBalls() nhưng chia bóng thành phân vùng chạy song song (ParallelBallPhysics)
+     *
+     * - Trong pha song song, gạch là bản chụp chỉ đọc: bóng nảy theo gạch còn sống ở đầu pha,
+     *   gạch bị chạm chỉ được ghi vào nhật ký của phân vùng
+     * - Gộp tuần tự theo thứ tự bóng: trừ máu gạch, sự kiện paddle/tường, bóng rơi
+     * - Bóng có contact là gạch đã vỡ bởi bóng trước trong tick (đường tuần tự không thấy gạch đó):
+     *   rollback về trước lần quét gạch, quét lại trên gạch hiện tại → cùng kết quả với collideBalls()
+     */
+    private void collideBallsPartitioned(List<Ball> toRemove) {
+        long t = profiler.start();
+        ballStore.sync(balls);
+        int n = balls.size();
+        if (ballOutcomes.length < n) {
+            ballOutcomes = new int[Math.max(n, ballOutcomes.length * 2)];
         }
-
-        // Kiểm tra kết thúc game nếu không còn bóng nào
-        if (!toRemove.isEmpty() && balls.isEmpty()) {
-            if (isOneVOneMode && oneVOneScreen != null) {
-                if (lastScoredPlayer == 1) {
-                    oneVOneScreen.decreasePlayer1Lives();
-                    if (oneVOneScreen.getPlayer1Lives() <= 0) {
-                        changeGameState(GameConfig.GameState.GAME_OVER);
-                        return;
-                    }
-                } else {
-                    oneVOneScreen.decreasePlayer2Lives();
-                    if (oneVOneScreen.getPlayer2Lives() <= 0) {
-                        changeGameState(GameConfig.GameState.GAME_OVER);
-                        return;
-                    }
-                }
-                resetBallAndPaddleOneVOne();
-            } else if (isBotMode && botScreen != null) {
-                if (lastScoredPlayer == 1) {
-                    botScreen.decreasePlayerLives();
-                    if (botScreen.getPlayerLives() <= 0) {
-                        changeGameState(GameConfig.GameState.GAME_OVER);
-                        return;
-                    }
+        int[] outcomes = ballOutcomes;
+        ParallelBallPhysics physics = ballPhysics();
+        BrickGrid grid = levelManager.getBrickGrid();
+        stepInvincible = context.isInvincible();
+        stepSecondPaddle = (isOneVOneMode || isBotMode) ? paddle2 : null;
+        stepGrid = grid;
+        int partitions = physics.run(n, collideRange);
+        stepSecondPaddle = null;
+        stepGrid = null;
+
+        // Gộp theo thứ tự phân vùng = thứ tự bóng
+        boolean breakable = !isOneVOneMode && !isBotMode;
+        int wallBounces = 0, paddleHits = 0;
+        for (int p = 0; p < partitions; p++) {
+            ParallelBallPhysics.Partition part = physics.partition(p);
+            wallBounces += part.wallBounces;
+            paddleHits += part.paddleHits;
+            for (int k = 0, from = 0; k < part.hitBallCount; from = part.hitEnds[k++]) {
+                if (breakable && part.hitsDestroyed(k)) {
+                    resweepBricks(part.hitBalls[k], grid, breakable);
                 } else {
-                    botScreen.decreaseBotLives();
-                    if (botScreen.getBotLives() <= 0) {
-                        changeGameState(GameConfig.GameState.GAME_OVER);
-                        return;
-                    }
-                }
-                resetBallAndPaddleBot();
-            } else if (endlessScreen != null) {
-                endlessScreen.decreaseLives();
-                resetBallAndPaddle();
-                if (endlessScreen.getLives() <= 0) {
-                    changeGameState(GameConfig.GameState.GAME_OVER);
-                }
-            } else if (singleplayerScreen != null) {
-                singleplayerScreen.decreaseLives();
-                resetBallAndPaddle();
-                if (singleplayerScreen.getLives() <= 0) {
-                    changeGameState(GameConfig.GameState.GAME_OVER);
+                    collisionManager.hitBricks(part.hits, from, part.hitEnds[k], breakable);
                 }
             }
+            part.reset();
         }
-
-        // Kiểm tra va chạm giữa paddle và powerup
-        if (!isOneVOneMode && !isBotMode) {
-            for (Powerup p : new ArrayList<>(levelManager.getPowerups())) {
-                if (collisionManager.checkPaddlePowerupCollision(paddle, p)) {
-                    p.activate(this, paddle);
-                    if (p.getNode() != null && p.getNode().getParent() != null) {
-                        root.getChildren().remove(p.getNode());
-                    }
-                    levelManager.removePowerup(p, root);
-                }
-            }
+        collisionManager.recordWallHits(wallBounces);
+        collisionManager.recordPaddleHits(paddleHits);
+        for (int i = 0; i < n; i++) {
+            if (outcomes[i] != 0) removeLostBall(balls.get(i), outcomes[i], toRemove);
         }
+        profiler.lap(Phase.BALLS_PARALLEL, t);
     }
 
-
     /**
-     * ĐẶT LẠI TRẠNG THÁI BÓNG VÀ PADDLE VỀ BAN ĐẦU
-     * - Xóa tất cả bóng và trail
-     * - Tạo bóng mới dính paddle
-     * - Đặt lại paddle về giữa màn hình
+     * Tích phân bóng [from, to) với tham số tick đã đặt trong updateGame() (chạy trên luồng phân vùng)
      */
-    private void resetBallAndPaddle() {
-        // ========== THÊM: Batch removal ==========
-        List<javafx.scene.Node> nodesToRemove = new ArrayList<>();
+    private void integrateRange(int partition, int from, int to) {
+        ballStore.integrate(stepTpf, stepHolder, stepTopServe, from, to);
+    }
 
-        // Collect all ball-related nodes
-        for (Ball b : balls) {
-            if (b.getTrailGroup() != null && b.getTrailGroup().getParent() != null) {
-                nodesToRemove.add(b.getTrailGroup());
+    /**
+     * Va chạm tường / paddle / quét gạch của bóng [from, to), chỉ đọc gạch (chạy trên luồng phân vùng)
+     */
+    private void collideRange(int partition, int from, int to) {
+        ParallelBallPhysics.Partition part = ballPhysics.partition(partition);
+        int[] outcomes = ballOutcomes;
+        part.reset();
+        part.wallBounces = ballStore.collideWalls(GAME_WIDTH, GAME_HEIGHT, stepInvincible, from, to);
+        for (int i = from; i < to; i++) {
+            Ball b = balls.get(i);
+            outcomes[i] = ballLost(b, ballStore.getWallHit(i));
+            if (outcomes[i] != 0) continue;
+
+            if (collisionManager.sweepPaddleBallCollision(paddle, b)) {
+                if (CollisionManager.bounceOffPaddle(paddle, b)) part.paddleHits++;
+                b.completeStep();
             }
-            if (b.getNode() != null && b.getNode().getParent() != null) {
-                nodesToRemove.add(b.getNode());
+            if (stepSecondPaddle != null && collisionManager.sweepPaddleBallCollision(stepSecondPaddle, b)) {
+                if (CollisionManager.bounceOffPaddle(stepSecondPaddle, b)) part.paddleHits++;
+                b.completeStep();
             }
-        }
-        balls.clear();
-
-        // Collect powerup nodes
-        for (Powerup p : levelManager.getPowerups()) {
-            if (p.getNode() != null && p.getNode().getParent() != null) {
-                nodesToRemove.add(p.getNode());
+            ballStore.checkpoint(i);
+            if (part.contacts.sweep(b, stepGrid) > 0) {
+                part.contacts.resolve(b);
+                part.recordContacts(i);
+                b.completeStep();
             }
         }
-        levelManager.getPowerups().clear();
+    }
 
-        // Collect indicator node
-        if (indicator != null && indicator.getNode().getParent() != null) {
-            nodesToRemove.add(indicator.getNode());
+    /**
+     * Va chạm gạch của bóng ở slot i như collideBalls(), từ trạng thái trước lần quét gạch song song
+     */
+    private void resweepBricks(int i, BrickGrid grid, boolean breakable) {
+        Ball b = balls.get(i);
+        ballStore.rollback(i);
+        if (collisionManager.sweepBrickContacts(b, grid) > 0) {
+            collisionManager.resolveBrickContacts(b);
+            collisionManager.hitBrickContacts(breakable);
+            b.completeStep();
         }
+    }
 
-        // ========== BATCH REMOVE: Much faster than individual removes ==========
-        root.getChildren().removeAll(nodesToRemove);
-
-        // Reset paddle
-        paddle.reset();
-
-        // Create new ball
-        Ball ball = new Ball(paddle.getX() + paddle.getWidth() / 2, paddle.getY() - 8, BALL_RADIUS, BALL_SPEED);
+    /**
+     * Pha bóng chia phân vùng chỉ khi đủ bóng VÀ có hơn 1 worker
+     * (1 worker: không có gì chạy song song, chỉ tốn phí ghi nhật ký + gộp)
+     */
+    private boolean usePartitionedBalls(int ballCount) {
+        return ballCount >= PARALLEL_BALL_THRESHOLD && context.getPhysicsWorkers() > 1;
+    }
 
-        // Apply skins
-        if (coinManager != null) {
-            String pSkin = coinManager.getSelectedPaddleSkin();
-            String bSkin = coinManager.getSelectedBallSkin();
-            if (pSkin != null) paddle.applySkin(pSkin);
-            if (bSkin != null) {
-                ball.applySkin(skinIdToBallResource(bSkin));
-                if (collisionManager != null && collisionManager.isOneshotActive()) {
-                    ball.storeSkin();
-                    ball.applyOneshotSkin();
-                }
-            }
+    /**
+     * Bóng có bị mất sau va chạm tường không
+     * @return 0 nếu còn; 1 nếu rơi đáy (người chơi 1 mất bóng); 2 nếu lọt qua paddle2 ở trên (đối kháng)
+     */
+    private int ballLost(Ball b, GameConfig.WallSideType wallHit) {
+        if (wallHit == GameConfig.WallSideType.BOTTOM_HIT) {
+            return 1;
         }
-        balls.add(ball);
-
-        // Create new indicator
-        indicator = new Indicator(ball.getX() + ball.getRadius(), ball.getY());
-        indicator.pointAtBall(ball);
-        indicator.setRotation(-90);
+        if ((isOneVOneMode || isBotMode) && wallHit == GameConfig.WallSideType.NORTH
+                && b.getY() < paddle2.getY() + paddle2.getHeight()) {
+            return 2;
+        }
+        return 0;
+    }
 
-        // ========== BATCH ADD: Add all new nodes at once ==========
-        root.getChildren().addAll(ball.getTrailGroup(), ball.getNode(), indicator.getNode());
+    private void removeLostBall(Ball b, int lost, List<Ball> toRemove) {
+        toRemove.add(b);
+        if (isOneVOneMode || isBotMode) {
+            lastScoredPlayer = lost;
+        }
+    }
 
-        // Update game state
-        gameState = GameState.START;
-        for (Ball b : balls) {
-            b.setStuck(true);
+    private ParallelBallPhysics ballPhysics() {
+        int workers = context.getPhysicsWorkers();
+        if (ballPhysics == null || ballPhysics.getWorkers() != workers) {
+            ballPhysics = new ParallelBallPhysics(workers);
         }
+        return ballPhysics;
     }
 
     /**
-     * ĐẶT LẠI TRẠNG THÁI BÓNG VÀ PADDLE CHO CHẾ ĐỘ 1V1
-     * - Tương tự như resetBallAndPaddle(), nhưng dành riêng cho chế độ 1v1
+     * KIỂM TRA VÀ XỬ LÝ CÁC VA CHẠM TRONG GAME
+     * - Bóng va chạm với tường, paddle, brick
+     * - Xử lý ghi điểm, mất mạng, kết thúc game
      */
-    private void resetBallAndPaddleOneVOne() {
-        List<javafx.scene.Node> nodesToRemove = new ArrayList<>();
-
-        // Collect all ball-related nodes
-        for (Ball b : balls) {
-            if (b.getTrailGroup() != null && b.getTrailGroup().getParent() != null) {
-                nodesToRemove.add(b.getTrailGroup());
-            }
-            if (b.getNode() != null && b.getNode().getParent() != null) {
-                nodesToRemove.add(b.getNode());
-            }
-        }
-        balls.clear();
+    private void handleCollisions() {
+        if (gameState != GameConfig.GameState.PLAYING) return;
 
-        // Collect powerup nodes
-        for (Powerup p : levelManager.getPowerups()) {
-            if (p.getNode() != null && p.getNode().getParent() != null) {
-                nodesToRemove.add(p.getNode());
+        List<Ball> toRemove = lostBalls;
+        toRemove.clear();
+        collisionManager.reserveEvents(balls.size());
+
+        // Va chạm bóng-bóng (tùy chọn): spatial hash dựng lại mỗi tick, O(n)
+        if (context.isBallCollisions() && balls.size() > 1) {
+            long t = profiler.start();
+            ballHash.build(balls);
+            for (int k = 0, pairs = ballHash.findPairs(); k < pairs; k++) {
+                Ball first = ballHash.ball(ballHash.pairA(k));
+                Ball second = ballHash.ball(ballHash.pairB(k));
+                collisionManager.handleBallBallCollision(first, second);
             }
+            ballHash.clear();
+            profiler.lap(Phase.BALL_BALL, t);
         }
-        levelManager.getPowerups().clear();
-
-        // Collect indicator node
-        if (indicator != null && indicator.getNode().getParent() != null) {
-            nodesToRemove.add(indicator.getNode());
-        }
-
-        // ========== BATCH REMOVE: Much faster than individual removes ==========
-        root.getChildren().removeAll(nodesToRemove);
-
-        // Reset paddle
-        paddle.reset();
 
-        // Create new ball
-        Ball ball = new Ball(paddle.getX() + paddle.getWidth() / 2, paddle.getY() - 8, BALL_RADIUS, BALL_SPEED);
+        if (usePartitionedBalls(balls.size())) {
+            collideBallsPartitioned(toRemove);
+        } else {
+            collideBalls(toRemove);
+        }
 
-        // Apply skins
-        if (coinManager != null) {
-            String pSkin = coinManager.getSelectedPaddleSkin();
-            String bSkin = coinManager.getSelectedBallSkin();
-            if (pSkin != null) paddle.applySkin(pSkin);
-            if (bSkin != null) {
-                ball.applySkin(skinIdToBallResource(bSkin));
-                if (collisionManager != null && collisionManager.isOneshotActive()) {
-                    ball.storeSkin();
-                    ball.applyOneshotSkin();
+        // Hiệu ứng của mọi va chạm trong tick: điểm, coin, âm thanh, power-up, xóa gạch
+        long t = profiler.start();
+        // + điểm của đợt nổ 0 (gạch nổ vỡ trong tick này)
+        int gained = collisionManager.processEvents() + levelManager.takeExplosionScore();
+        if (gained != 0) {
+            addScore(gained);
+        }
+        GameScreen ui = isEndlessMode ? endlessScreen : singleplayerScreen;
+        if (collisionManager.takeDestroyedCount() > 0 && ui != null && coinManager != null) {
+            // Không truyền màn hình vào CollisionManager: HUD chỉ được sửa trên FX thread
+            runOnUi(ui::updateCoins);
+        }
+        t = profiler.lap(Phase.EVENTS, t);
+
+        // Kiểm tra hoàn thành level (chỉ với single player)
+        boolean levelComplete = !isOneVOneMode && !isBotMode && levelManager.isLevelComplete();
+        profiler.lap(Phase.LEVEL_CHECK, t);
+        if (levelComplete) {
+            if (isEndlessMode) {
+                levelsCleared++;
+                levelManager.generateEndlessLevel();
+                resetBallAndPaddle();
+                int currentEndlessLevel = (score / 1000) + 1;
+                EndlessScreen screen = endlessScreen;
+                if (screen != null) {
+                    runOnUi(() -> screen.showLevel(currentEndlessLevel));
                 }
+            } else {
+                changeGameState(GameState.LEVEL_CLEARED);
             }
+            return;
         }
-        balls.add(ball);
 
-        // Create new indicator
-        indicator = new Indicator(ball.getX() + ball.getRadius(), ball.getY());
-        indicator.pointAtBall(ball);
-        indicator.setRotation(-90);
+        // Xóa các bóng đã chết (renderer sẽ làm mờ dần bóng bị xóa), trả về kho
+        removeLostBalls(toRemove);
 
-        // ========== BATCH ADD: Add all new nodes at once ==========
-        root.getChildren().addAll(ball.getTrailGroup(), ball.getNode(), indicator.getNode());
+        // Kiểm tra kết thúc game nếu không còn bóng nào
+        if (!toRemove.isEmpty() && balls.isEmpty()) {
+            if (isOneVOneMode || isBotMode) {
+                if (lastScoredPlayer == 1) {
+                    lives--;
+                    livesLost++;
+                } else {
+                    lives2--;
+                }
+                updateVersusLives();
+                if (lives <= 0 || lives2 <= 0) {
+                    changeGameState(GameConfig.GameState.GAME_OVER);
+                    return;
+                }
+                resetBallAndPaddle();
+            } else {
+                lives--;
+                livesLost++;
+                int livesLeft = lives;
+                if (ui != null) {
+                    runOnUi(() -> ui.updateLives(livesLeft));
+                }
+                resetBallAndPaddle();
+                if (lives <= 0) {
+                    changeGameState(GameConfig.GameState.GAME_OVER);
+                }
+            }
+        }
 
-        // Update game state
-        gameState = GameState.START;
-        for (Ball b : balls) {
-            b.setStuck(true);
+        // Kiểm tra va chạm giữa paddle và powerup
+        if (!isOneVOneMode && !isBotMode) {
+            t = profiler.start();
+            cachedPowerups.clear();
+            cachedPowerups.addAll(levelManager.getPowerups());
+            for (Powerup p : cachedPowerups) {
+                if (collisionManager.checkPaddlePowerupCollision(paddle, p)) {
+                    playSound(SoundManager.SoundType.POWERUP_COLLECT);
+                    p.activate(this, paddle);
+                    levelManager.removePowerup(p);
+                }
+            }
+            profiler.lap(Phase.POWERUP_PICKUP, t);
         }
     }
 
     /**
-     * ĐẶT LẠI TRẠNG THÁI BÓNG VÀ PADDLE CHO CHẾ ĐỘ ĐÁ VỚI BOT
-     * - Tương tự như resetBallAndPaddle(), nhưng dành riêng cho chế độ đá với bot
+     * Xóa bóng đã mất bằng 1 lượt dồn mảng (thay cho removeAll - O(n·m)).
+     * toRemove theo đúng thứ tự trong balls (collideBalls / collideBallsPartitioned duyệt slot tăng dần,
+     * bóng mới chỉ được thêm vào cuối) nên chỉ cần 1 con trỏ.
      */
-    private void resetBallAndPaddleBot() {
-        List<javafx.scene.Node> nodesToRemove = new ArrayList<>();
-
-        // Collect all ball-related nodes
-        for (Ball b : balls) {
-            if (b.getTrailGroup() != null && b.getTrailGroup().getParent() != null) {
-                nodesToRemove.add(b.getTrailGroup());
-            }
-            if (b.getNode() != null && b.getNode().getParent() != null) {
-                nodesToRemove.add(b.getNode());
+    private void removeLostBalls(List<Ball> toRemove) {
+        int removed = toRemove.size();
+        if (removed == 0) return;
+        int n = balls.size();
+        int write = 0;
+        for (int i = 0, k = 0; i < n; i++) {
+            Ball b = balls.get(i);
+            if (k < removed && b == toRemove.get(k)) {
+                k++;
+                ballPool.release(b);
+            } else {
+                balls.set(write++, b);
             }
         }
-        balls.clear();
+        for (int i = n - 1; i >= write; i--) {
+            balls.remove(i);
+        }
+    }
 
-        // Collect powerup nodes
-        for (Powerup p : levelManager.getPowerups()) {
-            if (p.getNode() != null && p.getNode().getParent() != null) {
-                nodesToRemove.add(p.getNode());
-            }
+    /**
+     * Cộng điểm vào engine và cập nhật màn hình (nếu có)
+     */
+    private void addScore(int delta) {
+        score += delta;
+        GameScreen ui = isEndlessMode ? endlessScreen : singleplayerScreen;
+        if (ui != null) {
+            runOnUi(() -> ui.increaseScore(delta));
         }
-        levelManager.getPowerups().clear();
+    }
 
-        // Collect indicator node
-        if (indicator != null && indicator.getNode().getParent() != null) {
-            nodesToRemove.add(indicator.getNode());
+    /**
+     * Hiển thị lại số mạng cho chế độ 1v1 / bot
+     */
+    private void updateVersusLives() {
+        int player1Lives = lives;
+        int player2Lives = lives2;
+        OneVOneScreen versusScreen = oneVOneScreen;
+        BotScreen vsBotScreen = botScreen;
+        if (versusScreen != null) {
+            runOnUi(() -> {
+                versusScreen.updatePlayer1Lives(player1Lives);
+                versusScreen.updatePlayer2Lives(player2Lives);
+            });
+        } else if (vsBotScreen != null) {
+            runOnUi(() -> {
+                vsBotScreen.updatePlayerLives(player1Lives);
+                vsBotScreen.updateBotLives(player2Lives);
+            });
         }
+    }
 
-        // ========== BATCH REMOVE: Much faster than individual removes ==========
-        root.getChildren().removeAll(nodesToRemove);
+
+    /**
+     * ĐẶT LẠI TRẠNG THÁI BÓNG VÀ PADDLE VỀ BAN ĐẦU
+     * - Xóa tất cả bóng và power-up đang rơi
+     * - Tạo bóng mới dính paddle
+     * - Đặt lại paddle về giữa màn hình
+     * - Dùng chung cho mọi chế độ chơi
+     */
+    private void resetBallAndPaddle() {
+        releaseBalls();
+        levelManager.clearAllPowerups();
 
         // Reset paddle
         paddle.reset();
 
         // Create new ball
-        Ball ball = new Ball(paddle.getX() + paddle.getWidth() / 2, paddle.getY() - 8, BALL_RADIUS, BALL_SPEED);
+        Ball ball = obtainBall(paddle.getX() + paddle.getWidth() / 2, paddle.getY() - 8, BALL_RADIUS, BALL_SPEED);
 
         // Apply skins
         if (coinManager != null) {
@@ -844,9 +1441,6 @@ public class GameEngine {
         indicator.pointAtBall(ball);
         indicator.setRotation(-90);
 
-        // ========== BATCH ADD: Add all new nodes at once ==========
-        root.getChildren().addAll(ball.getTrailGroup(), ball.getNode(), indicator.getNode());
-
         // Update game state
         gameState = GameState.START;
         for (Ball b : balls) {
@@ -859,36 +1453,40 @@ public class GameEngine {
      * - Thay đổi giữa các trạng thái MENU, PLAYING, PAUSED, GAME_OVER
      * - Dừng hoặc bắt đầu game loop tương ứng
      */
-    public void changeGameState(GameConfig.GameState newState) {
+    public synchronized void changeGameState(GameConfig.GameState newState) {
         this.gameState = newState;
 
         if (isOneVOneMode && oneVOneScreen != null) {
-            oneVOneScreen.showGameMessage(newState);
+            OneVOneScreen screen = oneVOneScreen;
+            runOnUi(() -> screen.showGameMessage(newState));
         } else if (isBotMode && botScreen != null) {
-            botScreen.showGameMessage(newState);
+            BotScreen screen = botScreen;
+            runOnUi(() -> screen.showGameMessage(newState));
         } else if (endlessScreen != null) {
-            endlessScreen.showGameMessage(newState);
+            EndlessScreen screen = endlessScreen;
+            runOnUi(() -> screen.showGameMessage(newState));
         } else if (singleplayerScreen != null) {
-            singleplayerScreen.showGameMessage(newState);
+            SingleplayerScreen screen = singleplayerScreen;
+            runOnUi(() -> screen.showGameMessage(newState));
         }
 
         switch (newState) {
             case LEVEL_CLEARED:
-                soundManager.playSound(SoundManager.SoundType.LEVEL_COMPLETE);
+                playSound(SoundManager.SoundType.LEVEL_COMPLETE);
                 handleLevelCleared();
                 break;
             case GAME_OVER:
-                soundManager.playSound(SoundManager.SoundType.GAME_OVER);
+                playSound(SoundManager.SoundType.GAME_OVER);
                 if (onGameOver != null) {
-                    onGameOver.run();
+                    runOnUi(onGameOver);
                 }
                 break;
             case PLAYING:
             case START:
-                gameLoop.start();
+                startRenderLoop();
                 break;
             default:
-                gameLoop.stop();
+                stopRenderLoop();
                 break;
         }
     }
@@ -900,185 +1498,144 @@ public class GameEngine {
      */
     private void handleLevelCleared() {
         // Stop game loop
-        if (gameLoop != null) {
-            gameLoop.stop();
-        }
+        stopRenderLoop();
 
         levelManager.currentLevel++;
+        levelsCleared++;
+
+        if (levelManager.currentLevel <= levelManager.maxLevel && root == null) {
+            // Headless: không có hiệu ứng, tải level mới ngay
+            quickCleanupForLevelTransition();
+            levelManager.loadLevel(levelManager.currentLevel);
+            resetBallAndPaddle();
+        } else if (levelManager.currentLevel <= levelManager.maxLevel) {
+            // Hiệu ứng chạy trên FX thread; thread mô phỏng đứng yên vì đang LEVEL_CLEARED
+            runOnUi(this::playLevelTransition);
+        } else {
+            changeGameState(GameConfig.GameState.GAME_OVER);
+        }
+    }
 
-        if (levelManager.currentLevel <= levelManager.maxLevel) {
-            // Create smooth fade transition
-            createTransitionOverlay();
+    /**
+     * HIỆU ỨNG CHUYỂN LEVEL (FX thread)
+     * - Mờ đen → dọn bóng/power-up → tải level mới → hiện lại
+     */
+    private void playLevelTransition() {
+        // Create smooth fade transition
+        createTransitionOverlay();
 
-            if (!root.getChildren().contains(transitionOverlay)) {
-                root.getChildren().add(transitionOverlay);
-                transitionOverlay.toFront();
-            }
+        if (!root.getChildren().contains(transitionOverlay)) {
+            root.getChildren().add(transitionOverlay);
+            transitionOverlay.toFront();
+        }
 
-            // Fade to black
-            javafx.animation.FadeTransition fadeOut = new javafx.animation.FadeTransition(
-                    javafx.util.Duration.millis(200), transitionOverlay
-            );
-            fadeOut.setFromValue(0);
-            fadeOut.setToValue(0.8);
+        // Fade to black
+        javafx.animation.FadeTransition fadeOut = new javafx.animation.FadeTransition(
+                javafx.util.Duration.millis(200), transitionOverlay
+        );
+        fadeOut.setFromValue(0);
+        fadeOut.setToValue(0.8);
 
-            fadeOut.setOnFinished(e -> {
-                // Quick cleanup during fade
-                quickCleanupForLevelTransition();
+        fadeOut.setOnFinished(e -> {
+            // Quick cleanup during fade
+            quickCleanupForLevelTransition();
 
-                // Small pause for cleanup to complete
-                javafx.animation.PauseTransition pause = new javafx.animation.PauseTransition(
-                        javafx.util.Duration.millis(50)
-                );
+            // Small pause for cleanup to complete
+            javafx.animation.PauseTransition pause = new javafx.animation.PauseTransition(
+                    javafx.util.Duration.millis(50)
+            );
 
-                pause.setOnFinished(p -> {
-                    // Load new level
-                    levelManager.loadLevel(levelManager.currentLevel, root);
+            pause.setOnFinished(p -> {
+                // Load new level
+                synchronized (this) {
+                    levelManager.loadLevel(levelManager.currentLevel);
                     resetBallAndPaddle();
+                    renderNow();
 
                     if (singleplayerScreen != null) {
                         singleplayerScreen.showLevel(levelManager.currentLevel);
                     }
+                }
 
-                    // Fade from black
-                    javafx.animation.FadeTransition fadeIn = new javafx.animation.FadeTransition(
-                            javafx.util.Duration.millis(200), transitionOverlay
-                    );
-                    fadeIn.setFromValue(0.8);
-                    fadeIn.setToValue(0);
-
-                    fadeIn.setOnFinished(f -> {
-                        root.getChildren().remove(transitionOverlay);
+                // Fade from black
+                javafx.animation.FadeTransition fadeIn = new javafx.animation.FadeTransition(
+                        javafx.util.Duration.millis(200), transitionOverlay
+                );
+                fadeIn.setFromValue(0.8);
+                fadeIn.setToValue(0);
 
-                        // Resume game loop
-                        if (gameLoop != null) {
-                            gameLoop.start();
-                        }
-                    });
+                fadeIn.setOnFinished(f -> {
+                    root.getChildren().remove(transitionOverlay);
 
-                    fadeIn.play();
+                    // Resume game loop
+                    startRenderLoop();
                 });
 
-                pause.play();
+                fadeIn.play();
             });
 
-            fadeOut.play();
+            pause.play();
+        });
 
-        } else {
-            changeGameState(GameConfig.GameState.GAME_OVER);
-        }
+        fadeOut.play();
     }
 
     // THÊM METHOD MỚI: Quick cleanup for level transitions
-    private void quickCleanupForLevelTransition() {
-        // Batch collection for removal
-        List<javafx.scene.Node> nodesToRemove = new ArrayList<>();
-
-        // Clear balls
-        for (Ball b : new java.util.ArrayList<>(balls)) {
-            b.clearTrail();
-            if (b.getTrailGroup() != null && b.getTrailGroup().getParent() != null) {
-                nodesToRemove.add(b.getTrailGroup());
-            }
-            if (b.getNode() != null && b.getNode().getParent() != null) {
-                nodesToRemove.add(b.getNode());
-            }
-        }
-        balls.clear();
-
-        // Clear indicator
-        if (indicator != null && indicator.getNode().getParent() != null) {
-            nodesToRemove.add(indicator.getNode());
-        }
+    private synchronized void quickCleanupForLevelTransition() {
+        releaseBalls();
         indicator = null;
+        levelManager.clearAllPowerups();
+        worldGeneration++;
+        renderNow();
+    }
 
-        // Clear powerups
-        for (Powerup p : levelManager.getPowerups()) {
-            if (p.getNode() != null && p.getNode().getParent() != null) {
-                nodesToRemove.add(p.getNode());
-            }
+    private void startRenderLoop() {
+        if (gameLoop != null) {
+            runOnUi(gameLoop::start);
         }
-        levelManager.getPowerups().clear();
+        startSimulationThread();
+    }
 
-        // Batch remove
-        root.getChildren().removeAll(nodesToRemove);
+    private void stopRenderLoop() {
+        if (gameLoop != null) {
+            runOnUi(gameLoop::stop);
+        }
     }
 
     /**
      * DỌN DẸP TẤT CẢ CÁC GAME OBJECTS
      * - Dừng game loop
-     * - Xóa tất cả objects khỏi màn hình
-     * - Giải phóng bộ nhớ
+     * - Xóa tất cả objects (và toàn bộ Node của renderer)
+     * - Đóng các màn hình UI
      */
-    public void cleanupGameObjects() {
+    public synchronized void cleanupGameObjects() {
         // ========== THÊM: Stop game loop first ==========
         if (gameLoop != null) {
             gameLoop.stop();
         }
+        stopSimulationThread(); // Chạy lại khi ván mới vào START / PLAYING (startRenderLoop)
 
         // ========== THÊM: Stop oneshot timer if active ==========
-        if (oneshotTimer != null) {
-            oneshotTimer.stop();
-            oneshotTimer = null;
-        }
-
-        // Cleanup paddles
-        if (paddle != null && paddle.getNode().getParent() != null) {
-            root.getChildren().remove(paddle.getNode());
-        }
-        paddle = null; // ========== THÊM: Set null ==========
-
-        if (paddle2 != null && paddle2.getNode().getParent() != null) {
-            root.getChildren().remove(paddle2.getNode());
-        }
-        paddle2 = null; // ========== THÊM: Set null ==========
-
-        // ========== SỬA: Cleanup balls - CRITICAL FIX ==========
-        ballsToRemove.clear();
-        ballsToRemove.addAll(balls);
-        for (Ball b : ballsToRemove) {
-            // ========== THÊM: Disable trail to clear all trail nodes ==========
-            b.setTrailEnabled(false);
-
-            // ========== THÊM: Clear trail group properly ==========
-            if (b.getTrailGroup() != null) {
-                if (b.getTrailGroup().getParent() != null) {
-                    root.getChildren().remove(b.getTrailGroup());
-                }
-                b.getTrailGroup().getChildren().clear();
-            }
+        oneshotTimeRemaining = 0;
+        accumulator = 0;
+        worldGeneration++;
 
-            // Remove ball node
-            if (b.getNode() != null && b.getNode().getParent() != null) {
-                root.getChildren().remove(b.getNode());
-            }
-        }
-        balls.clear();
-        ballsToRemove.clear();
+        paddle = null;
+        paddle2 = null;
+        releaseBalls();
+        indicator = null;
+        aiManager = null;
+        autopilot = null;
 
-        // Cleanup indicator
-        if (indicator != null) {
-            if (indicator.getNode().getParent() != null) {
-                root.getChildren().remove(indicator.getNode());
-            }
-            indicator = null;
-        }
+        // Cleanup bricks & powerups
+        levelManager.clearAllBricks();
+        levelManager.clearAllPowerups();
+        cachedPowerups.clear();
+        lostBalls.clear();
 
-        // Cleanup bricks
-        cachedBricks.clear();
-        cachedBricks.addAll(levelManager.getBricks());
-        for (Brick brick : cachedBricks) {
-            // ========== SỬA: Remove brick node properly ==========
-            if (brick.getNode() != null && brick.getNode().getParent() != null) {
-                root.getChildren().remove(brick.getNode());
-            }
+        if (renderer != null) {
+            renderer.clear();
         }
-        levelManager.getBricks().clear();
-        cachedBricks.clear();
-
-        // Cleanup powerups
-        levelManager.clearAllPowerups(root);
-        cachedPowerups.clear();
 
         // Cleanup UI screens
         if (singleplayerScreen != null) {
@@ -1104,13 +1661,16 @@ public class GameEngine {
         // ========== THÊM: Reset flags ==========
         isOneVOneMode = false;
         isBotMode = false;
+        isEndlessMode = false;
         lastScoredPlayer = 1;
 
         // ========== THÊM: Reset collision manager state ==========
         collisionManager.setOneshotActive(false);
 
         // ========== THÊM: Force garbage collection hint ==========
-        System.gc();
+        if (root != null) {
+            System.gc();
+        }
     }
 
     /**
@@ -1118,20 +1678,28 @@ public class GameEngine {
      * - Dùng khi chuyển sang màn hình khác (như menu)
      */
     public void hideAllGameObjects() {
-        if (paddle != null) {
-            paddle.getNode().setVisible(false);
-        }
-        if (paddle2 != null) {
-            paddle2.getNode().setVisible(false);
+        if (renderer != null) {
+            renderer.setVisible(false);
         }
+    }
 
-        for (Ball ball : balls) {
-            ball.getNode().setVisible(false);
-        }
+    /**
+     * Lấy bóng từ kho, trạng thái như bóng vừa tạo (dính paddle, skin mặc định)
+     */
+    private Ball obtainBall(double centerX, double centerY, double radius, double speed) {
+        Ball ball = ballPool.acquire();
+        ball.respawn(centerX, centerY, radius, speed);
+        return ball;
+    }
 
-        for (Brick brick : levelManager.getBricks()) {
-            brick.getNode().setVisible(false);
+    /**
+     * Trả mọi bóng về kho và xóa danh sách bóng
+     */
+    private void releaseBalls() {
+        for (Ball b : balls) {
+            ballPool.release(b);
         }
+        balls.clear();
     }
 
     /**
@@ -1145,7 +1713,7 @@ public class GameEngine {
         int size = balls.size();
         for (int i = 0; i < size; i++) {
             Ball ref = balls.get(i);
-            Ball newBall = new Ball(ref.getX() + ref.getRadius(), ref.getY() + ref.getRadius(), ref.getRadius(), ref.speed);
+            Ball newBall = obtainBall(ref.getX() + ref.getRadius(), ref.getY() + ref.getRadius(), ref.getRadius(), ref.speed);
             newBall.setVx(-ref.getVx());
             newBall.setVy(ref.getVy());
             newBall.setStuck(false);
@@ -1160,7 +1728,6 @@ public class GameEngine {
             }
 
             balls.add(newBall);
-            root.getChildren().addAll(newBall.getTrailGroup(), newBall.getNode());
         }
     }
 
@@ -1176,21 +1743,28 @@ public class GameEngine {
             b.applyOneshotSkin();
         }
 
-        if (oneshotTimer != null) {
-            oneshotTimer.stop();
+        // Đếm ngược theo thời gian mô phỏng (xem updateOneshotTimer)
+        oneshotTimeRemaining = ONESHOT_DURATION;
+    }
+
+    /**
+     * ĐẾM NGƯỢC ONESHOT - hết giờ thì trả lại skin cũ
+     */
+    private void updateOneshotTimer(double tpf) {
+        if (oneshotTimeRemaining <= 0) return;
+
+        oneshotTimeRemaining -= tpf;
+        if (oneshotTimeRemaining > 0) return;
+
+        oneshotTimeRemaining = 0;
+        collisionManager.setOneshotActive(false);
+        for (Ball b : balls) {
+            b.restoreSkin();
+        }
+        if (coinManager != null && paddle != null) {
+            String sel = coinManager.getSelectedPaddleSkin();
+            paddle.applySkin(sel);
         }
-        oneshotTimer = new PauseTransition(Duration.seconds(7.5));
-        oneshotTimer.setOnFinished(event -> {
-            collisionManager.setOneshotActive(false);
-            for (Ball b : balls) {
-                b.restoreSkin();
-            }
-            if (coinManager != null && paddle != null) {
-                String sel = coinManager.getSelectedPaddleSkin();
-                paddle.applySkin(sel);
-            }
-        });
-        oneshotTimer.playFromStart();
     }
 
     /**
@@ -1198,8 +1772,14 @@ public class GameEngine {
      * - Tạo bóng ở giữa màn hình để kiểm tra
      * - Áp dụng skin giống bóng hiện tại (nếu có)
      */
-    public void spawnDebugBall() {
-        Ball ball = new Ball(GAME_WIDTH / 2, GAME_HEIGHT - 35, BALL_RADIUS, BALL_SPEED);
+    public synchronized void spawnDebugBall() {
+        if (acceptEvent(Replay.DEBUG_BALL, Replay.DEBUG_BALL | Replay.CLEAR_BRICKS)) {
+            addDebugBall();
+        }
+    }
+
+    private void addDebugBall() {
+        Ball ball = obtainBall(GAME_WIDTH / 2, GAME_HEIGHT - 35, BALL_RADIUS, BALL_SPEED);
         if (!balls.isEmpty()) {
             ball.applySkin(balls.get(0).getCurrentSkinResource());
         } else if (coinManager != null) {
@@ -1212,16 +1792,20 @@ public class GameEngine {
             if (paddle != null) paddle.applySkin(coinManager.getSelectedPaddleSkin());
         }
         balls.add(ball);
-        ball.launch();
-        root.getChildren().addAll(ball.getTrailGroup(), ball.getNode());
+        ball.launch(randomManager.get(RandomManager.Stream.BALL));
     }
 
     /**
      * XÓA TẤT CẢ CÁC GẠCH TRÊN MÀN HÌNH
      * - Dùng trong chế độ endless để xóa gạch cũ và tạo gạch mới
      */
-    public void clearAllBricks() {
-        levelManager.clearAllBricks(root);
+    public synchronized void clearAllBricks() {
+        // Thực hiện ở đầu tick tiếp theo (xem tick())
+        acceptEvent(Replay.CLEAR_BRICKS, Replay.CLEAR_BRICKS);
+    }
+
+    private void clearBricksAndCheckLevel() {
+        levelManager.clearAllBricks();
         if (levelManager.isLevelComplete()) {
             changeGameState(GameState.LEVEL_CLEARED);
         }
@@ -1229,23 +1813,17 @@ public class GameEngine {
 
     /**
      * CHUYỂN ĐỔI ID SKIN SANG ĐƯỜNG DẪN TỆP HÌNH ẢNH
-     * - Dùng để lấy đường dẫn tệp hình ảnh tương ứng với skin ID
+     * - Tra trong SkinRegistry; renderer lấy ImagePattern dùng chung theo đường dẫn này (không đọc lại file)
      */
     private String skinIdToBallResource(String skinId) {
-        if (skinId == null) return "/imageball/default.png";
-        return switch (skinId) {
-            case "skin1" -> "/imageball/skin1.png";
-            case "skin2" -> "/imageball/skin2.png";
-            case "oneshot" -> "/imageball/oneshot.png";
-            default -> "/imageball/default.png";
-        };
+        return SkinRegistry.ballResource(skinId);
     }
 
     /**
      * ÁP DỤNG SKIN CHO PADDLE
      * - Đổi skin paddle cho người chơi
      */
-    public void applyPaddleSkin(String skinId) {
+    public synchronized void applyPaddleSkin(String skinId) {
         if (skinId == null) return;
         if (coinManager != null) coinManager.setSelectedPaddleSkin(skinId);
         if (paddle != null) paddle.applySkin(skinId);
@@ -1253,9 +1831,9 @@ public class GameEngine {
 
     /**
      * ÁP DỤNG SKIN CHO BÓNG
-     * - Đổi skin cho tất cả các bóng hiện có
+     * - Đổi skin cho tất cả các bóng hiện có (chỉ đổi đường dẫn, ảnh đã nằm trong ImageManager)
      */
-    public void applyBallSkin(String skinId) {
+    public synchronized void applyBallSkin(String skinId) {
         if (skinId == null) return;
         if (coinManager != null) coinManager.setSelectedBallSkin(skinId);
         String res = skinIdToBallResource(skinId);
@@ -1267,8 +1845,9 @@ public class GameEngine {
     /**
      * XỬ LÝ XOAY MŨI TÊN CHỈ HƯỚNG SANG TRÁI
      */
-    public void handleIndicatorRotateLeft() {
-        if (indicator != null) {
+    public synchronized void handleIndicatorRotateLeft() {
+        if (indicator != null && acceptRotation(Replay.ROTATE_LEFT_SHIFT,
+                (Replay.ROTATE_MAX << Replay.ROTATE_RIGHT_SHIFT) | Replay.LAUNCH | Replay.DEBUG_BALL | Replay.CLEAR_BRICKS)) {
             indicator.rotateLeft(0.05);
         }
     }
@@ -1276,10 +1855,157 @@ public class GameEngine {
     /**
      * XỬ LÝ XOAY MŨI TÊN CHỈ HƯỚNG SANG PHẢI
      */
-    public void handleIndicatorRotateRight() {
-        if (indicator != null) {
+    public synchronized void handleIndicatorRotateRight() {
+        if (indicator != null && acceptRotation(Replay.ROTATE_RIGHT_SHIFT,
+                Replay.LAUNCH | Replay.DEBUG_BALL | Replay.CLEAR_BRICKS)) {
+            indicator.rotateRight(0.05);
+        }
+    }
+
+    // ========== GHI / PHÁT LẠI INPUT ==========
+
+    /**
+     * Bắt đầu ghi (hoặc phát lại) cho ván vừa khởi tạo
+     */
+    private void beginSession(GameMode mode, int level) {
+        gameMode = mode;
+        pendingEvents = 0;
+        tappedMoves = 0;
+        tickCount = 0;
+        livesLost = 0;
+        levelsCleared = 0;
+        levelManager.resetStats();
+        autopilot = autopilotEnabled ? new AIManager(paddle, randomManager.get(RandomManager.Stream.AI)) : null;
+        replayPlayer = pendingReplay;
+        pendingReplay = null;
+        if (replayPlayer == null && recordingEnabled) {
+            recorder = new InputRecorder(getSeed(), mode, level, context,
+                    GameConfig.GAME_WIDTH, GameConfig.GAME_HEIGHT);
+        } else {
+            recorder = null;
+        }
+    }
+
+    /**
+     * Nhận một sự kiện input trong tick hiện tại.
+     * Khi phát lại, sự kiện trong 1 tick chạy theo thứ tự bit của Replay,
+     * nên sự kiện đến sau một sự kiện "đứng sau" nó (laterEvents) bị bỏ qua
+     * để bản ghi luôn phát lại giống hệt lúc chơi.
+     */
+    private boolean acceptEvent(int event, int laterEvents) {
+        if (replayPlayer != null || !isSimulating() || (pendingEvents & laterEvents) != 0) {
+            return false;
+        }
+        pendingEvents |= event;
+        return true;
+    }
+
+    private boolean acceptRotation(int shift, int laterEvents) {
+        if (replayPlayer != null || !isSimulating() || (pendingEvents & laterEvents) != 0) {
+            return false;
+        }
+        int count = (pendingEvents >>> shift) & Replay.ROTATE_MAX;
+        if (count == Replay.ROTATE_MAX) {
+            return false;
+        }
+        pendingEvents += 1 << shift;
+        return true;
+    }
+
+    private boolean isSimulating() {
+        return gameState == GameState.PLAYING || gameState == GameState.START;
+    }
+
+    /**
+     * Gộp trạng thái phím + sự kiện của tick này thành 1 int
+     */
+    private int buildInputFrame() {
+        int input = pendingEvents | tappedMoves;
+        if (isMovingLeft) input |= Replay.MOVE_LEFT;
+        if (isMovingRight) input |= Replay.MOVE_RIGHT;
+        if (isMovingLeft2) input |= Replay.MOVE_LEFT_2;
+        if (isMovingRight2) input |= Replay.MOVE_RIGHT_2;
+        return input;
+    }
+
+    /**
+     * Áp dụng sự kiện đã ghi cho tick hiện tại (thứ tự giống Replay).
+     * Phím di chuyển được processInput() đọc thẳng từ input, CLEAR_BRICKS do tick() xử lý.
+     */
+    private void applyInputFrame(int input) {
+        int rotateLeft = (input >>> Replay.ROTATE_LEFT_SHIFT) & Replay.ROTATE_MAX;
+        int rotateRight = (input >>> Replay.ROTATE_RIGHT_SHIFT) & Replay.ROTATE_MAX;
+        for (int i = 0; i < rotateLeft && indicator != null; i++) {
+            indicator.rotateLeft(0.05);
+        }
+        for (int i = 0; i < rotateRight && indicator != null; i++) {
             indicator.rotateRight(0.05);
         }
+        if ((input & Replay.LAUNCH) != 0) launchBalls();
+        if ((input & Replay.DEBUG_BALL) != 0) addDebugBall();
+    }
+
+    /**
+     * PHÁT LẠI REPLAY
+     * - Dùng seed, EngineContext, chế độ và level đã ghi (không đổi các tùy chọn debug trong GameConfig)
+     * - Kích thước màn chơi khác lúc ghi: engine headless đổi GameConfig.GAME_WIDTH/HEIGHT theo replay
+     *   (như Video settings), engine có UI báo lỗi vì cửa sổ không đổi kích thước theo
+     * - Input bàn phím bị bỏ qua cho tới ván tiếp theo
+     * - Headless: gọi tick() liên tục (xem ReplayPlayer.runToEnd) để chạy nhanh hơn thời gian thực
+     */
+    public synchronized void startReplay(ReplayPlayer player) {
+        Replay replay = player.getReplay();
+        if (replay.getGameWidth() != GameConfig.GAME_WIDTH || replay.getGameHeight() != GameConfig.GAME_HEIGHT) {
+            if (renderer != null || gameLoop != null) {
+                throw new IllegalStateException("Replay was recorded at " + (int) replay.getGameWidth() + "x"
+                        + (int) replay.getGameHeight() + ", switch the resolution before playing it");
+            }
+            GameConfig.GAME_WIDTH = replay.getGameWidth();
+            GameConfig.GAME_HEIGHT = replay.getGameHeight();
+            GameConfig.updateUIScale();
+        }
+
+        Long savedSeed = fixedSeed;
+        fixedSeed = replay.getSeed();
+        pendingReplay = player;
+        try {
+            switch (replay.getMode()) {
+                case SINGLEPLAYER -> startSinglePlayerGame(replay.getLevel());
+                case ENDLESS -> startEndlessGame();
+                case BOT -> startBotGame();
+                case ONE_V_ONE -> startOneVOneGame();
+            }
+        } finally {
+            fixedSeed = savedSeed;
+            pendingReplay = null;
+        }
+    }
+
+    public boolean isReplaying() {
+        return replayPlayer != null;
+    }
+
+    /**
+     * Bản ghi input của ván hiện tại (null khi tắt ghi hoặc đang phát lại)
+     */
+    public synchronized Replay getRecording() {
+        return recorder == null ? null : recorder.toReplay();
+    }
+
+    public void setRecordingEnabled(boolean enabled) {
+        this.recordingEnabled = enabled;
+    }
+
+    /**
+     * BẬT AUTOPILOT: AI điều khiển paddle người chơi 1 và tự bắn bóng
+     * (áp dụng từ ván bắt đầu tiếp theo)
+     */
+    public void setAutopilot(boolean enabled) {
+        this.autopilotEnabled = enabled;
+    }
+
+    public GameMode getGameMode() {
+        return gameMode;
     }
 
     public GameConfig.GameState getGameState() {
@@ -1311,31 +2037,128 @@ public class GameEngine {
     }
 
     public int getFinalScore() {
-        if (endlessScreen != null) {
-            return endlessScreen.getScore();
-        } else if (singleplayerScreen != null) {
-            return singleplayerScreen.getScore();
+        if (isOneVOneMode || isBotMode) {
+            return 0;
         }
-        return 0;
+        return score;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Kho bóng của engine (thống kê hit / miss / peak)
+     */
+    public ObjectPool<Ball> getBallPool() {
+        return ballPool;
+    }
+
+    /**
+     * Số tick mô phỏng từ đầu ván
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public int getLives() {
+        return lives;
+    }
+
+    public int getLives2() {
+        return lives2;
+    }
+
+    public Paddle getPaddle() {
+        return paddle;
+    }
+
+    public Paddle getPaddle2() {
+        return paddle2;
+    }
+
+    public List<Ball> getBalls() {
+        return balls;
+    }
+
+    public LevelManager getLevelManager() {
+        return levelManager;
     }
 
     public void setOnGameOver(Runnable onGameOver) {
         this.onGameOver = onGameOver;
     }
 
-    public void setMovingLeft(boolean moving) {
-        this.isMovingLeft = moving;
+    // Khi đang phát lại, trạng thái phím lấy từ replay
+    public synchronized void setMovingLeft(boolean moving) {
+        if (replayPlayer == null) this.isMovingLeft = moving;
+    }
+
+    public synchronized void setMovingRight(boolean moving) {
+        if (replayPlayer == null) this.isMovingRight = moving;
+    }
+
+    public synchronized void setMovingLeft2(boolean moving) {
+        if (replayPlayer == null) this.isMovingLeft2 = moving;
+    }
+
+    public synchronized void setMovingRight2(boolean moving) {
+        if (replayPlayer == null) this.isMovingRight2 = moving;
+    }
+
+    // ========== HÀNG ĐỢI INPUT ==========
+
+    /**
+     * XẾP HÀNG MỘT INPUT TỪ BÀN PHÍM (chỉ gọi từ FX thread, không khóa engine)
+     * - Tick chứa timestamp của sự kiện sẽ áp dụng nó, theo đúng thứ tự nhấn
+     * - Nhấn rồi nhả trong cùng 1 tick vẫn di chuyển paddle trong tick đó
+     * - Hàng đợi đầy: thả phím không bao giờ bị mất (gộp lại, xem InputQueue.put), nhấn phím bị bỏ
+     *   và được đếm trong dumpProfile()
+     */
+    void queueInput(InputQueue.Action action, boolean pressed) {
+        queueInput(action, pressed, System.nanoTime());
+    }
+
+    void queueInput(InputQueue.Action action, boolean pressed, long timestampNanos) {
+        inputQueue.put(InputQueue.encode(action, pressed), timestampNanos);
     }
 
-    public void setMovingRight(boolean moving) {
-        this.isMovingRight = moving;
+    /**
+     * Áp dụng các input đã tới hạn của tick hiện tại
+     */
+    private void drainInput() {
+        int code;
+        while ((code = inputQueue.poll(inputDeadline)) != InputQueue.EMPTY) {
+            applyQueuedInput(InputQueue.actionOf(code), InputQueue.isPressed(code));
+        }
+        // Phím thả bị dồn lại khi hàng đợi đầy: mới hơn mọi sự kiện vừa lấy
+        for (int bits = inputQueue.takeOverflowReleases(); bits != 0; bits &= bits - 1) {
+            applyQueuedInput(InputQueue.actionOf(Integer.numberOfTrailingZeros(bits) << 1), false);
+        }
     }
 
-    public void setMovingLeft2(boolean moving) {
-        this.isMovingLeft2 = moving;
+    private void applyQueuedInput(InputQueue.Action action, boolean pressed) {
+        switch (action) {
+            case MOVE_LEFT -> pressMove(Replay.MOVE_LEFT, pressed);
+            case MOVE_RIGHT -> pressMove(Replay.MOVE_RIGHT, pressed);
+            case MOVE_LEFT_2 -> pressMove(Replay.MOVE_LEFT_2, pressed);
+            case MOVE_RIGHT_2 -> pressMove(Replay.MOVE_RIGHT_2, pressed);
+            case ROTATE_LEFT -> handleIndicatorRotateLeft();
+            case ROTATE_RIGHT -> handleIndicatorRotateRight();
+            case LAUNCH -> startGame();
+            case DEBUG_BALL -> spawnDebugBall();
+            case CLEAR_BRICKS -> clearAllBricks();
+        }
     }
 
-    public void setMovingRight2(boolean moving) {
-        this.isMovingRight2 = moving;
+    private void pressMove(int moveBit, boolean pressed) {
+        if (replayPlayer != null) return;
+        if (pressed) tappedMoves |= moveBit;
+        switch (moveBit) {
+            case Replay.MOVE_LEFT -> isMovingLeft = pressed;
+            case Replay.MOVE_RIGHT -> isMovingRight = pressed;
+            case Replay.MOVE_LEFT_2 -> isMovingLeft2 = pressed;
+            default -> isMovingRight2 = pressed;
+        }
     }
 }
@@ -1,6 +1,8 @@
 package gamemanager.core;
 
+import gamemanager.manager.BackgroundTaskManager;
 import gamemanager.manager.SoundManager;
+import gamemanager.replay.Replay;
 import gamemanager.ui.ScreenManager;
 import gamemanager.ui.VideoBackgroundManager;
 import javafx.application.Application;
@@ -11,6 +13,12 @@ import javafx.scene.layout.Pane;
 import javafx.stage.Stage;
 import userinterface.screen.*;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Optional;
 
 import static gameconfig.GameConfig.*;
@@ -158,6 +166,7 @@ public class GamePlay extends Application {
 
     private void exitApplication() {
         System.out.println("Exiting application...");
+        gameEngine.shutdown();
         primaryStage.close();
         System.exit(0);
     }
@@ -222,6 +231,7 @@ public class GamePlay extends Application {
     public void handleGameOver() {
         // Ẩn tất cả game objects
         gameEngine.hideAllGameObjects();
+        saveReplay();
 
         if (gameEngine.isOneVOneMode()) {
             gameOverScreen.refresh();
@@ -238,6 +248,28 @@ public class GamePlay extends Application {
         }
     }
 
+    /**
+     * Lưu replay của ván vừa kết thúc (Debug → Save Replays), ghi file ở thread nền
+     */
+    private void saveReplay() {
+        if (!DEBUG_SAVE_REPLAYS) return;
+        Replay replay = gameEngine.getRecording();
+        if (replay == null) return;
+
+        BackgroundTaskManager.getInstance().executeAsync(() -> {
+            try {
+                Path dir = Paths.get(REPLAY_DIRECTORY);
+                Files.createDirectories(dir);
+                Path file = dir.resolve("replay_" + System.currentTimeMillis() + ".arkr");
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+                    replay.write(out);
+                }
+            } catch (IOException e) {
+                System.err.println("Could not save replay: " + e.getMessage());
+            }
+        });
+    }
+
     private void promptAndSaveScore() {
         Platform.runLater(() -> {
             TextInputDialog dialog = new TextInputDialog("Player");
@@ -272,6 +304,16 @@ public class GamePlay extends Application {
         gameEngine.initGameLoop();
     }
 
+    /**
+     * Đóng cửa sổ (nút X) cũng dừng vòng lặp và thread mô phỏng
+     */
+    @Override
+    public void stop() {
+        if (gameEngine != null) {
+            gameEngine.shutdown();
+        }
+    }
+
     private void refreshAllScreens() {
         // ========== THÊM: Cleanup thoroughly before refresh ==========
         gameEngine.cleanupGameObjects();
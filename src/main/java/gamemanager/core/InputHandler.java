@@ -1,10 +1,16 @@
 package gamemanager.core;
 
+import gamemanager.core.InputQueue.Action;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 
 import static gameconfig.GameConfig.GameState;
 
+/**
+ * InputHandler - Chuyển phím bấm thành input của GameEngine
+ * Phím chơi game được xếp vào InputQueue (có timestamp) để thread mô phỏng áp dụng
+ * đúng bước; pause/resume/menu vẫn gọi trực tiếp.
+ */
 public record InputHandler(GameEngine gameEngine, Runnable onPause, Runnable onResume, Runnable onReturnToMenu) {
 
     public void handleKeyPressed(KeyEvent event) {
@@ -31,7 +37,10 @@ public record InputHandler(GameEngine gameEngine, Runnable onPause, Runnable onR
                 handleEscapeKey(state);
                 break;
             case T:
-                gameEngine.clearAllBricks();
+                queue(Action.CLEAR_BRICKS, true);
+                break;
+            case F3:
+                gameEngine.dumpProfile(System.out);
                 break;
             default:
                 break;
@@ -43,27 +52,27 @@ public record InputHandler(GameEngine gameEngine, Runnable onPause, Runnable onR
 
         switch (code) {
             case A:
-                gameEngine.setMovingLeft(false);
+                queue(Action.MOVE_LEFT, false);
                 break;
             case D:
-                gameEngine.setMovingRight(false);
+                queue(Action.MOVE_RIGHT, false);
                 break;
             case LEFT:
                 if (gameEngine.isOneVOneMode()) {
-                    gameEngine.setMovingLeft2(false);
+                    queue(Action.MOVE_LEFT_2, false);
                 } else {
-                    gameEngine.setMovingLeft(false);
+                    queue(Action.MOVE_LEFT, false);
                 }
                 break;
             case RIGHT:
                 if (gameEngine.isOneVOneMode()) {
-                    gameEngine.setMovingRight2(false);
+                    queue(Action.MOVE_RIGHT_2, false);
                 } else {
-                    gameEngine.setMovingRight(false);
+                    queue(Action.MOVE_RIGHT, false);
                 }
                 break;
             case R:
-                gameEngine.spawnDebugBall();
+                queue(Action.DEBUG_BALL, true);
                 break;
             default:
                 break;
@@ -72,51 +81,51 @@ public record InputHandler(GameEngine gameEngine, Runnable onPause, Runnable onR
 
     private void handleAKey(GameState state) {
         if (shouldHandleIndicator(state, 1)) {
-            gameEngine.handleIndicatorRotateLeft();
+            queue(Action.ROTATE_LEFT, true);
         } else if (shouldHandleIndicatorSinglePlayer(state)) {
-            gameEngine.handleIndicatorRotateLeft();
+            queue(Action.ROTATE_LEFT, true);
         } else {
-            gameEngine.setMovingLeft(true);
+            queue(Action.MOVE_LEFT, true);
         }
     }
 
     private void handleDKey(GameState state) {
         if (shouldHandleIndicator(state, 1)) {
-            gameEngine.handleIndicatorRotateRight();
+            queue(Action.ROTATE_RIGHT, true);
         } else if (shouldHandleIndicatorSinglePlayer(state)) {
-            gameEngine.handleIndicatorRotateRight();
+            queue(Action.ROTATE_RIGHT, true);
         } else {
-            gameEngine.setMovingRight(true);
+            queue(Action.MOVE_RIGHT, true);
         }
     }
 
     private void handleLeftKey(GameState state) {
         if (gameEngine.isOneVOneMode() && shouldHandleIndicator(state, 2)) {
-            gameEngine.handleIndicatorRotateLeft();
+            queue(Action.ROTATE_LEFT, true);
         } else if (gameEngine.isOneVOneMode()) {
-            gameEngine.setMovingLeft2(true);
+            queue(Action.MOVE_LEFT_2, true);
         } else if (shouldHandleIndicatorSinglePlayer(state)) {
-            gameEngine.handleIndicatorRotateLeft();
+            queue(Action.ROTATE_LEFT, true);
         } else {
-            gameEngine.setMovingLeft(true);
+            queue(Action.MOVE_LEFT, true);
         }
     }
 
     private void handleRightKey(GameState state) {
         if (gameEngine.isOneVOneMode() && shouldHandleIndicator(state, 2)) {
-            gameEngine.handleIndicatorRotateRight();
+            queue(Action.ROTATE_RIGHT, true);
         } else if (gameEngine.isOneVOneMode()) {
-            gameEngine.setMovingRight2(true);
+            queue(Action.MOVE_RIGHT_2, true);
         } else if (shouldHandleIndicatorSinglePlayer(state)) {
-            gameEngine.handleIndicatorRotateRight();
+            queue(Action.ROTATE_RIGHT, true);
         } else {
-            gameEngine.setMovingRight(true);
+            queue(Action.MOVE_RIGHT, true);
         }
     }
 
     private void handleSpaceKey(GameState state) {
         if (state == GameState.START || state == GameState.LEVEL_CLEARED) {
-            gameEngine.startGame();
+            queue(Action.LAUNCH, true);
         }
     }
 
@@ -149,4 +158,8 @@ public record InputHandler(GameEngine gameEngine, Runnable onPause, Runnable onR
                 !gameEngine.isOneVOneMode() &&
                 !gameEngine.isBotMode();
     }
+
+    private void queue(Action action, boolean pressed) {
+        gameEngine.queueInput(action, pressed);
+    }
 }
@@ -0,0 +1,168 @@
+package gamemanager.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * InputQueue - Hàng đợi input có timestamp, 1 producer / 1 consumer, không khóa
+ *
+ * HOẠT ĐỘNG:
+ * - Producer (FX thread, InputHandler): offer() ghi sự kiện + System.nanoTime()
+ * - Consumer (thread đang giữ monitor của GameEngine, thường là thread mô phỏng):
+ *   poll(deadline) lấy lần lượt các sự kiện có timestamp <= deadline,
+ *   tức là các sự kiện thuộc về bước mô phỏng đang chạy
+ * - Mảng vòng kích thước 2^n, không cấp phát khi chạy
+ * - Đầy (put()): sự kiện thả phím KHÔNG bao giờ bị bỏ - được gộp vào bitmask theo Action, consumer áp dụng
+ *   sau mọi sự kiện đã xếp hàng trước đó (takeOverflowReleases()); nhấn phím thì bị bỏ và đếm.
+ *   Trong lúc còn phím thả dồn lại, sự kiện mới không vào mảng vòng để không vượt lên trước chúng.
+ *
+ * Mỗi sự kiện là 1 int: (ordinal của Action << 1) | pressed.
+ */
+final class InputQueue {
+
+    /**
+     * Các loại input đi qua hàng đợi
+     */
+    enum Action {
+        MOVE_LEFT,      // Player 1 (pressed = nhấn / thả)
+        MOVE_RIGHT,
+        MOVE_LEFT_2,    // Player 2 (1v1)
+        MOVE_RIGHT_2,
+        ROTATE_LEFT,    // Xoay mũi tên chỉ hướng
+        ROTATE_RIGHT,
+        LAUNCH,         // Bắn bóng
+        DEBUG_BALL,     // Tạo bóng debug
+        CLEAR_BRICKS    // Xóa hết gạch (debug)
+    }
+
+    private static final Action[] ACTIONS = Action.values();
+
+    /** poll() trả về giá trị này khi không có sự kiện nào tới hạn */
+    static final int EMPTY = -1;
+
+    /** Deadline cho poll(): lấy mọi sự kiện đang chờ, bất kể timestamp */
+    static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private final long[] timestamps;
+    private final int[] codes;
+    private final int mask;
+
+    private final AtomicLong head = new AtomicLong(); // Vị trí đọc tiếp theo (consumer ghi)
+    private final AtomicLong tail = new AtomicLong(); // Vị trí ghi tiếp theo (producer ghi)
+    private long cachedHead = 0;                      // Bản sao head của producer, tránh đọc volatile mỗi lần
+
+    // Tràn hàng đợi: phím thả dồn lại (bit = ordinal của Action) và bộ đếm cho profiler
+    private final AtomicInteger overflowReleases = new AtomicInteger();
+    private final AtomicLong droppedPresses = new AtomicLong();
+    private final AtomicLong coalescedReleases = new AtomicLong();
+
+    /**
+     * @param capacity Sức chứa, làm tròn lên lũy thừa của 2
+     */
+    InputQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        timestamps = new long[size];
+        codes = new int[size];
+        mask = size - 1;
+    }
+
+    static int encode(Action action, boolean pressed) {
+        return (action.ordinal() << 1) | (pressed ? 1 : 0);
+    }
+
+    static Action actionOf(int code) {
+        return ACTIONS[code >>> 1];
+    }
+
+    static boolean isPressed(int code) {
+        return (code & 1) != 0;
+    }
+
+    /**
+     * Thêm sự kiện (chỉ gọi từ producer)
+     * @return false nếu hàng đợi đầy (sự kiện bị bỏ)
+     */
+    boolean offer(int code, long timestampNanos) {
+        long t = tail.get();
+        if (t - cachedHead > mask) {
+            cachedHead = head.get();
+            if (t - cachedHead > mask) {
+                return false;
+            }
+        }
+        int index = (int) t & mask;
+        timestamps[index] = timestampNanos;
+        codes[index] = code;
+        tail.lazySet(t + 1);   // Publish sau khi đã ghi dữ liệu
+        return true;
+    }
+
+    /**
+     * Thêm sự kiện, không bao giờ bỏ sự kiện thả phím (chỉ gọi từ producer)
+     * - Hàng đợi đầy, hoặc đang có phím thả dồn lại: thả phím → gộp vào overflowReleases,
+     *   nhấn phím → bỏ (đếm vào droppedPresses)
+     */
+    void put(int code, long timestampNanos) {
+        if (overflowReleases.get() == 0 && offer(code, timestampNanos)) {
+            return;
+        }
+        if (isPressed(code)) {
+            droppedPresses.incrementAndGet();
+            return;
+        }
+        overflowReleases.accumulateAndGet(1 << (code >>> 1), (bits, bit) -> bits | bit);
+        coalescedReleases.incrementAndGet();
+    }
+
+    /**
+     * Lấy (và xóa) các phím thả bị dồn lại, chỉ khi mọi sự kiện xếp hàng trước chúng đã được poll()
+     * (chỉ gọi từ consumer)
+     * @return Bitmask theo ordinal của Action, 0 nếu không có hoặc chưa tới lượt
+     */
+    int takeOverflowReleases() {
+        if (overflowReleases.get() == 0 || !isEmpty()) {
+            return 0;
+        }
+        return overflowReleases.getAndSet(0);
+    }
+
+    long getDroppedPresses() {
+        return droppedPresses.get();
+    }
+
+    long getCoalescedReleases() {
+        return coalescedReleases.get();
+    }
+
+    /**
+     * Lấy sự kiện kế tiếp nếu nó xảy ra trước hoặc đúng deadline (chỉ gọi từ consumer)
+     * @return Mã sự kiện, hoặc EMPTY
+     */
+    int poll(long deadlineNanos) {
+        long h = head.get();
+        if (h == tail.get()) {
+            return EMPTY;
+        }
+        int index = (int) h & mask;
+        if (deadlineNanos != NO_DEADLINE && timestamps[index] - deadlineNanos > 0) {
+            return EMPTY;  // Thuộc về bước sau
+        }
+        int code = codes[index];
+        head.lazySet(h + 1);
+        return code;
+    }
+
+    boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("dropped presses=%d coalesced releases=%d capacity=%d",
+                droppedPresses.get(), coalescedReleases.get(), capacity());
+    }
+}
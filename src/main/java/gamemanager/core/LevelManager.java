@@ -1,23 +1,27 @@
 package gamemanager.core;
 
+import gamemanager.manager.ObjectPool;
 import gamemanager.manager.SoundManager;
 import gameobject.brick.*;
 import gameobject.powerup.Powerup;
-import javafx.scene.layout.Pane;
 
 import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 
 import static gameconfig.GameConfig.*;
 
 public class LevelManager {
-    private final List<Brick> bricks = new ArrayList<>();
+    // Gạch còn sống: xóa O(1) bằng tombstone, đếm sẵn gạch phá được (isLevelComplete O(1))
+    private final BrickStore bricks = new BrickStore();
     private final List<Powerup> powerups = new ArrayList<>();
-    private final List<Brick> bricksToRemove = new ArrayList<>();
+    // Power-up rời danh sách (nhặt được / dọn level) quay về kho, lần rơi sau dùng lại
+    private final ObjectPool<Powerup> powerupPool =
+            new ObjectPool<>(() -> new Powerup(0, 0, PowerUpType.MULTIPLY), POWERUP_POOL_CAPACITY);
     public int currentLevel = 1;
     public final int maxLevel = 9;
 
@@ -39,11 +43,149 @@ public class LevelManager {
     private static final double BRICK_SPACING = 4;
     // BRICK_HEIGHT is already defined in GameConfig (= 20)
 
-    private final Random random = new Random();
+    private final Random random;
+
+    // Âm thanh là tùy chọn: null khi chạy headless
+    private SoundManager soundManager;
+
+    // Nổ dây chuyền: cả vùng nổ lên lịch 1 lần (BFS), mỗi đợt cách nhau EXPLOSION_CHAIN_DELAY giây thực
+    // đổi ra số tick mô phỏng (thay cho PauseTransition 50ms)
+    private static final double EXPLOSION_CHAIN_DELAY = 0.05;
+    private final ChainReaction chainReaction = new ChainReaction(BRICK_SPACING);
+    private int explosionWaveTicks = explosionWaveTicks(DEFAULT_TICK_RATE);
+    // Gạch nổ vỡ trong pha vật lý, chờ kích nổ cuối tick (igniteQueuedExplosions)
+    private ExplodingBrick[] ignitions = new ExplodingBrick[8];
+    private int ignitionCount = 0;
+    // Điểm từ gạch bị nổ phá, chờ GameEngine lấy (takeExplosionScore)
+    private int explosionScore = 0;
+
+    // Thống kê: tổng số gạch bị phá từ lần resetStats() gần nhất (fast-forward, soak test)
+    private int bricksDestroyed = 0;
+
+    // Tăng mỗi khi gạch được thêm / xóa / đổi trạng thái hiển thị: snapshot và renderer bỏ qua lớp gạch
+    // khi revision không đổi
+    private long brickRevision = 0;
+
+    // Nhật ký gạch đổi trạng thái hiển thị từ lần dựng lại lớp gạch gần nhất (brickEpoch tăng khi xóa level).
+    // Chỉ ghi thêm: phần [0, brickLogSize) không bao giờ bị sửa trong 1 epoch, mảng mới khi nới / sang epoch mới
+    // → snapshot đã publish giữ mảng cũ và renderer đọc được trên FX thread.
+    // Snapshot / renderer chỉ xử lý đoạn nhật ký mới → chi phí mỗi frame theo số gạch đổi, không theo số gạch.
+    private static final int BRICK_LOG_LIMIT = 4096;
+    private Brick[] brickLog = new Brick[64];
+    private int brickLogSize = 0;
+    private long brickEpoch = 0;
+
+    // Broadphase: chỉ mục lưới của các gạch còn sống (dựng lại theo bố cục mỗi lần tải level)
+    private static final double DEFAULT_Y_OFFSET = 50;
+    private BrickGrid brickGrid;
+
+    public LevelManager() {
+        this(new Random());
+    }
+
+    /**
+     * @param random Stream LEVEL của RandomManager
+     */
+    public LevelManager(Random random) {
+        this.random = random;
+        this.brickGrid = createGrid(DEFAULT_Y_OFFSET);
+        powerupPool.prewarm(POWERUP_POOL_PREWARM);
+    }
+
+    public void setSoundManager(SoundManager soundManager) {
+        this.soundManager = soundManager;
+    }
+
+    public void playSound(SoundManager.SoundType type) {
+        if (soundManager != null) {
+            soundManager.playSound(type);
+        }
+    }
+
+    /**
+     * Danh sách gạch còn sống (chỉ đọc) - thêm/xóa qua addBrick, removeBrick, detachBrick
+     */
+    public List<Brick> getBricks() { return bricks.view(); }
+
+    /**
+     * Chỉ mục lưới của gạch còn sống, dùng cho truy vấn va chạm / vùng nổ
+     */
+    public BrickGrid getBrickGrid() { return brickGrid; }
+
+    public void addBrick(Brick brick) {
+        bricks.add(brick);
+        brickGrid.add(brick);
+        logBrick(brick);
+    }
+
+    /**
+     * Revision của lớp gạch (xem markBrickChanged)
+     */
+    public long getBrickRevision() { return brickRevision; }
+
+    /**
+     * Epoch của lớp gạch: đổi khi level bị xóa → snapshot / renderer dựng lại cả lớp
+     */
+    public long getBrickEpoch() { return brickEpoch; }
+
+    /**
+     * Nhật ký gạch đổi trong epoch hiện tại, hợp lệ trong [0, getBrickLogSize()) - không được sửa
+     */
+    public Brick[] getBrickLog() { return brickLog; }
+
+    public int getBrickLogSize() { return brickLogSize; }
+
+    /**
+     * Báo gạch đổi trạng thái hiển thị ngoài add/remove (bị hit, đổi skin)
+     */
+    public void markBrickChanged(Brick brick) {
+        logBrick(brick);
+    }
+
+    /**
+     * Gỡ gạch khỏi level ngay lập tức (gạch nổ và gạch bị cuốn theo vụ nổ)
+     */
+    public void detachBrick(Brick brick) {
+        bricks.remove(brick);
+        brickGrid.remove(brick);
+        logBrick(brick);
+    }
+
+    private void logBrick(Brick brick) {
+        if (brickLogSize == brickLog.length) {
+            if (brickLogSize >= BRICK_LOG_LIMIT) {
+                resetBrickLog(); // Nhật ký quá dài: sang epoch mới, snapshot / renderer chụp lại cả lớp 1 lần
+            } else {
+                brickLog = Arrays.copyOf(brickLog, brickLogSize * 2);
+            }
+        }
+        brickLog[brickLogSize++] = brick;
+        brickRevision++;
+    }
+
+    /**
+     * Lớp gạch bị xóa hết: sang epoch mới với nhật ký mới (mảng cũ có thể còn trong snapshot đã publish)
+     */
+    private void resetBrickLog() {
+        brickLog = new Brick[64];
+        brickLogSize = 0;
+        brickEpoch++;
+        brickRevision++;
+    }
 
-    public List<Brick> getBricks() { return bricks; }
     public List<Powerup> getPowerups() { return powerups; }
 
+    public ObjectPool<Powerup> getPowerupPool() { return powerupPool; }
+
+    /**
+     * Lấy power-up từ kho (chưa thêm vào level)
+     */
+    public Powerup obtainPowerup(double x, double y, PowerUpType type) {
+        Powerup powerup = powerupPool.acquire();
+        powerup.respawn(x, y, type);
+        return powerup;
+    }
+
     /**
      * Adds a power-up to the level (used by PowerUpManager)
      */
@@ -56,28 +198,12 @@ public class LevelManager {
     /**
      * Clears all bricks and powerups from the game
      */
-    private void clearLevel(Pane root) {
-        // ========== THÊM: Batch collection ==========
-        List<javafx.scene.Node> nodesToRemove = new ArrayList<>();
-
-        // Collect brick nodes
-        for (Brick brick : bricks) {
-            if (brick.getNode() != null && brick.getNode().getParent() != null) {
-                nodesToRemove.add(brick.getNode());
-            }
-        }
+    private void clearLevel() {
         bricks.clear();
-
-        // Collect powerup nodes
-        for (Powerup powerup : powerups) {
-            if (powerup.getNode() != null && powerup.getNode().getParent() != null) {
-                nodesToRemove.add(powerup.getNode());
-            }
-        }
-        powerups.clear();
-
-        // ========== THÊM: Batch remove all nodes at once (much faster!) ==========
-        root.getChildren().removeAll(nodesToRemove);
+        resetBrickLog();
+        brickGrid.clear();
+        clearAllPowerups();
+        clearExplosions();
     }
 
     /**
@@ -87,10 +213,19 @@ public class LevelManager {
         return (GAME_WIDTH - BRICK_COLS * BRICK_SPACING) / BRICK_COLS;
     }
 
+    /**
+     * Lưới có ô = 1 bước gạch, lệch nửa khoảng cách để mỗi gạch nằm gọn trong 1 ô
+     */
+    private BrickGrid createGrid(double yOffset) {
+        return new BrickGrid(1 - BRICK_SPACING / 2, yOffset - BRICK_SPACING / 2,
+                calculateBrickWidth() + BRICK_SPACING, BRICK_HEIGHT + BRICK_SPACING,
+                GAME_WIDTH, GAME_HEIGHT);
+    }
+
     /**
      * Creates a brick based on the type character at the specified position
      */
-    private Brick createBrick(char typeChar, double x, double y, double brickWidth, Pane root) {
+    private Brick createBrick(char typeChar, double x, double y, double brickWidth) {
         Brick newBrick = null;
 
         switch (typeChar) {
@@ -106,7 +241,6 @@ public class LevelManager {
             case 'B':
                 ExplodingBrick explodingBrick = new ExplodingBrick(x, y, brickWidth, BRICK_HEIGHT);
                 explodingBrick.setLevelManager(this);
-                explodingBrick.setRoot(root);
                 newBrick = explodingBrick;
                 break;
             case '0':
@@ -117,18 +251,8 @@ public class LevelManager {
         return newBrick;
     }
 
-    /**
-     * Adds a brick to the level and displays it
-     */
-    private void addBrick(Brick brick, Pane root) {
-        if (brick != null) {
-            bricks.add(brick);
-            root.getChildren().add(brick.getNode());
-        }
-    }
-
-    public void loadLevel(int level, Pane root) {
-        clearLevel(root); // Clear old level first
+    public void loadLevel(int level) {
+        clearLevel(); // Clear old level first
         currentLevel = level;
         String fileName = "/levels/level" + level + ".txt";
 
@@ -141,10 +265,7 @@ public class LevelManager {
             BufferedReader reader = new BufferedReader(new InputStreamReader(is));
             List<String> lines = reader.lines().toList();
 
-            // ========== THÊM: Small delay to prevent UI blocking ==========
-            javafx.application.Platform.runLater(() -> {
-                loadLevelFromPattern(lines, root, 50);
-            });
+            loadLevelFromPattern(lines, 50);
 
         } catch (Exception e) {
             e.printStackTrace();
@@ -152,58 +273,149 @@ public class LevelManager {
         }
     }
 
-    // ========== SỬA method removeBrick để đánh dấu gạch cho việc xóa sau ==========
-    public void removeBrick(Brick brick, Pane root) {
-        // ========== OPTIMIZATION: Mark for removal instead of immediate removal
-        bricksToRemove.add(brick);
+    /**
+     * Xóa gạch bị phá: danh sách (tombstone) và lưới đều O(1), rồi thử rơi power-up
+     */
+    public void removeBrick(Brick brick) {
+        bricks.remove(brick);
+        brickGrid.remove(brick);
         brick.destroy(); // Mark as destroyed
-        // ========== OPTIMIZATION: Only remove node, don't modify list yet
-        if (brick.getNode() != null && brick.getNode().getParent() != null) {
-            root.getChildren().remove(brick.getNode()); // <<< THÊM DÒNG NÀY
-        }
+        logBrick(brick);
+        bricksDestroyed++;
 
         if (random.nextDouble() < 0.3) {
             PowerUpType type = PowerUpType.values()[random.nextInt(PowerUpType.values().length)];
-            Powerup p = new Powerup(brick.getX(), brick.getBottomY(), type);
-            powerups.add(p);
-            root.getChildren().add(p.getNode());
-            SoundManager.getInstance().playSound(SoundManager.SoundType.POWERUP_SPAWN);
+            powerups.add(obtainPowerup(brick.getX(), brick.getBottomY(), type));
+            playSound(SoundManager.SoundType.POWERUP_SPAWN);
         }
     }
 
-    // ========== THÊM method mới: Process deferred removals
-    public void processDeferredRemovals() {
-        if (!bricksToRemove.isEmpty()) {
-            bricks.removeAll(bricksToRemove);
-            bricksToRemove.clear();
+    /**
+     * Số tick giữa 2 đợt nổ ở tick rate cho trước (ít nhất 1)
+     */
+    public static int explosionWaveTicks(int tickRate) {
+        return Math.max(1, (int) Math.round(EXPLOSION_CHAIN_DELAY * SIMULATION_SPEED * tickRate));
+    }
+
+    /**
+     * Đặt tick rate của ván (GameEngine gọi khi chuẩn bị ván mới)
+     */
+    public void setTickRate(int tickRate) {
+        this.explosionWaveTicks = explosionWaveTicks(tickRate);
+    }
+
+    /**
+     * Gạch nổ vừa vỡ (ExplodingBrick.hit() trong pha vật lý): chỉ ghi lại, gạch chưa bị gỡ.
+     * Vùng nổ được lên lịch ở igniteQueuedExplosions() cuối tick, sau khi sự kiện va chạm đã được xử lý.
+     */
+    public void igniteExplosion(ExplodingBrick trigger) {
+        if (ignitionCount == ignitions.length) {
+            ignitions = Arrays.copyOf(ignitions, ignitionCount * 2);
         }
+        ignitions[ignitionCount++] = trigger;
     }
 
+    /**
+     * Kích nổ các gạch nổ đã vỡ trong tick: gỡ gạch khỏi level, lên lịch cả vùng nổ dây chuyền
+     * và xử lý đợt 0 (1 đợt chung cho mọi gạch kích nổ cùng tick) - CollisionManager.processEvents() gọi
+     */
+    public void igniteQueuedExplosions() {
+        if (ignitionCount == 0) {
+            return;
+        }
+        for (int i = 0; i < ignitionCount; i++) {
+            ExplodingBrick trigger = ignitions[i];
+            ignitions[i] = null;
+            detachBrick(trigger);
+            chainReaction.ignite(trigger, brickGrid, bricks, explosionWaveTicks);
+        }
+        ignitionCount = 0;
+        applyExplosionWave(chainReaction.applyDue(brickGrid, bricks));
+    }
+
+    /**
+     * Sang tick kế tiếp của lịch nổ, xử lý đợt đến hạn - được GameEngine gọi mỗi bước mô phỏng
+     */
+    public void updateExplosions() {
+        if (!chainReaction.isPending()) {
+            return;
+        }
+        applyExplosionWave(chainReaction.advance(brickGrid, bricks));
+    }
+
+    public boolean hasPendingExplosions() {
+        return ignitionCount > 0 || chainReaction.isPending();
+    }
+
+    /**
+     * Lấy (và xóa) điểm cộng dồn từ gạch bị nổ phá
+     */
+    public int takeExplosionScore() {
+        int score = explosionScore;
+        explosionScore = 0;
+        return score;
+    }
+
+    /**
+     * 1 đợt nổ: 1 tiếng nổ, thống kê và điểm cộng 1 lần cho mọi gạch bị phá
+     */
+    private void applyExplosionWave(int destroyed) {
+        if (chainReaction.exploded()) {
+            playSound(SoundManager.SoundType.EXPLOSION);
+        }
+        for (int i = 0; i < destroyed; i++) {
+            logBrick(chainReaction.destroyedBrick(i));
+        }
+        bricksDestroyed += destroyed;
+        explosionScore += destroyed * EXPLOSION_BRICK_SCORE;
+    }
+
+    private void clearExplosions() {
+        Arrays.fill(ignitions, 0, ignitionCount, null);
+        ignitionCount = 0;
+        chainReaction.clear();
+        explosionScore = 0;
+    }
+
+    public int getBricksDestroyed() {
+        return bricksDestroyed;
+    }
+
+    public void resetStats() {
+        bricksDestroyed = 0;
+    }
+
+    /**
+     * Level xong khi không còn gạch phá được (chỉ còn gạch không phá được, hoặc hết gạch) - O(1)
+     */
     public boolean isLevelComplete() {
-        // Process any pending removals first
-        processDeferredRemovals();
-        return bricks.isEmpty() || bricks.stream().allMatch(brick -> brick.getHitCount() < 0);
+        return bricks.getDestructibleCount() == 0;
     }
 
-    public void removePowerup(Powerup p, Pane root) {
-        root.getChildren().remove(p.getNode());
-        powerups.remove(p);
+    public void removePowerup(Powerup p) {
+        if (powerups.remove(p)) {
+            powerupPool.release(p);
+        }
     }
 
-    public void clearAllPowerups(Pane root) {
-        root.getChildren().removeAll(powerups.stream().map(Powerup::getNode).toList());
+    public void clearAllPowerups() {
+        for (Powerup p : powerups) {
+            powerupPool.release(p);
+        }
         powerups.clear();
     }
 
-    public void clearAllBricks(Pane root) {
-        root.getChildren().removeAll(bricks.stream().map(Brick::getNode).toList());
+    public void clearAllBricks() {
         bricks.clear();
+        resetBrickLog();
+        brickGrid.clear();
+        clearExplosions();
     }
 
     // ===== 1v1 Level Generation Methods =====
 
-    public void loadOneVOneLevel(Pane root) {
-        clearLevel(root);
+    public void loadOneVOneLevel() {
+        clearLevel();
 
         List<String> levelPattern = new ArrayList<>();
         for (int i = 0; i < BRICK_ROWS; i++) {
@@ -214,7 +426,7 @@ public class LevelManager {
             }
         }
 
-        loadLevelFromPattern(levelPattern, root, 150);
+        loadLevelFromPattern(levelPattern, 150);
     }
 
     private String getRandomIndestructibleBrickRow() {
@@ -239,11 +451,9 @@ public class LevelManager {
     /**
      * Loads a level from a pattern of strings, where each string represents a row of bricks
      */
-    private void loadLevelFromPattern(List<String> lines, Pane root, int yOffset) {
+    private void loadLevelFromPattern(List<String> lines, int yOffset) {
         double brickWidth = calculateBrickWidth();
-
-        // ========== THÊM: Batch collection ==========
-        List<javafx.scene.Node> nodesToAdd = new ArrayList<>();
+        brickGrid = createGrid(yOffset);
 
         for (int r = 0; r < BRICK_ROWS && r < lines.size(); r++) {
             String line = lines.get(r);
@@ -252,20 +462,16 @@ public class LevelManager {
                 double x = c * (brickWidth + BRICK_SPACING) + 1;
                 double y = r * (BRICK_HEIGHT + BRICK_SPACING) + yOffset;
 
-                Brick newBrick = createBrick(typeChar, x, y, brickWidth, root);
+                Brick newBrick = createBrick(typeChar, x, y, brickWidth);
                 if (newBrick != null) {
-                    bricks.add(newBrick);
-                    nodesToAdd.add(newBrick.getNode()); // ========== THÊM: Add to batch
+                    addBrick(newBrick);
                 }
             }
         }
-
-        // ========== THÊM: Batch add all nodes at once (much faster!) ==========
-        root.getChildren().addAll(nodesToAdd);
     }
 
-    public void generateEndlessLevel(Pane root) {
-        clearLevel(root);
+    public void generateEndlessLevel() {
+        clearLevel();
 
         List<String> levelPattern = new ArrayList<>();
         for (int i = 0; i < 8; i++) {
@@ -277,6 +483,6 @@ public class LevelManager {
             levelPattern.add(PATTERN_ROWS[patternIndex]);
         }
 
-        loadLevelFromPattern(levelPattern, root, 50);
+        loadLevelFromPattern(levelPattern, 50);
     }
 }
@@ -0,0 +1,176 @@
+package gamemanager.core;
+
+import gamemanager.manager.BrickContacts;
+import gameobject.brick.Brick;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * ParallelBallPhysics - Chia pha bóng của 1 tick thành các phân vùng bóng liên tiếp, chạy song song
+ *
+ * HOẠT ĐỘNG:
+ * - run(count, task): bóng [0, count) chia thành tối đa `workers` khoảng liên tiếp (mỗi khoảng >= MIN_PARTITION),
+ *   khoảng đầu chạy trên luồng gọi, các khoảng còn lại trên ForkJoinPool (common pool, hoặc pool
+ *   của luồng gọi nếu đang ở trong 1 ForkJoinPool như SimulationHarness)
+ * - Không cấp phát mỗi tick: mỗi phân vùng giữ 1 RecursiveAction dùng lại (reinitialize() trước khi fork),
+ *   task nên là 1 đối tượng cố định của GameEngine thay vì lambda bắt biến cục bộ
+ * - Mỗi phân vùng có Partition riêng: BrickContacts (bộ đệm quét gạch) + nhật ký gạch bị chạm
+ *   (theo từng bóng) + bộ đếm
+ * - Trong lúc chạy, gạch chỉ được ĐỌC; GameEngine gộp nhật ký theo thứ tự phân vùng = thứ tự bóng.
+ *   Bóng chạm gạch đã vỡ bởi bóng trước trong tick được rollback về trước lần quét gạch và quét lại
+ *   tuần tự → cùng kết quả với đường tuần tự
+ *
+ * Kết quả không phụ thuộc số phân vùng: mỗi bóng chỉ đọc gạch + ghi trạng thái của chính nó.
+ * GameEngine chỉ dùng đường này khi có hơn 1 worker (1 worker không có gì để song song, chỉ tốn phí gộp).
+ * Không thread-safe giữa các lần run(): chỉ gọi từ thread mô phỏng.
+ */
+final class ParallelBallPhysics {
+    // Phân vùng nhỏ hơn thế này không bù được chi phí chia việc
+    static final int MIN_PARTITION = 128;
+
+    /**
+     * Việc trên khoảng bóng [from, to) của phân vùng partition
+     */
+    interface RangeTask {
+        void run(int partition, int from, int to);
+    }
+
+    /**
+     * Trạng thái riêng của 1 phân vùng, chỉ luồng chạy phân vùng đó ghi
+     */
+    static final class Partition {
+        final BrickContacts contacts = new BrickContacts();
+        Brick[] hits = new Brick[32];   // Gạch bị chạm, theo thứ tự bóng rồi thứ tự contact
+        int hitCount = 0;
+        int[] hitBalls = new int[8];    // Bóng có contact (chỉ số slot), theo thứ tự bóng
+        int[] hitEnds = new int[8];     // Contact của hitBalls[k] là hits[hitEnds[k - 1], hitEnds[k])
+        int hitBallCount = 0;
+        int paddleHits = 0;
+        int wallBounces = 0;
+
+        void reset() {
+            Arrays.fill(hits, 0, hitCount, null);
+            hitCount = 0;
+            hitBallCount = 0;
+            paddleHits = 0;
+            wallBounces = 0;
+        }
+
+        /**
+         * Ghi các contact hiện tại của contacts (của bóng ở slot ball) vào nhật ký
+         */
+        void recordContacts(int ball) {
+            int n = contacts.size();
+            if (hitCount + n > hits.length) {
+                hits = Arrays.copyOf(hits, Math.max(hits.length * 2, hitCount + n));
+            }
+            for (int i = 0; i < n; i++) {
+                hits[hitCount++] = contacts.get(i);
+            }
+            if (hitBallCount == hitBalls.length) {
+                hitBalls = Arrays.copyOf(hitBalls, hitBallCount * 2);
+                hitEnds = Arrays.copyOf(hitEnds, hitBallCount * 2);
+            }
+            hitBalls[hitBallCount] = ball;
+            hitEnds[hitBallCount] = hitCount;
+            hitBallCount++;
+        }
+
+        /**
+         * Có contact nào của hitBalls[k] là gạch đã vỡ (0 máu) không
+         */
+        boolean hitsDestroyed(int k) {
+            for (int i = k == 0 ? 0 : hitEnds[k - 1], end = hitEnds[k]; i < end; i++) {
+                if (hits[i].getHitCount() == 0) return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Việc của 1 phân vùng trên ForkJoinPool, dùng lại qua các tick
+     */
+    private static final class Worker extends RecursiveAction {
+        private final int partition;
+        private RangeTask task;
+        private int from;
+        private int to;
+
+        Worker(int partition) {
+            this.partition = partition;
+        }
+
+        @Override
+        protected void compute() {
+            task.run(partition, from, to);
+        }
+    }
+
+    private final int workers;
+    private final Partition[] partitions;
+    private final Worker[] tasks;
+
+    ParallelBallPhysics(int workers) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Workers must be positive: " + workers);
+        }
+        this.workers = workers;
+        this.partitions = new Partition[workers];
+        this.tasks = new Worker[workers];
+        for (int i = 0; i < workers; i++) {
+            partitions[i] = new Partition();
+            tasks[i] = new Worker(i);
+        }
+    }
+
+    int getWorkers() {
+        return workers;
+    }
+
+    Partition partition(int p) {
+        return partitions[p];
+    }
+
+    /**
+     * Số phân vùng run() dùng cho count bóng
+     */
+    int partitionCount(int count) {
+        return Math.max(1, Math.min(workers, count / MIN_PARTITION));
+    }
+
+    /**
+     * Chạy task trên mọi phân vùng, trả về khi tất cả xong (ngoại lệ của task được ném lại)
+     * @return Số phân vùng đã dùng
+     */
+    int run(int count, RangeTask task) {
+        int parts = partitionCount(count);
+        if (parts == 1) {
+            task.run(0, 0, count);
+            return 1;
+        }
+        // Phân vùng 1..parts-1 lên pool, phân vùng 0 chạy trên luồng gọi
+        for (int p = parts - 1; p >= 1; p--) {
+            Worker worker = tasks[p];
+            worker.reinitialize();
+            worker.task = task;
+            worker.from = (int) ((long) count * p / parts);
+            worker.to = (int) ((long) count * (p + 1) / parts);
+            worker.fork();
+        }
+        try {
+            task.run(0, 0, (int) ((long) count / parts));
+        } finally {
+            // Luôn chờ hết các phân vùng khác trước khi trả về (kể cả khi phân vùng 0 lỗi)
+            for (int p = 1; p < parts; p++) {
+                tasks[p].quietlyJoin();
+            }
+        }
+        for (int p = 1; p < parts; p++) {
+            Worker worker = tasks[p];
+            worker.task = null;
+            worker.join(); // Ném lại ngoại lệ của phân vùng (nếu có)
+        }
+        return parts;
+    }
+}
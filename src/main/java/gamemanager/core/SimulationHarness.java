@@ -0,0 +1,294 @@
+package gamemanager.core;
+
+import gameconfig.GameConfig.GameMode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * SimulationHarness - Chạy song song nhiều ván headless trên ForkJoinPool
+ *
+ * HOẠT ĐỘNG:
+ * - Mỗi ván là một GameEngine headless riêng (RNG, level, collision riêng)
+ * - Cấu hình dùng chung là EngineContext bất biến → không đọc biến static đang bị sửa
+ * - Headless engine không dùng SoundManager / BackgroundTaskManager
+ * - Autopilot điều khiển người chơi 1, bot điều khiển người chơi 2 (bot vs bot)
+ * - Kết quả giữ đúng thứ tự danh sách ván → cùng seed cho cùng kết quả dù chạy bao nhiêu luồng
+ */
+public class SimulationHarness {
+    // Giới hạn mỗi ván: 10 phút mô phỏng ở 240Hz
+    public static final long DEFAULT_MAX_TICKS = 240L * 60 * 10;
+
+    /**
+     * Một ván cần chạy
+     */
+    public static final class Match {
+        private final GameMode mode;
+        private final int level;
+        private final long seed;
+
+        public Match(GameMode mode, int level, long seed) {
+            this.mode = mode;
+            this.level = level;
+            this.seed = seed;
+        }
+
+        public GameMode getMode() { return mode; }
+        public int getLevel() { return level; }
+        public long getSeed() { return seed; }
+    }
+
+    /**
+     * Phân vị của một chỉ số (nearest-rank)
+     */
+    public static final class Percentiles {
+        private final double mean;
+        private final long p50, p90, p99, max;
+
+        Percentiles(long[] values) {
+            long[] sorted = values.clone();
+            Arrays.sort(sorted);
+            this.mean = sorted.length == 0 ? 0 : Arrays.stream(sorted).average().orElse(0);
+            this.p50 = rank(sorted, 0.50);
+            this.p90 = rank(sorted, 0.90);
+            this.p99 = rank(sorted, 0.99);
+            this.max = sorted.length == 0 ? 0 : sorted[sorted.length - 1];
+        }
+
+        private static long rank(long[] sorted, double p) {
+            if (sorted.length == 0) return 0;
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, index)];
+        }
+
+        public double getMean() { return mean; }
+        public long getP50() { return p50; }
+        public long getP90() { return p90; }
+        public long getP99() { return p99; }
+        public long getMax() { return max; }
+
+        @Override
+        public String toString() {
+            return String.format("mean=%.1f p50=%d p90=%d p99=%d max=%d", mean, p50, p90, p99, max);
+        }
+    }
+
+    /**
+     * Thống kê gộp của nhiều ván
+     */
+    public static final class Summary {
+        private final int matches;
+        private final int gamesOver;
+        private final Percentiles score;
+        private final Percentiles livesLost;
+        private final Percentiles ticks;
+        private final Percentiles bricksDestroyed;
+        private final Percentiles micros;
+
+        Summary(List<SimulationResult> results) {
+            int n = results.size();
+            long[] s = new long[n], l = new long[n], t = new long[n], b = new long[n], us = new long[n];
+            int over = 0;
+            for (int i = 0; i < n; i++) {
+                SimulationResult r = results.get(i);
+                s[i] = r.getScore();
+                l[i] = r.getLivesLost();
+                t[i] = r.getTicks();
+                b[i] = r.getBricksDestroyed();
+                us[i] = r.getElapsedNanos() / 1000;
+                if (r.isGameOver()) over++;
+            }
+            this.matches = n;
+            this.gamesOver = over;
+            this.score = new Percentiles(s);
+            this.livesLost = new Percentiles(l);
+            this.ticks = new Percentiles(t);
+            this.bricksDestroyed = new Percentiles(b);
+            this.micros = new Percentiles(us);
+        }
+
+        public int getMatches() { return matches; }
+        public int getGamesOver() { return gamesOver; }
+        public Percentiles getScore() { return score; }
+        public Percentiles getLivesLost() { return livesLost; }
+        public Percentiles getTicks() { return ticks; }
+        public Percentiles getBricksDestroyed() { return bricksDestroyed; }
+        public Percentiles getMicros() { return micros; }
+
+        @Override
+        public String toString() {
+            return "matches=" + matches + " gameOver=" + gamesOver
+                    + "\n  score  " + score
+                    + "\n  lives  " + livesLost
+                    + "\n  ticks  " + ticks
+                    + "\n  bricks " + bricksDestroyed
+                    + "\n  us     " + micros;
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final EngineContext context;
+    private long maxTicks = DEFAULT_MAX_TICKS;
+
+    public SimulationHarness(int parallelism, EngineContext context) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.context = context;
+    }
+
+    public SimulationHarness(int parallelism) {
+        this(parallelism, EngineContext.defaults());
+    }
+
+    public void setMaxTicks(long maxTicks) {
+        this.maxTicks = maxTicks;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Chạy tất cả các ván, trả kết quả theo đúng thứ tự của danh sách
+     */
+    public List<SimulationResult> run(List<Match> matches) {
+        SimulationResult[] results = new SimulationResult[matches.size()];
+        pool.invoke(new MatchTask(matches, results, 0, matches.size()));
+        return Arrays.asList(results);
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Chia đôi danh sách tới khi còn 1 ván / task (mỗi ván đủ nặng để đáng chia)
+     */
+    private final class MatchTask extends RecursiveAction {
+        private final List<Match> matches;
+        private final SimulationResult[] results;
+        private final int from, to;
+
+        MatchTask(List<Match> matches, SimulationResult[] results, int from, int to) {
+            this.matches = matches;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (from < to) {
+                    results[from] = runMatch(matches.get(from), context, maxTicks);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new MatchTask(matches, results, from, mid),
+                    new MatchTask(matches, results, mid, to));
+        }
+    }
+
+    /**
+     * Chạy một ván trên engine headless riêng
+     * - Single player: tới khi qua level hoặc game over
+     * - Endless / bot / 1v1: tới khi game over hoặc hết maxTicks
+     */
+    public static SimulationResult runMatch(Match match, EngineContext context, long maxTicks) {
+        GameEngine engine = new GameEngine(context);
+        engine.setRecordingEnabled(false);
+        engine.setAutopilot(true);
+        engine.setSeed(match.getSeed());
+
+        switch (match.getMode()) {
+            case SINGLEPLAYER -> engine.startSinglePlayerGame(match.getLevel());
+            case ENDLESS -> engine.startEndlessGame();
+            case BOT -> engine.startBotGame();
+            case ONE_V_ONE -> engine.startOneVOneGame();
+        }
+
+        long elapsed = 0;
+        SimulationResult result;
+        do {
+            result = engine.runFastForward(maxTicks - engine.getTickCount());
+            elapsed += result.getElapsedNanos();
+        } while (match.getMode() != GameMode.SINGLEPLAYER && !result.isGameOver()
+                && result.getTicks() < maxTicks);
+
+        return new SimulationResult(result.getScore(), result.getLivesLost(), result.getTicks(),
+                result.getBricksDestroyed(), result.getLevelsCleared(), result.getFinalState(), elapsed);
+    }
+
+    /**
+     * Bộ ván chuẩn: level 1-9, bot vs bot, endless - mỗi loại `rounds` ván với seed khác nhau
+     */
+    public static List<Match> standardSuite(int rounds, long baseSeed) {
+        List<Match> matches = new ArrayList<>();
+        long seed = baseSeed;
+        for (int r = 0; r < rounds; r++) {
+            for (int level = 1; level <= 9; level++) {
+                matches.add(new Match(GameMode.SINGLEPLAYER, level, seed++));
+            }
+            matches.add(new Match(GameMode.BOT, 0, seed++));
+            matches.add(new Match(GameMode.ENDLESS, 0, seed++));
+        }
+        return matches;
+    }
+
+    public static Summary summarize(List<SimulationResult> results) {
+        return new Summary(results);
+    }
+
+    /**
+     * Thống kê riêng cho từng chế độ chơi
+     */
+    public static Map<GameMode, Summary> summarizeByMode(List<Match> matches, List<SimulationResult> results) {
+        Map<GameMode, List<SimulationResult>> grouped = new EnumMap<>(GameMode.class);
+        for (int i = 0; i < matches.size(); i++) {
+            grouped.computeIfAbsent(matches.get(i).getMode(), m -> new ArrayList<>()).add(results.get(i));
+        }
+        Map<GameMode, Summary> summaries = new EnumMap<>(GameMode.class);
+        grouped.forEach((mode, list) -> summaries.put(mode, new Summary(list)));
+        return summaries;
+    }
+
+    /**
+     * Chạy bộ ván chuẩn với 1 luồng và với tất cả các core, in thống kê + hệ số tăng tốc
+     * Tham số: [số vòng] [seed]
+     */
+    public static void main(String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1L;
+        List<Match> matches = standardSuite(rounds, seed);
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        timeRun(cores, matches, false); // Warm-up JIT trước khi đo
+        double single = timeRun(1, matches, false);
+        double parallel = timeRun(cores, matches, true);
+
+        System.out.printf("%d matches: 1 thread %.0f ms, %d threads %.0f ms, speedup %.2fx (%.0f matches/min)%n",
+                matches.size(), single, cores, parallel, single / parallel,
+                matches.size() / (parallel / 60_000.0));
+    }
+
+    private static double timeRun(int threads, List<Match> matches, boolean print) {
+        SimulationHarness harness = new SimulationHarness(threads);
+        try {
+            long start = System.nanoTime();
+            List<SimulationResult> results = harness.run(matches);
+            double ms = (System.nanoTime() - start) / 1_000_000.0;
+            if (print) {
+                summarizeByMode(matches, results).forEach((mode, summary) ->
+                        System.out.println(mode + ": " + summary));
+            }
+            return ms;
+        } finally {
+            harness.shutdown();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package gamemanager.core;
+
+import gameconfig.GameConfig.GameState;
+
+/**
+ * SimulationResult - Kết quả của một lần chạy GameEngine.runFastForward()
+ *
+ * Các số liệu tính từ đầu ván (không chỉ lần chạy gần nhất),
+ * riêng elapsedNanos là thời gian thực của lần chạy đó.
+ */
+public class SimulationResult {
+    private final int score;
+    private final int livesLost;
+    private final long ticks;
+    private final int bricksDestroyed;
+    private final int levelsCleared;
+    private final GameState finalState;
+    private final long elapsedNanos;
+
+    public SimulationResult(int score, int livesLost, long ticks, int bricksDestroyed,
+                            int levelsCleared, GameState finalState, long elapsedNanos) {
+        this.score = score;
+        this.livesLost = livesLost;
+        this.ticks = ticks;
+        this.bricksDestroyed = bricksDestroyed;
+        this.levelsCleared = levelsCleared;
+        this.finalState = finalState;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getScore() { return score; }
+    public int getLivesLost() { return livesLost; }
+    public long getTicks() { return ticks; }
+    public int getBricksDestroyed() { return bricksDestroyed; }
+    public int getLevelsCleared() { return levelsCleared; }
+    public GameState getFinalState() { return finalState; }
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    public boolean isGameOver() {
+        return finalState == GameState.GAME_OVER;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("score=%d livesLost=%d ticks=%d bricks=%d levels=%d state=%s time=%.2fms",
+                score, livesLost, ticks, bricksDestroyed, levelsCleared, finalState, elapsedNanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,68 @@
+package gamemanager.core;
+
+import java.util.concurrent.locks.LockSupport;
+
+import static gameconfig.GameConfig.SIMULATION_SPEED;
+
+/**
+ * SimulationThread - Chạy vòng lặp mô phỏng trên thread riêng (không phải FX thread)
+ *
+ * HOẠT ĐỘNG:
+ * - Đo thời gian thực, gọi GameEngine.stepSimulation() (advance + chụp snapshot);
+ *   timestamp của vòng lặp dùng để chia input trong InputQueue theo từng bước
+ * - Ngủ tới bước mô phỏng kế tiếp
+ * - FX thread chỉ đọc snapshot mới nhất → frame vẽ chậm (CSS, layout, dialog chặn)
+ *   không làm chậm vật lý
+ *
+ * Thread không khởi động lại được: GameEngine dừng thread khi dọn ván / thoát game (stop)
+ * và tạo thread mới khi vòng lặp chạy lại.
+ */
+class SimulationThread implements Runnable {
+    private final GameEngine engine;
+    private final Thread thread;
+    private volatile boolean running = false;
+
+    SimulationThread(GameEngine engine) {
+        this.engine = engine;
+        this.thread = new Thread(this, "simulation");
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * Yêu cầu dừng (không chờ): thread thoát sau bước đang chạy
+     */
+    void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    boolean isCurrentThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    @Override
+    public void run() {
+        long last = System.nanoTime();
+        while (running) {
+            long now = System.nanoTime();
+            engine.stepSimulation((now - last) / 1_000_000_000.0, now);
+            last = now;
+
+            // Ngủ tới bước kế tiếp (1 bước = dt / SIMULATION_SPEED giây thực)
+            long stepNanos = (long) (engine.getFixedTimeStep() / SIMULATION_SPEED * 1_000_000_000L);
+            long sleep = stepNanos - (System.nanoTime() - now);
+            if (sleep > 0) {
+                LockSupport.parkNanos(sleep);
+            }
+        }
+    }
+}
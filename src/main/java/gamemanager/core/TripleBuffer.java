@@ -0,0 +1,66 @@
+package gamemanager.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * TripleBuffer - Chuyển dữ liệu từ 1 thread ghi sang 1 thread đọc không cần khóa
+ *
+ * HOẠT ĐỘNG:
+ * - 3 buffer: back (thread ghi đang ghi), middle (bản mới nhất đã publish), front (thread đọc đang đọc)
+ * - publish(): đổi back ↔ middle bằng 1 lệnh atomic, đánh dấu "có bản mới"
+ * - acquire(): nếu có bản mới thì đổi front ↔ middle, trả về front
+ * - Không bên nào phải chờ bên kia: thread ghi không bị chặn bởi frame vẽ chậm,
+ *   thread đọc luôn nhận bản mới nhất (các bản trung gian bị bỏ qua)
+ *
+ * Chỉ dùng cho đúng 1 thread ghi và 1 thread đọc.
+ */
+public class TripleBuffer<T> {
+    private static final int INDEX_MASK = 0b011;
+    private static final int FRESH = 0b100;
+
+    private final Object[] buffers = new Object[3];
+    // Chỉ số buffer ở giữa + cờ FRESH (đã publish mà chưa đọc)
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0;   // Chỉ thread ghi dùng
+    private int front = 2;  // Chỉ thread đọc dùng
+
+    public TripleBuffer(Supplier<T> factory) {
+        for (int i = 0; i < 3; i++) {
+            buffers[i] = factory.get();
+        }
+    }
+
+    /**
+     * Buffer để thread ghi điền dữ liệu (thread ghi)
+     */
+    @SuppressWarnings("unchecked")
+    public T back() {
+        return (T) buffers[back];
+    }
+
+    /**
+     * Publish buffer vừa ghi, nhận lại buffer cũ để ghi tiếp (thread ghi)
+     */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Bản mới nhất đã publish (thread đọc). Không có bản mới → trả lại bản đang đọc.
+     */
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+        return (T) buffers[front];
+    }
+
+    /**
+     * Có bản mới chưa đọc không
+     */
+    public boolean hasFresh() {
+        return (middle.get() & FRESH) != 0;
+    }
+}
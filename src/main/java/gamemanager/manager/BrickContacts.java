@@ -0,0 +1,345 @@
+package gamemanager.manager;
+
+import gamemanager.core.BrickGrid;
+import gameobject.ball.Ball;
+import gameobject.brick.Brick;
+
+import java.util.Arrays;
+
+import static gameobject.ball.FixedPoint.div;
+import static gameobject.ball.FixedPoint.mul;
+import static gameobject.ball.FixedPoint.of;
+import static gameobject.ball.FixedPoint.sqrt;
+import static gameobject.ball.FixedPoint.toDouble;
+
+/**
+ * BrickContacts - Các gạch 1 bóng chạm trong 1 bước (swept circle) và phản xạ gộp của chúng
+ *
+ * HOẠT ĐỘNG:
+ * - sweep(): tìm contact trên đoạn đường của bóng, lùi bóng về điểm chạm
+ * - resolve(): MỘT phản xạ gộp cho mọi contact, đẩy bóng ra khỏi từng gạch
+ * - Không trừ máu gạch: CollisionManager.hitBrickContacts() / hitBricks() làm việc đó
+ *
+ * CollisionManager giữ 1 bộ cho game loop tuần tự; ParallelBallPhysics cấp 1 bộ cho mỗi phân vùng bóng.
+ * Bóng chế độ FIXED (Ball.isFixedPoint()) đi nhánh ...Fixed(): cùng thuật toán bằng Q32.32; TOI / pháp tuyến /
+ * độ lún vẫn lưu double (chính xác, xem FixedPoint) nên sắp xếp và lọc contact dùng chung.
+ */
+public final class BrickContacts {
+    // ========== MULTI-CONTACT: mọi gạch bóng chạm trong 1 bước ==========
+    // Gạch chạm trong CONTACT_SLOP px đường bay sau gạch đầu tiên coi như chạm cùng lúc
+    private static final double CONTACT_SLOP = 1.0;
+    // Pháp tuyến gộp có 2 thành phần gần bằng nhau (tỉ lệ >= CORNER_RATIO) → phản xạ cả 2 trục
+    private static final double CORNER_RATIO = 0.9;
+    private static final long CONTACT_SLOP_FIXED = of(CONTACT_SLOP);
+    private static final long CORNER_RATIO_FIXED = of(CORNER_RATIO);
+
+    // Bộ đệm contact tái sử dụng (không cấp phát mỗi tick), hợp lệ tới lần sweep() kế tiếp
+    private Brick[] contactBricks = new Brick[8];
+    private double[] contactTimes = new double[8];
+    private double[] contactDepths = new double[8];
+    private double[] contactNormalX = new double[8];
+    private double[] contactNormalY = new double[8];
+    private int contactCount = 0;
+    private final BrickGrid.Cursor cursor = new BrickGrid.Cursor();
+
+    /**
+     * Va chạm LIÊN TỤC bóng vs brick (swept circle) qua lưới broadphase
+     *
+     * THUẬT TOÁN:
+     * 1. Đoạn đường tâm bóng trong bước: (prevX, prevY) → (x, y), AABB của cả đoạn → ô lưới → ứng viên
+     * 2. Với mỗi ứng viên: thời điểm chạm (TOI) của tâm với chữ nhật nở thêm bán kính bóng
+     * 3. Lùi bóng về TOI nhỏ nhất; mọi gạch chạm trong CONTACT_SLOP px đường bay sau đó
+     *    (khe giữa 2 gạch, góc trong) đều là contact của bước này
+     * 4. Sắp contact theo TOI, rồi độ lún giảm dần, rồi thứ tự danh sách gạch (xác định)
+     *
+     * Bóng nhanh (đi xa hơn bề dày gạch trong 1 bước) không xuyên qua gạch.
+     * Chỉ đọc gạch (không trừ máu): an toàn khi nhiều luồng quét cùng lưới, mỗi luồng 1 BrickContacts.
+     *
+     * @return Số contact, đọc bằng get(i)
+     */
+    public int sweep(Ball ball, BrickGrid grid) {
+        if (ball.isFixedPoint()) {
+            return sweepFixed(ball, grid);
+        }
+        contactCount = 0;
+        double r = ball.getRadius();
+        double x0 = ball.getPrevX() + r, y0 = ball.getPrevY() + r;
+        double x1 = ball.getX() + r, y1 = ball.getY() + r;
+
+        double minX = Math.min(x0, x1) - r, minY = Math.min(y0, y1) - r;
+        double maxX = Math.max(x0, x1) + r, maxY = Math.max(y0, y1) + r;
+        int candidates = grid.query(minX, minY, maxX, maxY, cursor);
+        int first = -1;
+        for (int i = 0; i < candidates; i++) {
+            Brick brick = cursor.get(i);
+            if (brick.getHitCount() == 0) continue;
+            // Loại nhanh gạch nằm ngoài AABB của cả đoạn đường
+            if (brick.getRightX() < minX || brick.getX() > maxX
+                    || brick.getBottomY() < minY || brick.getY() > maxY) continue;
+            double t = CollisionManager.sweepCircleRect(x0, y0, x1 - x0, y1 - y0, r,
+                    brick.getX(), brick.getY(), brick.getRightX(), brick.getBottomY());
+            if (t >= 0) {
+                if (first < 0 || t < contactTimes[first]) first = contactCount;
+                addContact(brick, t);
+            }
+        }
+        if (contactCount == 0) return 0;
+
+        Brick firstBrick = contactBricks[first];
+        double firstT = contactTimes[first];
+        double length = Math.sqrt((x1 - x0) * (x1 - x0) + (y1 - y0) * (y1 - y0));
+        keepContactsUntil(firstT + (length > 0 ? CONTACT_SLOP / length : 0));
+
+        CollisionManager.rewindToContact(ball, firstT, firstBrick.getX(), firstBrick.getY(),
+                firstBrick.getRightX(), firstBrick.getBottomY());
+        for (int i = 0; i < contactCount; i++) {
+            measureContact(i, ball);
+        }
+        sortContacts();
+        return contactCount;
+    }
+
+    /**
+     * sweep() bằng Q32.32 (FixedCollision.sweepCircleRect)
+     */
+    private int sweepFixed(Ball ball, BrickGrid grid) {
+        contactCount = 0;
+        long r = of(ball.getRadius());
+        long x0 = of(ball.getPrevX()) + r, y0 = of(ball.getPrevY()) + r;
+        long x1 = of(ball.getX()) + r, y1 = of(ball.getY()) + r;
+
+        long minX = Math.min(x0, x1) - r, minY = Math.min(y0, y1) - r;
+        long maxX = Math.max(x0, x1) + r, maxY = Math.max(y0, y1) + r;
+        int candidates = grid.query(toDouble(minX), toDouble(minY), toDouble(maxX), toDouble(maxY), cursor);
+        int first = -1;
+        long firstT = 0;
+        for (int i = 0; i < candidates; i++) {
+            Brick brick = cursor.get(i);
+            if (brick.getHitCount() == 0) continue;
+            long brickMinX = of(brick.getX()), brickMinY = of(brick.getY());
+            long brickMaxX = of(brick.getRightX()), brickMaxY = of(brick.getBottomY());
+            if (brickMaxX < minX || brickMinX > maxX || brickMaxY < minY || brickMinY > maxY) continue;
+            long t = FixedCollision.sweepCircleRect(x0, y0, x1 - x0, y1 - y0, r,
+                    brickMinX, brickMinY, brickMaxX, brickMaxY);
+            if (t >= 0) {
+                if (first < 0 || t < firstT) {
+                    first = contactCount;
+                    firstT = t;
+                }
+                addContact(brick, toDouble(t));
+            }
+        }
+        if (contactCount == 0) return 0;
+
+        Brick firstBrick = contactBricks[first];
+        long length = sqrt(mul(x1 - x0, x1 - x0) + mul(y1 - y0, y1 - y0));
+        keepContactsUntil(toDouble(firstT + (length > 0 ? div(CONTACT_SLOP_FIXED, length) : 0)));
+
+        FixedCollision.rewindToContact(ball, firstT, of(firstBrick.getX()), of(firstBrick.getY()),
+                of(firstBrick.getRightX()), of(firstBrick.getBottomY()));
+        for (int i = 0; i < contactCount; i++) {
+            measureContactFixed(i, ball);
+        }
+        sortContacts();
+        return contactCount;
+    }
+
+    /**
+     * Chỉ giữ contact có TOI <= window (theo thứ tự tìm thấy)
+     */
+    private void keepContactsUntil(double window) {
+        int kept = 0;
+        for (int i = 0; i < contactCount; i++) {
+            if (contactTimes[i] <= window) {
+                contactBricks[kept] = contactBricks[i];
+                contactTimes[kept] = contactTimes[i];
+                kept++;
+            }
+        }
+        for (int i = kept; i < contactCount; i++) {
+            contactBricks[i] = null;
+        }
+        contactCount = kept;
+    }
+
+    public int size() {
+        return contactCount;
+    }
+
+    public Brick get(int i) {
+        return contactBricks[i];
+    }
+
+    /**
+     * MỘT phản xạ gộp cho mọi contact của bước
+     *
+     * THUẬT TOÁN:
+     * 1. Pháp tuyến gộp = tổng pháp tuyến các contact (khe 2 gạch: thành phần ngang triệt tiêu → nảy dọc)
+     * 2. Phản xạ theo trục trội của pháp tuyến gộp; 2 trục gần bằng nhau (góc trong) → phản xạ cả 2
+     * 3. Đẩy bóng ra khỏi từng gạch theo thứ tự contact
+     */
+    public void resolve(Ball ball) {
+        if (contactCount == 0) return;
+        if (ball.isFixedPoint()) {
+            resolveFixed(ball);
+            return;
+        }
+        double nx = 0, ny = 0;
+        for (int i = 0; i < contactCount; i++) {
+            nx += contactNormalX[i];
+            ny += contactNormalY[i];
+        }
+        if (nx == 0 && ny == 0) {
+            // Pháp tuyến đối nhau (bóng kẹt giữa 2 gạch) → theo contact đầu tiên
+            nx = contactNormalX[0];
+            ny = contactNormalY[0];
+        }
+
+        if (Math.abs(nx) >= CORNER_RATIO * Math.abs(ny)) {
+            ball.setVx(nx > 0 ? Math.abs(ball.getVx()) : -Math.abs(ball.getVx()));
+        }
+        if (Math.abs(ny) >= CORNER_RATIO * Math.abs(nx)) {
+            ball.setVy(ny > 0 ? Math.abs(ball.getVy()) : -Math.abs(ball.getVy()));
+        }
+
+        for (int i = 0; i < contactCount; i++) {
+            measureContact(i, ball);
+            ball.setX(ball.getX() + contactNormalX[i] * contactDepths[i]);
+            ball.setY(ball.getY() + contactNormalY[i] * contactDepths[i]);
+        }
+    }
+
+    private void resolveFixed(Ball ball) {
+        long nx = 0, ny = 0;
+        for (int i = 0; i < contactCount; i++) {
+            nx += of(contactNormalX[i]);
+            ny += of(contactNormalY[i]);
+        }
+        if (nx == 0 && ny == 0) {
+            nx = of(contactNormalX[0]);
+            ny = of(contactNormalY[0]);
+        }
+
+        if (Math.abs(nx) >= mul(CORNER_RATIO_FIXED, Math.abs(ny))) {
+            ball.setVx(nx > 0 ? Math.abs(ball.getVx()) : -Math.abs(ball.getVx()));
+        }
+        if (Math.abs(ny) >= mul(CORNER_RATIO_FIXED, Math.abs(nx))) {
+            ball.setVy(ny > 0 ? Math.abs(ball.getVy()) : -Math.abs(ball.getVy()));
+        }
+
+        for (int i = 0; i < contactCount; i++) {
+            measureContactFixed(i, ball);
+            long depth = of(contactDepths[i]);
+            ball.setX(toDouble(of(ball.getX()) + mul(of(contactNormalX[i]), depth)));
+            ball.setY(toDouble(of(ball.getY()) + mul(of(contactNormalY[i]), depth)));
+        }
+    }
+
+    private void addContact(Brick brick, double t) {
+        if (contactCount == contactBricks.length) {
+            int capacity = contactCount * 2;
+            contactBricks = Arrays.copyOf(contactBricks, capacity);
+            contactTimes = Arrays.copyOf(contactTimes, capacity);
+            contactDepths = Arrays.copyOf(contactDepths, capacity);
+            contactNormalX = Arrays.copyOf(contactNormalX, capacity);
+            contactNormalY = Arrays.copyOf(contactNormalY, capacity);
+        }
+        contactBricks[contactCount] = brick;
+        contactTimes[contactCount] = t;
+        contactCount++;
+    }
+
+    /**
+     * Pháp tuyến (từ gạch ra tâm bóng) và độ lún của contact i tại vị trí hiện tại của bóng
+     */
+    private void measureContact(int i, Ball ball) {
+        Brick brick = contactBricks[i];
+        double r = ball.getRadius();
+        double cx = ball.getX() + r;
+        double cy = ball.getY() + r;
+        double nx = cx - Math.max(brick.getX(), Math.min(cx, brick.getRightX()));
+        double ny = cy - Math.max(brick.getY(), Math.min(cy, brick.getBottomY()));
+        double dist = Math.sqrt(nx * nx + ny * ny);
+        if (dist > 0) {
+            contactNormalX[i] = nx / dist;
+            contactNormalY[i] = ny / dist;
+            contactDepths[i] = Math.max(0, r - dist);
+        } else {
+            // Tâm bóng đã nằm trong gạch: trục overlap nhỏ hơn như bounceOffBrick
+            double dx = cx - (brick.getX() + brick.getWidth() / 2.0);
+            double dy = cy - (brick.getY() + brick.getHeight() / 2.0);
+            double overlapX = r + brick.getWidth() / 2.0 - Math.abs(dx);
+            double overlapY = r + brick.getHeight() / 2.0 - Math.abs(dy);
+            if (overlapX < overlapY) {
+                contactNormalX[i] = dx > 0 ? 1 : -1;
+                contactNormalY[i] = 0;
+                contactDepths[i] = overlapX;
+            } else {
+                contactNormalX[i] = 0;
+                contactNormalY[i] = dy > 0 ? 1 : -1;
+                contactDepths[i] = overlapY;
+            }
+        }
+    }
+
+    /**
+     * measureContact() bằng Q32.32
+     */
+    private void measureContactFixed(int i, Ball ball) {
+        Brick brick = contactBricks[i];
+        long r = of(ball.getRadius());
+        long cx = of(ball.getX()) + r;
+        long cy = of(ball.getY()) + r;
+        long minX = of(brick.getX()), minY = of(brick.getY());
+        long nx = cx - Math.max(minX, Math.min(cx, of(brick.getRightX())));
+        long ny = cy - Math.max(minY, Math.min(cy, of(brick.getBottomY())));
+        long dist = sqrt(mul(nx, nx) + mul(ny, ny));
+        if (dist > 0) {
+            contactNormalX[i] = toDouble(div(nx, dist));
+            contactNormalY[i] = toDouble(div(ny, dist));
+            contactDepths[i] = toDouble(Math.max(0, r - dist));
+        } else {
+            long halfWidth = of(brick.getWidth()) / 2;
+            long halfHeight = of(brick.getHeight()) / 2;
+            long dx = cx - (minX + halfWidth);
+            long dy = cy - (minY + halfHeight);
+            long overlapX = r + halfWidth - Math.abs(dx);
+            long overlapY = r + halfHeight - Math.abs(dy);
+            if (overlapX < overlapY) {
+                contactNormalX[i] = dx > 0 ? 1 : -1;
+                contactNormalY[i] = 0;
+                contactDepths[i] = toDouble(overlapX);
+            } else {
+                contactNormalX[i] = 0;
+                contactNormalY[i] = dy > 0 ? 1 : -1;
+                contactDepths[i] = toDouble(overlapY);
+            }
+        }
+    }
+
+    /**
+     * Insertion sort ổn định: TOI tăng dần, rồi độ lún giảm dần (bằng nhau → giữ thứ tự danh sách gạch)
+     */
+    private void sortContacts() {
+        for (int i = 1; i < contactCount; i++) {
+            Brick brick = contactBricks[i];
+            double t = contactTimes[i], depth = contactDepths[i];
+            double normalX = contactNormalX[i], normalY = contactNormalY[i];
+            int j = i;
+            while (j > 0 && (contactTimes[j - 1] > t
+                    || (contactTimes[j - 1] == t && contactDepths[j - 1] < depth))) {
+                contactBricks[j] = contactBricks[j - 1];
+                contactTimes[j] = contactTimes[j - 1];
+                contactDepths[j] = contactDepths[j - 1];
+                contactNormalX[j] = contactNormalX[j - 1];
+                contactNormalY[j] = contactNormalY[j - 1];
+                j--;
+            }
+            contactBricks[j] = brick;
+            contactTimes[j] = t;
+            contactDepths[j] = depth;
+            contactNormalX[j] = normalX;
+            contactNormalY[j] = normalY;
+        }
+    }
+}
@@ -19,17 +19,17 @@ public class CoinManager {
         load();
     }
 
-    public int getCoins() {
+    public synchronized int getCoins() {
         return coins;
     }
 
-    public void addCoins(int amount) {
+    public synchronized void addCoins(int amount) {
         if (amount <= 0) return;
         coins += amount;
         save();
     }
 
-    public boolean spendCoins(int amount) {
+    public synchronized boolean spendCoins(int amount) {
         if (amount <= 0) return false;
         if (coins < amount) return false;
         coins -= amount;
@@ -37,12 +37,12 @@ public class CoinManager {
         return true;
     }
 
-    public boolean isSkinOwned(String category, String skin) {
+    public synchronized boolean isSkinOwned(String category, String skin) {
         if (skin == null || category == null) return false;
         return ownedSkins.contains(category + ":" + skin);
     }
 
-    public boolean buySkin(String category, String skin, int price) {
+    public synchronized boolean buySkin(String category, String skin, int price) {
         if (isSkinOwned(category, skin)) return false;
         if (!spendCoins(price)) return false;
         ownedSkins.add(category + ":" + skin);
@@ -50,15 +50,15 @@ public class CoinManager {
         return true;
     }
 
-    public String getSelectedPaddleSkin() {
+    public synchronized String getSelectedPaddleSkin() {
         return selectedPaddleSkin;
     }
 
-    public String getSelectedBallSkin() {
+    public synchronized String getSelectedBallSkin() {
         return selectedBallSkin;
     }
 
-    public boolean setSelectedPaddleSkin(String skin) {
+    public synchronized boolean setSelectedPaddleSkin(String skin) {
         if (skin == null) return false;
         if (!isSkinOwned("paddle", skin) && !"default".equals(skin)) return false;
         selectedPaddleSkin = skin;
@@ -66,7 +66,7 @@ public class CoinManager {
         return true;
     }
 
-    public boolean setSelectedBallSkin(String skin) {
+    public synchronized boolean setSelectedBallSkin(String skin) {
         if (skin == null) return false;
         if (!isSkinOwned("ball", skin) && !"default".equals(skin)) return false;
         selectedBallSkin = skin;
@@ -74,7 +74,7 @@ public class CoinManager {
         return true;
     }
 
-    private void load() {
+    private synchronized void load() {
         Properties p = new Properties();
         try (FileInputStream fis = new FileInputStream(COIN_FILE)) {
             p.load(fis);
@@ -101,7 +101,7 @@ public class CoinManager {
         }
     }
 
-    private void save() {
+    private synchronized void save() {
         Properties p = new Properties();
         p.setProperty("coins", Integer.toString(coins));
         p.setProperty("selectedPaddle", selectedPaddleSkin == null ? "default" : selectedPaddleSkin);
@@ -0,0 +1,134 @@
+package gamemanager.manager;
+
+import gameobject.brick.Brick;
+
+/**
+ * CollisionEventQueue - Hàng đợi vòng sự kiện va chạm của 1 tick
+ *
+ * HOẠT ĐỘNG:
+ * - Pha vật lý chỉ ghi sự kiện (loại + gạch + điểm) vào các mảng cấp phát sẵn, không tạo object
+ * - Cuối tick, CollisionManager.processEvents() đọc hết 1 lượt: điểm, coin, âm thanh,
+ *   power-up, xóa gạch
+ * - Đầy → offer() nới gấp đôi (hiếm: CollisionManager.reserveEvents() đặt sức chứa theo số bóng trước pha vật lý),
+ *   nên không sự kiện nào phải xử lý giữa pha vật lý
+ *
+ * Không thread-safe: ghi và đọc cùng trên thread mô phỏng.
+ */
+public final class CollisionEventQueue {
+    // ========== LOẠI SỰ KIỆN ==========
+    public static final int BRICK_HIT = 0;       // Gạch mất máu nhưng chưa vỡ
+    public static final int BRICK_DESTROYED = 1; // Gạch vỡ: coin, power-up, xóa gạch
+    public static final int BRICK_BOUNCE = 2;    // Chế độ đối kháng: chỉ nảy, gạch không mất máu
+    public static final int PADDLE_HIT = 3;
+    public static final int WALL_HIT = 4;
+
+    private int[] types;
+    private Brick[] bricks;
+    private int[] scores;
+    private int mask;
+    private int head = 0; // Vị trí đọc (tăng dần, lấy phần dư bằng mask)
+    private int tail = 0; // Vị trí ghi
+
+    /**
+     * @param capacity Số sự kiện tối đa, làm tròn lên lũy thừa của 2
+     */
+    public CollisionEventQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) size <<= 1;
+        types = new int[size];
+        bricks = new Brick[size];
+        scores = new int[size];
+        mask = size - 1;
+    }
+
+    /**
+     * Ghi 1 sự kiện (hàng đợi đầy thì nới gấp đôi)
+     * @param brick Gạch liên quan (null với PADDLE_HIT / WALL_HIT)
+     * @param score Điểm của cú chạm (0 nếu không có)
+     */
+    public void offer(int type, Brick brick, int score) {
+        if (tail - head == types.length) {
+            resize(types.length * 2);
+        }
+        int slot = tail & mask;
+        types[slot] = type;
+        bricks[slot] = brick;
+        scores[slot] = score;
+        tail++;
+    }
+
+    /**
+     * Nới (nếu cần) để chứa ít nhất capacity sự kiện mà không phải nới giữa chừng
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > types.length) {
+            int size = Integer.highestOneBit(capacity);
+            if (size < capacity) size <<= 1;
+            resize(size);
+        }
+    }
+
+    public boolean isEmpty() {
+        return head == tail;
+    }
+
+    public int size() {
+        return tail - head;
+    }
+
+    public int capacity() {
+        return types.length;
+    }
+
+    // Đọc sự kiện ở đầu hàng đợi (chỉ hợp lệ khi !isEmpty())
+    public int headType() {
+        return types[head & mask];
+    }
+
+    public Brick headBrick() {
+        return bricks[head & mask];
+    }
+
+    public int headScore() {
+        return scores[head & mask];
+    }
+
+    /**
+     * Bỏ sự kiện ở đầu hàng đợi (xóa tham chiếu gạch để GC thu hồi được)
+     */
+    public void pop() {
+        bricks[head & mask] = null;
+        head++;
+    }
+
+    /**
+     * Chép các sự kiện chưa đọc sang mảng mới kích thước size (lũy thừa của 2), giữ thứ tự
+     */
+    private void resize(int size) {
+        int n = tail - head;
+        int[] newTypes = new int[size];
+        Brick[] newBricks = new Brick[size];
+        int[] newScores = new int[size];
+        for (int i = 0; i < n; i++) {
+            int slot = (head + i) & mask;
+            newTypes[i] = types[slot];
+            newBricks[i] = bricks[slot];
+            newScores[i] = scores[slot];
+        }
+        types = newTypes;
+        bricks = newBricks;
+        scores = newScores;
+        mask = size - 1;
+        head = 0;
+        tail = n;
+    }
+
+    public void clear() {
+        while (!isEmpty()) {
+            pop();
+        }
+    }
+}
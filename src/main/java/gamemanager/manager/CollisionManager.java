@@ -1,17 +1,15 @@
 package gamemanager.manager;
 
 import gameconfig.GameConfig;
+import gamemanager.core.BrickGrid;
 import gamemanager.core.LevelManager;
 import gameobject.ball.Ball;
 import gameobject.brick.Brick;
 import gameobject.paddle.Paddle;
 import gameobject.powerup.Powerup;
-import javafx.scene.layout.Pane;
-import userinterface.gamescreen.GameScreen;
-import userinterface.gamescreen.BotScreen;
-import userinterface.gamescreen.OneVOneScreen;
 
 import java.util.List;
+import java.util.Random;
 
 /**
  * CollisionManager - Quản lý tất cả va chạm trong game
@@ -20,19 +18,57 @@ import java.util.List;
  * - Va chạm bóng vs brick (tính điểm, spawn power-up)
  * - Va chạm bóng vs tường (phản xạ)
  * - Va chạm paddle vs power-up (kích hoạt hiệu ứng)
+ * - Pha vật lý chỉ ghi sự kiện (CollisionEventQueue); điểm, coin, âm thanh, power-up,
+ *   xóa gạch chạy 1 lượt cuối tick trong processEvents()
+ * - Bóng ở chế độ vật lý FIXED (Ball.isFixedPoint()): va chạm paddle / gạch tính bằng Q32.32 (FixedCollision);
+ *   va chạm bóng-bóng và các hàm check...() rời rạc vẫn dùng double
  */
 public class CollisionManager {
+    // CCD: bóng được đặt lấn vào vật này (px) tại điểm chạm để handle*Collision nhận ra overlap
+    private static final double CONTACT_PENETRATION = 0.05;
+
+    // ========== SỰ KIỆN VA CHẠM: ghi trong pha vật lý, xử lý 1 lượt cuối tick ==========
+    private static final int EVENT_CAPACITY = 1024;
+    // Ước lượng sự kiện mỗi bóng trong 1 tick (tường + paddle + vài gạch) để đặt sức chứa trước pha vật lý
+    private static final int EVENTS_PER_BALL = 4;
+    // Âm thanh theo loại sự kiện (chỉ số = CollisionEventQueue.BRICK_HIT ... WALL_HIT)
+    private static final SoundManager.SoundType[] EVENT_SOUNDS = {
+            SoundManager.SoundType.BALL_BRICK_HIT,
+            SoundManager.SoundType.BRICK_BREAK,
+            SoundManager.SoundType.BALL_BRICK_HIT,
+            SoundManager.SoundType.BALL_PADDLE_HIT,
+            SoundManager.SoundType.BALL_WALL_HIT
+    };
+    private final CollisionEventQueue events = new CollisionEventQueue(EVENT_CAPACITY);
+    private final boolean[] pendingSounds = new boolean[EVENT_SOUNDS.length];
+    private int destroyedCount = 0;
+
+    // Contact gạch của bóng đang xử lý (game loop tuần tự)
+    private final BrickContacts contacts = new BrickContacts();
+
     private final LevelManager levelManager;
-    private final Pane root;
     private boolean oneshotActive = false; // Chế độ oneshot: bóng phá gạch 1 phát
+    private boolean invincible = false;    // Debug: bóng nảy ở đáy thay vì mất mạng
     private CoinManager coinManager;
     private ScoreManager scoreManager;
+    private SoundManager soundManager; // null khi chạy headless
     private final PowerUpManager powerUpManager; // Quản lý spawn power-up
 
-    public CollisionManager(LevelManager levelManager, Pane root) {
+    public CollisionManager(LevelManager levelManager, Random powerupRandom) {
         this.levelManager = levelManager;
-        this.root = root;
-        this.powerUpManager = new PowerUpManager(root);
+        this.powerUpManager = new PowerUpManager(powerupRandom);
+        this.powerUpManager.setPowerupPool(levelManager.getPowerupPool());
+    }
+
+    public void setSoundManager(SoundManager soundManager) {
+        this.soundManager = soundManager;
+        this.powerUpManager.setSoundManager(soundManager);
+    }
+
+    private void playSound(SoundManager.SoundType type) {
+        if (soundManager != null) {
+            soundManager.playSound(type);
+        }
     }
 
     public void setCoinManager(CoinManager coinManager) {
@@ -43,6 +79,10 @@ public class CollisionManager {
         this.scoreManager = scoreManager;
     }
 
+    public void setInvincible(boolean invincible) {
+        this.invincible = invincible;
+    }
+
     public void setOneshotActive(boolean active) {
         this.oneshotActive = active;
     }
@@ -69,20 +109,34 @@ public class CollisionManager {
      * @param ball Bóng
      */
     public void handlePaddleBallCollision(Paddle paddle, Ball ball) {
-        javafx.geometry.Bounds paddleBounds = paddle.getNode().getBoundsInParent();
+        if (bounceOffPaddle(paddle, ball)) {
+            // Âm thanh va chạm phát cuối tick (processEvents)
+            emit(CollisionEventQueue.PADDLE_HIT, null, 0);
+        }
+    }
 
+    /**
+     * Phần vật lý của handlePaddleBallCollision (không ghi sự kiện) - dùng được từ nhiều luồng
+     * cho các bóng khác nhau
+     *
+     * @return true nếu bóng chồng lên paddle và đã được phản xạ
+     */
+    public static boolean bounceOffPaddle(Paddle paddle, Ball ball) {
+        if (ball.isFixedPoint()) {
+            return FixedCollision.bounceOffPaddle(paddle, ball);
+        }
         // Tính tọa độ tâm bóng
         double ballCenterX = ball.getX() + ball.getRadius();
         double ballCenterY = ball.getY() + ball.getRadius();
         double r = ball.getRadius();
 
         // Tính tọa độ tâm paddle
-        double paddleCenterX = paddleBounds.getMinX() + paddleBounds.getWidth() / 2.0;
-        double paddleCenterY = paddleBounds.getMinY() + paddleBounds.getHeight() / 2.0;
+        double paddleCenterX = paddle.getX() + paddle.getWidth() / 2.0;
+        double paddleCenterY = paddle.getY() + paddle.getHeight() / 2.0;
 
         // Tính "bán kính" tổng hợp (bán kính bóng + nửa chiều rộng/cao paddle)
-        double halfWidths = (r * 2 + paddleBounds.getWidth()) / 2.0;
-        double halfHeights = (r * 2 + paddleBounds.getHeight()) / 2.0;
+        double halfWidths = (r * 2 + paddle.getWidth()) / 2.0;
+        double halfHeights = (r * 2 + paddle.getHeight()) / 2.0;
 
         // Tính khoảng cách giữa 2 tâm
         double dx = ballCenterX - paddleCenterX;
@@ -93,7 +147,7 @@ public class CollisionManager {
         double overlapY = halfHeights - Math.abs(dy);
 
         // Nếu không có overlap → không va chạm
-        if (overlapX <= 0 || overlapY <= 0) return;
+        if (overlapX <= 0 || overlapY <= 0) return false;
 
         // XÁC ĐỊNH HƯỚNG VA CHẠM:
         // Nếu overlapX < overlapY → va chạm từ BÊN (trái/phải)
@@ -138,177 +192,79 @@ public class CollisionManager {
                 ball.setVy(ball.getVy() * factor);
             }
         }
+        return true;
+    }
 
-        // Phát âm thanh va chạm
-        SoundManager.getInstance().playSound(SoundManager.SoundType.BALL_PADDLE_HIT);
+    public boolean checkPaddleBallCollision(Paddle paddle, Ball ball) {
+        double ballCenterX = ball.getX() + ball.getRadius();
+        double ballCenterY = ball.getY() + ball.getRadius();
+        return circleIntersectsRect(ballCenterX, ballCenterY, ball.getRadius(),
+                paddle.getX(), paddle.getY(), paddle.getRightX(), paddle.getBottomY());
     }
 
     /**
-     * Xử lý va chạm BÓNG vs BRICK
+     * Va chạm LIÊN TỤC bóng vs paddle trên đoạn đường bóng vừa đi (getPrevX/Y → vị trí hiện tại)
+     * Nếu có, bóng được lùi về điểm chạm; sau handlePaddleBallCollision gọi ball.completeStep().
+     * Paddle coi như đứng yên ở vị trí cuối bước.
      *
-     * LOGIC:
-     * 1. Tính overlap theo 2 trục X, Y (giống paddle)
-     * 2. Đẩy bóng ra, đảo vận tốc
-     * 3. Tính điểm dựa vào loại brick
-     * 4. Nếu brick bị phá hủy:
-     *    - Phát âm thanh
-     *    - Cộng coin
-     *    - **SPAWN POWER-UP** (20% xác suất)
-     *    - Xóa brick khỏi màn hình
+     * @return true nếu bóng chạm paddle trong bước
      */
-    public void handleBrickBallCollision(Ball ball, Brick brick, GameScreen ui) {
-        javafx.geometry.Bounds brickBounds = brick.getNode().getBoundsInParent();
-
-        // Tính tâm bóng và tâm brick
-        double ballCenterX = ball.getX() + ball.getRadius();
-        double ballCenterY = ball.getY() + ball.getRadius();
-        double brickCenterX = brickBounds.getMinX() + brickBounds.getWidth() / 2.0;
-        double brickCenterY = brickBounds.getMinY() + brickBounds.getHeight() / 2.0;
-
-        double halfWidths = (ball.getRadius() * 2 + brickBounds.getWidth()) / 2.0;
-        double halfHeights = (ball.getRadius() * 2 + brickBounds.getHeight()) / 2.0;
-
-        double dx = ballCenterX - brickCenterX;
-        double dy = ballCenterY - brickCenterY;
-
-        double overlapX = halfWidths - Math.abs(dx);
-        double overlapY = halfHeights - Math.abs(dy);
-
-        // Xác định hướng va chạm và phản xạ
-        if (overlapX < overlapY) {
-            // Va chạm từ bên
-            if (dx > 0) {
-                ball.setX(ball.getX() + overlapX);
-            } else {
-                ball.setX(ball.getX() - overlapX);
-            }
-            ball.bounce(GameConfig.WallSideType.EAST);
-        } else {
-            // Va chạm từ trên/dưới
-            if (dy > 0) {
-                ball.setY(ball.getY() + overlapY);
-            } else {
-                ball.setY(ball.getY() - overlapY);
-            }
-            ball.bounce(GameConfig.WallSideType.NORTH);
-        }
-
-        // TÍNH ĐIỂM
-        int score;
-        if (scoreManager != null) {
-            score = scoreManager.calculateBrickScore(brick, oneshotActive);
-        } else {
-            // Fallback logic nếu không có ScoreManager
-            if (oneshotActive) {
-                if (brick.getHitCount() > 0) {
-                    score = 10;
-                    brick.destroy();
-                } else {
-                    score = 0;
-                }
-            } else {
-                score = brick.hit(); // Giảm HP của brick, trả về điểm
-            }
-        }
-
-        // Cập nhật UI
-        ui.increaseScore(score);
-        brick.updateDraw(); // Cập nhật hình ảnh brick (đổi màu khi bị hit)
-
-        // NẾU BRICK BỊ PHÁ HỦY HOÀN TOÀN:
-        if (brick.getHitCount() == 0) {
-            // Phát âm thanh phá hủy (chạy ASYNC để không block game)
-            javafx.application.Platform.runLater(() -> {
-                SoundManager.getInstance().playSound(SoundManager.SoundType.BRICK_BREAK);
-            });
-
-            // Cộng coin cho người chơi
-            if (coinManager != null) {
-                coinManager.addCoins(5);
-                ui.updateCoins();
-            }
-
-            // ========== SPAWN POWER-UP (20% XÁC SUẤT) ==========
-            // Đây là TÍNH NĂNG MỚI được thêm vào!
-            Powerup spawnedPowerup = powerUpManager.trySpawnPowerup(brick);
-            if (spawnedPowerup != null) {
-                levelManager.addPowerup(spawnedPowerup); // Thêm vào list quản lý
-            }
-
-            // Xóa brick khỏi màn hình
-            levelManager.removeBrick(brick, root);
-        } else {
-            // Brick chưa bị phá → phát âm thanh hit (chạm thường)
-            javafx.application.Platform.runLater(() -> {
-                SoundManager.getInstance().playSound(SoundManager.SoundType.BALL_BRICK_HIT);
-            });
+    public boolean sweepPaddleBallCollision(Paddle paddle, Ball ball) {
+        if (ball.isFixedPoint()) {
+            return FixedCollision.sweepPaddle(paddle, ball);
         }
+        double r = ball.getRadius();
+        double x0 = ball.getPrevX() + r, y0 = ball.getPrevY() + r;
+        double t = sweepCircleRect(x0, y0, ball.getX() + r - x0, ball.getY() + r - y0, r,
+                paddle.getX(), paddle.getY(), paddle.getRightX(), paddle.getBottomY());
+        if (t < 0) return false;
+        rewindToContact(ball, t, paddle.getX(), paddle.getY(), paddle.getRightX(), paddle.getBottomY());
+        return true;
     }
 
-    public void handleBrickBallCollision(Ball ball, Brick brick, BotScreen ui, int player) {
-        javafx.geometry.Bounds brickBounds = brick.getNode().getBoundsInParent();
-
-        double ballCenterX = ball.getX() + ball.getRadius();
-        double ballCenterY = ball.getY() + ball.getRadius();
-        double brickCenterX = brickBounds.getMinX() + brickBounds.getWidth() / 2.0;
-        double brickCenterY = brickBounds.getMinY() + brickBounds.getHeight() / 2.0;
-
-        double halfWidths = (ball.getRadius() * 2 + brickBounds.getWidth()) / 2.0;
-        double halfHeights = (ball.getRadius() * 2 + brickBounds.getHeight()) / 2.0;
-
-        double dx = ballCenterX - brickCenterX;
-        double dy = ballCenterY - brickCenterY;
-
-        double overlapX = halfWidths - Math.abs(dx);
-        double overlapY = halfHeights - Math.abs(dy);
-
-        if (overlapX < overlapY) {
-            ball.setX(dx > 0 ? ball.getX() + overlapX : ball.getX() - overlapX);
-            ball.bounce(GameConfig.WallSideType.EAST);
+    /**
+     * Va chạm ĐÀN HỒI bóng vs bóng (khối lượng bằng nhau)
+     *
+     * THUẬT TOÁN:
+     * 1. n = pháp tuyến từ tâm a tới tâm b; bỏ qua nếu 2 bóng không chồng nhau
+     * 2. Đẩy mỗi bóng ra nửa độ chồng lấn theo n
+     * 3. Nếu 2 bóng đang lại gần nhau: tráo thành phần vận tốc theo n (động lượng, động năng bảo toàn)
+     *
+     * @return true nếu có va chạm
+     */
+    public boolean handleBallBallCollision(Ball a, Ball b) {
+        double dx = b.getCenterX() - a.getCenterX();
+        double dy = b.getCenterY() - a.getCenterY();
+        double minDist = a.getRadius() + b.getRadius();
+        double distSq = dx * dx + dy * dy;
+        if (distSq >= minDist * minDist) return false;
+
+        double dist = Math.sqrt(distSq);
+        double nx, ny;
+        if (dist > 0) {
+            nx = dx / dist;
+            ny = dy / dist;
         } else {
-            ball.setY(dy > 0 ? ball.getY() + overlapY : ball.getY() - overlapY);
-            ball.bounce(GameConfig.WallSideType.NORTH);
+            // Trùng tâm: tách theo phương ngang
+            nx = 1;
+            ny = 0;
         }
 
-        brick.updateDraw();
-        SoundManager.getInstance().playSound(SoundManager.SoundType.BALL_BRICK_HIT);
-    }
-
-
-    public void handleBrickBallCollision(Ball ball, Brick brick, OneVOneScreen ui, int player) {
-        javafx.geometry.Bounds brickBounds = brick.getNode().getBoundsInParent();
-
-        double ballCenterX = ball.getX() + ball.getRadius();
-        double ballCenterY = ball.getY() + ball.getRadius();
-        double brickCenterX = brickBounds.getMinX() + brickBounds.getWidth() / 2.0;
-        double brickCenterY = brickBounds.getMinY() + brickBounds.getHeight() / 2.0;
-
-        double halfWidths = (ball.getRadius() * 2 + brickBounds.getWidth()) / 2.0;
-        double halfHeights = (ball.getRadius() * 2 + brickBounds.getHeight()) / 2.0;
-
-        double dx = ballCenterX - brickCenterX;
-        double dy = ballCenterY - brickCenterY;
-
-        double overlapX = halfWidths - Math.abs(dx);
-        double overlapY = halfHeights - Math.abs(dy);
-
-        if (overlapX < overlapY) {
-            ball.setX(dx > 0 ? ball.getX() + overlapX : ball.getX() - overlapX);
-            ball.bounce(GameConfig.WallSideType.EAST);
-        } else {
-            ball.setY(dy > 0 ? ball.getY() + overlapY : ball.getY() - overlapY);
-            ball.bounce(GameConfig.WallSideType.NORTH);
+        double push = (minDist - dist) / 2;
+        a.setX(a.getX() - nx * push);
+        a.setY(a.getY() - ny * push);
+        b.setX(b.getX() + nx * push);
+        b.setY(b.getY() + ny * push);
+
+        // Vận tốc tương đối theo pháp tuyến (< 0: đang lại gần)
+        double approach = (b.getVx() - a.getVx()) * nx + (b.getVy() - a.getVy()) * ny;
+        if (approach < 0) {
+            a.setVx(a.getVx() + approach * nx);
+            a.setVy(a.getVy() + approach * ny);
+            b.setVx(b.getVx() - approach * nx);
+            b.setVy(b.getVy() - approach * ny);
         }
-
-        brick.updateDraw();
-        SoundManager.getInstance().playSound(SoundManager.SoundType.BALL_BRICK_HIT);
-    }
-
-    public boolean checkPaddleBallCollision(Paddle paddle, Ball ball) {
-        javafx.geometry.Bounds paddleBounds = paddle.getNode().getBoundsInParent();
-        double ballCenterX = ball.getX() + ball.getRadius();
-        double ballCenterY = ball.getY() + ball.getRadius();
-        return circleIntersectsRect(ballCenterX, ballCenterY, ball.getRadius(), paddleBounds);
+        return true;
     }
 
     public boolean checkPaddlePowerupCollision(Paddle paddle, Powerup powerup) {
@@ -329,7 +285,7 @@ public class CollisionManager {
         if (ball.getY() <= 0) {
             ball.setY(0);
             ball.bounce(GameConfig.WallSideType.NORTH);
-            SoundManager.getInstance().playSound(SoundManager.SoundType.BALL_WALL_HIT);
+            emit(CollisionEventQueue.WALL_HIT, null, 0);
             return GameConfig.WallSideType.NORTH;
         }
 
@@ -337,7 +293,7 @@ public class CollisionManager {
         if (ball.getX() <= 0) {
             ball.setX(0);
             ball.bounce(GameConfig.WallSideType.WEST);
-            SoundManager.getInstance().playSound(SoundManager.SoundType.BALL_WALL_HIT);
+            emit(CollisionEventQueue.WALL_HIT, null, 0);
             return GameConfig.WallSideType.WEST;
         }
 
@@ -345,17 +301,17 @@ public class CollisionManager {
         if (ball.getRightX() >= gameWidth) {
             ball.setX(gameWidth - ball.getWidth());
             ball.bounce(GameConfig.WallSideType.EAST);
-            SoundManager.getInstance().playSound(SoundManager.SoundType.BALL_WALL_HIT);
+            emit(CollisionEventQueue.WALL_HIT, null, 0);
             return GameConfig.WallSideType.EAST;
         }
 
         // Tường dưới = MẤT MẠNG (trừ khi bật chế độ debug invincible)
         if (ball.getY() >= (gameHeight - 20)) {
-            if (GameConfig.DEBUG_INVINCIBLE_MODE) {
+            if (invincible) {
                 // Chế độ debug: bóng nảy lại như tường bình thường
                 ball.setY(gameHeight - ball.getHeight());
                 ball.bounce(GameConfig.WallSideType.SOUTH);
-                SoundManager.getInstance().playSound(SoundManager.SoundType.BALL_WALL_HIT);
+                emit(CollisionEventQueue.WALL_HIT, null, 0);
                 return GameConfig.WallSideType.SOUTH;
             }
             // Bình thường: trả về BOTTOM_HIT để game engine xử lý mất mạng
@@ -365,45 +321,247 @@ public class CollisionManager {
         return null; // Không có va chạm
     }
 
+    /**
+     * Ghi sự kiện chạm paddle cho các cú chạm đã xử lý bằng bounceOffPaddle() (ParallelBallPhysics)
+     */
+    public void recordPaddleHits(int hits) {
+        if (hits > 0) {
+            emit(CollisionEventQueue.PADDLE_HIT, null, 0);
+        }
+    }
+
+    /**
+     * Ghi sự kiện chạm tường cho các bóng đã được BallStore.collideWalls() xử lý theo lô
+     * (1 sự kiện là đủ: âm thanh mỗi loại chỉ phát 1 lần / tick)
+     */
+    public void recordWallHits(int bounces) {
+        if (bounces > 0) {
+            emit(CollisionEventQueue.WALL_HIT, null, 0);
+        }
+    }
+
+    /**
+     * Kiểm tra va chạm bóng vs brick qua lưới broadphase (dùng trong game loop)
+     *
+     * THUẬT TOÁN:
+     * 1. AABB của bóng → 1-4 ô lưới → vài gạch ứng viên (theo thứ tự danh sách gạch)
+     * 2. Với mỗi ứng viên: overlap AABB (nhanh) rồi tròn-chữ nhật (chính xác)
+     *
+     * Trả về cùng brick như khi quét cả danh sách (gạch đầu tiên theo thứ tự bị va chạm).
+     *
+     * @return Brick bị va chạm, hoặc null nếu không có
+     */
+    public Brick checkBrickBallCollision(Ball ball, BrickGrid grid) {
+        double r = ball.getRadius();
+        double ballCenterX = ball.getX() + r;
+        double ballCenterY = ball.getY() + r;
+
+        int candidates = grid.query(ballCenterX - r, ballCenterY - r, ballCenterX + r, ballCenterY + r);
+        for (int i = 0; i < candidates; i++) {
+            Brick brick = grid.result(i);
+            if (hitsBrick(ballCenterX, ballCenterY, r, brick)) {
+                return brick;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Va chạm LIÊN TỤC bóng vs brick, chỉ lấy gạch chạm đầu tiên (xem sweepBrickContacts)
+     *
+     * @return Brick chạm đầu tiên, hoặc null nếu không có
+     */
+    public Brick sweepBrickBallCollision(Ball ball, BrickGrid grid) {
+        return sweepBrickContacts(ball, grid) > 0 ? contacts.get(0) : null;
+    }
+
+    /**
+     * Va chạm LIÊN TỤC bóng vs brick (swept circle), mọi gạch chạm cùng lúc - dùng trong game loop
+     * Thuật toán: BrickContacts.sweep().
+     * Sau đó: resolveBrickContacts() → hitBrickContacts() → ball.completeStep(); cuối tick processEvents().
+     *
+     * @return Số contact, đọc bằng getContact(i)
+     */
+    public int sweepBrickContacts(Ball ball, BrickGrid grid) {
+        return contacts.sweep(ball, grid);
+    }
+
+    public int getContactCount() {
+        return contacts.size();
+    }
+
+    public Brick getContact(int i) {
+        return contacts.get(i);
+    }
+
+    /**
+     * MỘT phản xạ gộp cho mọi contact của bước (xem BrickContacts.resolve())
+     */
+    public void resolveBrickContacts(Ball ball) {
+        contacts.resolve(ball);
+    }
+
+    /**
+     * Trừ máu các gạch contact theo thứ tự (ngay trong pha vật lý: bóng sau trong cùng tick
+     * không chạm lại gạch đã vỡ) và ghi sự kiện; điểm, coin, power-up, âm thanh, xóa gạch
+     * chạy ở processEvents()
+     *
+     * @param breakable false ở chế độ đối kháng: gạch không mất máu, chỉ nảy
+     */
+    public void hitBrickContacts(boolean breakable) {
+        for (int i = 0, n = contacts.size(); i < n; i++) {
+            hitBrick(contacts.get(i), breakable);
+        }
+    }
+
+    /**
+     * Như hitBrickContacts() cho contact ghi sẵn bricks[from, to) của 1 bóng (ParallelBallPhysics gộp
+     * contact của mọi bóng theo thứ tự bóng)
+     */
+    public void hitBricks(Brick[] bricks, int from, int to, boolean breakable) {
+        for (int i = from; i < to; i++) {
+            hitBrick(bricks[i], breakable);
+        }
+    }
+
+    private void hitBrick(Brick brick, boolean breakable) {
+        if (!breakable) {
+            emit(CollisionEventQueue.BRICK_BOUNCE, brick, 0);
+            return;
+        }
+        if (brick.getHitCount() == 0) return; // Đã bị phá bởi contact trước (vd. nổ)
+        int hitCount = brick.getHitCount();
+        String skin = brick.getSkin();
+        int score = damageBrick(brick);
+        if (brick.getHitCount() != hitCount || brick.getSkin() != skin) {
+            levelManager.markBrickChanged(brick); // Gạch đổi màu / vỡ: lớp gạch của renderer vẽ lại ô này
+        }
+        emit(brick.getHitCount() == 0 ? CollisionEventQueue.BRICK_DESTROYED : CollisionEventQueue.BRICK_HIT,
+                brick, score);
+    }
+
+    /**
+     * XỬ LÝ SỰ KIỆN VA CHẠM CỦA TICK (1 lượt, gọi sau pha vật lý)
+     * - Cộng điểm, coin; gạch vỡ: thử spawn power-up rồi xóa gạch
+     * - Gạch nổ vỡ trong tick: kích nổ sau khi gạch vỡ đã được xóa (điểm đợt 0 lấy bằng
+     *   LevelManager.takeExplosionScore())
+     * - Mỗi loại âm thanh phát tối đa 1 lần
+     *
+     * @return Tổng điểm của các sự kiện
+     */
+    public int processEvents() {
+        int score = drainEvents();
+        levelManager.igniteQueuedExplosions();
+        for (int i = 0; i < pendingSounds.length; i++) {
+            if (pendingSounds[i]) {
+                pendingSounds[i] = false;
+                playSound(EVENT_SOUNDS[i]);
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Đặt sức chứa hàng đợi sự kiện theo số bóng trước pha vật lý (tránh nới giữa pha)
+     */
+    public void reserveEvents(int ballCount) {
+        events.ensureCapacity(ballCount * EVENTS_PER_BALL);
+    }
+
+    /**
+     * Số gạch vỡ kể từ lần gọi trước (GameEngine dùng để cập nhật coin trên HUD)
+     */
+    public int takeDestroyedCount() {
+        int count = destroyedCount;
+        destroyedCount = 0;
+        return count;
+    }
+
+    /**
+     * Trừ máu brick và tính điểm (chế độ oneshot: phá luôn)
+     */
+    private int damageBrick(Brick brick) {
+        if (scoreManager != null) {
+            return scoreManager.calculateBrickScore(brick, oneshotActive);
+        }
+        // Fallback logic nếu không có ScoreManager
+        if (oneshotActive) {
+            if (brick.getHitCount() > 0) {
+                brick.destroy();
+                return 10;
+            }
+            return 0;
+        }
+        return brick.hit(); // Giảm HP của brick, trả về điểm
+    }
+
+    private void emit(int type, Brick brick, int score) {
+        // Hàng đợi tự nới khi đầy: mọi hiệu ứng vẫn chạy 1 lượt ở processEvents()
+        events.offer(type, brick, score);
+    }
+
+    private int drainEvents() {
+        int score = 0;
+        while (!events.isEmpty()) {
+            int type = events.headType();
+            Brick brick = events.headBrick();
+            score += events.headScore();
+            events.pop();
+
+            if (type == CollisionEventQueue.BRICK_DESTROYED) {
+                destroyedCount++;
+                // Cộng coin cho người chơi
+                if (coinManager != null) {
+                    coinManager.addCoins(5);
+                }
+
+                // ========== SPAWN POWER-UP (20% XÁC SUẤT) ==========
+                Powerup spawnedPowerup = powerUpManager.trySpawnPowerup(brick);
+                if (spawnedPowerup != null) {
+                    levelManager.addPowerup(spawnedPowerup); // Thêm vào list quản lý
+                }
+
+                // Xóa brick khỏi màn hình
+                levelManager.removeBrick(brick);
+            }
+            pendingSounds[type] = true;
+        }
+        return score;
+    }
+
+    /**
+     * Lùi bóng về điểm chạm. Ngoại lệ: bóng đã chồng lên vật từ đầu đoạn (t = 0) và vẫn chồng ở cuối
+     * (vd. paddle vừa di chuyển đè lên bóng) → giữ nguyên vị trí cuối, xử lý như va chạm rời rạc cũ.
+     */
+    static void rewindToContact(Ball ball, double t, double minX, double minY, double maxX, double maxY) {
+        double r = ball.getRadius();
+        if (t == 0 && circleIntersectsRect(ball.getX() + r, ball.getY() + r, r, minX, minY, maxX, maxY)) {
+            return;
+        }
+        ball.rewindTo(t, CONTACT_PENETRATION);
+    }
+
     /**
      * Kiểm tra va chạm bóng vs brick (dùng AABB - Axis-Aligned Bounding Box)
      *
-     * THUẬT TOÁN TỐI ƯU:
+     * THUẬT TOÁN:
      * 1. Tính bounding box của bóng (hình chữ nhật bao quanh)
      * 2. Duyệt qua tất cả brick:
      *    - Bỏ qua brick đã bị phá (hitCount = 0)
      *    - Kiểm tra overlap bounding box (nhanh)
      *    - Nếu overlap → kiểm tra va chạm tròn-chữ nhật (chính xác)
      *
+     * Quét tuyến tính; game loop dùng bản BrickGrid ở trên.
+     *
      * @return Brick bị va chạm, hoặc null nếu không có
      */
     public Brick checkBrickBallCollision(Ball ball, List<Brick> bricks) {
-        double ballCenterX = ball.getX() + ball.getRadius();
-        double ballCenterY = ball.getY() + ball.getRadius();
         double r = ball.getRadius();
-
-        // Tính bounding box của bóng
-        double ballMinX = ballCenterX - r;
-        double ballMaxX = ballCenterX + r;
-        double ballMinY = ballCenterY - r;
-        double ballMaxY = ballCenterY + r;
+        double ballCenterX = ball.getX() + r;
+        double ballCenterY = ball.getY() + r;
 
         for (Brick brick : bricks) {
-            // Bỏ qua brick đã bị phá
-            if (brick.getHitCount() == 0) continue;
-
-            javafx.geometry.Bounds brickBounds = brick.getNode().getBoundsInParent();
-
-            // KIỂM TRA OVERLAP BOUNDING BOX (nhanh, loại bỏ 90% trường hợp không va chạm)
-            if (ballMaxX < brickBounds.getMinX() ||
-                    ballMinX > brickBounds.getMaxX() ||
-                    ballMaxY < brickBounds.getMinY() ||
-                    ballMinY > brickBounds.getMaxY()) {
-                continue; // Không overlap → bỏ qua
-            }
-
-            // KIỂM TRA VA CHẠM TRÒN-CHỮ NHẬT (chính xác)
-            if (circleIntersectsRect(ballCenterX, ballCenterY, r, brickBounds)) {
+            if (hitsBrick(ballCenterX, ballCenterY, r, brick)) {
                 return brick; // Tìm thấy brick bị va chạm
             }
         }
@@ -411,6 +569,98 @@ public class CollisionManager {
         return null; // Không có brick nào bị va chạm
     }
 
+    private boolean hitsBrick(double ballCenterX, double ballCenterY, double r, Brick brick) {
+        // Bỏ qua brick đã bị phá
+        if (brick.getHitCount() == 0) return false;
+
+        double brickMinX = brick.getX();
+        double brickMinY = brick.getY();
+        double brickMaxX = brick.getRightX();
+        double brickMaxY = brick.getBottomY();
+
+        // KIỂM TRA OVERLAP BOUNDING BOX (nhanh, loại bỏ 90% trường hợp không va chạm)
+        if (ballCenterX + r < brickMinX ||
+                ballCenterX - r > brickMaxX ||
+                ballCenterY + r < brickMinY ||
+                ballCenterY - r > brickMaxY) {
+            return false; // Không overlap → bỏ qua
+        }
+
+        // KIỂM TRA VA CHẠM TRÒN-CHỮ NHẬT (chính xác)
+        return circleIntersectsRect(ballCenterX, ballCenterY, r, brickMinX, brickMinY, brickMaxX, brickMaxY);
+    }
+
+    /**
+     * Thời điểm chạm (TOI) của hình tròn bán kính r đi từ (x0, y0) thêm (dx, dy) với chữ nhật
+     *
+     * THUẬT TOÁN: tâm tròn chạm chữ nhật ⇔ tâm đi vào chữ nhật BO GÓC (chữ nhật nở thêm r).
+     * Hình đó = 2 chữ nhật (nở theo X, nở theo Y) + 4 hình tròn ở góc → lấy TOI nhỏ nhất
+     * của tia với từng phần.
+     *
+     * Nếu đã chạm ngay đầu đoạn: trả về 0 khi đang đi vào chữ nhật, bỏ qua khi đang đi ra
+     * (bóng vừa được đẩy ra ở bước trước không bị tính chạm lần nữa).
+     *
+     * @return t ∈ [0, 1], hoặc -1 nếu không chạm trong đoạn
+     */
+    static double sweepCircleRect(double x0, double y0, double dx, double dy, double r,
+                                  double minX, double minY, double maxX, double maxY) {
+        double closestX = Math.max(minX, Math.min(x0, maxX));
+        double closestY = Math.max(minY, Math.min(y0, maxY));
+        double ox = closestX - x0;
+        double oy = closestY - y0;
+        if (ox * ox + oy * oy <= r * r) {
+            boolean inside = ox == 0 && oy == 0;
+            return inside || ox * dx + oy * dy > 0 ? 0 : -1;
+        }
+        if (dx == 0 && dy == 0) return -1;
+
+        double t = rayRect(x0, y0, dx, dy, minX - r, minY, maxX + r, maxY);
+        t = Math.min(t, rayRect(x0, y0, dx, dy, minX, minY - r, maxX, maxY + r));
+        t = Math.min(t, rayCircle(x0, y0, dx, dy, minX, minY, r));
+        t = Math.min(t, rayCircle(x0, y0, dx, dy, maxX, minY, r));
+        t = Math.min(t, rayCircle(x0, y0, dx, dy, minX, maxY, r));
+        t = Math.min(t, rayCircle(x0, y0, dx, dy, maxX, maxY, r));
+        return t <= 1 ? t : -1;
+    }
+
+    /**
+     * Slab test: thời điểm tia đi vào chữ nhật trong [0, 1], hoặc +∞
+     */
+    private static double rayRect(double x0, double y0, double dx, double dy,
+                                  double minX, double minY, double maxX, double maxY) {
+        double tEnter = 0, tExit = 1;
+        if (dx == 0) {
+            if (x0 < minX || x0 > maxX) return Double.POSITIVE_INFINITY;
+        } else {
+            double t1 = (minX - x0) / dx, t2 = (maxX - x0) / dx;
+            tEnter = Math.max(tEnter, Math.min(t1, t2));
+            tExit = Math.min(tExit, Math.max(t1, t2));
+        }
+        if (dy == 0) {
+            if (y0 < minY || y0 > maxY) return Double.POSITIVE_INFINITY;
+        } else {
+            double t1 = (minY - y0) / dy, t2 = (maxY - y0) / dy;
+            tEnter = Math.max(tEnter, Math.min(t1, t2));
+            tExit = Math.min(tExit, Math.max(t1, t2));
+        }
+        return tEnter <= tExit ? tEnter : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Thời điểm tia đi vào hình tròn tâm (cx, cy) trong [0, 1], hoặc +∞
+     */
+    private static double rayCircle(double x0, double y0, double dx, double dy,
+                                    double cx, double cy, double r) {
+        double fx = x0 - cx, fy = y0 - cy;
+        double a = dx * dx + dy * dy;
+        double b = fx * dx + fy * dy;
+        double c = fx * fx + fy * fy - r * r;
+        double disc = b * b - a * c;
+        if (disc < 0) return Double.POSITIVE_INFINITY;
+        double t = (-b - Math.sqrt(disc)) / a;
+        return t >= 0 && t <= 1 ? t : Double.POSITIVE_INFINITY;
+    }
+
     /**
      * Kiểm tra va chạm TRÒN (bóng) vs CHỮ NHẬT (brick/paddle)
      *
@@ -422,14 +672,15 @@ public class CollisionManager {
      * @param cx Tâm X của hình tròn
      * @param cy Tâm Y của hình tròn
      * @param radius Bán kính
-     * @param rect Bounds của chữ nhật
+     * @param minX, minY, maxX, maxY Biên của chữ nhật
      * @return true nếu có va chạm
      */
-    private boolean circleIntersectsRect(double cx, double cy, double radius, javafx.geometry.Bounds rect) {
+    private static boolean circleIntersectsRect(double cx, double cy, double radius,
+                                         double minX, double minY, double maxX, double maxY) {
         // Tìm điểm gần nhất trên chữ nhật
         // Clamp tọa độ tâm tròn vào phạm vi chữ nhật
-        double closestX = Math.max(rect.getMinX(), Math.min(cx, rect.getMaxX()));
-        double closestY = Math.max(rect.getMinY(), Math.min(cy, rect.getMaxY()));
+        double closestX = Math.max(minX, Math.min(cx, maxX));
+        double closestY = Math.max(minY, Math.min(cy, maxY));
 
         // Tính khoảng cách từ tâm tròn đến điểm gần nhất
         double dx = cx - closestX;
@@ -0,0 +1,160 @@
+package gamemanager.manager;
+
+import gameobject.ball.Ball;
+import gameobject.ball.FixedPoint;
+import gameobject.paddle.Paddle;
+
+import static gameobject.ball.FixedPoint.div;
+import static gameobject.ball.FixedPoint.mul;
+import static gameobject.ball.FixedPoint.of;
+import static gameobject.ball.FixedPoint.sqrt;
+import static gameobject.ball.FixedPoint.toDouble;
+
+/**
+ * FixedCollision - Bản Q32.32 (FixedPoint) của các phép va chạm trong CollisionManager
+ *
+ * Dùng cho bóng ở chế độ vật lý FIXED (Ball.isFixedPoint()). Từng hàm theo đúng thuật toán và thứ tự
+ * phép tính của bản double cùng tên; tọa độ paddle / gạch (double) được làm tròn về lưới 2^-32 khi đọc.
+ */
+final class FixedCollision {
+    private static final long CONTACT_PENETRATION = of(0.05);
+
+    private FixedCollision() {
+    }
+
+    /**
+     * Như CollisionManager.bounceOffPaddle(): đẩy bóng ra, phản xạ, chỉnh góc theo điểm chạm, giữ tốc độ
+     */
+    static boolean bounceOffPaddle(Paddle paddle, Ball ball) {
+        long r = of(ball.getRadius());
+        long ballX = of(ball.getX());
+        long ballY = of(ball.getY());
+        long paddleX = of(paddle.getX());
+        long paddleY = of(paddle.getY());
+        long paddleWidth = of(paddle.getWidth());
+        long paddleHeight = of(paddle.getHeight());
+
+        long halfPaddleWidth = paddleWidth / 2;
+        long dx = (ballX + r) - (paddleX + halfPaddleWidth);
+        long dy = (ballY + r) - (paddleY + paddleHeight / 2);
+        long overlapX = (r * 2 + paddleWidth) / 2 - Math.abs(dx);
+        long overlapY = (r * 2 + paddleHeight) / 2 - Math.abs(dy);
+        if (overlapX <= 0 || overlapY <= 0) return false;
+
+        long vx = of(ball.getVx());
+        long vy = of(ball.getVy());
+        if (overlapX < overlapY) {
+            ball.setX(toDouble(dx > 0 ? ballX + overlapX : ballX - overlapX));
+            ball.setVx(toDouble(dx > 0 ? Math.abs(vx) : -Math.abs(vx)));
+            return true;
+        }
+
+        boolean isTopPaddle = paddle.getY() < 100;
+        ballY = dy > 0 ? ballY + overlapY : ballY - overlapY;
+        vy = isTopPaddle ? Math.abs(vy) : -Math.abs(vy);
+
+        // Điều chỉnh góc phản xạ theo vị trí chạm tương đối [-1, 1] trên paddle
+        long speed = of(ball.speed);
+        long relativeIntersectX = (paddleX + halfPaddleWidth) - (ballX + r);
+        long normalized = halfPaddleWidth != 0 ? div(relativeIntersectX, halfPaddleWidth) : 0;
+        vx -= mul(normalized, speed);
+
+        // Giữ tốc độ không đổi
+        long currentSpeed = sqrt(mul(vx, vx) + mul(vy, vy));
+        if (currentSpeed != 0) {
+            long factor = div(speed, currentSpeed);
+            vx = mul(vx, factor);
+            vy = mul(vy, factor);
+        }
+        ball.setY(toDouble(ballY));
+        ball.setVx(toDouble(vx));
+        ball.setVy(toDouble(vy));
+        return true;
+    }
+
+    /**
+     * Như CollisionManager.sweepPaddleBallCollision()
+     */
+    static boolean sweepPaddle(Paddle paddle, Ball ball) {
+        long r = of(ball.getRadius());
+        long x0 = of(ball.getPrevX()) + r, y0 = of(ball.getPrevY()) + r;
+        long minX = of(paddle.getX()), minY = of(paddle.getY());
+        long maxX = of(paddle.getRightX()), maxY = of(paddle.getBottomY());
+        long t = sweepCircleRect(x0, y0, of(ball.getX()) + r - x0, of(ball.getY()) + r - y0, r,
+                minX, minY, maxX, maxY);
+        if (t < 0) return false;
+        rewindToContact(ball, t, minX, minY, maxX, maxY);
+        return true;
+    }
+
+    /**
+     * Như CollisionManager.rewindToContact()
+     */
+    static void rewindToContact(Ball ball, long t, long minX, long minY, long maxX, long maxY) {
+        long r = of(ball.getRadius());
+        if (t == 0 && circleIntersectsRect(of(ball.getX()) + r, of(ball.getY()) + r, r, minX, minY, maxX, maxY)) {
+            return;
+        }
+        ball.rewindTo(toDouble(t), toDouble(CONTACT_PENETRATION));
+    }
+
+    /**
+     * Như CollisionManager.sweepCircleRect()
+     * @return t ∈ [0, ONE], hoặc -1 nếu không chạm trong đoạn
+     */
+    static long sweepCircleRect(long x0, long y0, long dx, long dy, long r,
+                                long minX, long minY, long maxX, long maxY) {
+        long ox = Math.max(minX, Math.min(x0, maxX)) - x0;
+        long oy = Math.max(minY, Math.min(y0, maxY)) - y0;
+        if (mul(ox, ox) + mul(oy, oy) <= mul(r, r)) {
+            boolean inside = ox == 0 && oy == 0;
+            return inside || mul(ox, dx) + mul(oy, dy) > 0 ? 0 : -1;
+        }
+        if (dx == 0 && dy == 0) return -1;
+
+        long t = rayRect(x0, y0, dx, dy, minX - r, minY, maxX + r, maxY);
+        t = Math.min(t, rayRect(x0, y0, dx, dy, minX, minY - r, maxX, maxY + r));
+        t = Math.min(t, rayCircle(x0, y0, dx, dy, minX, minY, r));
+        t = Math.min(t, rayCircle(x0, y0, dx, dy, maxX, minY, r));
+        t = Math.min(t, rayCircle(x0, y0, dx, dy, minX, maxY, r));
+        t = Math.min(t, rayCircle(x0, y0, dx, dy, maxX, maxY, r));
+        return t <= FixedPoint.ONE ? t : -1;
+    }
+
+    private static long rayRect(long x0, long y0, long dx, long dy, long minX, long minY, long maxX, long maxY) {
+        long tEnter = 0, tExit = FixedPoint.ONE;
+        if (dx == 0) {
+            if (x0 < minX || x0 > maxX) return FixedPoint.INFINITY;
+        } else {
+            long t1 = div(minX - x0, dx), t2 = div(maxX - x0, dx);
+            tEnter = Math.max(tEnter, Math.min(t1, t2));
+            tExit = Math.min(tExit, Math.max(t1, t2));
+        }
+        if (dy == 0) {
+            if (y0 < minY || y0 > maxY) return FixedPoint.INFINITY;
+        } else {
+            long t1 = div(minY - y0, dy), t2 = div(maxY - y0, dy);
+            tEnter = Math.max(tEnter, Math.min(t1, t2));
+            tExit = Math.min(tExit, Math.max(t1, t2));
+        }
+        return tEnter <= tExit ? tEnter : FixedPoint.INFINITY;
+    }
+
+    private static long rayCircle(long x0, long y0, long dx, long dy, long cx, long cy, long r) {
+        long fx = x0 - cx, fy = y0 - cy;
+        long a = mul(dx, dx) + mul(dy, dy);
+        if (a == 0) return FixedPoint.INFINITY; // Đoạn ngắn hơn 2^-16 px: bình phương làm tròn về 0
+        long b = mul(fx, dx) + mul(fy, dy);
+        long c = mul(fx, fx) + mul(fy, fy) - mul(r, r);
+        long disc = mul(b, b) - mul(a, c);
+        if (disc < 0) return FixedPoint.INFINITY;
+        long t = div(-b - sqrt(disc), a);
+        return t >= 0 && t <= FixedPoint.ONE ? t : FixedPoint.INFINITY;
+    }
+
+    static boolean circleIntersectsRect(long cx, long cy, long radius, long minX, long minY, long maxX, long maxY) {
+        long dx = cx - Math.max(minX, Math.min(cx, maxX));
+        long dy = cy - Math.max(minY, Math.min(cy, maxY));
+        return mul(dx, dx) + mul(dy, dy) <= mul(radius, radius);
+    }
+}
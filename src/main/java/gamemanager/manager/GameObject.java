@@ -1,5 +1,10 @@
 package gamemanager.manager;
 
+/**
+ * Trạng thái thuần dữ liệu của một thực thể trong game (vị trí + kích thước).
+ * Không giữ JavaFX Node: phần hiển thị nằm ở gamemanager.render và đọc lại trạng thái này,
+ * nên vật lý có thể chạy mà không cần Stage/Pane.
+ */
 public abstract class GameObject {
     protected double x, y, width, height;
 
@@ -10,8 +15,6 @@ public abstract class GameObject {
         this.height = height;
     }
 
-    public abstract javafx.scene.Node getNode();
-
     public double getX() { return x; }
     public double getY() { return y; }
     public double getWidth() { return width; }
@@ -19,6 +22,6 @@ public abstract class GameObject {
     public double getRightX() { return x + width; }
     public double getBottomY() { return y + height; }
 
-    public void setX(double x) { this.x = x; getNode().setLayoutX(x); }
-    public void setY(double y) { this.y = y; getNode().setLayoutY(y); }
-}
\ No newline at end of file
+    public void setX(double x) { this.x = x; }
+    public void setY(double y) { this.y = y; }
+}
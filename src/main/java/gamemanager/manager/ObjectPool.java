@@ -0,0 +1,103 @@
+package gamemanager.manager;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * ObjectPool - Kho đối tượng tái sử dụng (bóng, power-up, view của renderer)
+ *
+ * HOẠT ĐỘNG:
+ * - acquire(): lấy đối tượng rảnh (hit) hoặc tạo mới bằng factory (miss). Người gọi đặt lại toàn bộ
+ *   trạng thái ngay sau đó (Ball.respawn, Powerup.respawn, BallView.reset...) → giống hệt đối tượng mới tạo
+ * - release(): trả đối tượng không còn dùng; kho đã giữ đủ capacity thì bỏ cho GC
+ * - prewarm(): tạo sẵn trước ván chơi → đợt nhân bóng giữa lượt chơi không cấp phát
+ * - Đếm hit / miss và số đối tượng đang dùng cao nhất (peak) để chọn capacity theo số liệu thật
+ *
+ * Không thread-safe: mỗi kho chỉ dùng trên 1 thread (thread mô phỏng hoặc FX thread).
+ * Mỗi đối tượng chỉ được release 1 lần cho mỗi lần acquire.
+ */
+public final class ObjectPool<T> {
+    private final Supplier<T> factory;
+    private final int capacity;
+    private Object[] free = new Object[16];
+    private int freeCount = 0;
+
+    // Thống kê
+    private long hits = 0;
+    private long misses = 0;
+    private int inUse = 0;
+    private int peakInUse = 0;
+
+    /**
+     * @param capacity Số đối tượng rảnh giữ lại tối đa
+     */
+    public ObjectPool(Supplier<T> factory, int capacity) {
+        this.factory = factory;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Lấy 1 đối tượng (trạng thái cũ còn nguyên - người gọi phải đặt lại)
+     */
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        inUse++;
+        if (inUse > peakInUse) peakInUse = inUse;
+        if (freeCount > 0) {
+            hits++;
+            T object = (T) free[--freeCount];
+            free[freeCount] = null;
+            return object;
+        }
+        misses++;
+        return factory.get();
+    }
+
+    /**
+     * Trả đối tượng về kho
+     */
+    public void release(T object) {
+        if (object == null) return;
+        if (inUse > 0) inUse--;
+        if (freeCount == capacity) return;
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, Math.min(capacity, free.length * 2));
+        }
+        free[freeCount++] = object;
+    }
+
+    /**
+     * Tạo sẵn cho tới khi kho có ít nhất count đối tượng rảnh (không tính vào hit / miss)
+     */
+    public void prewarm(int count) {
+        count = Math.min(count, capacity);
+        if (free.length < count) {
+            free = Arrays.copyOf(free, count);
+        }
+        while (freeCount < count) {
+            free[freeCount++] = factory.get();
+        }
+    }
+
+    public int getFreeCount() { return freeCount; }
+    public int getCapacity() { return capacity; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public int getInUse() { return inUse; }
+    public int getPeakInUse() { return peakInUse; }
+
+    /**
+     * Xóa thống kê (giữ nguyên các đối tượng rảnh)
+     */
+    public void resetStats() {
+        hits = 0;
+        misses = 0;
+        peakInUse = inUse;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d misses=%d inUse=%d peak=%d free=%d/%d",
+                hits, misses, inUse, peakInUse, freeCount, capacity);
+    }
+}
@@ -3,9 +3,6 @@ package gamemanager.manager;
 import gameconfig.GameConfig;
 import gameobject.brick.Brick;
 import gameobject.powerup.Powerup;
-import javafx.animation.PauseTransition;
-import javafx.scene.layout.Pane;
-import javafx.util.Duration;
 
 import java.util.*;
 
@@ -14,13 +11,31 @@ import java.util.*;
  * Lớp quản lý việc spawn power-up, theo dõi hiệu ứng đang hoạt động và bộ đếm thời gian
  */
 public class PowerUpManager {
-    private final Pane root;
     private final Random random;
 
+    // Âm thanh là tùy chọn: null khi chạy headless
+    private SoundManager soundManager;
+
+    // Kho power-up của LevelManager (null → tạo mới mỗi lần spawn)
+    private ObjectPool<Powerup> powerupPool;
+
     // Map lưu các timer đang chạy cho mỗi loại power-up
     // Key: Loại power-up (EXPAND, MULTIPLY, ONESHOT)
-    // Value: Timer đang chạy
-    private final Map<GameConfig.PowerUpType, PauseTransition> activeTimers;
+    // Value: Timer đang chạy (đếm ngược theo thời gian mô phỏng, không theo đồng hồ thật)
+    private final Map<GameConfig.PowerUpType, ActiveTimer> activeTimers;
+
+    /**
+     * Timer của một power-up: thời gian còn lại và callback khi hết hạn
+     */
+    private static final class ActiveTimer {
+        double remaining;
+        final Runnable onExpire;
+
+        ActiveTimer(double duration, Runnable onExpire) {
+            this.remaining = duration;
+            this.onExpire = onExpire;
+        }
+    }
 
     // Xác suất spawn power-up khi brick bị phá: 20% = 0.2
     // Nghĩa là cứ 5 viên brick bị phá thì có 1 viên rơi power-up
@@ -30,12 +45,26 @@ public class PowerUpManager {
     // Power-up EXPAND làm paddle to ra trong 10 giây
     private static final double EXPAND_DURATION = 10.0;
 
-    public PowerUpManager(Pane root) {
-        this.root = root;
-        this.random = new Random();
+    public PowerUpManager() {
+        this(new Random());
+    }
+
+    /**
+     * @param random Stream POWERUP của RandomManager
+     */
+    public PowerUpManager(Random random) {
+        this.random = random;
         this.activeTimers = new HashMap<>();
     }
 
+    public void setSoundManager(SoundManager soundManager) {
+        this.soundManager = soundManager;
+    }
+
+    public void setPowerupPool(ObjectPool<Powerup> powerupPool) {
+        this.powerupPool = powerupPool;
+    }
+
     /**
      * Thử spawn một power-up tại vị trí brick bị phá
      * @param brick Viên gạch vừa bị phá hủy
@@ -57,12 +86,17 @@ public class PowerUpManager {
         double x = brick.getX() + brick.getWidth() / 2 - GameConfig.POWERUP_WIDTH / 2;
         double y = brick.getY() + brick.getHeight() / 2;
 
-        Powerup powerup = new Powerup(x, y, selectedType);
+        Powerup powerup;
+        if (powerupPool != null) {
+            powerup = powerupPool.acquire();
+            powerup.respawn(x, y, selectedType);
+        } else {
+            powerup = new Powerup(x, y, selectedType);
+        }
 
-        // Thêm vào scene graph để hiển thị
-        if (root != null && powerup.getNode() != null) {
-            root.getChildren().add(powerup.getNode());
-            SoundManager.getInstance().playSound(SoundManager.SoundType.POWERUP_SPAWN);
+        // Việc hiển thị do renderer đảm nhận khi power-up được thêm vào LevelManager
+        if (soundManager != null) {
+            soundManager.playSound(SoundManager.SoundType.POWERUP_SPAWN);
         }
 
         return powerup;
@@ -76,7 +110,7 @@ public class PowerUpManager {
      *
      * HOẠT ĐỘNG:
      * 1. Hủy timer cũ (nếu có) - tránh trùng lặp
-     * 2. Tạo PauseTransition với thời gian tương ứng:
+     * 2. Tạo timer với thời gian tương ứng (đếm ngược trong update()):
      *    - EXPAND: 10 giây
      *    - ONESHOT: 7.5 giây (được xử lý ở GameEngine)
      *    - MULTIPLY: không cần timer (vĩnh viễn)
@@ -102,20 +136,40 @@ public class PowerUpManager {
         // duration = 0 → power-up vĩnh viễn, không cần timer
         if (duration <= 0) return;
 
-        // Tạo timer đếm ngược
-        PauseTransition timer = new PauseTransition(Duration.seconds(duration));
+        // Tạo timer đếm ngược - update() sẽ trừ dần thời gian
+        activeTimers.put(type, new ActiveTimer(duration, onExpire));
+    }
 
-        // Khi timer hết: chạy callback + xóa khỏi map
-        timer.setOnFinished(event -> {
-            if (onExpire != null) {
-                onExpire.run(); // Reset trạng thái (do GameEngine truyền vào)
+    /**
+     * ĐẾM NGƯỢC CÁC TIMER
+     * - Được GameEngine gọi mỗi bước mô phỏng với thời gian của bước đó
+     * - Khi timer hết: chạy callback + xóa khỏi map
+     *
+     * @param tpf Thời gian trôi qua (giây)
+     */
+    public void update(double tpf) {
+        if (activeTimers.isEmpty()) return;
+
+        Iterator<Map.Entry<GameConfig.PowerUpType, ActiveTimer>> it = activeTimers.entrySet().iterator();
+        List<Runnable> expired = null;
+        while (it.hasNext()) {
+            ActiveTimer timer = it.next().getValue();
+            timer.remaining -= tpf;
+            if (timer.remaining <= 0) {
+                it.remove();
+                if (timer.onExpire != null) {
+                    if (expired == null) expired = new ArrayList<>();
+                    expired.add(timer.onExpire);
+                }
             }
-            activeTimers.remove(type);
-        });
+        }
 
-        // Bắt đầu đếm
-        timer.play();
-        activeTimers.put(type, timer);
+        // Chạy callback sau khi duyệt xong (callback có thể bắt đầu timer mới)
+        if (expired != null) {
+            for (Runnable onExpire : expired) {
+                onExpire.run(); // Reset trạng thái (do GameEngine truyền vào)
+            }
+        }
     }
 
     /**
@@ -124,11 +178,7 @@ public class PowerUpManager {
      * - Hoặc khi cleanup game
      */
     public void cancelPowerUpTimer(GameConfig.PowerUpType type) {
-        PauseTransition timer = activeTimers.get(type);
-        if (timer != null) {
-            timer.stop();
-            activeTimers.remove(type);
-        }
+        activeTimers.remove(type);
     }
 
     /**
@@ -136,9 +186,6 @@ public class PowerUpManager {
      * - Dùng khi game over hoặc reset game
      */
     public void cancelAllTimers() {
-        for (PauseTransition timer : activeTimers.values()) {
-            timer.stop();
-        }
         activeTimers.clear();
     }
 
@@ -177,14 +224,11 @@ public class PowerUpManager {
      * @return Thời gian còn lại (giây), -1 nếu không active
      */
     public double getRemainingTime(GameConfig.PowerUpType type) {
-        PauseTransition timer = activeTimers.get(type);
+        ActiveTimer timer = activeTimers.get(type);
         if (timer == null) {
             return -1; // Power-up không active
         }
 
-        // Tính thời gian còn lại = tổng thời gian - thời gian đã trôi qua
-        Duration total = timer.getDuration();
-        Duration current = timer.getCurrentTime();
-        return (total.toSeconds() - current.toSeconds());
+        return timer.remaining;
     }
 }
@@ -0,0 +1,69 @@
+package gamemanager.manager;
+
+import java.util.Random;
+
+/**
+ * RandomManager - Nguồn ngẫu nhiên duy nhất của mô phỏng
+ *
+ * MỤC ĐÍCH:
+ * - Cùng seed + cùng chuỗi input → cùng một ván game (replay, benchmark, lockstep)
+ * - Mỗi subsystem có stream riêng: thêm một lần gọi random ở AI
+ *   không làm lệch kết quả rơi power-up hay sinh level
+ *
+ * Mỗi GameEngine giữ một RandomManager riêng (không phải singleton)
+ * để nhiều ván có thể chạy song song.
+ */
+public class RandomManager {
+
+    /**
+     * Các stream ngẫu nhiên, mỗi subsystem một stream
+     */
+    public enum Stream {
+        BALL,       // Hướng bắn bóng khi không có indicator
+        POWERUP,    // PowerUpManager: xác suất + loại power-up
+        LEVEL,      // LevelManager: rơi power-up khi phá gạch, level endless/1v1
+        AI          // AIManager: sai số, drift, confusion
+    }
+
+    private final Random[] streams = new Random[Stream.values().length];
+    private long seed;
+
+    public RandomManager(long seed) {
+        for (int i = 0; i < streams.length; i++) {
+            streams[i] = new Random();
+        }
+        reseed(seed);
+    }
+
+    public RandomManager() {
+        this(System.nanoTime());
+    }
+
+    /**
+     * Đặt lại seed cho tất cả stream.
+     * Các đối tượng Random đã phát cho subsystem vẫn giữ nguyên, chỉ đổi trạng thái.
+     */
+    public void reseed(long seed) {
+        this.seed = seed;
+        for (Stream stream : Stream.values()) {
+            streams[stream.ordinal()].setSeed(mix(seed + stream.ordinal() * 0x9E3779B97F4A7C15L));
+        }
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public Random get(Stream stream) {
+        return streams[stream.ordinal()];
+    }
+
+    /**
+     * SplitMix64 finalizer - tách các seed gần nhau thành các stream độc lập
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,87 @@
+package gamemanager.profiling;
+
+import java.util.Arrays;
+
+/**
+ * LatencyHistogram - Histogram thời gian (nano giây) với số bucket cố định
+ *
+ * CẤU TRÚC:
+ * - 8 bucket tuyến tính cho 0..7ns, sau đó mỗi lũy thừa của 2 chia thành 8 bucket
+ *   → sai số tương đối tối đa 12.5%, phủ toàn bộ giá trị long
+ * - record() không cấp phát, chỉ tăng 1 phần tử mảng
+ *
+ * Mỗi histogram chỉ có 1 thread ghi. Đọc từ thread khác cho kết quả gần đúng.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BITS = 3;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BITS) * SUB_COUNT;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount = 0;
+    private long totalNanos = 0;
+    private long maxNanos = 0;
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts[bucketOf(nanos)]++;
+        totalCount++;
+        totalNanos += nanos;
+        if (nanos > maxNanos) maxNanos = nanos;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+
+    public long getCount() {
+        return totalCount;
+    }
+
+    public long getMax() {
+        return maxNanos;
+    }
+
+    public double getMean() {
+        return totalCount == 0 ? 0 : (double) totalNanos / totalCount;
+    }
+
+    /**
+     * Giá trị tại phân vị p (nearest-rank), làm tròn lên cận trên của bucket
+     * @param p Phân vị trong khoảng [0, 1]
+     */
+    public long getPercentile(double p) {
+        if (totalCount == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(p * totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BITS;
+        return (shift + 1) * SUB_COUNT + (int) ((value >>> shift) & (SUB_COUNT - 1));
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_COUNT) {
+            return bucket;
+        }
+        int shift = bucket / SUB_COUNT - 1;
+        long lower = (long) (SUB_COUNT + bucket % SUB_COUNT) << shift;
+        long upper = lower + (1L << shift) - 1;
+        return upper < 0 ? Long.MAX_VALUE : upper;  // Bucket cuối tràn long
+    }
+}
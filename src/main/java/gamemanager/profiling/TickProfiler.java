@@ -0,0 +1,151 @@
+package gamemanager.profiling;
+
+import java.io.PrintStream;
+
+/**
+ * TickProfiler - Đo thời gian từng phase của vòng lặp mô phỏng
+ *
+ * CÁCH DÙNG (trong GameEngine):
+ * - long t = profiler.start();            // 0 khi tắt → không gọi nanoTime
+ * - t = profiler.lap(Phase.WALL, t);      // Cộng dồn vào phase trong tick hiện tại
+ * - profiler.endTick(tickStart);          // Ghi tổng mỗi phase của tick vào histogram
+ * - profiler.record(Phase.RENDER, t);     // Ghi 1 lần đo (render pulse trên FX thread)
+ * - SCENE_PULSE: CSS + layout của Scene trong mỗi pulse (giữa pre/post layout pulse listener)
+ *
+ * Va chạm tường/paddle/gạch xen kẽ nhau trong vòng lặp từng bóng,
+ * nên mỗi phase được cộng dồn trong tick rồi ghi 1 lần (1 mẫu / phase / tick).
+ *
+ * THREAD: các phase mô phỏng do thread đang tick ghi, RENDER / SCENE_PULSE do FX thread ghi.
+ */
+public final class TickProfiler {
+
+    /**
+     * Các phase được đo
+     */
+    public enum Phase {
+        TICK("tick (total)"),
+        INPUT("processInput"),
+        BALLS("ball integration"),
+        POWERUPS("powerups + explosions"),
+        BALL_BALL("collide ball-ball"),
+        WALL("collide wall"),
+        PADDLE("collide paddle"),
+        BRICK("collide brick"),
+        BALLS_PARALLEL("collide balls parallel"),
+        EVENTS("collision events"),
+        POWERUP_PICKUP("collide powerup"),
+        LEVEL_CHECK("level complete check"),
+        SNAPSHOT("snapshot capture"),
+        RENDER("FX render pulse"),
+        SCENE_PULSE("FX CSS + layout");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[PHASES.length];
+    private final long[] tickNanos = new long[PHASES.length];      // Cộng dồn trong tick hiện tại
+    private final boolean[] tickTouched = new boolean[PHASES.length];
+    private volatile boolean enabled = false;
+
+    public TickProfiler() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Mốc thời gian bắt đầu đo (0 khi profiler tắt)
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Cộng thời gian từ start tới giờ vào phase của tick hiện tại
+     * @return Mốc thời gian mới cho phase tiếp theo
+     */
+    public long lap(Phase phase, long start) {
+        if (start == 0 || !enabled) return 0;
+        long now = System.nanoTime();
+        tickNanos[phase.ordinal()] += now - start;
+        tickTouched[phase.ordinal()] = true;
+        return now;
+    }
+
+    /**
+     * Kết thúc tick: ghi tổng thời gian tick và mỗi phase đã chạy vào histogram
+     */
+    public void endTick(long tickStart) {
+        if (tickStart == 0 || !enabled) return;
+        histograms[Phase.TICK.ordinal()].record(System.nanoTime() - tickStart);
+        for (int i = 0; i < PHASES.length; i++) {
+            if (tickTouched[i]) {
+                histograms[i].record(tickNanos[i]);
+                tickNanos[i] = 0;
+                tickTouched[i] = false;
+            }
+        }
+    }
+
+    /**
+     * Ghi 1 lần đo độc lập (không gộp theo tick)
+     */
+    public void record(Phase phase, long start) {
+        if (start == 0 || !enabled) return;
+        histograms[phase.ordinal()].record(System.nanoTime() - start);
+    }
+
+    public LatencyHistogram getHistogram(Phase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    public long getPercentile(Phase phase, double p) {
+        return getHistogram(phase).getPercentile(p);
+    }
+
+    public void reset() {
+        for (int i = 0; i < PHASES.length; i++) {
+            histograms[i].reset();
+            tickNanos[i] = 0;
+            tickTouched[i] = false;
+        }
+    }
+
+    /**
+     * In bảng p50/p95/p99/max (micro giây) của mọi phase đã có mẫu
+     */
+    public void dump(PrintStream out) {
+        out.printf("%-22s %9s %9s %9s %9s %9s %9s%n",
+                "phase", "count", "mean", "p50", "p95", "p99", "max");
+        for (Phase phase : PHASES) {
+            LatencyHistogram h = getHistogram(phase);
+            if (h.getCount() == 0) continue;
+            out.printf("%-22s %9d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    phase.getLabel(), h.getCount(),
+                    h.getMean() / 1000.0,
+                    h.getPercentile(0.50) / 1000.0,
+                    h.getPercentile(0.95) / 1000.0,
+                    h.getPercentile(0.99) / 1000.0,
+                    h.getMax() / 1000.0);
+        }
+        out.println("(times in microseconds)");
+    }
+}
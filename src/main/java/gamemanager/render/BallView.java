@@ -0,0 +1,156 @@
+package gamemanager.render;
+
+import gamemanager.render.WorldSnapshot.EntityState;
+import gamemanager.ui.ImageManager;
+import javafx.animation.FadeTransition;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.Circle;
+import javafx.util.Duration;
+
+import java.util.function.Consumer;
+
+import static gameconfig.GameConfig.BALL_DEFAULT_SKIN;
+
+/**
+ * BallView - Vẽ bóng (Circle + ImagePattern) và đuôi (trail) của bóng.
+ * Đuôi được cập nhật mỗi frame vẽ, không phụ thuộc số bước mô phỏng:
+ * vị trí nằm trong TrailBuffer, các Circle của đuôi tạo 1 lần rồi chỉ dời tâm / ẩn hiện.
+ *
+ * View được SceneGraphRenderer tái sử dụng qua ObjectPool: reset() cho bóng mới, fadeOut() khi bóng chết
+ * (FadeTransition của view tạo 1 lần, xong thì báo onFaded để trả view về kho).
+ */
+class BallView extends EntityView {
+    private double radius;
+    private final Circle node;
+    private final FadeTransition fade;
+    private String appliedSkin;
+
+    // Trail effect: circle[i] vẽ vị trí cách hiện tại i + 1 frame (bán kính, độ mờ cố định theo i)
+    static final int MAX_TRAIL_LENGTH = 10;
+    private final TrailBuffer trail = new TrailBuffer(MAX_TRAIL_LENGTH);
+    private final Circle[] trailCircles = new Circle[MAX_TRAIL_LENGTH - 1];
+    private final Group trailGroup = new Group();
+
+    /**
+     * @param onFaded Gọi khi bóng chết đã mờ hẳn (gỡ Node, trả view về kho)
+     */
+    BallView(Consumer<BallView> onFaded) {
+        this.node = new Circle();
+        for (int i = 0; i < trailCircles.length; i++) {
+            double fadeFactor = 1.0 - ((double) (i + 1) / MAX_TRAIL_LENGTH);
+            Circle circle = new Circle();
+            circle.setOpacity(fadeFactor * 0.5);
+            circle.setVisible(false);
+            trailCircles[i] = circle;
+        }
+        trailGroup.getChildren().addAll(trailCircles);
+
+        fade = new FadeTransition(Duration.millis(300), node);
+        fade.setFromValue(1.0);
+        fade.setToValue(0.0);
+        fade.setOnFinished(e -> onFaded.accept(this));
+    }
+
+    /**
+     * Chuẩn bị view cho bóng mới (view mới tạo hoặc lấy lại từ kho)
+     */
+    void reset(EntityState state) {
+        double newRadius = state.width / 2;
+        if (newRadius != radius) {
+            radius = newRadius;
+            node.setRadius(radius);
+            for (int i = 0; i < trailCircles.length; i++) {
+                double fadeFactor = 1.0 - ((double) (i + 1) / MAX_TRAIL_LENGTH);
+                trailCircles[i].setRadius(radius * (0.5 + fadeFactor * 0.5));
+            }
+        }
+        node.setOpacity(1.0);
+        spawnId = state.spawnId;
+        clearTrail();
+        sync(state);
+    }
+
+    /**
+     * Bóng chết: mờ dần 300ms rồi báo onFaded
+     */
+    void fadeOut() {
+        fade.playFromStart();
+    }
+
+    @Override
+    Node getNode() {
+        return node;
+    }
+
+    Group getTrailGroup() {
+        return trailGroup;
+    }
+
+    @Override
+    void sync(EntityState state) {
+        String skin = state.skin;
+        if (appliedSkin == null || !appliedSkin.equals(skin)) {
+            applySkin(skin);
+        }
+
+        double centerX = state.x + radius;
+        double centerY = state.y + radius;
+        node.setCenterX(centerX);
+        node.setCenterY(centerY);
+
+        if (state.stuck) {
+            clearTrail();
+        } else {
+            updateTrail(centerX, centerY);
+        }
+    }
+
+    /**
+     * Clear all trail positions and hide trail nodes
+     */
+    void clearTrail() {
+        trail.clear();
+        for (Circle circle : trailCircles) {
+            circle.setVisible(false);
+        }
+    }
+
+    private void updateTrail(double centerX, double centerY) {
+        trail.push(centerX, centerY);
+        for (int i = 0; i < trailCircles.length; i++) {
+            Circle circle = trailCircles[i];
+            int age = i + 1;
+            if (age < trail.size()) {
+                circle.setCenterX(trail.x(age));
+                circle.setCenterY(trail.y(age));
+                circle.setVisible(true);
+            } else {
+                circle.setVisible(false);
+            }
+        }
+    }
+
+    private void applySkin(String resourcePath) {
+        appliedSkin = resourcePath;
+        node.setFill(paintFor(resourcePath));
+        // Đuôi dùng chung fill với bóng (độ mờ nằm ở opacity của từng Circle)
+        for (Circle circle : trailCircles) {
+            circle.setFill(node.getFill());
+        }
+    }
+
+    /**
+     * Fill của bóng: ImagePattern dùng chung từ ImageManager, fallback ảnh mặc định rồi màu SALMON
+     * (dùng chung với CanvasRenderer)
+     */
+    static Paint paintFor(String resourcePath) {
+        Paint fill = ImageManager.getPattern(resourcePath);
+        if (fill == null) {
+            fill = ImageManager.getPattern(BALL_DEFAULT_SKIN);
+        }
+        return fill != null ? fill : Color.SALMON;
+    }
+}
@@ -0,0 +1,37 @@
+package gamemanager.render;
+
+import gamemanager.render.WorldSnapshot.EntityState;
+import gamemanager.ui.ImageManager;
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+
+/**
+ * BrickView - Vẽ gạch bằng Rectangle, đổi ảnh khi skin của gạch thay đổi (MultiHitBrick)
+ */
+class BrickView extends EntityView {
+    private final Rectangle node;
+    private String appliedSkin;
+
+    BrickView(EntityState state) {
+        this.node = new Rectangle(state.width, state.height, Color.web(state.color));
+        this.node.setStroke(Color.web("#2c3e50"));
+        sync(state);
+    }
+
+    @Override
+    Node getNode() {
+        return node;
+    }
+
+    @Override
+    void sync(EntityState state) {
+        String skin = state.skin;
+        if (skin != null && !skin.equals(appliedSkin)) {
+            ImageManager.applyImage(node, skin);
+            appliedSkin = skin;
+        }
+        node.setLayoutX(state.x);
+        node.setLayoutY(state.y);
+    }
+}
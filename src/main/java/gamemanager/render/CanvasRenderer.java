@@ -0,0 +1,353 @@
+package gamemanager.render;
+
+import gameconfig.SkinRegistry;
+import gamemanager.manager.ObjectPool;
+import gamemanager.render.WorldSnapshot.EntityState;
+import gamemanager.render.WorldSnapshot.Layer;
+import gamemanager.ui.ImageManager;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+
+import static gameconfig.GameConfig.BALL_POOL_CAPACITY;
+import static gameconfig.GameConfig.GAME_HEIGHT;
+import static gameconfig.GameConfig.GAME_WIDTH;
+
+/**
+ * CanvasRenderer - Vẽ cả sân chơi lên 1 Canvas (GameConfig.RENDERER = CANVAS)
+ *
+ * HOẠT ĐỘNG:
+ * - Gạch nằm trên Canvas riêng (bên dưới), vẽ 1 lần khi tải level (epoch mới); sau đó chỉ các gạch trong
+ *   đoạn nhật ký mới của snapshot (hit đổi skin, bị phá, nổ) được xóa và vẽ lại → chi phí mỗi frame
+ *   theo số gạch đổi, không phụ thuộc số gạch
+ * - Canvas chính mỗi frame xóa rồi vẽ lại theo thứ tự của SceneGraphRenderer:
+ *   power-up < paddle < đuôi bóng < bóng < mũi tên
+ * - Ảnh (gạch, paddle, power-up) và ImagePattern (bóng) lấy từ ImageManager: dùng chung với SceneGraphRenderer
+ * - Scene graph chỉ có 1 Node → không có CSS / layout / đồng bộ hàng trăm Node mỗi pulse
+ * - Bóng chỉ giữ trạng thái vẽ: đuôi (vòng đệm 10 vị trí) và thời điểm bắt đầu mờ dần khi bóng bị xóa
+ *
+ * Chỉ chạy trên FX thread, đọc WorldSnapshot như SceneGraphRenderer (không đọc entity).
+ */
+public class CanvasRenderer implements GameRenderer {
+    private static final Color BRICK_STROKE = Color.web("#2c3e50");
+    private static final long BALL_FADE_NANOS = 300_000_000L;   // Bóng chết mờ dần 300ms
+
+    private final Pane root;
+    private final Canvas brickCanvas = new Canvas();
+    private final GraphicsContext brickGc = brickCanvas.getGraphicsContext2D();
+    private final Canvas canvas = new Canvas();
+    private final GraphicsContext gc = canvas.getGraphicsContext2D();
+
+    // Gạch đang có trên brickCanvas (trạng thái lúc vẽ), để xóa đúng ô cũ khi vẽ lại
+    private final Map<Object, DrawnBrick> drawnBricks = new IdentityHashMap<>();
+    private long brickEpoch = -1;
+    private int brickLogPos = 0;       // Đã vẽ nhật ký gạch của epoch tới đây
+
+    // Màu dự phòng của gạch theo chuỗi web (giữ giữa các ván)
+    private final Map<String, Color> colors = new HashMap<>();
+
+    // Trạng thái vẽ của từng bóng (khóa identity như SceneGraphRenderer)
+    private final Map<Object, BallTrack> ballTracks = new IdentityHashMap<>();
+    private final ObjectPool<BallTrack> trackPool = new ObjectPool<>(BallTrack::new, BALL_POOL_CAPACITY);
+    private long frame = 0;
+
+    private final double[] polygonX = new double[3];
+    private final double[] polygonY = new double[3];
+
+    /**
+     * Bóng đang vẽ: vị trí cuối, skin và đuôi (vòng đệm vị trí tâm các frame trước)
+     */
+    private static final class BallTrack {
+        final TrailBuffer trail = new TrailBuffer(BallView.MAX_TRAIL_LENGTH);
+        double x, y, size;
+        String skin;
+        Paint fill;            // Fill của skin hiện tại (chỉ tra lại khi skin đổi)
+        int spawnId;
+        long lastSeenFrame;
+        long fadeStart = 0;    // != 0: bóng đã bị xóa, đang mờ dần
+    }
+
+    /**
+     * Trạng thái của 1 gạch lúc được vẽ lên brickCanvas
+     */
+    private static final class DrawnBrick {
+        double x, y, width, height;
+        String skin;
+        String color;
+        boolean dirty;
+
+        void copy(EntityState state) {
+            x = state.x;
+            y = state.y;
+            width = state.width;
+            height = state.height;
+            skin = state.skin;
+            color = state.color;
+        }
+    }
+
+    public CanvasRenderer(Pane root) {
+        this.root = root;
+        brickCanvas.setMouseTransparent(true);
+        canvas.setMouseTransparent(true);
+    }
+
+    @Override
+    public void attach() {
+        // Độ phân giải có thể đã đổi từ lần gắn trước
+        if (brickCanvas.getWidth() != GAME_WIDTH || brickCanvas.getHeight() != GAME_HEIGHT) {
+            brickCanvas.setWidth(GAME_WIDTH);
+            brickCanvas.setHeight(GAME_HEIGHT);
+            brickEpoch = -1;
+            drawnBricks.clear();
+        }
+        canvas.setWidth(GAME_WIDTH);
+        canvas.setHeight(GAME_HEIGHT);
+        if (canvas.getParent() == null) {
+            root.getChildren().addAll(brickCanvas, canvas);
+        }
+        brickCanvas.setVisible(true);
+        canvas.setVisible(true);
+    }
+
+    @Override
+    public void render(WorldSnapshot snapshot) {
+        frame++;
+        long now = System.nanoTime();
+        if (snapshot.getBrickEpoch() != brickEpoch) {
+            brickEpoch = snapshot.getBrickEpoch();
+            redrawAllBricks(snapshot.bricks);
+            brickLogPos = snapshot.getBrickLogEnd();
+        } else if (snapshot.getBrickLogEnd() > brickLogPos) {
+            redrawChangedBricks(snapshot, brickLogPos, snapshot.getBrickLogEnd());
+            brickLogPos = snapshot.getBrickLogEnd();
+        }
+
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        drawPowerups(snapshot.powerups);
+        drawPaddles(snapshot.paddles);
+        trackBalls(snapshot.balls, now);
+        drawBalls(now);
+        drawIndicators(snapshot.indicators);
+    }
+
+    /**
+     * Level mới: xóa cả brickCanvas, vẽ lại mọi gạch còn sống (1 lần mỗi epoch)
+     */
+    private void redrawAllBricks(Layer bricks) {
+        drawnBricks.clear();
+        brickGc.clearRect(0, 0, brickCanvas.getWidth(), brickCanvas.getHeight());
+        brickGc.setStroke(BRICK_STROKE);
+        brickGc.setLineWidth(1);
+        for (int i = 0; i < bricks.size(); i++) {
+            EntityState brick = bricks.get(i);
+            if (brick.hitCount == 0) continue;
+            DrawnBrick drawn = new DrawnBrick();
+            drawn.copy(brick);
+            drawnBricks.put(brick.id, drawn);
+            drawBrick(drawn);
+        }
+    }
+
+    /**
+     * Xóa + vẽ lại đúng các gạch trong nhật ký [from, to) của snapshot (mới / đổi skin / bị phá).
+     * Xóa hết rồi mới vẽ: 1 gạch có thể xuất hiện nhiều lần trong đoạn nhật ký.
+     * Gạch của level không chồng lên nhau (cách nhau 4px) nên vẽ lại 1 ô không ảnh hưởng ô bên cạnh.
+     */
+    private void redrawChangedBricks(WorldSnapshot snapshot, int from, int to) {
+        for (int i = from; i < to; i++) {
+            Object id = snapshot.changedBrickId(i);
+            EntityState brick = snapshot.brickState(id);
+            DrawnBrick drawn = drawnBricks.get(id);
+            if (drawn != null) {
+                eraseCell(drawn);
+            }
+            if (brick == null || brick.hitCount == 0) {
+                drawnBricks.remove(id);
+                continue;
+            }
+            if (drawn == null) {
+                drawn = new DrawnBrick();
+                drawnBricks.put(id, drawn);
+            }
+            drawn.copy(brick);
+            drawn.dirty = true;
+        }
+
+        brickGc.setStroke(BRICK_STROKE);
+        brickGc.setLineWidth(1);
+        for (int i = from; i < to; i++) {
+            DrawnBrick drawn = drawnBricks.get(snapshot.changedBrickId(i));
+            if (drawn != null && drawn.dirty) {
+                drawBrick(drawn);
+                drawn.dirty = false;
+            }
+        }
+    }
+
+    private void drawBrick(DrawnBrick brick) {
+        Image image = ImageManager.getImage(brick.skin);
+        if (image != null) {
+            brickGc.drawImage(image, brick.x, brick.y, brick.width, brick.height);
+        } else {
+            brickGc.setFill(color(brick.color));
+            brickGc.fillRect(brick.x, brick.y, brick.width, brick.height);
+        }
+        brickGc.strokeRect(brick.x, brick.y, brick.width, brick.height);
+    }
+
+    /**
+     * Xóa ô của gạch, gồm cả nửa nét viền tràn ra ngoài
+     */
+    private void eraseCell(DrawnBrick brick) {
+        brickGc.clearRect(brick.x - 1, brick.y - 1, brick.width + 2, brick.height + 2);
+    }
+
+    private void drawPowerups(Layer powerups) {
+        for (int i = 0; i < powerups.size(); i++) {
+            EntityState powerup = powerups.get(i);
+            Image icon = ImageManager.getImage(PowerupView.imagePath(powerup.powerupType));
+            if (icon == null) continue;
+            // Giữ tỉ lệ ảnh trong khung power-up (như ImageView.setPreserveRatio)
+            double scale = Math.min(powerup.width / icon.getWidth(), powerup.height / icon.getHeight());
+            gc.drawImage(icon, powerup.x, powerup.y, icon.getWidth() * scale, icon.getHeight() * scale);
+        }
+    }
+
+    private void drawPaddles(Layer paddles) {
+        for (int i = 0; i < paddles.size(); i++) {
+            EntityState paddle = paddles.get(i);
+            Image image = ImageManager.getImage(SkinRegistry.paddleResource(paddle.skin));
+            if (image != null) {
+                gc.drawImage(image, paddle.x, paddle.y, paddle.width, paddle.height);
+            } else {
+                gc.setFill(PaddleView.fallbackColor(paddle.skin));
+                gc.fillRoundRect(paddle.x, paddle.y, paddle.width, paddle.height, 10, 10);
+            }
+        }
+    }
+
+    /**
+     * Cập nhật đuôi của bóng còn sống; bóng vừa biến mất bắt đầu mờ dần
+     */
+    private void trackBalls(Layer balls, long now) {
+        for (int i = 0; i < balls.size(); i++) {
+            EntityState ball = balls.get(i);
+            BallTrack track = ballTracks.get(ball.id);
+            if (track == null) {
+                track = trackPool.acquire();
+                track.trail.clear();
+                track.spawnId = ball.spawnId;
+                ballTracks.put(ball.id, track);
+            } else if (track.spawnId != ball.spawnId) {
+                // Bóng đã về kho của engine rồi được lấy lại: đuôi cũ không thuộc bóng mới
+                track.trail.clear();
+                track.spawnId = ball.spawnId;
+            }
+            track.x = ball.x;
+            track.y = ball.y;
+            track.size = ball.width;
+            if (track.fill == null || !Objects.equals(ball.skin, track.skin)) {
+                track.fill = BallView.paintFor(ball.skin);
+            }
+            track.skin = ball.skin;
+            track.lastSeenFrame = frame;
+            track.fadeStart = 0;
+            if (ball.stuck) {
+                track.trail.clear();
+            } else {
+                track.trail.push(ball.x + ball.width / 2, ball.y + ball.width / 2);
+            }
+        }
+
+        Iterator<BallTrack> it = ballTracks.values().iterator();
+        while (it.hasNext()) {
+            BallTrack track = it.next();
+            if (track.lastSeenFrame == frame) continue;
+            if (track.fadeStart == 0) {
+                // XÓA ĐUÔI NGAY LẬP TỨC, bóng mờ dần
+                track.fadeStart = now;
+                track.trail.clear();
+            } else if (now - track.fadeStart >= BALL_FADE_NANOS) {
+                it.remove();
+                trackPool.release(track);
+            }
+        }
+    }
+
+    private void drawBalls(long now) {
+        // Đuôi của mọi bóng nằm dưới mọi bóng
+        for (BallTrack track : ballTracks.values()) {
+            TrailBuffer trail = track.trail;
+            if (trail.size() < 2) continue;
+            Paint fill = track.fill;
+            double radius = track.size / 2;
+            for (int i = 1; i < trail.size(); i++) {
+                double fadeFactor = 1.0 - ((double) i / BallView.MAX_TRAIL_LENGTH);
+                double trailRadius = radius * (0.5 + fadeFactor * 0.5);
+                gc.setGlobalAlpha(fadeFactor * 0.5);
+                gc.setFill(fill);
+                gc.fillOval(trail.x(i) - trailRadius, trail.y(i) - trailRadius,
+                        trailRadius * 2, trailRadius * 2);
+            }
+        }
+
+        for (BallTrack track : ballTracks.values()) {
+            double alpha = track.fadeStart == 0 ? 1.0
+                    : Math.max(0.0, 1.0 - (double) (now - track.fadeStart) / BALL_FADE_NANOS);
+            gc.setGlobalAlpha(alpha);
+            gc.setFill(track.fill);
+            gc.fillOval(track.x, track.y, track.size, track.size);
+        }
+        gc.setGlobalAlpha(1.0);
+    }
+
+    private void drawIndicators(Layer indicators) {
+        gc.setFill(Color.YELLOW);
+        gc.setStroke(Color.ORANGE);
+        gc.setLineWidth(2.0);
+        for (int i = 0; i < indicators.size(); i++) {
+            double[] p = indicators.get(i).points;
+            polygonX[0] = p[0];
+            polygonY[0] = p[1];
+            polygonX[1] = p[2];
+            polygonY[1] = p[3];
+            polygonX[2] = p[4];
+            polygonY[2] = p[5];
+            gc.fillPolygon(polygonX, polygonY, 3);
+            gc.strokePolygon(polygonX, polygonY, 3);
+        }
+    }
+
+    private Color color(String web) {
+        return colors.computeIfAbsent(web != null ? web : "#ffffff", Color::web);
+    }
+
+    @Override
+    public void setVisible(boolean visible) {
+        brickCanvas.setVisible(visible);
+        canvas.setVisible(visible);
+    }
+
+    @Override
+    public void clear() {
+        for (BallTrack track : ballTracks.values()) {
+            trackPool.release(track);
+        }
+        ballTracks.clear();
+        drawnBricks.clear();
+        brickEpoch = -1;
+        brickGc.clearRect(0, 0, brickCanvas.getWidth(), brickCanvas.getHeight());
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        root.getChildren().removeAll(brickCanvas, canvas);
+    }
+}
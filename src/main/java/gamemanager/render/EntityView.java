@@ -0,0 +1,23 @@
+package gamemanager.render;
+
+import gamemanager.render.WorldSnapshot.EntityState;
+import javafx.scene.Node;
+
+/**
+ * EntityView - Phần hiển thị của một thực thể trong game.
+ * Mỗi view giữ JavaFX Node riêng và đọc trạng thái từ snapshot mỗi frame (sync),
+ * không đọc trực tiếp entity (entity thuộc về thread mô phỏng).
+ */
+abstract class EntityView {
+    // Frame cuối cùng entity còn tồn tại - dùng để phát hiện entity đã bị xóa
+    long lastSeenFrame;
+    // spawnId của entity lúc tạo view (bóng / power-up lấy lại từ ObjectPool có spawnId mới)
+    int spawnId;
+
+    abstract Node getNode();
+
+    /**
+     * Đồng bộ Node với trạng thái của entity trong snapshot
+     */
+    abstract void sync(EntityState state);
+}
@@ -0,0 +1,32 @@
+package gamemanager.render;
+
+/**
+ * GameRenderer - Lớp hiển thị sân chơi, vẽ từ WorldSnapshot (chỉ gọi trên FX thread)
+ *
+ * - SceneGraphRenderer: mỗi entity 1 Node (Rectangle / Circle / ImageView)
+ * - CanvasRenderer: vẽ cả sân chơi lên 1 Canvas bằng GraphicsContext
+ *
+ * Chọn bằng GameConfig.RENDERER (VideoSettingsPanel), áp dụng khi bắt đầu ván mới.
+ */
+public interface GameRenderer {
+
+    /**
+     * Gắn playfield vào root (gọi khi bắt đầu game, trước khi tạo màn hình HUD)
+     */
+    void attach();
+
+    /**
+     * Vẽ một frame từ snapshot của mô phỏng
+     */
+    void render(WorldSnapshot snapshot);
+
+    /**
+     * Ẩn / hiện toàn bộ game objects
+     */
+    void setVisible(boolean visible);
+
+    /**
+     * Xóa mọi thứ đã vẽ và gỡ playfield khỏi root
+     */
+    void clear();
+}
@@ -0,0 +1,31 @@
+package gamemanager.render;
+
+import gamemanager.render.WorldSnapshot.EntityState;
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Polygon;
+
+/**
+ * IndicatorView - Vẽ mũi tên tam giác chỉ hướng bắn bóng
+ */
+class IndicatorView extends EntityView {
+    private final Polygon triangle = new Polygon();
+
+    IndicatorView(EntityState state) {
+        triangle.setFill(Color.YELLOW);
+        triangle.setStroke(Color.ORANGE);
+        triangle.setStrokeWidth(2.0);
+        sync(state);
+    }
+
+    @Override
+    Node getNode() {
+        return triangle;
+    }
+
+    @Override
+    void sync(EntityState state) {
+        double[] p = state.points;
+        triangle.getPoints().setAll(p[0], p[1], p[2], p[3], p[4], p[5]);
+    }
+}
@@ -0,0 +1,72 @@
+package gamemanager.render;
+
+import gameconfig.SkinRegistry;
+import gamemanager.render.WorldSnapshot.EntityState;
+import gamemanager.ui.ImageManager;
+import javafx.scene.Node;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+
+/**
+ * PaddleView - Vẽ paddle bằng ảnh của skin (SkinRegistry, ảnh dùng chung từ ImageManager),
+ * fallback sang hình chữ nhật màu nếu không load được
+ */
+class PaddleView extends EntityView {
+    private final StackPane node = new StackPane();
+    private final ImageView imageView = new ImageView();
+    private final Rectangle rectFallback = new Rectangle();
+    private String appliedSkin;
+
+    PaddleView(EntityState state) {
+        // Do not preserve ratio so image exactly fits paddle rectangle
+        imageView.setPreserveRatio(false);
+        rectFallback.setArcWidth(10);
+        rectFallback.setArcHeight(10);
+        node.setPickOnBounds(false);
+        sync(state);
+    }
+
+    @Override
+    Node getNode() {
+        return node;
+    }
+
+    @Override
+    void sync(EntityState state) {
+        String skinId = state.skin;
+        if (!skinId.equals(appliedSkin)) {
+            applySkin(skinId);
+        }
+
+        imageView.setFitWidth(state.width);
+        imageView.setFitHeight(state.height);
+        rectFallback.setWidth(state.width);
+        rectFallback.setHeight(state.height);
+        node.setLayoutX(state.x);
+        node.setLayoutY(state.y);
+    }
+
+    private void applySkin(String skinId) {
+        appliedSkin = skinId;
+        Image img = ImageManager.getImage(SkinRegistry.paddleResource(skinId));
+
+        if (img != null) {
+            imageView.setImage(img);
+            node.getChildren().setAll(imageView);
+            return;
+        }
+
+        // fallback: if image failed, color the rectangle based on skin id
+        rectFallback.setFill(fallbackColor(skinId));
+        node.getChildren().setAll(rectFallback);
+    }
+
+    static Color fallbackColor(String skinId) {
+        if ("skin1".equals(skinId)) return Color.DARKBLUE;
+        if ("skin2".equals(skinId)) return Color.DARKRED;
+        return Color.LIGHTSEAGREEN;
+    }
+}
@@ -0,0 +1,65 @@
+package gamemanager.render;
+
+import gameconfig.GameConfig.PowerUpType;
+import gamemanager.render.WorldSnapshot.EntityState;
+import gamemanager.ui.ImageManager;
+import javafx.scene.Node;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+/**
+ * PowerupView - Vẽ power-up bằng icon tương ứng với loại power-up
+ * Mỗi view gắn với 1 loại (ảnh không đổi); SceneGraphRenderer giữ 1 ObjectPool cho mỗi loại.
+ */
+class PowerupView extends EntityView {
+    private final PowerUpType type;
+    private final ImageView imageView;
+
+    PowerupView(PowerUpType type) {
+        this.type = type;
+        String imagePath = imagePath(type);
+
+        Image image = ImageManager.getImage(imagePath);
+        if (image == null) {
+            throw new RuntimeException("Failed to load powerup image: " + imagePath);
+        }
+        this.imageView = new ImageView(image);
+        this.imageView.setPreserveRatio(true); // Giữ tỉ lệ ảnh
+    }
+
+    /**
+     * Chuẩn bị view cho power-up mới rơi (view mới tạo hoặc lấy lại từ kho)
+     */
+    void reset(EntityState state) {
+        imageView.setFitWidth(state.width);
+        imageView.setFitHeight(state.height);
+        spawnId = state.spawnId;
+        sync(state);
+    }
+
+    PowerUpType getType() {
+        return type;
+    }
+
+    /**
+     * CHỌN ẢNH DựA VÀO LOẠI POWER-UP (dùng chung với CanvasRenderer)
+     */
+    static String imagePath(PowerUpType type) {
+        return switch (type) {
+            case MULTIPLY -> "/iamgepowerup/doubleup.png";   // Icon 2 bóng
+            case ONESHOT -> "/iamgepowerup/onehit.png";      // Icon búa/sấm sét
+            case EXPAND -> "/iamgepowerup/shield.png";       // Icon khiên/mở rộng
+        };
+    }
+
+    @Override
+    Node getNode() {
+        return imageView;
+    }
+
+    @Override
+    void sync(EntityState state) {
+        imageView.setLayoutX(state.x);
+        imageView.setLayoutY(state.y);
+    }
+}
@@ -0,0 +1,259 @@
+package gamemanager.render;
+
+import gameconfig.GameConfig.PowerUpType;
+import gamemanager.manager.ObjectPool;
+import gamemanager.render.WorldSnapshot.EntityState;
+import gamemanager.render.WorldSnapshot.Layer;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Function;
+
+import static gameconfig.GameConfig.*;
+
+/**
+ * SceneGraphRenderer - Lớp hiển thị tách khỏi mô phỏng.
+ *
+ * HOẠT ĐỘNG:
+ * - Mỗi frame đọc WorldSnapshot mới nhất do thread mô phỏng publish
+ * - Entity mới → tạo view + thêm Node vào layer tương ứng
+ * - Entity không còn → xóa Node (bóng chết mờ dần 300ms)
+ * - View của bóng / power-up lấy từ ObjectPool và trả về kho khi entity mất (bóng: sau khi mờ hẳn);
+ *   entity lấy lại từ kho của engine (cùng id, spawnId khác) được coi là entity mới
+ * - Entity còn tồn tại → sync() vị trí/skin
+ * - Lớp gạch chỉ được duyệt cả lớp khi sang epoch mới (level mới); sau đó chỉ gạch trong đoạn nhật ký mới
+ *   của snapshot được cập nhật. Group gạch được cache thành ảnh (setCache) nên pulse không vẽ lại từng gạch
+ *   khi lớp không đổi
+ *
+ * Chỉ chạy trên FX thread. GameEngine chạy headless khi không có renderer (root = null).
+ */
+public class SceneGraphRenderer implements GameRenderer {
+    private final Pane root;
+
+    // Các layer theo thứ tự vẽ: gạch < power-up < paddle < đuôi bóng < bóng < mũi tên
+    private final Group playfield = new Group();
+    private final Group brickLayer = new Group();
+    private final Group powerupLayer = new Group();
+    private final Group paddleLayer = new Group();
+    private final Group trailLayer = new Group();
+    private final Group ballLayer = new Group();
+    private final Group indicatorLayer = new Group();
+
+    // View theo entity (so sánh theo identity, không dùng equals)
+    private final Map<Object, EntityView> views = new IdentityHashMap<>();
+    private long frame = 0;
+
+    // View của gạch: map riêng, chỉ cập nhật khi lớp gạch đổi
+    private final Map<Object, EntityView> brickViews = new IdentityHashMap<>();
+    private long brickEpoch = -1;
+    private int brickLogPos = 0;       // Đã áp dụng nhật ký gạch của epoch tới đây
+
+    // Kho view tái sử dụng: bóng (Circle + 9 Circle đuôi + FadeTransition), power-up theo loại (ImageView)
+    private final ObjectPool<BallView> ballViewPool =
+            new ObjectPool<>(() -> new BallView(this::ballFaded), BALL_POOL_CAPACITY);
+    private final Map<PowerUpType, ObjectPool<PowerupView>> powerupViewPools = new EnumMap<>(PowerUpType.class);
+
+    public SceneGraphRenderer(Pane root) {
+        this.root = root;
+        playfield.getChildren().addAll(brickLayer, powerupLayer, paddleLayer,
+                trailLayer, ballLayer, indicatorLayer);
+        playfield.setMouseTransparent(true);
+        brickLayer.setCache(true);
+
+        ballViewPool.prewarm(BALL_POOL_PREWARM);
+        for (PowerUpType type : PowerUpType.values()) {
+            powerupViewPools.put(type, new ObjectPool<>(() -> new PowerupView(type), POWERUP_POOL_CAPACITY));
+        }
+    }
+
+    @Override
+    public void attach() {
+        if (playfield.getParent() == null) {
+            root.getChildren().add(playfield);
+        }
+        playfield.setVisible(true);
+    }
+
+    @Override
+    public void render(WorldSnapshot snapshot) {
+        frame++;
+
+        if (snapshot.getBrickEpoch() != brickEpoch) {
+            brickEpoch = snapshot.getBrickEpoch();
+            syncBricks(snapshot.bricks);
+            brickLogPos = snapshot.getBrickLogEnd();
+        } else if (snapshot.getBrickLogEnd() > brickLogPos) {
+            syncChangedBricks(snapshot, brickLogPos, snapshot.getBrickLogEnd());
+            brickLogPos = snapshot.getBrickLogEnd();
+        }
+        trackAll(snapshot.powerups, powerupLayer, this::obtainPowerupView);
+        trackAll(snapshot.paddles, paddleLayer, PaddleView::new);
+        trackAll(snapshot.balls, ballLayer, this::obtainBallView);
+        trackAll(snapshot.indicators, indicatorLayer, IndicatorView::new);
+
+        removeStaleViews();
+    }
+
+    /**
+     * Thêm / cập nhật / xóa view gạch theo lớp gạch mới của snapshot
+     */
+    private void syncBricks(Layer bricks) {
+        for (int i = 0; i < bricks.size(); i++) {
+            EntityState brick = bricks.get(i);
+            if (brick.hitCount == 0) continue;
+            EntityView view = brickViews.get(brick.id);
+            if (view == null) {
+                view = new BrickView(brick);
+                brickViews.put(brick.id, view);
+                brickLayer.getChildren().add(view.getNode());
+            } else {
+                view.sync(brick);
+            }
+            view.lastSeenFrame = frame;
+        }
+
+        Iterator<EntityView> it = brickViews.values().iterator();
+        while (it.hasNext()) {
+            EntityView view = it.next();
+            if (view.lastSeenFrame == frame) continue;
+            it.remove();
+            brickLayer.getChildren().remove(view.getNode());
+        }
+    }
+
+    /**
+     * Chỉ cập nhật gạch trong nhật ký [from, to) của snapshot: thêm view gạch mới, sync, xóa gạch đã phá
+     */
+    private void syncChangedBricks(WorldSnapshot snapshot, int from, int to) {
+        for (int i = from; i < to; i++) {
+            Object id = snapshot.changedBrickId(i);
+            EntityState brick = snapshot.brickState(id);
+            EntityView view = brickViews.get(id);
+            if (brick == null || brick.hitCount == 0) {
+                if (view != null) {
+                    brickViews.remove(id);
+                    brickLayer.getChildren().remove(view.getNode());
+                }
+            } else if (view == null) {
+                view = new BrickView(brick);
+                brickViews.put(id, view);
+                brickLayer.getChildren().add(view.getNode());
+            } else {
+                view.sync(brick);
+            }
+        }
+    }
+
+    private void trackAll(Layer states, Group layer, Function<EntityState, EntityView> factory) {
+        for (int i = 0; i < states.size(); i++) {
+            track(states.get(i), layer, factory);
+        }
+    }
+
+    private void track(EntityState state, Group layer, Function<EntityState, EntityView> factory) {
+        EntityView view = views.get(state.id);
+        if (view != null && view.spawnId != state.spawnId) {
+            // Entity đã về kho của engine rồi được lấy lại trước khi frame này thấy nó biến mất
+            retire(view);
+            view = null;
+        }
+        if (view == null) {
+            view = factory.apply(state);
+            views.put(state.id, view);
+            if (view instanceof BallView ballView) {
+                trailLayer.getChildren().add(ballView.getTrailGroup());
+            }
+            layer.getChildren().add(view.getNode());
+        } else {
+            view.sync(state);
+        }
+        view.lastSeenFrame = frame;
+    }
+
+    private EntityView obtainBallView(EntityState state) {
+        BallView view = ballViewPool.acquire();
+        view.reset(state);
+        return view;
+    }
+
+    private EntityView obtainPowerupView(EntityState state) {
+        PowerupView view = powerupViewPools.get(state.powerupType).acquire();
+        view.reset(state);
+        return view;
+    }
+
+    private void removeStaleViews() {
+        Iterator<EntityView> it = views.values().iterator();
+        while (it.hasNext()) {
+            EntityView view = it.next();
+            if (view.lastSeenFrame == frame) continue;
+            it.remove();
+            retire(view);
+        }
+    }
+
+    /**
+     * Gỡ view của entity đã mất; view bóng / power-up quay về kho
+     */
+    private void retire(EntityView view) {
+        if (view instanceof BallView ballView) {
+            // XÓA ĐUÔI NGAY LẬP TỨC, bóng mờ dần (về kho khi mờ hẳn)
+            ballView.clearTrail();
+            trailLayer.getChildren().remove(ballView.getTrailGroup());
+            ballView.fadeOut();
+            return;
+        }
+        Node node = view.getNode();
+        ((Group) node.getParent()).getChildren().remove(node);
+        if (view instanceof PowerupView powerupView) {
+            powerupViewPools.get(powerupView.getType()).release(powerupView);
+        }
+    }
+
+    private void ballFaded(BallView view) {
+        ballLayer.getChildren().remove(view.getNode());
+        ballViewPool.release(view);
+    }
+
+    /**
+     * In thống kê các kho view (lệnh debug F3)
+     */
+    public void dumpPools(PrintStream out) {
+        out.println("ball view pool: " + ballViewPool);
+        for (Map.Entry<PowerUpType, ObjectPool<PowerupView>> entry : powerupViewPools.entrySet()) {
+            out.println(entry.getKey() + " view pool: " + entry.getValue());
+        }
+    }
+
+    @Override
+    public void setVisible(boolean visible) {
+        playfield.setVisible(visible);
+    }
+
+    @Override
+    public void clear() {
+        for (EntityView view : views.values()) {
+            if (view instanceof BallView ballView) {
+                ballViewPool.release(ballView);
+            } else if (view instanceof PowerupView powerupView) {
+                powerupViewPools.get(powerupView.getType()).release(powerupView);
+            }
+        }
+        views.clear();
+        brickViews.clear();
+        brickEpoch = -1;
+        brickLayer.getChildren().clear();
+        powerupLayer.getChildren().clear();
+        paddleLayer.getChildren().clear();
+        trailLayer.getChildren().clear();
+        ballLayer.getChildren().clear();
+        indicatorLayer.getChildren().clear();
+        root.getChildren().remove(playfield);
+    }
+}
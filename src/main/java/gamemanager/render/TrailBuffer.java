@@ -0,0 +1,54 @@
+package gamemanager.render;
+
+/**
+ * TrailBuffer - Vòng đệm vị trí tâm bóng của các frame gần nhất (đuôi bóng)
+ *
+ * 2 mảng double cố định, push() ghi đè vị trí cũ nhất → không cấp phát khi bóng di chuyển.
+ * Chỉ số 0 là vị trí mới nhất. Dùng chung cho BallView và CanvasRenderer (FX thread).
+ */
+final class TrailBuffer {
+    private final double[] xs;
+    private final double[] ys;
+    private int head = 0;     // Ô của vị trí mới nhất
+    private int size = 0;
+
+    TrailBuffer(int capacity) {
+        this.xs = new double[capacity];
+        this.ys = new double[capacity];
+    }
+
+    void push(double x, double y) {
+        head = head + 1 == xs.length ? 0 : head + 1;
+        xs[head] = x;
+        ys[head] = y;
+        if (size < xs.length) size++;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return xs.length;
+    }
+
+    /**
+     * @param age 0 = mới nhất, size() - 1 = cũ nhất
+     */
+    double x(int age) {
+        return xs[slot(age)];
+    }
+
+    double y(int age) {
+        return ys[slot(age)];
+    }
+
+    private int slot(int age) {
+        int slot = head - age;
+        return slot < 0 ? slot + xs.length : slot;
+    }
+}
@@ -0,0 +1,216 @@
+package gamemanager.render;
+
+import gameconfig.GameConfig.PowerUpType;
+import gameobject.ball.Ball;
+import gameobject.brick.Brick;
+import gameobject.paddle.Indicator;
+import gameobject.paddle.Paddle;
+import gameobject.powerup.Powerup;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WorldSnapshot - Bản chụp trạng thái hiển thị của thế giới game tại một thời điểm
+ *
+ * HOẠT ĐỘNG:
+ * - Thread mô phỏng ghi vào snapshot (capture) rồi publish qua TripleBuffer
+ * - FX thread chỉ đọc snapshot đã publish → không đọc entity đang bị thread mô phỏng sửa
+ * - Các EntityState được tái sử dụng giữa các lần chụp (không cấp phát mỗi tick)
+ * - Lớp gạch giữ qua các lần chụp: chỉ dựng lại cả lớp khi sang epoch mới (level mới), còn lại chỉ cập nhật
+ *   gạch trong đoạn nhật ký mới của LevelManager (captureBricks). Renderer đọc cùng đoạn nhật ký
+ *   (getBrickLogEnd / changedBrick) → chi phí mỗi frame theo số gạch đổi, không theo số gạch
+ *
+ * EntityState.id là tham chiếu tới entity, chỉ dùng làm khóa identity cho view,
+ * renderer không đọc dữ liệu từ entity. Bóng / power-up được tái sử dụng qua ObjectPool nên khóa đầy đủ
+ * là (id, spawnId).
+ */
+public final class WorldSnapshot {
+
+    /**
+     * Trạng thái hiển thị của một entity
+     */
+    public static final class EntityState {
+        Object id;
+        int spawnId;                 // Ball / Powerup: lần lấy từ ObjectPool (cùng id, spawnId khác → entity mới)
+        double x, y, width, height;
+        String skin;                 // Ball: resource ảnh, Brick: ảnh skin, Paddle: skin id
+        String color;                // Brick: màu dự phòng
+        int hitCount;                // Brick: 0 = đã phá
+        boolean stuck;               // Ball: đang dính paddle
+        PowerUpType powerupType;     // Powerup
+        final double[] points = new double[6]; // Indicator: tam giác
+
+        public Object getId() { return id; }
+        public double getX() { return x; }
+        public double getY() { return y; }
+    }
+
+    /**
+     * Danh sách EntityState có thể tái sử dụng
+     */
+    static final class Layer {
+        private EntityState[] items = new EntityState[16];
+        private int count;
+
+        EntityState add(Object id) {
+            if (count == items.length) {
+                EntityState[] grown = new EntityState[items.length * 2];
+                System.arraycopy(items, 0, grown, 0, count);
+                items = grown;
+            }
+            EntityState state = items[count];
+            if (state == null) {
+                state = new EntityState();
+                items[count] = state;
+            }
+            count++;
+            state.id = id;
+            return state;
+        }
+
+        void clear() {
+            // Bỏ tham chiếu tới entity cũ để GC thu hồi được
+            for (int i = 0; i < count; i++) {
+                items[i].id = null;
+            }
+            count = 0;
+        }
+
+        int size() { return count; }
+
+        EntityState get(int index) { return items[index]; }
+    }
+
+    final Layer paddles = new Layer();
+    final Layer balls = new Layer();
+    final Layer bricks = new Layer();
+    final Layer powerups = new Layer();
+    final Layer indicators = new Layer();
+
+    private long generation;
+    private long tick;
+    private long brickEpoch = -1;     // Epoch của lớp gạch đang giữ (-1 = chưa chụp)
+    private Brick[] brickLog;         // Nhật ký gạch của epoch (của LevelManager, chỉ đọc)
+    private int brickLogEnd;          // Đã áp dụng nhật ký tới đây
+    private final Map<Object, EntityState> brickStates = new IdentityHashMap<>(); // Gạch → trạng thái trong bricks
+
+    /**
+     * Xóa snapshot để chụp lại
+     * @param generation Thế hệ của thế giới (tăng khi dọn dẹp ván) - renderer bỏ qua snapshot cũ
+     * @param tick       Số tick mô phỏng tại thời điểm chụp
+     */
+    public void begin(long generation, long tick) {
+        this.generation = generation;
+        this.tick = tick;
+        paddles.clear();
+        balls.clear();
+        powerups.clear();
+        indicators.clear();
+    }
+
+    public long getGeneration() { return generation; }
+    public long getTick() { return tick; }
+    public long getBrickEpoch() { return brickEpoch; }
+    public int getBrickLogEnd() { return brickLogEnd; }
+
+    /**
+     * Gạch (khóa identity) ở vị trí i của nhật ký, 0 <= i < getBrickLogEnd()
+     */
+    Object changedBrickId(int i) {
+        return brickLog[i];
+    }
+
+    /**
+     * Trạng thái của gạch trong snapshot này; null nếu gạch đã bị xóa trước lần chụp cả lớp
+     */
+    EntityState brickState(Object id) {
+        return brickStates.get(id);
+    }
+
+    /**
+     * Đưa lớp gạch về trạng thái hiện tại của level
+     * - Epoch khác bản đang giữ (level mới / lần chụp đầu) → chụp lại cả lớp
+     * - Cùng epoch → chỉ chụp gạch trong nhật ký [getBrickLogEnd(), logSize); gạch bị xóa giữ trạng thái
+     *   hitCount = 0 (renderer coi là đã phá) tới khi sang epoch mới
+     */
+    public void captureBricks(long epoch, List<Brick> levelBricks, Brick[] log, int logSize) {
+        if (epoch != brickEpoch) {
+            brickEpoch = epoch;
+            bricks.clear();
+            brickStates.clear();
+            for (int i = 0, n = levelBricks.size(); i < n; i++) {
+                addBrick(levelBricks.get(i));
+            }
+        } else {
+            for (int i = brickLogEnd; i < logSize; i++) {
+                Brick brick = log[i];
+                EntityState s = brickStates.get(brick);
+                if (s == null) {
+                    addBrick(brick);
+                } else {
+                    copyBrick(s, brick);
+                }
+            }
+        }
+        brickLog = log;
+        brickLogEnd = logSize;
+    }
+
+    public void addPaddle(Paddle paddle) {
+        if (paddle == null) return;
+        EntityState s = paddles.add(paddle);
+        s.x = paddle.getX();
+        s.y = paddle.getY();
+        s.width = paddle.getWidth();
+        s.height = paddle.getHeight();
+        s.skin = paddle.getSkinId();
+    }
+
+    public void addBall(Ball ball) {
+        EntityState s = balls.add(ball);
+        s.x = ball.getX();
+        s.y = ball.getY();
+        s.width = ball.getWidth();
+        s.height = ball.getHeight();
+        s.spawnId = ball.getSpawnId();
+        s.skin = ball.getCurrentSkinResource();
+        s.stuck = ball.isStuck();
+    }
+
+    private void addBrick(Brick brick) {
+        EntityState s = bricks.add(brick);
+        brickStates.put(brick, s);
+        copyBrick(s, brick);
+    }
+
+    private static void copyBrick(EntityState s, Brick brick) {
+        s.x = brick.getX();
+        s.y = brick.getY();
+        s.width = brick.getWidth();
+        s.height = brick.getHeight();
+        s.skin = brick.getSkin();
+        s.color = brick.getColor();
+        s.hitCount = brick.getHitCount();
+    }
+
+    public void addPowerup(Powerup powerup) {
+        EntityState s = powerups.add(powerup);
+        s.spawnId = powerup.getSpawnId();
+        s.x = powerup.getX();
+        s.y = powerup.getY();
+        s.width = powerup.getWidth();
+        s.height = powerup.getHeight();
+        s.powerupType = powerup.getType();
+    }
+
+    public void addIndicator(Indicator indicator) {
+        if (indicator == null) return;
+        EntityState s = indicators.add(indicator);
+        System.arraycopy(indicator.getPoints(), 0, s.points, 0, 6);
+    }
+
+    public int getBallCount() { return balls.size(); }
+    public int getBrickCount() { return bricks.size(); }
+}
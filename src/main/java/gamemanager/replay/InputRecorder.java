@@ -0,0 +1,79 @@
+package gamemanager.replay;
+
+import gameconfig.GameConfig.GameMode;
+import gamemanager.core.EngineContext;
+
+import java.util.Arrays;
+
+/**
+ * InputRecorder - Ghi input mỗi tick vào buffer byte (delta encoding + varint)
+ *
+ * TỐI ƯU:
+ * - Không cấp phát mỗi tick: buffer chỉ tăng gấp đôi khi đầy
+ * - Tick có input giống tick trước → không ghi gì
+ */
+public class InputRecorder {
+    private final long seed;
+    private final GameMode mode;
+    private final int level;
+    private final EngineContext context;
+    private final double gameWidth;
+    private final double gameHeight;
+
+    private byte[] buffer = new byte[256];
+    private int size = 0;
+
+    private int tick = 0;
+    private int lastChangeTick = 0;
+    private int lastInput = 0;
+
+    public InputRecorder(long seed, GameMode mode, int level, EngineContext context,
+                         double gameWidth, double gameHeight) {
+        this.seed = seed;
+        this.mode = mode;
+        this.level = level;
+        this.context = context;
+        this.gameWidth = gameWidth;
+        this.gameHeight = gameHeight;
+    }
+
+    /**
+     * Ghi input của tick hiện tại (gọi đúng 1 lần mỗi tick mô phỏng)
+     */
+    public void record(int input) {
+        if (input != lastInput) {
+            writeVarint(tick - lastChangeTick);
+            writeVarint(input + 1);
+            lastChangeTick = tick;
+            lastInput = input;
+        }
+        tick++;
+    }
+
+    public int getTickCount() {
+        return tick;
+    }
+
+    /**
+     * Tạo Replay từ những gì đã ghi (có thể gọi giữa ván, recorder vẫn ghi tiếp)
+     */
+    public Replay toReplay() {
+        int savedSize = size;
+        writeVarint(tick - lastChangeTick);
+        writeVarint(0); // Kết thúc
+        byte[] data = Arrays.copyOf(buffer, size);
+        size = savedSize;
+        return new Replay(seed, mode, level, context, gameWidth, gameHeight, tick, data);
+    }
+
+    private void writeVarint(int value) {
+        if (size + 5 > buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        while ((value & ~0x7F) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+}
@@ -0,0 +1,226 @@
+package gamemanager.replay;
+
+import gameconfig.GameConfig.GameMode;
+import gameconfig.GameConfig.PhysicsMode;
+import gamemanager.core.EngineContext;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Replay - Bản ghi input của một ván game
+ *
+ * ĐỊNH DẠNG FILE (.arkr):
+ * - Header: "ARKR", version, seed, mode, level, EngineContext (tick rate, hệ số paddle, bất tử, profiler,
+ *   va chạm bóng, số luồng, chế độ vật lý), kích thước màn chơi, tổng số tick
+ * - Body: chuỗi record [varint số tick từ lần đổi trước][varint input + 1]
+ *   Chỉ ghi khi input thay đổi (delta encoding), record cuối có input = 0 (kết thúc)
+ *
+ * MỖI INPUT LÀ 1 INT (xem các hằng số bên dưới):
+ * - bit 0-3: đang giữ phím trái/phải của người chơi 1 và 2
+ * - bit 4-11 / 12-19: số lần xoay mũi tên trái / phải trong tick
+ * - bit 20-22: sự kiện 1 lần (bắn bóng, bóng debug, xóa gạch)
+ * Sự kiện được phát lại theo thứ tự bit tăng dần (xoay trái → xoay phải → bắn → debug → xóa)
+ *
+ * Kích thước màn chơi quyết định tốc độ bóng, kích thước paddle / bóng (GameConfig.updateUIScale),
+ * nên được ghi cùng EngineContext để phát lại không lệch trên máy có độ phân giải khác.
+ */
+public class Replay {
+    public static final int MOVE_LEFT = 1;
+    public static final int MOVE_RIGHT = 1 << 1;
+    public static final int MOVE_LEFT_2 = 1 << 2;
+    public static final int MOVE_RIGHT_2 = 1 << 3;
+    public static final int ROTATE_LEFT_SHIFT = 4;
+    public static final int ROTATE_RIGHT_SHIFT = 12;
+    public static final int ROTATE_MAX = 0xFF;
+    public static final int LAUNCH = 1 << 20;
+    public static final int DEBUG_BALL = 1 << 21;
+    public static final int CLEAR_BRICKS = 1 << 22;
+
+    private static final int MAGIC = 0x41524B52; // "ARKR"
+    private static final int VERSION = 2;
+    static final int MAX_VARINT_BYTES = 5;        // Varint của int 32 bit
+
+    private final long seed;
+    private final GameMode mode;
+    private final int level;
+    private final EngineContext context;
+    private final double gameWidth;
+    private final double gameHeight;
+    private final int tickCount;
+    private final byte[] data;
+
+    public Replay(long seed, GameMode mode, int level, EngineContext context, double gameWidth, double gameHeight,
+                  int tickCount, byte[] data) {
+        this.seed = seed;
+        this.mode = mode;
+        this.level = level;
+        this.context = context;
+        this.gameWidth = gameWidth;
+        this.gameHeight = gameHeight;
+        this.tickCount = tickCount;
+        this.data = data;
+    }
+
+    public long getSeed() { return seed; }
+    public GameMode getMode() { return mode; }
+    public int getLevel() { return level; }
+    public EngineContext getContext() { return context; }
+    public int getTickRate() { return context.getTickRate(); }
+    public double getGameWidth() { return gameWidth; }
+    public double getGameHeight() { return gameHeight; }
+    public int getTickCount() { return tickCount; }
+
+    /**
+     * Dữ liệu input đã mã hóa (không copy - không được sửa)
+     */
+    byte[] getData() { return data; }
+
+    /**
+     * Kích thước phần input đã mã hóa (byte)
+     */
+    public int getDataSize() { return data.length; }
+
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream dos = new DataOutputStream(out);
+        dos.writeInt(MAGIC);
+        dos.writeByte(VERSION);
+        dos.writeLong(seed);
+        dos.writeByte(mode.ordinal());
+        dos.writeInt(level);
+        dos.writeInt(context.getTickRate());
+        dos.writeDouble(context.getPaddleLengthMultiplier());
+        dos.writeBoolean(context.isInvincible());
+        dos.writeBoolean(context.isProfiling());
+        dos.writeBoolean(context.isBallCollisions());
+        dos.writeInt(context.getPhysicsWorkers());
+        dos.writeByte(context.getPhysicsMode().ordinal());
+        dos.writeDouble(gameWidth);
+        dos.writeDouble(gameHeight);
+        dos.writeInt(tickCount);
+        dos.writeInt(data.length);
+        dos.write(data);
+        dos.flush();
+    }
+
+    /**
+     * Đọc replay từ stream (file có thể hỏng hoặc bị sửa tay → kiểm tra mọi trường trước khi dùng)
+     *
+     * @throws IOException Sai định dạng, giá trị ngoài phạm vi hoặc phần input không có record kết thúc
+     */
+    public static Replay read(InputStream in) throws IOException {
+        DataInputStream dis = new DataInputStream(in);
+        if (dis.readInt() != MAGIC) {
+            throw new IOException("Not a replay file");
+        }
+        int version = dis.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported replay version: " + version);
+        }
+        long seed = dis.readLong();
+        GameMode mode = readEnum(dis, GameMode.values(), "game mode");
+        int level = dis.readInt();
+        int tickRate = dis.readInt();
+        double paddleLengthMultiplier = dis.readDouble();
+        boolean invincible = dis.readBoolean();
+        boolean profiling = dis.readBoolean();
+        boolean ballCollisions = dis.readBoolean();
+        int physicsWorkers = dis.readInt();
+        PhysicsMode physicsMode = readEnum(dis, PhysicsMode.values(), "physics mode");
+        double gameWidth = dis.readDouble();
+        double gameHeight = dis.readDouble();
+        int tickCount = dis.readInt();
+        int length = dis.readInt();
+
+        if (!isPositive(paddleLengthMultiplier) || !isPositive(gameWidth) || !isPositive(gameHeight)) {
+            throw new IOException("Invalid replay settings");
+        }
+        if (tickCount < 0) {
+            throw new IOException("Invalid tick count: " + tickCount);
+        }
+        // Mỗi tick đổi input nhiều nhất 1 record (+ record kết thúc), mỗi record tối đa 2 varint 5 byte
+        if (length <= 0 || length > (tickCount + 1L) * 2 * MAX_VARINT_BYTES) {
+            throw new IOException("Invalid input data length: " + length);
+        }
+        byte[] data = new byte[length];
+        dis.readFully(data);
+        checkRecords(data);
+
+        EngineContext context;
+        try {
+            context = new EngineContext(tickRate, paddleLengthMultiplier, invincible, profiling,
+                    ballCollisions, physicsWorkers, physicsMode);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid replay settings: " + e.getMessage(), e);
+        }
+        return new Replay(seed, mode, level, context, gameWidth, gameHeight, tickCount, data);
+    }
+
+    private static <E extends Enum<E>> E readEnum(DataInputStream dis, E[] values, String name) throws IOException {
+        int ordinal = dis.readUnsignedByte();
+        if (ordinal >= values.length) {
+            throw new IOException("Invalid " + name + ": " + ordinal);
+        }
+        return values[ordinal];
+    }
+
+    private static boolean isPositive(double value) {
+        return value > 0 && Double.isFinite(value);
+    }
+
+    /**
+     * Duyệt các record: mọi varint phải nằm trọn trong data và có record kết thúc (input = 0)
+     */
+    private static void checkRecords(byte[] data) throws IOException {
+        int pos = 0;
+        while (true) {
+            pos = skipVarint(data, pos);             // Số tick từ lần đổi trước
+            int start = pos;
+            pos = skipVarint(data, pos);             // Input + 1
+            if (pos == start + 1 && data[start] == 0) {
+                return;
+            }
+        }
+    }
+
+    private static int skipVarint(byte[] data, int pos) throws IOException {
+        for (int i = 0; i < MAX_VARINT_BYTES; i++) {
+            if (pos >= data.length) {
+                throw new IOException("Replay input data has no end record");
+            }
+            if ((data[pos++] & 0x80) == 0) {
+                return pos;
+            }
+        }
+        throw new IOException("Malformed varint in replay input data");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof Replay other)) return false;
+        return seed == other.seed && mode == other.mode && level == other.level
+                && sameContext(context, other.context)
+                && gameWidth == other.gameWidth && gameHeight == other.gameHeight
+                && tickCount == other.tickCount
+                && Arrays.equals(data, other.data);
+    }
+
+    private static boolean sameContext(EngineContext a, EngineContext b) {
+        return a.getTickRate() == b.getTickRate()
+                && a.getPaddleLengthMultiplier() == b.getPaddleLengthMultiplier()
+                && a.isInvincible() == b.isInvincible()
+                && a.isProfiling() == b.isProfiling()
+                && a.isBallCollisions() == b.isBallCollisions()
+                && a.getPhysicsWorkers() == b.getPhysicsWorkers()
+                && a.getPhysicsMode() == b.getPhysicsMode();
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(seed) * 31 + Arrays.hashCode(data);
+    }
+}
@@ -0,0 +1,107 @@
+package gamemanager.replay;
+
+import gameconfig.GameConfig.GameState;
+import gamemanager.core.GameEngine;
+
+/**
+ * ReplayPlayer - Đọc lại input đã ghi và cung cấp cho GameEngine từng tick
+ *
+ * CÁCH DÙNG:
+ * - new ReplayPlayer(replay).runToEnd(new GameEngine())  → chạy headless, nhanh hết mức
+ * - engine.startReplay(player) trên engine có UI → phát lại theo thời gian thực
+ */
+public class ReplayPlayer {
+    private final Replay replay;
+    private final byte[] data;
+    private int pos = 0;
+
+    private int tick = 0;
+    private int currentInput = 0;
+    private int nextChangeTick;
+    private int nextInput;
+    private boolean ended = false;
+
+    public ReplayPlayer(Replay replay) {
+        this.replay = replay;
+        this.data = replay.getData();
+        this.nextChangeTick = 0;
+        readNextRecord();
+    }
+
+    public Replay getReplay() {
+        return replay;
+    }
+
+    /**
+     * Input của tick tiếp theo. Sau khi hết replay trả về 0 (không giữ phím nào).
+     */
+    public int next() {
+        if (!ended && tick == nextChangeTick) {
+            currentInput = nextInput;
+            readNextRecord();
+        }
+        if (isFinished()) {
+            return 0;
+        }
+        tick++;
+        return currentInput;
+    }
+
+    public boolean isFinished() {
+        return tick >= replay.getTickCount();
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * Chạy replay trên engine tới hết (hoặc tới khi game kết thúc).
+     * Không có vòng lặp thời gian thực → chạy nhanh hơn thời gian thực rất nhiều.
+     *
+     * @return Số tick đã chạy
+     */
+    public int runToEnd(GameEngine engine) {
+        engine.startReplay(this);
+        while (!isFinished()) {
+            GameState state = engine.getGameState();
+            if (state != GameState.PLAYING && state != GameState.START) {
+                break;
+            }
+            engine.tick();
+        }
+        return tick;
+    }
+
+    private void readNextRecord() {
+        int delta = readVarint();
+        int encoded = readVarint();
+        if (encoded == 0) {
+            ended = true;
+            return;
+        }
+        nextChangeTick += delta;
+        nextInput = encoded - 1;
+    }
+
+    /**
+     * Đọc 1 varint. Hết data (bản ghi thiếu record kết thúc) → trả về 0, readNextRecord coi là kết thúc
+     * thay vì đọc quá mảng. Replay.read đã từ chối file như vậy; đây là chốt chặn cho Replay tạo bằng tay.
+     */
+    private int readVarint() {
+        int value = 0;
+        int shift = 0;
+        for (int i = 0; i < Replay.MAX_VARINT_BYTES; i++) {
+            if (pos >= data.length) {
+                return 0;
+            }
+            byte b = data[pos++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,71 @@
+package gamemanager.ui;
+
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * AssetCache - Cache tài nguyên theo đường dẫn, nạp mỗi tài nguyên 1 lần và dùng chung
+ *
+ * HOẠT ĐỘNG:
+ * - get(): có trong cache → hit; chưa có (hoặc đã bị GC thu hồi) → miss, gọi loader rồi giữ lại
+ * - Giá trị giữ bằng SoftReference: không ai dùng thì GC chỉ thu hồi khi thiếu bộ nhớ (evicted), lần sau nạp lại
+ * - Tài nguyên không đọc được (loader trả null) được nhớ → không thử đọc file lại mỗi lần
+ *
+ * Thread-safe (synchronized): FX thread và màn hình shop cùng đọc.
+ */
+final class AssetCache<V> {
+    private final Function<String, V> loader;
+    private final Map<String, SoftReference<V>> entries = new HashMap<>();
+    private final Set<String> missing = new HashSet<>();
+
+    // Thống kê
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    /**
+     * @param loader Nạp tài nguyên theo đường dẫn, null nếu không đọc được
+     */
+    AssetCache(Function<String, V> loader) {
+        this.loader = loader;
+    }
+
+    synchronized V get(String path) {
+        SoftReference<V> ref = entries.get(path);
+        if (ref != null) {
+            V value = ref.get();
+            if (value != null) {
+                hits++;
+                return value;
+            }
+            evictions++;
+        } else if (missing.contains(path)) {
+            hits++;
+            return null;
+        }
+
+        misses++;
+        V value = loader.apply(path);
+        if (value != null) {
+            entries.put(path, new SoftReference<>(value));
+        } else {
+            entries.remove(path);
+            missing.add(path);
+        }
+        return value;
+    }
+
+    synchronized long getHits() { return hits; }
+    synchronized long getMisses() { return misses; }
+    synchronized long getEvictions() { return evictions; }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("hits=%d misses=%d evicted=%d entries=%d missing=%d",
+                hits, misses, evictions, entries.size(), missing.size());
+    }
+}
@@ -6,59 +6,85 @@ import javafx.scene.shape.Shape;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.shape.Circle;
 
+import java.io.InputStream;
+
 /**
- * Class đơn giản để áp dụng hình ảnh vào game objects
+ * ImageManager - Cache ảnh dùng chung cho cả game
+ *
+ * Mỗi file ảnh chỉ được giải mã 1 lần: mọi gạch, bóng, paddle, power-up, renderer Canvas và màn hình shop
+ * dùng chung cùng Image / ImagePattern (Paint bất biến, gắn được vào nhiều Shape).
+ * Cache giữ bằng SoftReference (xem AssetCache); thống kê hit / miss in bằng stats().
  */
 public class ImageManager {
+    private static final AssetCache<Image> IMAGES = new AssetCache<>(ImageManager::decode);
+
+    // ImagePattern co theo khung của Shape (proportional) - dùng cho cả hình chữ nhật và hình tròn
+    private static final AssetCache<ImagePattern> PATTERNS = new AssetCache<>(path -> {
+        Image image = IMAGES.get(path);
+        return image != null ? new ImagePattern(image) : null;
+    });
+
+    /**
+     * Ảnh theo đường dẫn resource (dùng chung), null nếu không đọc được
+     */
+    public static Image getImage(String imagePath) {
+        return imagePath != null ? IMAGES.get(imagePath) : null;
+    }
+
+    /**
+     * ImagePattern phủ kín Shape theo ảnh (dùng chung), null nếu không đọc được ảnh
+     */
+    public static ImagePattern getPattern(String imagePath) {
+        return imagePath != null ? PATTERNS.get(imagePath) : null;
+    }
 
     /**
      * Áp dụng hình ảnh từ file path vào Rectangle (cho Paddle và Brick)
      */
     public static void applyImage(Rectangle shape, String imagePath) {
-        try {
-            Image image = new Image(ImageManager.class.getResourceAsStream(imagePath));
-            if (!image.isError()) {
-                shape.setFill(new ImagePattern(image));
-            } else {
-                System.err.println("Lỗi load hình: " + imagePath);
-            }
-        } catch (Exception e) {
-            System.err.println("Không thể load hình: " + imagePath);
-            e.printStackTrace();
-        }
+        applyImage((Shape) shape, imagePath);
     }
 
     /**
      * Áp dụng hình ảnh từ file path vào Circle (cho Ball)
      */
     public static void applyImage(Circle shape, String imagePath) {
-        try {
-            Image image = new Image(ImageManager.class.getResourceAsStream(imagePath));
-            if (!image.isError()) {
-                shape.setFill(new ImagePattern(image));
-            } else {
-                System.err.println("Lỗi load hình: " + imagePath);
-            }
-        } catch (Exception e) {
-            System.err.println("Không thể load hình: " + imagePath);
-            e.printStackTrace();
-        }
+        applyImage((Shape) shape, imagePath);
     }
 
     /**
-     * Áp dụng hình ảnh vào bất kỳ Shape nào
+     * Áp dụng hình ảnh vào bất kỳ Shape nào (giữ nguyên fill cũ nếu ảnh không đọc được)
      */
     public static void applyImage(Shape shape, String imagePath) {
-        try {
-            Image image = new Image(ImageManager.class.getResourceAsStream(imagePath));
-            if (!image.isError()) {
-                shape.setFill(new ImagePattern(image));
-            } else {
+        ImagePattern pattern = getPattern(imagePath);
+        if (pattern != null) {
+            shape.setFill(pattern);
+        }
+    }
+
+    /**
+     * Thống kê cache (lệnh debug F3)
+     */
+    public static String stats() {
+        return "images: " + IMAGES + " | patterns: " + PATTERNS;
+    }
+
+    private static Image decode(String imagePath) {
+        try (InputStream is = ImageManager.class.getResourceAsStream(imagePath)) {
+            if (is == null) {
+                System.err.println("Không thể load hình: " + imagePath);
+                return null;
+            }
+            Image image = new Image(is);
+            if (image.isError() || image.getWidth() <= 0 || image.getHeight() <= 0) {
                 System.err.println("Lỗi load hình: " + imagePath);
+                return null;
             }
+            return image;
         } catch (Exception e) {
             System.err.println("Không thể load hình: " + imagePath);
             e.printStackTrace();
+            return null;
         }
     }
 }
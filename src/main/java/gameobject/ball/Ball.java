@@ -3,249 +3,394 @@ package gameobject.ball;
 import gameconfig.GameConfig.WallSideType;
 import gamemanager.manager.GameObject;
 import gameobject.paddle.Paddle;
-import javafx.scene.Group;
-import javafx.scene.image.Image;
-import javafx.scene.paint.Color;
-import javafx.scene.paint.ImagePattern;
-import javafx.scene.shape.Circle;
-
-import java.io.InputStream;
-import java.util.LinkedList;
+
 import java.util.Random;
 
 import static gameconfig.GameConfig.BALL_DEFAULT_SKIN;
 import static gameconfig.GameConfig.BALL_ONESHOT_SKIN;
 
 /**
- * OPTIMIZED Ball class with reduced trail effect for better performance
+ * Ball - trạng thái thuần dữ liệu của bóng (vị trí, vận tốc, skin đang dùng).
+ * Hình tròn và đuôi (trail) được vẽ bởi gamemanager.render.BallView.
  */
 public class Ball extends GameObject {
-    private final Circle node;
     private double vx, vy;
     public double speed;
-    private final double radius;
+    private double radius;
     private boolean stuck = true;
 
+    // ========== CCD: đoạn đường đi trong bước hiện tại ==========
+    private double prevX, prevY;        // Góc trên trái ở đầu đoạn (đầu bước, hoặc điểm chạm gần nhất)
+    private double stepScale = 0;       // tpf * 60 còn lại của đoạn prev → vị trí hiện tại
+    private boolean stepPending = false; // Đã lùi về điểm chạm, chưa đi nốt phần còn lại
+    private boolean carryStep = false;   // Phần đi nốt chưa được quét → nối vào đoạn của bước sau
+
+    // ========== SoA: bóng đang nằm trong BallStore ==========
+    // Khi store != null, vị trí / vận tốc / trạng thái bước ở trong mảng của store (chỉ số slot);
+    // các field ở trên chỉ giữ giá trị khi bóng đứng riêng (xem BallStore.sync)
+    BallStore store;
+    int slot;
+
     // Skin/resource tracking
     private String currentSkinResource = BALL_DEFAULT_SKIN;
     private String previousSkinResource = null;
 
-    // Trail effect - OPTIMIZED
-    private final LinkedList<TrailPosition> trailPositions = new LinkedList<>();
-    private final Group trailGroup = new Group();
-    private static final int MAX_TRAIL_LENGTH = 20; // Giảm xuống 10 để hiệu suất tốt hơn
-    private boolean trailEnabled = true;
-    private int frameSkipCounter = 0;
-    private static final int TRAIL_FRAME_SKIP = 1; // Cập nhật mỗi frame
-    private javafx.animation.Timeline trailTimeline;
-
-    // Trail position class
-    private static class TrailPosition {
-        double x, y;
-        TrailPosition(double x, double y) {
-            this.x = x;
-            this.y = y;
-        }
-    }
+    // Tăng mỗi lần bóng được lấy lại từ ObjectPool: renderer phân biệt bóng mới với bóng cũ cùng đối tượng
+    private int spawnId = 0;
 
     public Ball(double x, double y, double radius, double speed) {
         super(x - radius, y - radius, radius * 2, radius * 2);
         this.radius = radius;
         this.speed = speed;
-        this.node = new Circle(radius);
-        applyDefaultSkin();
         reset(x, y);
     }
 
-    public javafx.scene.Node getNode() {
-        return node;
+    /**
+     * Đặt lại toàn bộ trạng thái như vừa tạo bằng constructor (bóng lấy từ ObjectPool)
+     * Bóng còn gắn với BallStore được tách ra trước; sync() lần sau sẽ gắn lại theo danh sách bóng.
+     */
+    public void respawn(double x, double y, double radius, double speed) {
+        detach();
+        this.radius = radius;
+        this.width = radius * 2;
+        this.height = radius * 2;
+        this.speed = speed;
+        this.currentSkinResource = BALL_DEFAULT_SKIN;
+        this.previousSkinResource = null;
+        this.spawnId++;
+        reset(x, y);
     }
 
-    public Group getTrailGroup() {
-        return trailGroup;
+    public int getSpawnId() {
+        return spawnId;
     }
 
-    public void stopTrail() {
-        if (trailTimeline != null) trailTimeline.stop();
+    public double getRadius() {
+        return radius;
     }
 
-    // ============ THÊM CÁC METHOD MỚI ============
+    @Override
+    public double getX() {
+        return store != null ? store.x[slot] : x;
+    }
 
-    /**
-     * Clear all trail positions and nodes
-     * CRITICAL for preventing memory leaks
-     */
-    public void clearTrail() {
-        if (trailGroup != null) {
-            trailGroup.getChildren().clear();
-        }
-        trailPositions.clear();
-        frameSkipCounter = 0;
+    @Override
+    public double getY() {
+        return store != null ? store.y[slot] : y;
     }
 
-    /**
-     * Dispose ball properly - cleanup all resources
-     */
-    public void dispose() {
-        clearTrail();
-        if (trailGroup != null && trailGroup.getParent() != null) {
-            ((javafx.scene.layout.Pane) trailGroup.getParent()).getChildren().remove(trailGroup);
-        }
-        if (node.getParent() != null) {
-            ((javafx.scene.layout.Pane) node.getParent()).getChildren().remove(node);
-        }
+    @Override
+    public void setX(double x) {
+        if (store != null) store.x[slot] = x;
+        else this.x = x;
     }
 
-    // ============ SỬA METHOD EXISTING ============
+    @Override
+    public void setY(double y) {
+        if (store != null) store.y[slot] = y;
+        else this.y = y;
+    }
 
-    public void setTrailEnabled(boolean enabled) {
-        this.trailEnabled = enabled;
-        if (!enabled) {
-            clearTrail(); // Sử dụng clearTrail() thay vì inline code
-        }
+    @Override
+    public double getRightX() {
+        return getX() + width;
     }
 
-    public void setX(double x) {
-        this.x = x;
+    @Override
+    public double getBottomY() {
+        return getY() + height;
     }
 
-    public void setY(double y) {
-        this.y = y;
+    public double getCenterX() {
+        return getX() + radius;
     }
 
-    public double getRadius() {
-        return radius;
+    public double getCenterY() {
+        return getY() + radius;
     }
 
     public double getVx() {
-        return vx;
+        return store != null ? store.vx[slot] : vx;
     }
 
     public double getVy() {
-        return vy;
+        return store != null ? store.vy[slot] : vy;
     }
 
     public void setVx(double vx) {
-        this.vx = vx;
+        if (store != null) store.vx[slot] = vx;
+        else this.vx = vx;
     }
 
     public void setVy(double vy) {
-        this.vy = vy;
+        if (store != null) store.vy[slot] = vy;
+        else this.vy = vy;
+    }
+
+    public boolean isStuck() {
+        return store != null ? store.stuck[slot] : stuck;
     }
 
     public void setStuck(boolean stuck) {
-        this.stuck = stuck;
+        if (store != null) store.stuck[slot] = stuck;
+        else this.stuck = stuck;
     }
 
-    public Circle getShape() {
-        return node;
+    /**
+     * Bóng nằm trong BallStore chế độ FIXED: va chạm tính bằng Q32.32 (FixedPoint)
+     */
+    public boolean isFixedPoint() {
+        return store != null && store.fixedPoint;
     }
 
-    public void launch() {
-        vx = (new Random().nextBoolean() ? 1 : -1) * speed * 0.7;
-        vy = -speed;
-        stuck = false;
+    /**
+     * Bắn bóng lên trên, lệch trái/phải ngẫu nhiên
+     * @param random Stream BALL của RandomManager (giữ mô phỏng xác định)
+     */
+    public void launch(Random random) {
+        setVx((random.nextBoolean() ? 1 : -1) * speed * 0.7);
+        setVy(-speed);
+        setStuck(false);
     }
 
     public void launch(double directionX, double directionY) {
+        if (isFixedPoint()) {
+            launchFixed(FixedPoint.of(directionX), FixedPoint.of(directionY));
+            return;
+        }
         double magnitude = Math.sqrt(directionX * directionX + directionY * directionY);
         if (magnitude > 0) {
             directionX /= magnitude;
             directionY /= magnitude;
         }
 
-        vx = directionX * speed;
-        vy = directionY * speed;
-        stuck = false;
+        setVx(directionX * speed);
+        setVy(directionY * speed);
+        setStuck(false);
+    }
+
+    private void launchFixed(long directionX, long directionY) {
+        long magnitude = FixedPoint.sqrt(FixedPoint.mul(directionX, directionX) + FixedPoint.mul(directionY, directionY));
+        if (magnitude > 0) {
+            directionX = FixedPoint.div(directionX, magnitude);
+            directionY = FixedPoint.div(directionY, magnitude);
+        }
+        long fixedSpeed = FixedPoint.of(speed);
+        setVx(FixedPoint.toDouble(FixedPoint.mul(directionX, fixedSpeed)));
+        setVy(FixedPoint.toDouble(FixedPoint.mul(directionY, fixedSpeed)));
+        setStuck(false);
     }
 
     public void reset(double x, double y) {
         setX(x - radius);
         setY(y - radius);
-        stuck = true;
-        vx = 0;
-        vy = 0;
-        node.setCenterX(this.x + radius);
-        node.setCenterY(this.y + radius);
+        setStuck(true);
+        setVx(0);
+        setVy(0);
+        setPrev(getX(), getY());
+        setStepScale(0);
+        setStepPending(false);
+        setCarryStep(false);
     }
 
+    /**
+     * Di chuyển 1 bước. Khi có nhiều bóng, engine dùng BallStore.integrate() (cùng phép tính, theo lô)
+     */
     public void update(double tpf, Paddle paddle, boolean isTopPaddle) {
-        if (stuck) {
+        setStepPending(false);
+        double step = tpf * 60;
+        if (isStuck()) {
             setX(paddle.getX() + paddle.getWidth() / 2 - radius);
             setY(isTopPaddle ? paddle.getY() + paddle.getHeight() : paddle.getY() - height);
-            // Clear trail when stuck
-            clearTrail(); // Sử dụng method mới
-            frameSkipCounter = 0;
+            setPrev(getX(), getY());
+            setStepScale(0);
         } else {
-            setX(x + vx * tpf * 60);
-            setY(y + vy * tpf * 60);
-
-            // OPTIMIZATION: Update trail with frame skipping
-            if (trailEnabled) {
-                frameSkipCounter++;
-                if (frameSkipCounter >= TRAIL_FRAME_SKIP) {
-                    updateTrail();
-                    frameSkipCounter = 0;
-                }
+            double x = getX();
+            double y = getY();
+            // Sau completeStep() vận tốc không đổi → đoạn đi nốt và bước này thẳng hàng, quét chung 1 đoạn
+            if (isCarryStep()) {
+                setStepScale(getStepScale() + step);
+            } else {
+                setPrev(x, y);
+                setStepScale(step);
             }
+            setX(x + getVx() * step);
+            setY(y + getVy() * step);
         }
-        node.setCenterX(x + radius);
-        node.setCenterY(y + radius);
+        setCarryStep(false);
     }
 
-    private void updateTrail() {
-        // Add current position to trail
-        trailPositions.addFirst(new TrailPosition(x + radius, y + radius));
+    // ========== CCD (swept circle) ==========
 
-        // Remove old positions
-        if (trailPositions.size() > MAX_TRAIL_LENGTH) {
-            trailPositions.removeLast();
-        }
+    /**
+     * Góc trên trái của bóng ở đầu đoạn đường vừa đi (đầu bước, hoặc điểm chạm gần nhất)
+     */
+    public double getPrevX() {
+        return store != null ? store.prevX[slot] : prevX;
+    }
 
-        // OPTIMIZATION: Render trail - skip every other trail circle for better performance
-        trailGroup.getChildren().clear();
-        int skip = 0;
-        for (int i = 1; i < trailPositions.size(); i++) {
-            skip++;
-            if (skip % 2 == 0) continue; // Chỉ render 1/2 số trail circles
+    public double getPrevY() {
+        return store != null ? store.prevY[slot] : prevY;
+    }
 
-            Circle trailCircle = createTrailCircle(trailPositions.get(i), i);
-            if (trailCircle != null) {
-                trailGroup.getChildren().add(trailCircle);
-            }
+    /**
+     * Lùi bóng về thời điểm chạm t ∈ [0, 1] của đoạn prev → vị trí hiện tại,
+     * lấn thêm {@code penetration} px theo hướng bay để bộ xử lý va chạm (đẩy ra theo overlap) vẫn nhận ra.
+     * Phần bước chưa đi được giữ lại cho completeStep().
+     */
+    public void rewindTo(double t, double penetration) {
+        if (isFixedPoint()) {
+            rewindToFixed(FixedPoint.of(t), FixedPoint.of(penetration));
+            return;
+        }
+        double prevX = getPrevX();
+        double prevY = getPrevY();
+        double dx = getX() - prevX;
+        double dy = getY() - prevY;
+        double length = Math.sqrt(dx * dx + dy * dy);
+        double contactX = prevX + dx * t;
+        double contactY = prevY + dy * t;
+        if (length > 0) {
+            contactX += dx / length * penetration;
+            contactY += dy / length * penetration;
         }
+        setX(contactX);
+        setY(contactY);
+        setPrev(contactX, contactY);
+        setStepScale(getStepScale() * (1 - t));
+        setStepPending(true);
     }
 
-    private Circle createTrailCircle(TrailPosition pos, int index) {
-        double fadeFactor = 1.0 - ((double) index / MAX_TRAIL_LENGTH);
-        double trailRadius = radius * (0.5 + fadeFactor * 0.5);
+    private void rewindToFixed(long t, long penetration) {
+        long prevX = FixedPoint.of(getPrevX());
+        long prevY = FixedPoint.of(getPrevY());
+        long dx = FixedPoint.of(getX()) - prevX;
+        long dy = FixedPoint.of(getY()) - prevY;
+        long length = FixedPoint.sqrt(FixedPoint.mul(dx, dx) + FixedPoint.mul(dy, dy));
+        long contactX = prevX + FixedPoint.mul(dx, t);
+        long contactY = prevY + FixedPoint.mul(dy, t);
+        if (length > 0) {
+            contactX += FixedPoint.mul(FixedPoint.div(dx, length), penetration);
+            contactY += FixedPoint.mul(FixedPoint.div(dy, length), penetration);
+        }
+        setX(FixedPoint.toDouble(contactX));
+        setY(FixedPoint.toDouble(contactY));
+        setPrev(FixedPoint.toDouble(contactX), FixedPoint.toDouble(contactY));
+        setStepScale(FixedPoint.toDouble(FixedPoint.mul(FixedPoint.of(getStepScale()), FixedPoint.ONE - t)));
+        setStepPending(true);
+    }
 
-        Circle circle = new Circle(pos.x, pos.y, trailRadius);
+    /**
+     * Đi nốt phần bước còn lại sau rewindTo(), với vận tốc mới (đã phản xạ)
+     */
+    public void completeStep() {
+        if (!isStepPending()) return;
+        setStepPending(false);
+        setCarryStep(true);
+        if (isFixedPoint()) {
+            long x = FixedPoint.of(getX());
+            long y = FixedPoint.of(getY());
+            long stepScale = FixedPoint.of(getStepScale());
+            setPrev(FixedPoint.toDouble(x), FixedPoint.toDouble(y));
+            setX(FixedPoint.toDouble(x + FixedPoint.mul(FixedPoint.of(getVx()), stepScale)));
+            setY(FixedPoint.toDouble(y + FixedPoint.mul(FixedPoint.of(getVy()), stepScale)));
+            return;
+        }
+        double x = getX();
+        double y = getY();
+        double stepScale = getStepScale();
+        setPrev(x, y);
+        setX(x + getVx() * stepScale);
+        setY(y + getVy() * stepScale);
+    }
 
-        if (node.getFill() instanceof ImagePattern) {
-            circle.setFill(node.getFill());
-            circle.setOpacity(fadeFactor * 0.5); // Giảm opacity để nhẹ hơn
-        } else if (node.getFill() instanceof Color baseColor) {
-            circle.setFill(new Color(
-                    baseColor.getRed(),
-                    baseColor.getGreen(),
-                    baseColor.getBlue(),
-                    fadeFactor * 0.5
-            ));
+    private void setPrev(double prevX, double prevY) {
+        if (store != null) {
+            store.prevX[slot] = prevX;
+            store.prevY[slot] = prevY;
+        } else {
+            this.prevX = prevX;
+            this.prevY = prevY;
         }
+    }
 
-        return circle;
+    private double getStepScale() {
+        return store != null ? store.stepScale[slot] : stepScale;
+    }
+
+    private void setStepScale(double stepScale) {
+        if (store != null) store.stepScale[slot] = stepScale;
+        else this.stepScale = stepScale;
+    }
+
+    private boolean isStepPending() {
+        return store != null ? store.stepPending[slot] : stepPending;
+    }
+
+    private void setStepPending(boolean stepPending) {
+        if (store != null) store.stepPending[slot] = stepPending;
+        else this.stepPending = stepPending;
+    }
+
+    private boolean isCarryStep() {
+        return store != null ? store.carryStep[slot] : carryStep;
+    }
+
+    private void setCarryStep(boolean carryStep) {
+        if (store != null) store.carryStep[slot] = carryStep;
+        else this.carryStep = carryStep;
+    }
+
+    // ========== GẮN / TÁCH KHỎI BallStore ==========
+
+    /**
+     * Chuyển trạng thái vào slot của store; từ đây mọi getter/setter đọc ghi mảng của store
+     */
+    void attach(BallStore target, int index) {
+        target.x[index] = x;
+        target.y[index] = y;
+        target.vx[index] = vx;
+        target.vy[index] = vy;
+        target.prevX[index] = prevX;
+        target.prevY[index] = prevY;
+        target.stepScale[index] = stepScale;
+        target.size[index] = width;
+        target.stuck[index] = stuck;
+        target.stepPending[index] = stepPending;
+        target.carryStep[index] = carryStep;
+        target.owners[index] = this;
+        store = target;
+        slot = index;
+    }
+
+    /**
+     * Chép trạng thái từ store về field riêng (bóng bị xóa khỏi danh sách vẫn đọc được vị trí cuối)
+     */
+    void detach() {
+        if (store == null) return;
+        x = store.x[slot];
+        y = store.y[slot];
+        vx = store.vx[slot];
+        vy = store.vy[slot];
+        prevX = store.prevX[slot];
+        prevY = store.prevY[slot];
+        stepScale = store.stepScale[slot];
+        stuck = store.stuck[slot];
+        stepPending = store.stepPending[slot];
+        carryStep = store.carryStep[slot];
+        store.owners[slot] = null;
+        store = null;
     }
 
     public void bounce(WallSideType wallSide) {
         switch (wallSide) {
             case NORTH:
             case SOUTH:
-                vy *= -1;
+                setVy(-getVy());
                 break;
             case EAST:
             case WEST:
-                vx *= -1;
+                setVx(-getVx());
                 break;
             case BOTTOM_HIT:
             case HIT_OUT_OF_BOUNDS:
@@ -253,7 +398,7 @@ public class Ball extends GameObject {
         }
     }
 
-    // Skin management API
+    // Skin management API - chỉ lưu đường dẫn, BallView sẽ load ảnh
     public String getCurrentSkinResource() {
         return currentSkinResource;
     }
@@ -263,32 +408,11 @@ public class Ball extends GameObject {
             applyDefaultSkin();
             return;
         }
-        Image img = null;
-        try (InputStream is = getClass().getResourceAsStream(resourcePath)) {
-            if (is != null) img = new Image(is);
-        } catch (Exception ignored) {
-        }
-        if (img != null && img.getWidth() > 0 && img.getHeight() > 0) {
-            node.setFill(new ImagePattern(img, 0, 0, 1, 1, true));
-            this.currentSkinResource = resourcePath;
-        } else {
-            applyDefaultSkin();
-        }
+        this.currentSkinResource = resourcePath;
     }
 
     public void applyDefaultSkin() {
-        Image img = null;
-        try (InputStream is = getClass().getResourceAsStream(BALL_DEFAULT_SKIN)) {
-            if (is != null) img = new Image(is);
-        } catch (Exception ignored) {
-        }
-        if (img != null && img.getWidth() > 0 && img.getHeight() > 0) {
-            node.setFill(new ImagePattern(img, 0, 0, 1, 1, true));
-            this.currentSkinResource = BALL_DEFAULT_SKIN;
-        } else {
-            node.setFill(Color.SALMON);
-            this.currentSkinResource = null;
-        }
+        this.currentSkinResource = BALL_DEFAULT_SKIN;
     }
 
     public void applyOneshotSkin() {
@@ -0,0 +1,60 @@
+package gameobject.ball;
+
+/**
+ * BallKernel - Phép tính theo lô trên mảng của BallStore
+ *
+ * Hai bản cài đặt cho kết quả giống hệt nhau (cùng thứ tự phép tính, không dùng FMA):
+ * - scalar(): vòng lặp thường, luôn có
+ * - vector(): SIMD qua jdk.incubator.vector, chỉ có khi JVM chạy với
+ *   {@code --add-modules jdk.incubator.vector}
+ * Bản thứ ba fixed() tính bằng số nguyên Q32.32 (chế độ vật lý FIXED): khớp 2 bản trên trong sai số làm tròn.
+ */
+public interface BallKernel {
+
+    /**
+     * Di chuyển các bóng không dính paddle ở slot [from, to): prev/stepScale như Ball.update(),
+     * vị trí += v * step. Chỉ ghi các slot trong khoảng → nhiều luồng chạy được trên các khoảng rời nhau.
+     * @param step tpf * 60
+     */
+    void integrate(BallStore store, int from, int to, double step);
+
+    /**
+     * Ghi mã tường vào store.wallHit cho slot [from, to), đẩy bóng ra và đảo vận tốc như checkWallCollision()
+     * @return Số bóng nảy khỏi tường
+     */
+    int collideWalls(BallStore store, int from, int to, double gameWidth, double gameHeight, boolean invincible);
+
+    String name();
+
+    static BallKernel scalar() {
+        return ScalarBallKernel.INSTANCE;
+    }
+
+    /**
+     * @throws IllegalStateException nếu module jdk.incubator.vector không được nạp
+     */
+    static BallKernel vector() {
+        if (!isVectorAvailable()) {
+            throw new IllegalStateException("jdk.incubator.vector is not in the boot layer (use --add-modules)");
+        }
+        return VectorBallKernel.INSTANCE;
+    }
+
+    /**
+     * Số nguyên Q32.32 (FixedPoint); bóng trong BallStore dùng kernel này cũng va chạm bằng Q32.32
+     */
+    static BallKernel fixed() {
+        return FixedBallKernel.INSTANCE;
+    }
+
+    /**
+     * SIMD nếu có, không thì vô hướng
+     */
+    static BallKernel best() {
+        return isVectorAvailable() ? vector() : scalar();
+    }
+
+    static boolean isVectorAvailable() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+}
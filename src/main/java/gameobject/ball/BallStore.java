@@ -0,0 +1,229 @@
+package gameobject.ball;
+
+import gameconfig.GameConfig.WallSideType;
+import gameobject.paddle.Paddle;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * BallStore - Trạng thái vật lý của mọi bóng trong các mảng song song (structure of arrays)
+ *
+ * HOẠT ĐỘNG:
+ * - sync(balls): slot i = balls.get(i). Ball đã gắn vào store đọc/ghi thẳng mảng của store,
+ *   nên va chạm paddle/gạch/bóng-bóng (xử lý từng bóng) vẫn dùng API của Ball như cũ
+ * - integrate() và collideWalls() chạy theo lô trên các mảng qua BallKernel
+ *   (SIMD khi có module jdk.incubator.vector, nếu không thì vòng lặp vô hướng)
+ * - Kết quả giống hệt Ball.update() + CollisionManager.checkWallCollision() từng bóng
+ *
+ * Store dùng BallKernel.fixed() ở chế độ vật lý FIXED: giá trị trong mảng luôn là số Q32.32 (xem FixedPoint),
+ * và Ball / CollisionManager tính va chạm của bóng trong store bằng số nguyên.
+ *
+ * Danh sách bóng đổi (thêm/xóa) → sync() chép lại toàn bộ, O(n); tick bình thường chỉ so sánh tham chiếu.
+ * sync() chỉ gọi trên thread mô phỏng; integrate() / collideWalls() theo khoảng slot chạy được
+ * song song trên các khoảng rời nhau (ParallelBallPhysics).
+ */
+public final class BallStore {
+    // Mã va chạm tường của từng slot sau collideWalls() (chỉ số vào WALL_SIDES)
+    static final int WALL_NONE = 0;
+    static final int WALL_NORTH = 1;
+    static final int WALL_WEST = 2;
+    static final int WALL_EAST = 3;
+    static final int WALL_SOUTH = 4;
+    static final int WALL_BOTTOM = 5;
+    private static final WallSideType[] WALL_SIDES = {
+            null,
+            WallSideType.NORTH,
+            WallSideType.WEST,
+            WallSideType.EAST,
+            WallSideType.SOUTH,
+            WallSideType.BOTTOM_HIT
+    };
+
+    // ========== MẢNG TRẠNG THÁI (đọc/ghi bởi Ball và BallKernel) ==========
+    double[] x = new double[0];
+    double[] y = new double[0];
+    double[] vx = new double[0];
+    double[] vy = new double[0];
+    double[] prevX = new double[0];
+    double[] prevY = new double[0];
+    double[] stepScale = new double[0];
+    double[] size = new double[0];      // Đường kính (width = height)
+    boolean[] stuck = new boolean[0];
+    boolean[] stepPending = new boolean[0];
+    boolean[] carryStep = new boolean[0];
+    int[] wallHit = new int[0];
+    Ball[] owners = new Ball[0];
+    int count = 0;
+
+    // ========== ĐIỂM LƯU (checkpoint / rollback, mỗi slot độc lập) ==========
+    private double[] savedX = new double[0];
+    private double[] savedY = new double[0];
+    private double[] savedVx = new double[0];
+    private double[] savedVy = new double[0];
+    private double[] savedPrevX = new double[0];
+    private double[] savedPrevY = new double[0];
+    private double[] savedStepScale = new double[0];
+    private boolean[] savedStepPending = new boolean[0];
+    private boolean[] savedCarryStep = new boolean[0];
+
+    private final BallKernel kernel;
+    final boolean fixedPoint;
+
+    public BallStore() {
+        this(BallKernel.best());
+    }
+
+    public BallStore(BallKernel kernel) {
+        this.kernel = kernel;
+        this.fixedPoint = kernel == FixedBallKernel.INSTANCE;
+    }
+
+    public BallKernel getKernel() {
+        return kernel;
+    }
+
+    public boolean isFixedPoint() {
+        return fixedPoint;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Cho slot khớp với danh sách bóng (slot i = balls.get(i))
+     * Bóng rời danh sách được tách ra, giữ nguyên trạng thái cuối trong field riêng.
+     */
+    public void sync(List<Ball> balls) {
+        int n = balls.size();
+        if (n == count) {
+            boolean same = true;
+            for (int i = 0; i < n && same; i++) {
+                same = owners[i] == balls.get(i);
+            }
+            if (same) return;
+        }
+        release();
+        ensureCapacity(n);
+        for (int i = 0; i < n; i++) {
+            Ball ball = balls.get(i);
+            if (ball.store != null) ball.detach(); // Bóng đang ở store khác
+            ball.attach(this, i);
+        }
+        count = n;
+    }
+
+    /**
+     * Tách mọi bóng khỏi store
+     */
+    public void release() {
+        for (int i = 0; i < count; i++) {
+            Ball ball = owners[i];
+            if (ball != null && ball.store == this) ball.detach();
+        }
+        Arrays.fill(owners, 0, count, null);
+        count = 0;
+    }
+
+    /**
+     * Di chuyển mọi bóng 1 bước, tương đương Ball.update() cho từng bóng
+     * @param paddle Paddle giữ các bóng đang dính
+     */
+    public void integrate(double tpf, Paddle paddle, boolean isTopPaddle) {
+        integrate(tpf, paddle, isTopPaddle, 0, count);
+    }
+
+    /**
+     * integrate() cho slot [from, to) (các luồng xử lý các khoảng rời nhau)
+     */
+    public void integrate(double tpf, Paddle paddle, boolean isTopPaddle, int from, int to) {
+        kernel.integrate(this, from, to, tpf * 60);
+        // Bóng dính paddle: ít và cần đọc paddle → xử lý từng bóng
+        for (int i = from; i < to; i++) {
+            if (stuck[i]) owners[i].update(tpf, paddle, isTopPaddle);
+        }
+    }
+
+    /**
+     * Va chạm tường cho mọi bóng, cùng thứ tự kiểm tra như CollisionManager.checkWallCollision()
+     * (trên, trái, phải, đáy). Kết quả từng bóng đọc bằng getWallHit(i).
+     * @param invincible Chế độ debug: đáy là tường nảy thay vì mất bóng
+     * @return Số bóng nảy khỏi tường (không tính BOTTOM_HIT)
+     */
+    public int collideWalls(double gameWidth, double gameHeight, boolean invincible) {
+        return collideWalls(gameWidth, gameHeight, invincible, 0, count);
+    }
+
+    /**
+     * collideWalls() cho slot [from, to)
+     */
+    public int collideWalls(double gameWidth, double gameHeight, boolean invincible, int from, int to) {
+        return kernel.collideWalls(this, from, to, gameWidth, gameHeight, invincible);
+    }
+
+    /**
+     * Lưu trạng thái chuyển động của slot i (vị trí, vận tốc, đoạn đường của bước)
+     * Các luồng lưu các slot rời nhau được (ParallelBallPhysics lưu trước khi quét gạch).
+     */
+    public void checkpoint(int i) {
+        savedX[i] = x[i];
+        savedY[i] = y[i];
+        savedVx[i] = vx[i];
+        savedVy[i] = vy[i];
+        savedPrevX[i] = prevX[i];
+        savedPrevY[i] = prevY[i];
+        savedStepScale[i] = stepScale[i];
+        savedStepPending[i] = stepPending[i];
+        savedCarryStep[i] = carryStep[i];
+    }
+
+    /**
+     * Đưa slot i về trạng thái của lần checkpoint(i) gần nhất
+     */
+    public void rollback(int i) {
+        x[i] = savedX[i];
+        y[i] = savedY[i];
+        vx[i] = savedVx[i];
+        vy[i] = savedVy[i];
+        prevX[i] = savedPrevX[i];
+        prevY[i] = savedPrevY[i];
+        stepScale[i] = savedStepScale[i];
+        stepPending[i] = savedStepPending[i];
+        carryStep[i] = savedCarryStep[i];
+    }
+
+    /**
+     * Tường bóng ở slot i chạm trong lần collideWalls() gần nhất (null nếu không chạm)
+     */
+    public WallSideType getWallHit(int i) {
+        return WALL_SIDES[wallHit[i]];
+    }
+
+    private void ensureCapacity(int n) {
+        if (x.length >= n) return;
+        int capacity = Math.max(n, Math.max(64, x.length * 2));
+        x = new double[capacity];
+        y = new double[capacity];
+        vx = new double[capacity];
+        vy = new double[capacity];
+        prevX = new double[capacity];
+        prevY = new double[capacity];
+        stepScale = new double[capacity];
+        size = new double[capacity];
+        stuck = new boolean[capacity];
+        stepPending = new boolean[capacity];
+        carryStep = new boolean[capacity];
+        wallHit = new int[capacity];
+        owners = new Ball[capacity];
+        savedX = new double[capacity];
+        savedY = new double[capacity];
+        savedVx = new double[capacity];
+        savedVy = new double[capacity];
+        savedPrevX = new double[capacity];
+        savedPrevY = new double[capacity];
+        savedStepScale = new double[capacity];
+        savedStepPending = new boolean[capacity];
+        savedCarryStep = new boolean[capacity];
+    }
+}
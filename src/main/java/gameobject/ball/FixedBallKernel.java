@@ -0,0 +1,84 @@
+package gameobject.ball;
+
+import java.util.Arrays;
+
+import static gameobject.ball.FixedPoint.mul;
+import static gameobject.ball.FixedPoint.of;
+import static gameobject.ball.FixedPoint.toDouble;
+
+/**
+ * FixedBallKernel - BallKernel số nguyên Q32.32 (chế độ vật lý FIXED)
+ *
+ * Cùng thuật toán với ScalarBallKernel, nhưng đọc mảng double của BallStore thành Q32.32, tính bằng long
+ * rồi ghi lại (chính xác, xem FixedPoint). Kết quả khớp bản double trong sai số làm tròn 2^-32 mỗi phép tính.
+ */
+final class FixedBallKernel implements BallKernel {
+    static final FixedBallKernel INSTANCE = new FixedBallKernel();
+
+    private FixedBallKernel() {
+    }
+
+    @Override
+    public void integrate(BallStore s, int from, int to, double step) {
+        long fixedStep = of(step);
+        for (int i = from; i < to; i++) {
+            if (s.stuck[i]) continue;
+            long x = of(s.x[i]);
+            long y = of(s.y[i]);
+            if (s.carryStep[i]) {
+                s.stepScale[i] = toDouble(of(s.stepScale[i]) + fixedStep);
+            } else {
+                s.prevX[i] = toDouble(x);
+                s.prevY[i] = toDouble(y);
+                s.stepScale[i] = toDouble(fixedStep);
+            }
+            s.x[i] = toDouble(x + mul(of(s.vx[i]), fixedStep));
+            s.y[i] = toDouble(y + mul(of(s.vy[i]), fixedStep));
+        }
+        Arrays.fill(s.stepPending, from, to, false);
+        Arrays.fill(s.carryStep, from, to, false);
+    }
+
+    @Override
+    public int collideWalls(BallStore s, int from, int to, double gameWidth, double gameHeight, boolean invincible) {
+        long width = of(gameWidth);
+        long height = of(gameHeight);
+        long bottom = height - of(20);
+        int bounces = 0;
+        for (int i = from; i < to; i++) {
+            long x = of(s.x[i]);
+            long y = of(s.y[i]);
+            long size = of(s.size[i]);
+            int hit = BallStore.WALL_NONE;
+            if (y <= 0) {
+                s.y[i] = 0;
+                s.vy[i] = toDouble(-of(s.vy[i]));
+                hit = BallStore.WALL_NORTH;
+            } else if (x <= 0) {
+                s.x[i] = 0;
+                s.vx[i] = toDouble(-of(s.vx[i]));
+                hit = BallStore.WALL_WEST;
+            } else if (x + size >= width) {
+                s.x[i] = toDouble(width - size);
+                s.vx[i] = toDouble(-of(s.vx[i]));
+                hit = BallStore.WALL_EAST;
+            } else if (y >= bottom) {
+                if (invincible) {
+                    s.y[i] = toDouble(height - size);
+                    s.vy[i] = toDouble(-of(s.vy[i]));
+                    hit = BallStore.WALL_SOUTH;
+                } else {
+                    hit = BallStore.WALL_BOTTOM;
+                }
+            }
+            s.wallHit[i] = hit;
+            if (hit != BallStore.WALL_NONE && hit != BallStore.WALL_BOTTOM) bounces++;
+        }
+        return bounces;
+    }
+
+    @Override
+    public String name() {
+        return "fixed (Q32.32)";
+    }
+}
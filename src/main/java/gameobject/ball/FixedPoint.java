@@ -0,0 +1,117 @@
+package gameobject.ball;
+
+/**
+ * FixedPoint - Số thực dấu phẩy tĩnh Q32.32 trong 1 long (32 bit nguyên có dấu, 32 bit phần lẻ)
+ *
+ * MỤC ĐÍCH:
+ * - Chế độ vật lý FIXED (EngineContext.getPhysicsMode): mọi phép tính vật lý bóng chỉ dùng cộng/nhân/chia
+ *   số nguyên → cùng kết quả trên mọi máy, mọi JVM, không phụ thuộc thư viện toán của double
+ * - Giá trị Q32.32 có |x| < 2^21 biểu diễn CHÍNH XÁC bằng double (53 bit mantissa) → Ball / BallStore
+ *   vẫn lưu double; of() / toDouble() qua lại không mất gì với giá trị đã nằm trên lưới 2^-32
+ *
+ * Phép nhân/chia/căn làm tròn xuống (về -∞ với mul, về 0 với div), không dùng phép tính double nào.
+ */
+public final class FixedPoint {
+    public static final int FRACTION_BITS = 32;
+    public static final long ONE = 1L << FRACTION_BITS;
+    public static final long HALF = ONE >> 1;
+    // "Vô cực" cho thời điểm chạm không có (như Double.POSITIVE_INFINITY của bản double)
+    public static final long INFINITY = Long.MAX_VALUE;
+
+    private static final double SCALE = 0x1p32;
+    private static final double INV_SCALE = 0x1p-32;
+    // Số chia lớn hơn thế này bị thu nhỏ trước khi chia (dịch 8 bit phần dư không tràn)
+    private static final long DIVISOR_LIMIT = 1L << 55;
+
+    private FixedPoint() {
+    }
+
+    /**
+     * double → Q32.32, làm tròn tới bội gần nhất của 2^-32 (chính xác nếu đã nằm trên lưới)
+     */
+    public static long of(double value) {
+        return Math.round(value * SCALE);
+    }
+
+    public static long of(int value) {
+        return (long) value << FRACTION_BITS;
+    }
+
+    /**
+     * Q32.32 → double (chính xác khi |value| < 2^21)
+     */
+    public static double toDouble(long value) {
+        return value * INV_SCALE;
+    }
+
+    /**
+     * a * b: tích 128 bit (multiplyHigh + phần thấp) dịch phải 32 bit
+     */
+    public static long mul(long a, long b) {
+        return (Math.multiplyHigh(a, b) << FRACTION_BITS) | ((a * b) >>> FRACTION_BITS);
+    }
+
+    /**
+     * a / b: chia dài từng 8 bit cho phần lẻ (không cần số 128 bit)
+     * Thương vượt ±2^31 bị chặn về Long.MAX_VALUE / Long.MIN_VALUE (như chia double cho số rất nhỏ).
+     *
+     * @throws ArithmeticException nếu b = 0
+     */
+    public static long div(long a, long b) {
+        if (b == 0) {
+            throw new ArithmeticException("Fixed-point division by zero");
+        }
+        boolean negative = (a ^ b) < 0;
+        long ua = Math.abs(a);
+        long ub = Math.abs(b);
+        while (ub >= DIVISOR_LIMIT) {
+            ua >>= 1;
+            ub >>= 1;
+        }
+        long q = ua / ub;
+        if (q >= 1L << (63 - FRACTION_BITS)) {
+            return negative ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+        long r = ua % ub;
+        for (int i = 0; i < FRACTION_BITS / 8; i++) {
+            r <<= 8;
+            q = (q << 8) | (r / ub);
+            r %= ub;
+        }
+        return negative ? -q : q;
+    }
+
+    /**
+     * Căn bậc hai; a <= 0 → 0. Sai số không quá vài đơn vị 2^-32.
+     */
+    public static long sqrt(long a) {
+        if (a <= 0) return 0;
+        // Cần isqrt(a * 2^32); dịch a sang trái nhiều nhất có thể (số chẵn bit) rồi bù phần còn thiếu
+        int shift = Math.min(FRACTION_BITS, Long.numberOfLeadingZeros(a) - 1) & ~1;
+        long root = isqrt(a << shift) << ((FRACTION_BITS - shift) / 2);
+        if (shift == FRACTION_BITS) return root;
+        // Các bit thấp bị mất khi dịch: 1 bước Newton (root + a / root) / 2 bù lại
+        return (root + div(a, root)) >> 1;
+    }
+
+    /**
+     * Căn nguyên của n >= 0 (từng cặp bit, không dùng double)
+     */
+    static long isqrt(long n) {
+        long result = 0;
+        long bit = 1L << 62;
+        while (bit > n) {
+            bit >>= 2;
+        }
+        while (bit != 0) {
+            if (n >= result + bit) {
+                n -= result + bit;
+                result = (result >> 1) + bit;
+            } else {
+                result >>= 1;
+            }
+            bit >>= 2;
+        }
+        return result;
+    }
+}
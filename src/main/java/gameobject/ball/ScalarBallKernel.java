@@ -0,0 +1,83 @@
+package gameobject.ball;
+
+import java.util.Arrays;
+
+/**
+ * ScalarBallKernel - BallKernel bằng vòng lặp thường; cũng xử lý phần đuôi cho VectorBallKernel
+ */
+final class ScalarBallKernel implements BallKernel {
+    static final ScalarBallKernel INSTANCE = new ScalarBallKernel();
+
+    private ScalarBallKernel() {
+    }
+
+    @Override
+    public void integrate(BallStore s, int from, int to, double step) {
+        integrateRange(s, from, to, step);
+        Arrays.fill(s.stepPending, from, to, false);
+        Arrays.fill(s.carryStep, from, to, false);
+    }
+
+    /**
+     * Chỉ di chuyển, không xóa cờ stepPending / carryStep (integrate() xóa cho cả khoảng)
+     */
+    static void integrateRange(BallStore s, int from, int to, double step) {
+        for (int i = from; i < to; i++) {
+            if (s.stuck[i]) continue;
+            double x = s.x[i];
+            double y = s.y[i];
+            if (s.carryStep[i]) {
+                s.stepScale[i] = s.stepScale[i] + step;
+            } else {
+                s.prevX[i] = x;
+                s.prevY[i] = y;
+                s.stepScale[i] = step;
+            }
+            s.x[i] = x + s.vx[i] * step;
+            s.y[i] = y + s.vy[i] * step;
+        }
+    }
+
+    @Override
+    public int collideWalls(BallStore s, int from, int to, double gameWidth, double gameHeight, boolean invincible) {
+        return collideWallsRange(s, from, to, gameWidth, gameHeight, invincible);
+    }
+
+    static int collideWallsRange(BallStore s, int from, int to,
+                                 double gameWidth, double gameHeight, boolean invincible) {
+        int bounces = 0;
+        double bottom = gameHeight - 20;
+        for (int i = from; i < to; i++) {
+            int hit = BallStore.WALL_NONE;
+            if (s.y[i] <= 0) {
+                s.y[i] = 0;
+                s.vy[i] = -s.vy[i];
+                hit = BallStore.WALL_NORTH;
+            } else if (s.x[i] <= 0) {
+                s.x[i] = 0;
+                s.vx[i] = -s.vx[i];
+                hit = BallStore.WALL_WEST;
+            } else if (s.x[i] + s.size[i] >= gameWidth) {
+                s.x[i] = gameWidth - s.size[i];
+                s.vx[i] = -s.vx[i];
+                hit = BallStore.WALL_EAST;
+            } else if (s.y[i] >= bottom) {
+                if (invincible) {
+                    s.y[i] = gameHeight - s.size[i];
+                    s.vy[i] = -s.vy[i];
+                    hit = BallStore.WALL_SOUTH;
+                } else {
+                    hit = BallStore.WALL_BOTTOM;
+                }
+            }
+            s.wallHit[i] = hit;
+            if (hit != BallStore.WALL_NONE && hit != BallStore.WALL_BOTTOM) bounces++;
+        }
+        return bounces;
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,113 @@
+package gameobject.ball;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/**
+ * VectorBallKernel - BallKernel SIMD (jdk.incubator.vector), mỗi lane 1 bóng
+ *
+ * Rẽ nhánh của bản vô hướng được thay bằng mask + blend; phần đuôi (< 1 vector) chạy ScalarBallKernel.
+ * Chỉ được nạp qua BallKernel.vector() sau khi đã kiểm tra module có mặt.
+ */
+final class VectorBallKernel implements BallKernel {
+    static final VectorBallKernel INSTANCE = new VectorBallKernel();
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private VectorBallKernel() {
+    }
+
+    @Override
+    public void integrate(BallStore s, int from, int to, double step) {
+        int upper = from + SPECIES.loopBound(to - from);
+        DoubleVector stepV = DoubleVector.broadcast(SPECIES, step);
+        int i = from;
+        for (; i < upper; i += SPECIES.length()) {
+            VectorMask<Double> moving = VectorMask.fromArray(SPECIES, s.stuck, i).not();
+            if (!moving.anyTrue()) continue;
+            VectorMask<Double> fresh = VectorMask.fromArray(SPECIES, s.carryStep, i).not().and(moving);
+
+            DoubleVector x = DoubleVector.fromArray(SPECIES, s.x, i);
+            DoubleVector y = DoubleVector.fromArray(SPECIES, s.y, i);
+            DoubleVector.fromArray(SPECIES, s.prevX, i).blend(x, fresh).intoArray(s.prevX, i);
+            DoubleVector.fromArray(SPECIES, s.prevY, i).blend(y, fresh).intoArray(s.prevY, i);
+
+            DoubleVector scale = DoubleVector.fromArray(SPECIES, s.stepScale, i);
+            scale.blend(scale.add(stepV), moving).blend(stepV, fresh).intoArray(s.stepScale, i);
+
+            DoubleVector vx = DoubleVector.fromArray(SPECIES, s.vx, i);
+            DoubleVector vy = DoubleVector.fromArray(SPECIES, s.vy, i);
+            x.blend(x.add(vx.mul(stepV)), moving).intoArray(s.x, i);
+            y.blend(y.add(vy.mul(stepV)), moving).intoArray(s.y, i);
+        }
+        ScalarBallKernel.integrateRange(s, i, to, step);
+        Arrays.fill(s.stepPending, from, to, false);
+        Arrays.fill(s.carryStep, from, to, false);
+    }
+
+    @Override
+    public int collideWalls(BallStore s, int from, int to, double gameWidth, double gameHeight, boolean invincible) {
+        int upper = from + SPECIES.loopBound(to - from);
+        double bottomLine = gameHeight - 20;
+        int bounces = 0;
+        int i = from;
+        for (; i < upper; i += SPECIES.length()) {
+            DoubleVector x = DoubleVector.fromArray(SPECIES, s.x, i);
+            DoubleVector y = DoubleVector.fromArray(SPECIES, s.y, i);
+            DoubleVector size = DoubleVector.fromArray(SPECIES, s.size, i);
+
+            // Cùng thứ tự if-else với bản vô hướng: mỗi lane thuộc nhiều nhất 1 mask
+            VectorMask<Double> north = y.compare(VectorOperators.LE, 0.0);
+            VectorMask<Double> rest = north.not();
+            VectorMask<Double> west = x.compare(VectorOperators.LE, 0.0).and(rest);
+            rest = rest.and(west.not());
+            VectorMask<Double> east = x.add(size).compare(VectorOperators.GE, gameWidth).and(rest);
+            rest = rest.and(east.not());
+            VectorMask<Double> bottom = y.compare(VectorOperators.GE, bottomLine).and(rest);
+
+            VectorMask<Double> any = north.or(west).or(east).or(bottom);
+            if (!any.anyTrue()) {
+                Arrays.fill(s.wallHit, i, i + SPECIES.length(), BallStore.WALL_NONE);
+                continue;
+            }
+
+            VectorMask<Double> flipX = west.or(east);
+            VectorMask<Double> flipY = invincible ? north.or(bottom) : north;
+            x = x.blend(0.0, west).blend(DoubleVector.broadcast(SPECIES, gameWidth).sub(size), east);
+            y = y.blend(0.0, north);
+            if (invincible) {
+                y = y.blend(DoubleVector.broadcast(SPECIES, gameHeight).sub(size), bottom);
+            }
+            x.intoArray(s.x, i);
+            y.intoArray(s.y, i);
+            DoubleVector vx = DoubleVector.fromArray(SPECIES, s.vx, i);
+            DoubleVector vy = DoubleVector.fromArray(SPECIES, s.vy, i);
+            vx.blend(vx.neg(), flipX).intoArray(s.vx, i);
+            vy.blend(vy.neg(), flipY).intoArray(s.vy, i);
+
+            long northBits = north.toLong();
+            long westBits = west.toLong();
+            long eastBits = east.toLong();
+            long bottomBits = bottom.toLong();
+            for (int lane = 0; lane < SPECIES.length(); lane++) {
+                long bit = 1L << lane;
+                int hit = BallStore.WALL_NONE;
+                if ((northBits & bit) != 0) hit = BallStore.WALL_NORTH;
+                else if ((westBits & bit) != 0) hit = BallStore.WALL_WEST;
+                else if ((eastBits & bit) != 0) hit = BallStore.WALL_EAST;
+                else if ((bottomBits & bit) != 0) hit = invincible ? BallStore.WALL_SOUTH : BallStore.WALL_BOTTOM;
+                s.wallHit[i + lane] = hit;
+            }
+            bounces += flipX.trueCount() + flipY.trueCount();
+        }
+        return bounces + ScalarBallKernel.collideWallsRange(s, i, to, gameWidth, gameHeight, invincible);
+    }
+
+    @Override
+    public String name() {
+        return "vector (" + SPECIES.length() + " lanes)";
+    }
+}
@@ -1,46 +1,35 @@
 package gameobject.brick;
 
 import gamemanager.manager.GameObject;
-import gamemanager.ui.ImageManager;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Rectangle;
 
+/**
+ * Brick - trạng thái thuần dữ liệu của gạch (số hit còn lại, màu dự phòng, skin hiện tại).
+ * Hình chữ nhật được vẽ bởi gamemanager.render.BrickView.
+ */
 public abstract class Brick extends GameObject {
     protected int hitCount;
     protected String color;
-    private final Rectangle node;
+    protected String skin;
 
     public Brick(double x, double y, double width, double height, int hitCount, String color) {
         super(x, y, width, height);
         this.hitCount = hitCount;
         this.color = color;
-        this.node = new Rectangle(width, height, Color.web(color));
-        this.node.setStroke(Color.web("#2c3e50"));
-        setX(x);
-        setY(y);
     }
 
     public int getHitCount() { return hitCount; }
 
-    @Override
-    public javafx.scene.Node getNode() { return node; }
+    public String getColor() { return color; }
+
+    /**
+     * Đường dẫn ảnh skin hiện tại (thay đổi khi MultiHitBrick bị hit), null = dùng màu
+     */
+    public String getSkin() { return skin; }
 
     public abstract int hit();
 
     public void applySkin(String skinPath) {
-        if (skinPath != null) ImageManager.applyImage(node, skinPath);
-    }
-
-    public void updateDraw() {
-        if (this instanceof MultiHitBrick multi) {
-            if (multi.getHitCount() == 3) {
-                node.setFill(Color.web("#c0392b"));
-            } else if (multi.getHitCount() == 2) {
-                node.setFill(Color.web("#e67e22"));
-            } else if (multi.getHitCount() == 1) {
-                node.setFill(Color.web("#f39c12"));
-            }
-        }
+        if (skinPath != null) this.skin = skinPath;
     }
 
     public void destroy() {
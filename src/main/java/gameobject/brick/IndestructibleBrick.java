@@ -12,9 +12,4 @@ public class IndestructibleBrick extends Brick {
     public int hit(){
         return 0;
     }
-
-    @Override
-    public void updateDraw(){
-
-    }
 }
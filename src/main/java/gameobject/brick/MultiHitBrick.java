@@ -11,12 +11,11 @@ public class MultiHitBrick extends Brick {
     @Override
     public int hit() {
         hitCount--;
-        updateDraw();
+        updateSkin();
         return 20;
     }
 
-    @Override
-    public void updateDraw() {
+    private void updateSkin() {
         if (hitCount == 3) applySkin(BRICK_MULTIHIT_3_SKIN);
         else if (hitCount == 2) applySkin(BRICK_MULTIHIT_2_SKIN);
         else if (hitCount == 1) applySkin(BRICK_MULTIHIT_1_SKIN);
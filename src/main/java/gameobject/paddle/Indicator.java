@@ -2,22 +2,21 @@ package gameobject.paddle;
 
 import gamemanager.manager.GameObject;
 import gameobject.ball.Ball;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Polygon;
 
 import static gameconfig.GameConfig.*;
 
 public class Indicator extends GameObject {
-    private final Polygon triangle;
     private double rotationAngle;
     private double ballCenterX;
     private double ballCenterY;
     private boolean isTopPaddle = false;
 
+    // 3 đỉnh tam giác: tip, left, right (x, y xen kẽ)
+    private final double[] points = new double[6];
+
     public Indicator(double x, double y) {
         super(x, y, INDICATOR_TRIANGLE_SIZE * Math.sqrt(2), INDICATOR_TRIANGLE_SIZE);
         this.rotationAngle = -Math.PI;
-        this.triangle = createTriangle();
         updatePosition(x, y);
     }
 
@@ -27,17 +26,12 @@ public class Indicator extends GameObject {
         updatePosition(ballCenterX, ballCenterY);
     }
 
-    @Override
-    public javafx.scene.Node getNode() {
-        return triangle;
-    }
-
     public void updatePosition(double targetX, double targetY) {
         this.ballCenterX = targetX;
         this.ballCenterY = targetY;
 
         clampRotationAngle();
-        renderTriangle();
+        computeTriangle();
     }
 
     public void pointAtBall(Ball ball) {
@@ -64,12 +58,11 @@ public class Indicator extends GameObject {
         this.rotationAngle = Math.toRadians(angle);
     }
 
-    private Polygon createTriangle() {
-        Polygon tri = new Polygon();
-        tri.setFill(Color.YELLOW);
-        tri.setStroke(Color.ORANGE);
-        tri.setStrokeWidth(2.0);
-        return tri;
+    /**
+     * Tọa độ 3 đỉnh tam giác {tipX, tipY, leftX, leftY, rightX, rightY} - IndicatorView đọc mảng này
+     */
+    public double[] getPoints() {
+        return points;
     }
 
     private void clampRotationAngle() {
@@ -83,7 +76,7 @@ public class Indicator extends GameObject {
         }
     }
 
-    private void renderTriangle() {
+    private void computeTriangle() {
         double cosAngle = Math.cos(rotationAngle);
         double sinAngle = Math.sin(rotationAngle);
 
@@ -92,28 +85,20 @@ public class Indicator extends GameObject {
 
         double perpX = -sinAngle;
 
-        double tipX = baseX + cosAngle * INDICATOR_TRIANGLE_SIZE;
-        double tipY = baseY + sinAngle * INDICATOR_TRIANGLE_SIZE;
-
-        double leftX = baseX + perpX * INDICATOR_TRIANGLE_SIZE;
-        double leftY = baseY + cosAngle * INDICATOR_TRIANGLE_SIZE;
+        points[0] = baseX + cosAngle * INDICATOR_TRIANGLE_SIZE;
+        points[1] = baseY + sinAngle * INDICATOR_TRIANGLE_SIZE;
 
-        double rightX = baseX - perpX * INDICATOR_TRIANGLE_SIZE;
-        double rightY = baseY - cosAngle * INDICATOR_TRIANGLE_SIZE;
+        points[2] = baseX + perpX * INDICATOR_TRIANGLE_SIZE;
+        points[3] = baseY + cosAngle * INDICATOR_TRIANGLE_SIZE;
 
-        triangle.getPoints().clear();
-        triangle.getPoints().addAll(
-            tipX, tipY,
-            leftX, leftY,
-            rightX, rightY
-        );
+        points[4] = baseX - perpX * INDICATOR_TRIANGLE_SIZE;
+        points[5] = baseY - cosAngle * INDICATOR_TRIANGLE_SIZE;
 
-        updateBoundingBox(tipX, tipY, leftX, leftY, rightX, rightY);
+        updateBoundingBox();
     }
 
-    private void updateBoundingBox(double tipX, double tipY, double leftX, double leftY,
-                                   double rightX, double rightY) {
-        this.x = Math.min(tipX, Math.min(leftX, rightX));
-        this.y = Math.min(tipY, Math.min(leftY, rightY));
+    private void updateBoundingBox() {
+        this.x = Math.min(points[0], Math.min(points[2], points[4]));
+        this.y = Math.min(points[1], Math.min(points[3], points[5]));
     }
 }
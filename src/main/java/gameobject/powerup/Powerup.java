@@ -2,14 +2,9 @@ package gameobject.powerup;
 
 import gamemanager.manager.GameObject;
 import gamemanager.core.GameEngine;
-import gamemanager.manager.SoundManager;
 import gameobject.paddle.Paddle;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
 import gameconfig.GameConfig;
 
-import java.util.Objects;
-
 import static gameconfig.GameConfig.*;
 
 /**
@@ -21,8 +16,10 @@ import static gameconfig.GameConfig.*;
  * 3. EXPAND (shield.png) - Paddle to ra trong 10 giây
  */
 public class Powerup extends GameObject {
-    private final GameConfig.PowerUpType powerupType;
-    private final ImageView imageView;
+    private GameConfig.PowerUpType powerupType;
+
+    // Tăng mỗi lần power-up được lấy lại từ ObjectPool (renderer tạo view mới cho lần rơi mới)
+    private int spawnId = 0;
 
     /**
      * Constructor: Tạo power-up tại vị trí (x, y)
@@ -34,37 +31,27 @@ public class Powerup extends GameObject {
     public Powerup(double x, double y, GameConfig.PowerUpType type) {
         super(x, y, POWERUP_WIDTH, POWERUP_HEIGHT);
         this.powerupType = type;
+    }
 
-        // CHỌN ẢNH DựA VÀO LOẠI POWER-UP
-        // Switch expression (Java 14+) trả về giá trị trực tiếp
-        String imagePath = switch (type) {
-            case MULTIPLY -> "/iamgepowerup/doubleup.png";   // Icon 2 bóng
-            case ONESHOT -> "/iamgepowerup/onehit.png";      // Icon búa/sấm sét
-            case EXPAND -> "/iamgepowerup/shield.png";       // Icon khiên/mở rộng
-        };
-
-        try {
-            // Load ảnh từ resources
-            Image image = new Image(Objects.requireNonNull(
-                getClass().getResourceAsStream(imagePath)));
-            this.imageView = new ImageView(image);
-            this.imageView.setFitWidth(width);
-            this.imageView.setFitHeight(height);
-            this.imageView.setPreserveRatio(true); // Giữ tỉ lệ ảnh
-
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("Failed to load powerup image: " + imagePath);
-        }
+    /**
+     * Đặt lại như vừa tạo bằng constructor (power-up lấy từ ObjectPool)
+     */
+    public void respawn(double x, double y, GameConfig.PowerUpType type) {
+        this.x = x;
+        this.y = y;
+        this.powerupType = type;
+        this.spawnId++;
+    }
 
-        // Đặt vị trí ban đầu
-        setX(x);
-        setY(y);
+    public int getSpawnId() {
+        return spawnId;
     }
 
-    @Override
-    public javafx.scene.Node getNode() {
-        return imageView;
+    /**
+     * Loại power-up - PowerupView dựa vào đây để chọn ảnh
+     */
+    public GameConfig.PowerUpType getType() {
+        return powerupType;
     }
 
     /**
@@ -83,14 +70,12 @@ public class Powerup extends GameObject {
      * - EXPAND: Paddle to ra (gọi paddle.applyPowerup)
      * - MULTIPLY: Spawn thêm bóng (gọi engine.spawnExtraBall)
      * - ONESHOT: Bật chế độ oneshot (gọi engine.enableOneshot)
+     * Âm thanh thu thập do GameEngine phát (không phát khi chạy headless)
      *
      * @param game GameEngine để gọi các method spawn/enable
      * @param paddle Paddle để áp dụng hiệu ứng (EXPAND)
      */
     public void activate(Object game, Paddle paddle) {
-        // Phát âm thanh thu thập power-up
-        SoundManager.getInstance().playSound(SoundManager.SoundType.POWERUP_COLLECT);
-
         // Xử lý theo từng loại power-up
         switch (powerupType) {
             case EXPAND -> {
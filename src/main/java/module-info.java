@@ -4,6 +4,7 @@ module Arkanoid {
     requires javafx.fxml;
     requires javafx.media;
     requires java.desktop;
+    requires static jdk.incubator.vector; // SIMD cho BallStore, chỉ dùng khi chạy với --add-modules
 
     opens main to javafx.fxml;
     opens gameconfig to javafx.fxml;
@@ -30,4 +31,10 @@ module Arkanoid {
     opens gamemanager.ui to javafx.fxml;
     exports gamemanager.manager;
     opens gamemanager.manager to javafx.fxml;
+    exports gamemanager.render;
+    opens gamemanager.render to javafx.fxml;
+    exports gamemanager.replay;
+    opens gamemanager.replay to javafx.fxml;
+    exports gamemanager.profiling;
+    opens gamemanager.profiling to javafx.fxml;
 }
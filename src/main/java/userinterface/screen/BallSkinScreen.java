@@ -1,7 +1,9 @@
 package userinterface.screen;
 
+import gameconfig.SkinRegistry;
 import gamemanager.manager.CoinManager;
 import gamemanager.ui.GameButton;
+import gamemanager.ui.ImageManager;
 import gamemanager.ui.UIManager;
 import javafx.animation.ScaleTransition;
 import javafx.geometry.Insets;
@@ -93,8 +95,7 @@ public class BallSkinScreen extends UIManager {
 
         // Load preview image
         try {
-            String imagePath = "/imageball/" + id + ".png";
-            Image image = new Image(Objects.requireNonNull(getClass().getResourceAsStream(imagePath)));
+            Image image = Objects.requireNonNull(ImageManager.getImage(SkinRegistry.ballResource(id)));
             ImageView imageView = new ImageView(image);
             imageView.setFitWidth(80);
             imageView.setFitHeight(80);
@@ -4,6 +4,7 @@ import gamemanager.ui.UIManager;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.CheckBox;
+import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.Slider;
 import javafx.scene.layout.HBox;
@@ -20,6 +21,10 @@ public class DebugSettingsPanel extends VBox {
     private Slider paddleLengthSlider;
     private Label paddleLengthValueLabel;
     private CheckBox invincibleModeCheckbox;
+    private CheckBox saveReplaysCheckbox;
+    private CheckBox tickProfilerCheckbox;
+    private CheckBox ballCollisionsCheckbox;
+    private ComboBox<String> tickRateCombo;
 
     public DebugSettingsPanel(UIManager uiManager) {
         this.uiManager = uiManager;
@@ -47,12 +52,13 @@ public class DebugSettingsPanel extends VBox {
         }
 
         this.setPrefWidth(500 * UI_SCALE_X);
-        this.setPrefHeight(300);
+        this.setPrefHeight(470);
         this.setMaxWidth(500 * UI_SCALE_X);
-        this.setMaxHeight(300);
+        this.setMaxHeight(470);
 
         createPaddleLengthSlider();
         createInvincibleModeCheckbox();
+        createTickRateControl();
     }
 
     private void createPaddleLengthSlider() {
@@ -79,14 +85,50 @@ public class DebugSettingsPanel extends VBox {
         invincibleModeCheckbox.setStyle("-fx-text-fill: white; -fx-font-size: " + (16 * UI_SCALE) + "px;");
         invincibleModeCheckbox.setSelected(DEBUG_INVINCIBLE_MODE);
 
+        saveReplaysCheckbox = new CheckBox("Save Replays");
+        saveReplaysCheckbox.setStyle("-fx-text-fill: white; -fx-font-size: " + (16 * UI_SCALE) + "px;");
+        saveReplaysCheckbox.setSelected(DEBUG_SAVE_REPLAYS);
 
-        VBox invincibleSection = new VBox(5, invincibleModeCheckbox);
+        tickProfilerCheckbox = new CheckBox("Tick Profiler (F3 to dump)");
+        tickProfilerCheckbox.setStyle("-fx-text-fill: white; -fx-font-size: " + (16 * UI_SCALE) + "px;");
+        tickProfilerCheckbox.setSelected(DEBUG_TICK_PROFILER);
+
+        ballCollisionsCheckbox = new CheckBox("Ball-Ball Collisions");
+        ballCollisionsCheckbox.setStyle("-fx-text-fill: white; -fx-font-size: " + (16 * UI_SCALE) + "px;");
+        ballCollisionsCheckbox.setSelected(BALL_COLLISIONS);
+
+        VBox invincibleSection = new VBox(5, invincibleModeCheckbox, saveReplaysCheckbox, tickProfilerCheckbox,
+                ballCollisionsCheckbox);
         invincibleSection.setAlignment(Pos.CENTER);
         this.getChildren().add(invincibleSection);
     }
 
+    private void createTickRateControl() {
+        Label label = uiManager.createLabel("Physics Tick Rate:");
+
+        String[] options = new String[TICK_RATES.length];
+        for (int i = 0; i < TICK_RATES.length; i++) {
+            options[i] = TICK_RATES[i] + " Hz";
+        }
+        tickRateCombo = uiManager.createComboBox(options);
+        tickRateCombo.setStyle("-fx-background-color: white; -fx-font-size: " + (16 * UI_SCALE) + "px;");
+        tickRateCombo.getSelectionModel().select(TICK_RATE + " Hz");
+
+        VBox tickRateSection = new VBox(5, label, tickRateCombo);
+        tickRateSection.setAlignment(Pos.CENTER);
+        this.getChildren().add(tickRateSection);
+    }
+
     public void applySettings() {
         DEBUG_PADDLE_LENGTH_MULTIPLIER = Math.round(paddleLengthSlider.getValue() * 10.0) / 10.0;
         DEBUG_INVINCIBLE_MODE = invincibleModeCheckbox.isSelected();
+        DEBUG_SAVE_REPLAYS = saveReplaysCheckbox.isSelected();
+        DEBUG_TICK_PROFILER = tickProfilerCheckbox.isSelected();
+        BALL_COLLISIONS = ballCollisionsCheckbox.isSelected();
+
+        String tickRate = tickRateCombo.getValue();
+        if (tickRate != null) {
+            TICK_RATE = Integer.parseInt(tickRate.replace(" Hz", ""));
+        }
     }
 }
@@ -21,9 +21,11 @@ public class VideoSettingsPanel extends VBox {
 
     private ComboBox<String> resolutionCombo;
     private ComboBox<String> displayModeCombo;
+    private ComboBox<String> rendererCombo;
 
     private final String[] resolutions = {"1280x720", "1366x768", "1600x900"};
     private final String[] displayModes = {"Windowed", "Fullscreen"};
+    private final String[] renderers = {"Scene Graph", "Canvas"};  // Theo thứ tự RendererType
 
     public VideoSettingsPanel(UIManager uiManager, Pane root, Runnable onResolutionChange) {
         this.uiManager = uiManager;
@@ -53,12 +55,13 @@ public class VideoSettingsPanel extends VBox {
         }
 
         this.setPrefWidth(500 * UI_SCALE_X);
-        this.setPrefHeight(300);
+        this.setPrefHeight(390);
         this.setMaxWidth(500 * UI_SCALE_X);
-        this.setMaxHeight(300);
+        this.setMaxHeight(390);
 
         createDisplayModeControl();
         createResolutionControl();
+        createRendererControl();
 
         if (displayModeCombo != null && resolutionCombo != null) {
             displayModeCombo.valueProperty().addListener((obs, oldVal, newVal) ->
@@ -104,6 +107,18 @@ public class VideoSettingsPanel extends VBox {
         this.getChildren().add(resolutionRow);
     }
 
+    private void createRendererControl() {
+        Label label = uiManager.createLabel("Renderer (next game):");
+
+        rendererCombo = uiManager.createComboBox(renderers);
+        styleComboBoxWhite(rendererCombo);
+        rendererCombo.getSelectionModel().select(RENDERER.ordinal());
+
+        VBox rendererRow = new VBox(5, label, rendererCombo);
+        rendererRow.setAlignment(Pos.CENTER);
+        this.getChildren().add(rendererRow);
+    }
+
     private void styleComboBoxWhite(ComboBox<String> comboBox) {
         comboBox.setStyle("-fx-background-color: white; " +
                 "-fx-font-size: " + (16 * UI_SCALE) + "px;");
@@ -136,6 +151,11 @@ public class VideoSettingsPanel extends VBox {
     }
 
     public void applySettings() {
+        int renderer = rendererCombo.getSelectionModel().getSelectedIndex();
+        if (renderer >= 0) {
+            RENDERER = RendererType.values()[renderer];
+        }
+
         Stage stage = (Stage) root.getScene().getWindow();
         if (stage == null) return;
 
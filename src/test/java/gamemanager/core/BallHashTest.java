@@ -0,0 +1,64 @@
+package gamemanager.core;
+
+import gameobject.ball.Ball;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static gameconfig.GameConfig.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BallHashTest - Spatial hash cho va chạm bóng-bóng
+ *
+ * MỤC ĐÍCH:
+ * - Spatial hash phải tìm đúng các cặp như quét O(n²) mọi cặp
+ */
+class BallHashTest {
+
+    /**
+     * Test 1: Cặp chồng nhau từ spatial hash = quét mọi cặp
+     *
+     * KIỂM TRA:
+     * - 10, 300, 2000 bóng ngẫu nhiên (có bóng ngoài màn hình, tọa độ âm)
+     * - Cùng tập cặp, cùng thứ tự (a, b) tăng dần
+     * - Bóng đang dính paddle bị bỏ qua
+     */
+    @Test
+    void testPairsMatchBruteForce() {
+        Random random = new Random(7);
+        BallHash hash = new BallHash();
+        for (int n : new int[]{10, 300, 2000}) {
+            List<Ball> balls = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                Ball ball = new Ball(random.nextDouble() * (GAME_WIDTH + 100) - 50,
+                        random.nextDouble() * (GAME_HEIGHT + 100) - 50, BALL_RADIUS, BALL_SPEED);
+                ball.setStuck(i % 50 == 0);
+                balls.add(ball);
+            }
+
+            List<int[]> expected = new ArrayList<>();
+            for (int a = 0; a < n; a++) {
+                for (int b = a + 1; b < n; b++) {
+                    Ball first = balls.get(a), second = balls.get(b);
+                    if (first.isStuck() || second.isStuck()) continue;
+                    double dx = second.getCenterX() - first.getCenterX();
+                    double dy = second.getCenterY() - first.getCenterY();
+                    double r = first.getRadius() + second.getRadius();
+                    if (dx * dx + dy * dy < r * r) expected.add(new int[]{a, b});
+                }
+            }
+
+            hash.build(balls);
+            int pairs = hash.findPairs();
+            assertEquals(expected.size(), pairs, "n = " + n);
+            for (int k = 0; k < pairs; k++) {
+                assertEquals(expected.get(k)[0], hash.pairA(k), "n = " + n + ", pair " + k);
+                assertEquals(expected.get(k)[1], hash.pairB(k), "n = " + n + ", pair " + k);
+            }
+            hash.clear();
+        }
+    }
+}
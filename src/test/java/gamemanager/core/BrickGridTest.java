@@ -0,0 +1,67 @@
+package gamemanager.core;
+
+import gamemanager.manager.CollisionManager;
+import gameobject.ball.Ball;
+import gameobject.brick.Brick;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static gameconfig.GameConfig.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BrickGridTest - Broadphase lưới cho va chạm bóng-gạch
+ *
+ * MỤC ĐÍCH:
+ * - Truy vấn lưới phải cho cùng kết quả với quét cả danh sách gạch
+ */
+class BrickGridTest {
+
+    /**
+     * Test 1: Lưới và quét tuyến tính trả về cùng một gạch
+     *
+     * KIỂM TRA:
+     * - 5000 vị trí bóng ngẫu nhiên trên level 1, trước và sau khi phá gạch
+     * - Gạch bị removeBrick() biến mất khỏi lưới và danh sách gạch ngay
+     */
+    @Test
+    void testGridMatchesLinearScan() {
+        LevelManager levelManager = new LevelManager(new Random(1));
+        CollisionManager collisionManager = new CollisionManager(levelManager, new Random(2));
+        levelManager.loadLevel(1);
+        BrickGrid grid = levelManager.getBrickGrid();
+        assertEquals(levelManager.getBricks().size(), grid.size());
+
+        Random random = new Random(3);
+        assertSameHits(collisionManager, levelManager, random);
+
+        List<Brick> toDestroy = new ArrayList<>();
+        for (int i = 0; i < levelManager.getBricks().size(); i += 3) {
+            Brick brick = levelManager.getBricks().get(i);
+            if (brick.getHitCount() > 0) toDestroy.add(brick);
+        }
+        for (Brick brick : toDestroy) {
+            levelManager.removeBrick(brick);
+            assertFalse(grid.contains(brick));
+            assertFalse(levelManager.getBricks().contains(brick));
+        }
+        assertSameHits(collisionManager, levelManager, random);
+    }
+
+    private void assertSameHits(CollisionManager collisionManager, LevelManager levelManager, Random random) {
+        Ball ball = new Ball(0, 0, BALL_RADIUS, BALL_SPEED);
+        int hits = 0;
+        for (int i = 0; i < 5000; i++) {
+            ball.setX(random.nextDouble() * GAME_WIDTH - BALL_RADIUS);
+            ball.setY(random.nextDouble() * GAME_HEIGHT / 2);
+            Brick expected = collisionManager.checkBrickBallCollision(ball, levelManager.getBricks());
+            Brick actual = collisionManager.checkBrickBallCollision(ball, levelManager.getBrickGrid());
+            assertSame(expected, actual, "ball at " + ball.getX() + ", " + ball.getY());
+            if (expected != null) hits++;
+        }
+        assertTrue(hits > 0);
+    }
+}
@@ -0,0 +1,101 @@
+package gamemanager.core;
+
+import gameobject.brick.Brick;
+import gameobject.brick.IndestructibleBrick;
+import gameobject.brick.StandardBrick;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BrickStoreTest - Danh sách gạch tombstone của LevelManager
+ *
+ * MỤC ĐÍCH:
+ * - Xóa bằng tombstone + dồn lười phải giữ đúng nội dung và thứ tự như ArrayList.remove()
+ * - Bộ đếm gạch phá được luôn khớp với việc đếm lại cả danh sách
+ * - Duyệt view() không bao giờ lặng lẽ bỏ sót gạch
+ */
+class BrickStoreTest {
+
+    /**
+     * Test 1: 500 gạch (1/5 không phá được), xóa ngẫu nhiên từng gạch tới hết
+     *
+     * KIỂM TRA:
+     * - Sau mỗi lần xóa: view() (duyệt và get(i)) giống danh sách tham chiếu, size() đúng
+     * - getDestructibleCount() = số gạch hitCount >= 0 còn lại; xóa lần 2 / gạch lạ trả về false
+     */
+    @Test
+    void testTombstonesMatchArrayList() {
+        BrickStore store = new BrickStore();
+        List<Brick> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Brick brick = i % 5 == 0 ? new IndestructibleBrick(i, 0, 10, 10) : new StandardBrick(i, 0, 10, 10);
+            store.add(brick);
+            expected.add(brick);
+        }
+        assertEquals(400, store.getDestructibleCount());
+
+        Random random = new Random(3);
+        List<Brick> order = new ArrayList<>(expected);
+        Collections.shuffle(order, random);
+        for (Brick brick : order) {
+            assertTrue(store.remove(brick));
+            assertFalse(store.remove(brick));
+            expected.remove(brick);
+
+            assertEquals(expected.size(), store.size());
+            assertEquals(expected.stream().filter(b -> b.getHitCount() >= 0).count(), store.getDestructibleCount());
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected, new ArrayList<>(store.view())); // Duyệt: bỏ qua tombstone
+            } else if (!expected.isEmpty()) {
+                int i = random.nextInt(expected.size());
+                assertSame(expected.get(i), store.view().get(i)); // Truy cập chỉ số: dồn trước
+            }
+        }
+        assertTrue(store.isEmpty());
+        assertFalse(store.remove(new StandardBrick(0, 0, 10, 10)));
+    }
+
+    /**
+     * Test 2: Sửa store trong lúc đang duyệt view()
+     *
+     * KIỂM TRA:
+     * - get(i) (dồn mảng) giữa vòng for-each: vẫn duyệt đủ mọi gạch, đúng thứ tự
+     * - remove() giữa vòng for-each: ConcurrentModificationException thay vì bỏ sót gạch
+     */
+    @Test
+    void testIteratorSurvivesCompactionAndFailsFast() {
+        BrickStore store = new BrickStore();
+        List<Brick> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Brick brick = new StandardBrick(i, 0, 10, 10);
+            store.add(brick);
+            expected.add(brick);
+        }
+        for (int i = 0; i < 100; i += 3) {
+            store.remove(expected.get(i));
+        }
+        expected.removeIf(brick -> !store.contains(brick));
+
+        List<Brick> visited = new ArrayList<>();
+        for (Brick brick : store.view()) {
+            visited.add(brick);
+            if (visited.size() == 10) {
+                assertSame(expected.get(20), store.view().get(20)); // Dồn mảng giữa chừng
+            }
+        }
+        assertEquals(expected, visited);
+
+        assertThrows(ConcurrentModificationException.class, () -> {
+            for (Brick brick : store.view()) {
+                store.remove(brick);
+            }
+        });
+    }
+}
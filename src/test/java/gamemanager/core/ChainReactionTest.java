@@ -0,0 +1,148 @@
+package gamemanager.core;
+
+import gameobject.brick.Brick;
+import gameobject.brick.ExplodingBrick;
+import gameobject.brick.StandardBrick;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static gameconfig.GameConfig.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ChainReactionTest - Nổ dây chuyền theo đợt trên level toàn gạch nổ
+ *
+ * MỤC ĐÍCH:
+ * - Vùng nổ BFS: đợt k phá đúng các gạch cách gạch kích nổ k + 1 bước lưới (EXPLOSION_RANGE = 1, cùng hàng / cột)
+ * - Các đợt cách nhau đúng explosionWaveTicks tick, điểm và thống kê cộng theo đợt
+ * - Gạch bóng đã phá (0 máu, chờ removeBrick) không bị vụ nổ tính lần nữa
+ * - Vụ nổ mới chồng lên lịch đang chạy: lịch được trộn, đợt 0 của vụ mới không phải chờ vụ cũ
+ */
+class ChainReactionTest {
+    /**
+     * Test 1: Lưới 6x14 toàn gạch nổ (bố cục level), bắn vỡ gạch (2, 7)
+     *
+     * KIỂM TRA:
+     * - Lúc vỡ (trong pha vật lý) chưa gạch nào bị gỡ; cuối tick (igniteQueuedExplosions): 4 gạch kề bị phá (đợt 0)
+     * - Mỗi tick: số gạch còn lại = số gạch có khoảng cách Manhattan > (tick / waveTicks) + 1
+     * - Cuối cùng level xong, thống kê 83 gạch, điểm nổ = 83 * EXPLOSION_BRICK_SCORE, lịch trống
+     */
+    @Test
+    void testWavesFollowGridDistance() {
+        LevelManager levelManager = new LevelManager(new Random(1));
+        levelManager.clearAllBricks();
+        double width = (GAME_WIDTH - BRICK_COLS * 4) / BRICK_COLS;
+        ExplodingBrick[][] field = new ExplodingBrick[BRICK_ROWS][BRICK_COLS];
+        for (int r = 0; r < BRICK_ROWS; r++) {
+            for (int c = 0; c < BRICK_COLS; c++) {
+                field[r][c] = new ExplodingBrick(c * (width + 4) + 1, r * (BRICK_HEIGHT + 4) + 50, width, BRICK_HEIGHT);
+                field[r][c].setLevelManager(levelManager);
+                levelManager.addBrick(field[r][c]);
+            }
+        }
+
+        ExplodingBrick trigger = field[2][7];
+        assertEquals(50, trigger.hit());
+        assertEquals(BRICK_ROWS * BRICK_COLS, levelManager.getBricks().size());
+        levelManager.igniteQueuedExplosions();
+        assertEquals(BRICK_ROWS * BRICK_COLS - 5, levelManager.getBricks().size());
+
+        int waveTicks = LevelManager.explosionWaveTicks(DEFAULT_TICK_RATE);
+        int tick = 0;
+        while (levelManager.hasPendingExplosions()) {
+            levelManager.updateExplosions();
+            tick++;
+            int reach = tick / waveTicks + 1;
+            int expected = 0;
+            for (int r = 0; r < BRICK_ROWS; r++) {
+                for (int c = 0; c < BRICK_COLS; c++) {
+                    if (Math.abs(r - 2) + Math.abs(c - 7) > reach) expected++;
+                }
+            }
+            assertEquals(expected, levelManager.getBricks().size(), "tick " + tick);
+            for (Brick brick : levelManager.getBricks()) {
+                assertTrue(brick.getHitCount() > 0);
+            }
+        }
+
+        assertTrue(levelManager.isLevelComplete());
+        assertEquals(BRICK_ROWS * BRICK_COLS - 1, levelManager.getBricksDestroyed());
+        assertEquals((BRICK_ROWS * BRICK_COLS - 1) * EXPLOSION_BRICK_SCORE, levelManager.takeExplosionScore());
+        assertEquals(0, levelManager.takeExplosionScore());
+    }
+
+    /**
+     * Test 2: Gạch kề đã bị bóng phá trong tick (0 máu, sự kiện BRICK_DESTROYED chưa được xử lý)
+     *
+     * KIỂM TRA:
+     * - Vụ nổ không phá lại gạch đó: không có điểm nổ, không tăng bricksDestroyed
+     * - removeBrick() cuối tick gỡ gạch và tính đúng 1 lần
+     */
+    @Test
+    void testSkipsBricksAlreadyAtZeroHits() {
+        LevelManager levelManager = new LevelManager(new Random(1));
+        levelManager.clearAllBricks();
+        double width = (GAME_WIDTH - BRICK_COLS * 4) / BRICK_COLS;
+        ExplodingBrick trigger = new ExplodingBrick(100, 50, width, BRICK_HEIGHT);
+        trigger.setLevelManager(levelManager);
+        StandardBrick neighbor = new StandardBrick(100 + width + 4, 50, width, BRICK_HEIGHT);
+        levelManager.addBrick(trigger);
+        levelManager.addBrick(neighbor);
+
+        neighbor.destroy();
+        trigger.hit();
+        levelManager.igniteQueuedExplosions();
+        while (levelManager.hasPendingExplosions()) {
+            levelManager.updateExplosions();
+        }
+        assertEquals(0, levelManager.getBricksDestroyed());
+        assertEquals(0, levelManager.takeExplosionScore());
+
+        levelManager.removeBrick(neighbor);
+        assertEquals(1, levelManager.getBricksDestroyed());
+        assertTrue(levelManager.getBricks().isEmpty());
+    }
+
+    /**
+     * Test 3: 1 hàng gạch: chuỗi 4 gạch nổ ở đầu hàng, 1 gạch nổ riêng ở cột 10 (còn lại là gạch thường)
+     *
+     * KIỂM TRA:
+     * - Kích nổ cột 10 khi chuỗi đầu hàng còn đợt chưa đến hạn → 2 gạch kề cột 10 bị phá ngay (đợt 0)
+     * - Chuỗi cũ vẫn chạy hết: cuối cùng chỉ còn các cột 5..8
+     */
+    @Test
+    void testOverlappingIgnitionIsMerged() {
+        LevelManager levelManager = new LevelManager(new Random(1));
+        levelManager.clearAllBricks();
+        double width = (GAME_WIDTH - BRICK_COLS * 4) / BRICK_COLS;
+        Brick[] row = new Brick[12];
+        for (int c = 0; c < row.length; c++) {
+            double x = c * (width + 4) + 1;
+            if (c < 4 || c == 10) {
+                ExplodingBrick brick = new ExplodingBrick(x, 50, width, BRICK_HEIGHT);
+                brick.setLevelManager(levelManager);
+                row[c] = brick;
+            } else {
+                row[c] = new StandardBrick(x, 50, width, BRICK_HEIGHT);
+            }
+            levelManager.addBrick(row[c]);
+        }
+
+        row[0].hit();
+        levelManager.igniteQueuedExplosions();
+        levelManager.updateExplosions();
+
+        row[10].hit();
+        levelManager.igniteQueuedExplosions();
+        assertFalse(levelManager.getBricks().contains(row[9]));
+        assertFalse(levelManager.getBricks().contains(row[11]));
+        assertTrue(levelManager.getBricks().contains(row[4]));
+
+        while (levelManager.hasPendingExplosions()) {
+            levelManager.updateExplosions();
+        }
+        assertEquals(List.of(row[5], row[6], row[7], row[8]), levelManager.getBricks());
+    }
+}
@@ -0,0 +1,468 @@
+package gamemanager.core;
+
+import gameconfig.GameConfig;
+import gameconfig.GameConfig.GameState;
+import gameconfig.GameConfig.PhysicsMode;
+import gamemanager.replay.Replay;
+import gamemanager.replay.ReplayPlayer;
+import gamemanager.profiling.TickProfiler;
+import gamemanager.profiling.TickProfiler.Phase;
+import gameobject.ball.Ball;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GameEngineHeadlessTest - Chạy mô phỏng không cần JavaFX Stage/Pane
+ *
+ * MỤC ĐÍCH:
+ * - GameEngine() không có root → không tạo Node, màn hình, âm thanh
+ * - tick() chạy vật lý + va chạm như game loop thật
+ */
+class GameEngineHeadlessTest {
+
+    /**
+     * Test 1: Bắt đầu game single player ở chế độ headless
+     *
+     * KIỂM TRA:
+     * - Level được load ngay (không qua Platform.runLater)
+     * - Bóng dính paddle, có mũi tên chỉ hướng
+     */
+    @Test
+    void testStartSinglePlayerHeadless() {
+        GameEngine engine = new GameEngine();
+        engine.startSinglePlayerGame();
+
+        assertTrue(engine.isHeadless());
+        assertEquals(GameState.START, engine.getGameState());
+        assertFalse(engine.getLevelManager().getBricks().isEmpty(), "Level 1 should be loaded synchronously");
+        assertEquals(1, engine.getBalls().size());
+        assertTrue(engine.getBalls().get(0).isStuck());
+        assertNotNull(engine.getIndicator());
+    }
+
+    /**
+     * Test 2: Chạy nhiều tick sau khi bắn bóng
+     *
+     * KIỂM TRA:
+     * - Bóng rời paddle và di chuyển
+     * - Mô phỏng không ném exception khi va chạm tường/gạch/paddle
+     */
+    @Test
+    void testTickMovesBallHeadless() {
+        GameEngine engine = new GameEngine();
+        engine.startSinglePlayerGame();
+        engine.startGame();
+
+        Ball ball = engine.getBalls().get(0);
+        double startY = ball.getY();
+        assertFalse(ball.isStuck());
+        assertNull(engine.getIndicator(), "Indicator is removed after launch");
+
+        engine.tick();
+        assertTrue(ball.getY() < startY, "Ball should move up after launch");
+
+        for (int i = 0; i < 3000; i++) {
+            engine.tick();
+        }
+
+        assertTrue(engine.getLives() <= 3);
+        assertTrue(engine.getScore() >= 0);
+    }
+
+    /**
+     * Test 3: Accumulator với frame rất dài (máy bị treo)
+     *
+     * KIỂM TRA:
+     * - Frame 1/60s ở 240Hz chạy đúng số bước (0.5 tốc độ → 2 bước)
+     * - Frame 5 giây bị giới hạn bởi getMaxStepsPerFrame() (không spiral of death)
+     */
+    @Test
+    void testAdvanceCapsStepsPerFrame() {
+        int oldTickRate = GameConfig.TICK_RATE;
+        try {
+            GameConfig.TICK_RATE = 240;
+            GameEngine engine = new GameEngine();
+            engine.startSinglePlayerGame();
+            engine.startGame();
+
+            int steps = 0;
+            for (int i = 0; i < 60; i++) {
+                steps += engine.advance(1.0 / 60.0);
+            }
+            assertEquals(120, steps, 1, "One real second should run 240 * SIMULATION_SPEED ticks");
+
+            assertEquals(engine.getMaxStepsPerFrame(), engine.advance(5.0));
+            assertEquals(0, engine.advance(0.0), "Backlog should be dropped after hitting the cap");
+        } finally {
+            GameConfig.TICK_RATE = oldTickRate;
+        }
+    }
+
+    /**
+     * Test 4: Chế độ xác định (seed cố định)
+     *
+     * KIỂM TRA:
+     * - 2 engine cùng seed, cùng input → level endless, điểm, vị trí bóng giống hệt nhau
+     */
+    @Test
+    void testSameSeedSameGame() {
+        GameEngine a = runSeededEndless(42L);
+        GameEngine b = runSeededEndless(42L);
+
+        assertEquals(42L, a.getSeed());
+        assertEquals(a.getScore(), b.getScore());
+        assertEquals(a.getLives(), b.getLives());
+        assertEquals(a.getLevelManager().getBricks().size(), b.getLevelManager().getBricks().size());
+        assertEquals(a.getBalls().size(), b.getBalls().size());
+        for (int i = 0; i < a.getBalls().size(); i++) {
+            assertEquals(a.getBalls().get(i).getX(), b.getBalls().get(i).getX());
+            assertEquals(a.getBalls().get(i).getY(), b.getBalls().get(i).getY());
+        }
+    }
+
+    private GameEngine runSeededEndless(long seed) {
+        GameEngine engine = new GameEngine();
+        engine.setSeed(seed);
+        engine.startEndlessGame();
+        engine.startGame();
+        for (int i = 0; i < 5000; i++) {
+            engine.tick();
+        }
+        return engine;
+    }
+
+    /**
+     * Test 5: Ghi input rồi phát lại bằng engine khác
+     *
+     * KIỂM TRA:
+     * - Replay ghi/đọc qua stream không đổi
+     * - Phát lại headless cho cùng điểm, mạng, vị trí paddle và bóng
+     * - Bản ghi nhỏ (chỉ ghi khi input đổi)
+     */
+    @Test
+    void testRecordAndReplay() throws IOException {
+        GameEngine live = new GameEngine();
+        live.setSeed(7L);
+        live.startSinglePlayerGame();
+        for (int i = 0; i < 10; i++) {
+            live.handleIndicatorRotateLeft();
+        }
+        live.tick();
+        live.startGame();
+        for (int i = 0; i < 4000; i++) {
+            live.setMovingLeft((i / 300) % 2 == 0);
+            live.setMovingRight((i / 300) % 2 == 1);
+            if (i == 1500) live.spawnDebugBall();
+            live.tick();
+        }
+
+        Replay recorded = live.getRecording();
+        assertEquals(4001, recorded.getTickCount());
+        assertTrue(recorded.getDataSize() < 100, "Only input changes should be stored");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        recorded.write(out);
+        Replay loaded = Replay.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(recorded, loaded);
+
+        GameEngine replayed = new GameEngine();
+        ReplayPlayer player = new ReplayPlayer(loaded);
+        player.runToEnd(replayed);
+
+        assertTrue(replayed.isReplaying());
+        assertEquals(live.getGameState(), replayed.getGameState());
+        assertEquals(live.getScore(), replayed.getScore());
+        assertEquals(live.getLives(), replayed.getLives());
+        assertEquals(live.getPaddle().getX(), replayed.getPaddle().getX());
+        assertEquals(live.getBalls().size(), replayed.getBalls().size());
+        for (int i = 0; i < live.getBalls().size(); i++) {
+            assertEquals(live.getBalls().get(i).getX(), replayed.getBalls().get(i).getX());
+            assertEquals(live.getBalls().get(i).getY(), replayed.getBalls().get(i).getY());
+        }
+    }
+
+    /**
+     * Test 6: Fast-forward với autopilot
+     *
+     * KIỂM TRA:
+     * - Chạy tới khi phá xong level 1 hoặc game over (không cần game loop)
+     * - Kết quả khớp với trạng thái engine
+     */
+    @Test
+    void testFastForwardWithAutopilot() {
+        GameEngine engine = new GameEngine();
+        engine.setSeed(3L);
+        engine.setAutopilot(true);
+        engine.setRecordingEnabled(false);
+        engine.startSinglePlayerGame();
+
+        SimulationResult result = engine.runFastForward(2_000_000);
+
+        assertTrue(result.isGameOver() || result.getLevelsCleared() == 1, result.toString());
+        assertEquals(engine.getScore(), result.getScore());
+        assertEquals(3 - engine.getLives(), result.getLivesLost());
+        assertTrue(result.getBricksDestroyed() > 0);
+        assertTrue(result.getTicks() > 0 && result.getTicks() < 2_000_000);
+    }
+
+    /**
+     * Test 7: Input xếp hàng có timestamp
+     *
+     * KIỂM TRA:
+     * - Nhấn rồi nhả trong cùng 1 tick vẫn di chuyển paddle đúng 1 tick
+     * - Sự kiện có timestamp sau bước cuối của advance() chờ tới tick sau
+     */
+    @Test
+    void testQueuedInputAppliedAtItsStep() {
+        GameEngine engine = new GameEngine();
+        engine.setSeed(11L);
+        engine.startSinglePlayerGame();
+        engine.startGame();
+
+        double x0 = engine.getPaddle().getX();
+        engine.queueInput(InputQueue.Action.MOVE_LEFT, true, 100);
+        engine.queueInput(InputQueue.Action.MOVE_LEFT, false, 101);
+        engine.tick();
+        double x1 = engine.getPaddle().getX();
+        assertTrue(x1 < x0, "A tap shorter than a tick must not be lost");
+
+        engine.tick();
+        assertEquals(x1, engine.getPaddle().getX(), "Key was released within the same tick");
+
+        long now = 10_000_000_000L;
+        double stepSeconds = engine.getFixedTimeStep() / GameConfig.SIMULATION_SPEED;
+        engine.queueInput(InputQueue.Action.MOVE_RIGHT, true, now + 1);
+        assertEquals(2, engine.advance(stepSeconds * 2.5, now));
+        assertEquals(x1, engine.getPaddle().getX(), "Event after the last step must wait");
+
+        engine.tick();
+        assertTrue(engine.getPaddle().getX() > x1);
+    }
+
+    /**
+     * Test 8: Profiler đo từng phase khi có nhiều bóng
+     *
+     * KIỂM TRA:
+     * - Mỗi tick ghi 1 mẫu cho tick và các phase va chạm
+     * - dumpProfile() in đủ các phase đã đo
+     */
+    @Test
+    void testTickProfilerWithManyBalls() {
+        // 2 worker: pha bóng chia phân vùng được dùng khi đủ bóng (1 worker luôn đi đường tuần tự)
+        GameEngine engine = new GameEngine(EngineContext.defaults().withProfiling(true).withPhysicsWorkers(2));
+        engine.setSeed(5L);
+        engine.setRecordingEnabled(false);
+        engine.startSinglePlayerGame();
+        engine.startGame();
+        while (engine.getBalls().size() <= 300) {
+            engine.spawnExtraBall();
+        }
+
+        for (int i = 0; i < 200 && engine.getGameState() == GameState.PLAYING; i++) {
+            engine.tick();
+        }
+
+        TickProfiler profiler = engine.getProfiler();
+        long ticks = profiler.getHistogram(Phase.TICK).getCount();
+        assertTrue(ticks > 0);
+        assertEquals(ticks, profiler.getHistogram(Phase.BALLS).getCount());
+        // >= PARALLEL_BALL_THRESHOLD bóng: tường/paddle/gạch được đo chung trong pha song song
+        assertTrue(profiler.getHistogram(Phase.WALL).getCount()
+                + profiler.getHistogram(Phase.BALLS_PARALLEL).getCount() > 0);
+        assertTrue(profiler.getPercentile(Phase.TICK, 0.5) <= profiler.getPercentile(Phase.TICK, 0.99));
+        assertTrue(profiler.getPercentile(Phase.TICK, 0.99) <= profiler.getHistogram(Phase.TICK).getMax());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        engine.dumpProfile(new PrintStream(out));
+        String dump = out.toString();
+        assertTrue(dump.contains("collide balls parallel"), dump);
+        assertTrue(dump.contains("ball integration"), dump);
+    }
+
+    /**
+     * Test 9: Phiên 2000 bóng: 1 worker (đường tuần tự) và 4 worker (pha bóng chia phân vùng)
+     *
+     * KIỂM TRA:
+     * - 1 worker không dùng pha song song, 4 worker có dùng (phase "collide balls parallel")
+     * - Điểm, số gạch còn lại, vị trí và vận tốc từng bóng giống hệt nhau: gộp phân vùng
+     *   cho cùng kết quả với đường tuần tự, kể cả khi nhiều bóng chạm cùng 1 gạch trong 1 tick
+     */
+    @Test
+    void testPartitionedBallPhysicsIsDeterministic() {
+        GameEngine single = runChaos(1);
+        GameEngine parallel = runChaos(4);
+
+        assertEquals(0, single.getProfiler().getHistogram(Phase.BALLS_PARALLEL).getCount());
+        assertTrue(parallel.getProfiler().getHistogram(Phase.BALLS_PARALLEL).getCount() > 0);
+        assertEquals(single.getScore(), parallel.getScore());
+        assertEquals(single.getLevelManager().getBricks().size(), parallel.getLevelManager().getBricks().size());
+        assertEquals(single.getBalls().size(), parallel.getBalls().size());
+        for (int i = 0; i < single.getBalls().size(); i++) {
+            Ball a = single.getBalls().get(i);
+            Ball b = parallel.getBalls().get(i);
+            assertEquals(a.getX(), b.getX(), "ball " + i);
+            assertEquals(a.getY(), b.getY(), "ball " + i);
+            assertEquals(a.getVx(), b.getVx(), "ball " + i);
+            assertEquals(a.getVy(), b.getVy(), "ball " + i);
+        }
+    }
+
+    private GameEngine runChaos(int workers) {
+        // Invincible: bóng không rơi → số bóng giữ trên ngưỡng chia phân vùng
+        EngineContext context = new EngineContext(GameConfig.DEFAULT_TICK_RATE, 1.0, true, true, false, workers);
+        GameEngine engine = new GameEngine(context);
+        engine.setSeed(9L);
+        engine.setRecordingEnabled(false);
+        engine.startSinglePlayerGame();
+        engine.startGame();
+        Random random = new Random(9);
+        while (engine.getBalls().size() < 2000) {
+            Ball ball = new Ball(random.nextDouble() * GameConfig.GAME_WIDTH,
+                    GameConfig.GAME_HEIGHT / 2 + random.nextDouble() * GameConfig.GAME_HEIGHT / 3,
+                    GameConfig.BALL_RADIUS, GameConfig.BALL_SPEED);
+            ball.launch(random);
+            engine.getBalls().add(ball);
+        }
+        // ~50 tick: khoảng 1/3 số gạch đã vỡ, nhiều bóng chạm cùng gạch trong 1 tick; level chưa xong
+        for (int i = 0; i < 50; i++) {
+            engine.tick();
+        }
+        assertEquals(GameState.PLAYING, engine.getGameState(), "Level must not be cleared mid-test");
+        assertTrue(engine.getScore() > 0);
+        return engine;
+    }
+
+    /**
+     * Test 10: Chế độ vật lý FIXED (Q32.32) so với DOUBLE, cùng seed, autopilot đỡ bóng
+     *
+     * KIỂM TRA:
+     * - Bóng trong engine FIXED dùng số nguyên (Ball.isFixedPoint), engine DOUBLE thì không
+     * - 800 tick đầu (vài lần chạm paddle, gạch, tường): cùng điểm và mạng ở mọi tick,
+     *   vị trí/vận tốc bóng lệch không quá 1e-4
+     * Mỗi lần chạm paddle khuếch đại độ lệch ~10 lần (góc nảy theo điểm chạm), nên về lâu dài
+     * 2 chế độ tách nhau như 2 ván khác nhau; chỉ so sánh trong khoảng đầu này.
+     */
+    @Test
+    void testFixedPointMatchesDoubleMode() {
+        GameEngine doubles = startAutopilot(PhysicsMode.DOUBLE);
+        GameEngine fixed = startAutopilot(PhysicsMode.FIXED);
+
+        for (int tick = 0; tick < 800; tick++) {
+            doubles.tick();
+            fixed.tick();
+            assertEquals(doubles.getScore(), fixed.getScore(), "tick " + tick);
+            assertEquals(doubles.getLives(), fixed.getLives(), "tick " + tick);
+            assertEquals(doubles.getBalls().size(), fixed.getBalls().size(), "tick " + tick);
+            for (int i = 0; i < doubles.getBalls().size(); i++) {
+                Ball a = doubles.getBalls().get(i);
+                Ball b = fixed.getBalls().get(i);
+                String where = "tick " + tick + " ball " + i;
+                assertEquals(a.getX(), b.getX(), 1e-4, where);
+                assertEquals(a.getY(), b.getY(), 1e-4, where);
+                assertEquals(a.getVx(), b.getVx(), 1e-4, where);
+                assertEquals(a.getVy(), b.getVy(), 1e-4, where);
+            }
+        }
+        assertFalse(doubles.getBalls().get(0).isFixedPoint());
+        assertTrue(fixed.getBalls().get(0).isFixedPoint());
+        assertTrue(fixed.getScore() > 0);
+    }
+
+    /**
+     * Test 11: Hàng đợi input đầy (FX thread dồn sự kiện khi tick bị chậm)
+     *
+     * KIỂM TRA:
+     * - Thả phím đến sau khi hàng đợi đầy vẫn được áp dụng: paddle dừng, không trôi mãi
+     * - Nhấn phím bị bỏ được đếm và in trong dumpProfile()
+     */
+    @Test
+    void testInputOverflowKeepsReleases() {
+        GameEngine engine = new GameEngine(EngineContext.defaults().withProfiling(true));
+        engine.setSeed(11L);
+        engine.startSinglePlayerGame();
+        engine.startGame();
+
+        for (int i = 0; i < 300; i++) {
+            engine.queueInput(InputQueue.Action.MOVE_LEFT, true, 100 + i);
+        }
+        engine.queueInput(InputQueue.Action.MOVE_LEFT, false, 1000);
+        engine.tick();
+        double x = engine.getPaddle().getX();
+        engine.tick();
+        assertEquals(x, engine.getPaddle().getX(), "Release must not be dropped when the queue is full");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        engine.dumpProfile(new PrintStream(out));
+        String dump = out.toString();
+        assertTrue(dump.contains("dropped presses=44 coalesced releases=1"), dump);
+    }
+
+    /**
+     * Test 12: Replay mang theo cấu hình lúc ghi
+     *
+     * KIỂM TRA:
+     * - Ghi với paddle dài gấp đôi, bất tử, độ phân giải 1600x900
+     * - Phát lại trên engine dùng GameConfig mặc định (1280x720) vẫn cho cùng paddle, điểm, bóng
+     */
+    @Test
+    void testReplayCarriesRecordedSettings() throws IOException {
+        double oldWidth = GameConfig.GAME_WIDTH;
+        double oldHeight = GameConfig.GAME_HEIGHT;
+        try {
+            GameConfig.GAME_WIDTH = 1600;
+            GameConfig.GAME_HEIGHT = 900;
+            GameConfig.updateUIScale();
+            GameEngine live = new GameEngine(new EngineContext(480, 2.0, true));
+            live.setSeed(12L);
+            live.startSinglePlayerGame();
+            live.tick();
+            live.startGame();
+            for (int i = 0; i < 3000; i++) {
+                live.setMovingLeft((i / 250) % 2 == 0);
+                live.setMovingRight((i / 250) % 2 == 1);
+                live.tick();
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            live.getRecording().write(out);
+
+            GameConfig.GAME_WIDTH = oldWidth;
+            GameConfig.GAME_HEIGHT = oldHeight;
+            GameConfig.updateUIScale();
+            Replay loaded = Replay.read(new ByteArrayInputStream(out.toByteArray()));
+            GameEngine replayed = new GameEngine();
+            new ReplayPlayer(loaded).runToEnd(replayed);
+
+            assertEquals(480, replayed.getContext().getTickRate());
+            assertTrue(replayed.getContext().isInvincible());
+            assertEquals(1600, GameConfig.GAME_WIDTH);
+            assertEquals(live.getPaddle().getWidth(), replayed.getPaddle().getWidth());
+            assertEquals(live.getScore(), replayed.getScore());
+            assertEquals(live.getBalls().size(), replayed.getBalls().size());
+            for (int i = 0; i < live.getBalls().size(); i++) {
+                assertEquals(live.getBalls().get(i).getX(), replayed.getBalls().get(i).getX());
+                assertEquals(live.getBalls().get(i).getY(), replayed.getBalls().get(i).getY());
+            }
+        } finally {
+            GameConfig.GAME_WIDTH = oldWidth;
+            GameConfig.GAME_HEIGHT = oldHeight;
+            GameConfig.updateUIScale();
+        }
+    }
+
+    private GameEngine startAutopilot(PhysicsMode mode) {
+        GameEngine engine = new GameEngine(EngineContext.defaults().withPhysicsMode(mode));
+        engine.setSeed(5L);
+        engine.setAutopilot(true);
+        engine.setRecordingEnabled(false);
+        engine.startSinglePlayerGame();
+        engine.startGame();
+        return engine;
+    }
+}
@@ -0,0 +1,77 @@
+package gamemanager.core;
+
+import gameconfig.GameConfig.GameMode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SimulationHarnessTest - Chạy nhiều ván song song
+ *
+ * MỤC ĐÍCH:
+ * - Mỗi ván có engine riêng → chạy song song phải cho kết quả giống chạy tuần tự
+ */
+class SimulationHarnessTest {
+
+    /**
+     * Test 1: Song song vs tuần tự
+     *
+     * KIỂM TRA:
+     * - Cùng danh sách ván (cùng seed) → điểm, số tick, số gạch giống hệt nhau
+     * - Kết quả giữ đúng thứ tự danh sách
+     */
+    @Test
+    void testParallelMatchesSequential() {
+        List<SimulationHarness.Match> matches = SimulationHarness.standardSuite(1, 100L);
+        long maxTicks = 20_000;
+
+        SimulationHarness harness = new SimulationHarness(4);
+        harness.setMaxTicks(maxTicks);
+        List<SimulationResult> parallel;
+        try {
+            parallel = harness.run(matches);
+        } finally {
+            harness.shutdown();
+        }
+
+        assertEquals(matches.size(), parallel.size());
+        for (int i = 0; i < matches.size(); i++) {
+            SimulationResult expected = SimulationHarness.runMatch(matches.get(i), EngineContext.defaults(), maxTicks);
+            SimulationResult actual = parallel.get(i);
+            assertEquals(expected.getScore(), actual.getScore(), "score of match " + i);
+            assertEquals(expected.getTicks(), actual.getTicks(), "ticks of match " + i);
+            assertEquals(expected.getBricksDestroyed(), actual.getBricksDestroyed(), "bricks of match " + i);
+            assertTrue(actual.getTicks() <= maxTicks);
+        }
+    }
+
+    /**
+     * Test 2: Gộp thống kê theo chế độ chơi
+     *
+     * KIỂM TRA:
+     * - Mỗi chế độ có đúng số ván
+     * - p50 <= p90 <= p99 <= max
+     */
+    @Test
+    void testSummarizeByMode() {
+        List<SimulationHarness.Match> matches = SimulationHarness.standardSuite(2, 7L);
+        SimulationHarness harness = new SimulationHarness(2);
+        harness.setMaxTicks(5_000);
+        try {
+            var byMode = SimulationHarness.summarizeByMode(matches, harness.run(matches));
+
+            assertEquals(18, byMode.get(GameMode.SINGLEPLAYER).getMatches());
+            assertEquals(2, byMode.get(GameMode.BOT).getMatches());
+            assertEquals(2, byMode.get(GameMode.ENDLESS).getMatches());
+
+            SimulationHarness.Percentiles ticks = byMode.get(GameMode.SINGLEPLAYER).getTicks();
+            assertTrue(ticks.getP50() <= ticks.getP90());
+            assertTrue(ticks.getP90() <= ticks.getP99());
+            assertTrue(ticks.getP99() <= ticks.getMax());
+        } finally {
+            harness.shutdown();
+        }
+    }
+}
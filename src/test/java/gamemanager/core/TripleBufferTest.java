@@ -0,0 +1,64 @@
+package gamemanager.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TripleBufferTest - 1 thread ghi (thread mô phỏng) và 1 thread đọc (FX thread) dùng chung TripleBuffer
+ */
+class TripleBufferTest {
+    private static final int PUBLISHES = 200_000;
+    private static final int FIELDS = 16;
+
+    /**
+     * Test 1: Thread ghi điền số thứ tự vào mọi ô của buffer rồi publish, thread đọc acquire liên tục
+     *
+     * KIỂM TRA:
+     * - Không bao giờ đọc buffer đang ghi dở (mọi ô cùng 1 số thứ tự - không bị "xé")
+     * - Số thứ tự không bao giờ lùi; hasFresh() = true → acquire() trả bản mới hơn bản đang đọc
+     * - Sau khi thread ghi xong, acquire() trả bản publish cuối cùng
+     */
+    @Test
+    void testPublishAcquireNeverTornOrStale() throws InterruptedException {
+        TripleBuffer<long[]> buffer = new TripleBuffer<>(() -> new long[FIELDS]);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread writer = new Thread(() -> {
+            for (long seq = 1; seq <= PUBLISHES; seq++) {
+                long[] back = buffer.back();
+                for (int i = 0; i < FIELDS; i++) {
+                    back[i] = seq;
+                }
+                buffer.publish();
+            }
+        }, "writer");
+        writer.setUncaughtExceptionHandler((t, e) -> failure.set(e));
+        writer.start();
+
+        long last = 0;
+        int fresh = 0;
+        while (writer.isAlive() || buffer.hasFresh()) {
+            boolean hadFresh = buffer.hasFresh();
+            long[] front = buffer.acquire();
+            long seq = front[0];
+            for (int i = 1; i < FIELDS; i++) {
+                assertEquals(seq, front[i], "Torn buffer");
+            }
+            assertTrue(seq >= last, "Stale buffer: " + seq + " after " + last);
+            if (hadFresh) {
+                assertTrue(seq > last, "hasFresh() but acquire() returned " + seq + " after " + last);
+                fresh++;
+            }
+            last = seq;
+        }
+        writer.join();
+
+        assertNull(failure.get());
+        assertEquals(PUBLISHES, last, "Reader must end on the last published buffer");
+        assertEquals(PUBLISHES, buffer.acquire()[FIELDS - 1]);
+        assertTrue(fresh > 0);
+    }
+}
@@ -0,0 +1,243 @@
+package gamemanager.manager;
+
+import gamemanager.core.LevelManager;
+import gameobject.ball.Ball;
+import gameobject.brick.Brick;
+import gameobject.brick.IndestructibleBrick;
+import gameobject.brick.MultiHitBrick;
+import gameobject.brick.StandardBrick;
+import gameobject.paddle.Paddle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static gameconfig.GameConfig.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CollisionManagerTest - Va chạm liên tục (swept circle) cho bóng nhanh
+ *
+ * MỤC ĐÍCH:
+ * - Bóng đi xa hơn bề dày gạch / paddle trong 1 bước không được xuyên qua
+ */
+class CollisionManagerTest {
+    private static final double TPF = 1.0 / 60;
+
+    private LevelManager levelManager;
+    private CollisionManager collisionManager;
+
+    @BeforeEach
+    void setUp() {
+        levelManager = new LevelManager(new Random(1));
+        collisionManager = new CollisionManager(levelManager, new Random(2));
+        levelManager.clearAllBricks();
+    }
+
+    /**
+     * Test 1: Bóng bay lên 150 px / bước qua gạch dày 30 px
+     *
+     * KIỂM TRA:
+     * - Kiểm tra rời rạc ở cuối bước không thấy gạch (đây là lỗi xuyên gạch cũ)
+     * - Bản swept tìm ra gạch, lùi bóng về đúng mặt dưới gạch
+     * - Sau khi phản xạ, completeStep() đưa bóng đi tiếp xuống dưới, không lọt qua gạch
+     */
+    @Test
+    void testFastBallDoesNotTunnelThroughBrick() {
+        Brick brick = new StandardBrick(200, 300, 60, 30);
+        levelManager.addBrick(brick);
+        Paddle paddle = new Paddle(0, GAME_HEIGHT - 50, PADDLE_WIDTH, PADDLE_HEIGHT, PADDLE_SPEED);
+
+        Ball ball = new Ball(230, 400, BALL_RADIUS, BALL_SPEED);
+        ball.setStuck(false);
+        ball.setVy(-150);
+        ball.update(TPF, paddle, false);
+
+        assertNull(collisionManager.checkBrickBallCollision(ball, levelManager.getBrickGrid()));
+        assertSame(brick, collisionManager.sweepBrickBallCollision(ball, levelManager.getBrickGrid()));
+        assertEquals(330 + BALL_RADIUS, ball.getCenterY(), 0.1);
+
+        collisionManager.resolveBrickContacts(ball);
+        collisionManager.hitBrickContacts(true);
+        ball.completeStep();
+        assertTrue(ball.getVy() > 0);
+        assertTrue(ball.getCenterY() > 330 + BALL_RADIUS);
+    }
+
+    /**
+     * Test 2: Bóng rơi 80 px / bước qua paddle
+     *
+     * KIỂM TRA:
+     * - Bản swept phát hiện paddle, bóng bật lên và nằm trên paddle
+     * - Bóng đi ra xa paddle ở bước sau không bị tính chạm lần nữa
+     */
+    @Test
+    void testFastBallDoesNotTunnelThroughPaddle() {
+        Paddle paddle = new Paddle(100, 500, PADDLE_WIDTH, PADDLE_HEIGHT, PADDLE_SPEED);
+        Ball ball = new Ball(100 + PADDLE_WIDTH / 2, 470, BALL_RADIUS, BALL_SPEED);
+        ball.setStuck(false);
+        ball.setVy(80);
+        ball.update(TPF, paddle, false);
+
+        assertFalse(collisionManager.checkPaddleBallCollision(paddle, ball));
+        assertTrue(collisionManager.sweepPaddleBallCollision(paddle, ball));
+        collisionManager.handlePaddleBallCollision(paddle, ball);
+        ball.completeStep();
+        assertTrue(ball.getVy() < 0);
+        assertTrue(ball.getBottomY() <= paddle.getY());
+
+        ball.update(TPF, paddle, false);
+        assertFalse(collisionManager.sweepPaddleBallCollision(paddle, ball));
+    }
+
+    /**
+     * Test 3: Bóng bay thẳng lên khe 4 px giữa 2 gạch
+     *
+     * KIỂM TRA:
+     * - Cả 2 gạch là contact của cùng 1 bước, ở cả 60 Hz và 240 Hz
+     * - Phản xạ gộp chỉ đảo vy (thành phần ngang của 2 góc gạch triệt tiêu), vx giữ nguyên
+     * - Cả 2 gạch bị phá; điểm / số gạch vỡ đến trong 1 lần processEvents()
+     */
+    @Test
+    void testSeamHitResolvesBothBricksAtAnyTickRate() {
+        for (double tpf : new double[]{1.0 / 60, 1.0 / 240}) {
+            levelManager.clearAllBricks();
+            Brick left = new StandardBrick(200, 300, 60, 30);
+            Brick right = new StandardBrick(264, 300, 60, 30);
+            levelManager.addBrick(left);
+            levelManager.addBrick(right);
+            Paddle paddle = new Paddle(0, GAME_HEIGHT - 50, PADDLE_WIDTH, PADDLE_HEIGHT, PADDLE_SPEED);
+
+            Ball ball = new Ball(262, 420, BALL_RADIUS, BALL_SPEED);
+            ball.setStuck(false);
+            ball.setVy(-BALL_SPEED);
+
+            int contacts = 0;
+            for (int step = 0; step < 1000 && contacts == 0; step++) {
+                ball.update(tpf, paddle, false);
+                contacts = collisionManager.sweepBrickContacts(ball, levelManager.getBrickGrid());
+            }
+            assertEquals(2, contacts, "tpf " + tpf);
+            assertSame(left, collisionManager.getContact(0));
+            assertSame(right, collisionManager.getContact(1));
+
+            collisionManager.resolveBrickContacts(ball);
+            collisionManager.hitBrickContacts(true);
+            assertTrue(collisionManager.processEvents() > 0);
+            assertEquals(2, collisionManager.takeDestroyedCount());
+            assertEquals(0, ball.getVx());
+            assertEquals(BALL_SPEED, ball.getVy());
+            assertEquals(0, left.getHitCount());
+            assertEquals(0, right.getHitCount());
+        }
+    }
+
+    /**
+     * Test 4: Nhiều sự kiện hơn sức chứa ban đầu của hàng đợi trong 1 tick
+     *
+     * KIỂM TRA:
+     * - 3000 cú chạm paddle (> sức chứa ban đầu) không mất sự kiện nào, không ném exception
+     * - Hàng đợi nới thay vì xử lý sớm: gạch vỡ chỉ bị xóa ở processEvents() cuối tick, điểm được cộng 1 lần
+     */
+    @Test
+    void testEventQueueOverflowKeepsScore() {
+        Brick brick = new StandardBrick(200, 300, 60, 30);
+        levelManager.addBrick(brick);
+        Paddle paddle = new Paddle(0, GAME_HEIGHT - 50, PADDLE_WIDTH, PADDLE_HEIGHT, PADDLE_SPEED);
+
+        Ball ball = new Ball(230, 400, BALL_RADIUS, BALL_SPEED);
+        ball.setStuck(false);
+        ball.setVy(-150);
+        ball.update(TPF, paddle, false);
+        assertEquals(1, collisionManager.sweepBrickContacts(ball, levelManager.getBrickGrid()));
+        collisionManager.hitBrickContacts(true);
+
+        Ball paddleBall = new Ball(0, 0, BALL_RADIUS, BALL_SPEED);
+        for (int i = 0; i < 3000; i++) {
+            paddleBall.setX(paddle.getX() + paddle.getWidth() * 0.3);
+            paddleBall.setY(paddle.getY() - BALL_RADIUS * 2 + 3);
+            paddleBall.setVy(BALL_SPEED);
+            collisionManager.handlePaddleBallCollision(paddle, paddleBall);
+        }
+
+        assertTrue(levelManager.getBrickGrid().contains(brick), "Side effects must wait for processEvents()");
+        assertEquals(0, collisionManager.takeDestroyedCount());
+
+        assertEquals(10, collisionManager.processEvents());
+        assertEquals(1, collisionManager.takeDestroyedCount());
+        assertEquals(0, collisionManager.processEvents());
+        assertFalse(levelManager.getBrickGrid().contains(brick));
+    }
+
+    /**
+     * Test 5: Hai bóng lệch nhau va chạm đàn hồi
+     *
+     * KIỂM TRA:
+     * - Bóng được tách ra vừa chạm nhau
+     * - Tổng động lượng và động năng giữ nguyên
+     * - Bóng đang tách xa nhau không bị đổi vận tốc
+     */
+    @Test
+    void testBallBallCollisionIsElastic() {
+        Ball a = new Ball(300, 300, BALL_RADIUS, BALL_SPEED);
+        Ball b = new Ball(300 + BALL_RADIUS * 1.5, 300 + BALL_RADIUS * 0.5, BALL_RADIUS, BALL_SPEED);
+        a.setVx(BALL_SPEED);
+        a.setVy(2);
+        b.setVx(-BALL_SPEED * 0.5);
+        b.setVy(-3);
+        double momentumX = a.getVx() + b.getVx();
+        double momentumY = a.getVy() + b.getVy();
+        double energy = a.getVx() * a.getVx() + a.getVy() * a.getVy() + b.getVx() * b.getVx() + b.getVy() * b.getVy();
+
+        assertTrue(collisionManager.handleBallBallCollision(a, b));
+        double dx = b.getCenterX() - a.getCenterX();
+        double dy = b.getCenterY() - a.getCenterY();
+        assertEquals(BALL_RADIUS * 2, Math.sqrt(dx * dx + dy * dy), 1e-9);
+        assertEquals(momentumX, a.getVx() + b.getVx(), 1e-9);
+        assertEquals(momentumY, a.getVy() + b.getVy(), 1e-9);
+        assertEquals(energy, a.getVx() * a.getVx() + a.getVy() * a.getVy()
+                + b.getVx() * b.getVx() + b.getVy() * b.getVy(), 1e-9);
+        assertTrue(a.getVx() < b.getVx(), "Balls separate after the hit");
+
+        double vx = a.getVx();
+        b.setX(b.getX() - 1); // Chồng nhau lại nhưng đang tách xa
+        assertTrue(collisionManager.handleBallBallCollision(a, b));
+        assertEquals(vx, a.getVx());
+    }
+
+    /**
+     * Test 6: Revision lớp gạch (renderer chỉ vẽ lại lớp gạch khi revision đổi)
+     *
+     * KIỂM TRA:
+     * - Hit gạch nhiều máu (đổi skin) và gạch vỡ làm revision tăng
+     * - Hit gạch không phá được, và chỉ va chạm paddle, không làm revision đổi
+     */
+    @Test
+    void testBrickRevisionTracksVisibleChanges() {
+        MultiHitBrick multiHit = new MultiHitBrick(100, 100, 60, 30);
+        IndestructibleBrick wall = new IndestructibleBrick(300, 100, 60, 30);
+        levelManager.addBrick(multiHit);
+        levelManager.addBrick(wall);
+
+        long revision = levelManager.getBrickRevision();
+        collisionManager.hitBricks(new Brick[]{wall}, 0, 1, true);
+        assertEquals(revision, levelManager.getBrickRevision());
+
+        collisionManager.hitBricks(new Brick[]{multiHit}, 0, 1, true);
+        assertTrue(levelManager.getBrickRevision() > revision);
+
+        revision = levelManager.getBrickRevision();
+        Paddle paddle = new Paddle(0, GAME_HEIGHT - 50, PADDLE_WIDTH, PADDLE_HEIGHT, PADDLE_SPEED);
+        Ball ball = new Ball(paddle.getX() + 10, paddle.getY() - BALL_RADIUS * 2 + 3, BALL_RADIUS, BALL_SPEED);
+        ball.setVy(BALL_SPEED);
+        collisionManager.handlePaddleBallCollision(paddle, ball);
+        assertEquals(revision, levelManager.getBrickRevision());
+
+        while (multiHit.getHitCount() > 0) {
+            collisionManager.hitBricks(new Brick[]{multiHit}, 0, 1, true);
+        }
+        collisionManager.processEvents();
+        assertTrue(levelManager.getBrickRevision() > revision);
+        assertFalse(levelManager.getBricks().contains(multiHit));
+    }
+}
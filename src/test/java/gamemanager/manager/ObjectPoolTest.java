@@ -0,0 +1,89 @@
+package gamemanager.manager;
+
+import gameobject.ball.Ball;
+import gameobject.ball.BallStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static gameconfig.GameConfig.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ObjectPoolTest - Kho đối tượng tái sử dụng và vòng đời respawn của bóng
+ *
+ * MỤC ĐÍCH:
+ * - Đếm hit / miss / peak đúng, kho không giữ quá capacity
+ * - Bóng lấy lại từ kho (respawn) giống hệt bóng mới tạo, kể cả khi còn gắn với BallStore
+ */
+class ObjectPoolTest {
+
+    /**
+     * Test 1: Thống kê và giới hạn capacity
+     *
+     * KIỂM TRA:
+     * - prewarm không tính vào hit / miss; lấy hết đồ tạo sẵn rồi mới miss
+     * - Đối tượng trả về được lấy lại (LIFO); trả quá capacity thì bị bỏ
+     * - peak = số đối tượng đang dùng cao nhất
+     */
+    @Test
+    void testCountersAndCapacity() {
+        ObjectPool<StringBuilder> pool = new ObjectPool<>(StringBuilder::new, 2);
+        pool.prewarm(2);
+        assertEquals(2, pool.getFreeCount());
+
+        StringBuilder a = pool.acquire();
+        StringBuilder b = pool.acquire();
+        StringBuilder c = pool.acquire();
+        assertEquals(2, pool.getHits());
+        assertEquals(1, pool.getMisses());
+        assertEquals(3, pool.getPeakInUse());
+
+        pool.release(a);
+        pool.release(b);
+        pool.release(c);
+        assertEquals(2, pool.getFreeCount(), "Should keep at most capacity free objects");
+        assertEquals(0, pool.getInUse());
+        assertSame(b, pool.acquire());
+        assertEquals(3, pool.getHits());
+    }
+
+    /**
+     * Test 2: Ball.respawn trên bóng đang nằm trong BallStore
+     *
+     * KIỂM TRA:
+     * - Bóng được tách khỏi store, store không còn ghi đè trạng thái mới
+     * - Vị trí, vận tốc, trạng thái dính paddle, skin như bóng vừa tạo; spawnId tăng
+     */
+    @Test
+    void testBallRespawnMatchesNewBall() {
+        Ball ball = new Ball(300, 300, BALL_RADIUS, BALL_SPEED);
+        BallStore store = new BallStore();
+        store.sync(List.of(ball));
+        ball.launch(1, -1);
+        ball.applyOneshotSkin();
+        ball.setX(500);
+        int spawnId = ball.getSpawnId();
+
+        ball.respawn(100, 200, BALL_RADIUS * 2, BALL_SPEED / 2);
+        Ball fresh = new Ball(100, 200, BALL_RADIUS * 2, BALL_SPEED / 2);
+
+        assertFalse(ball.isFixedPoint());
+        assertEquals(fresh.getX(), ball.getX());
+        assertEquals(fresh.getY(), ball.getY());
+        assertEquals(fresh.getPrevX(), ball.getPrevX());
+        assertEquals(fresh.getPrevY(), ball.getPrevY());
+        assertEquals(fresh.getWidth(), ball.getWidth());
+        assertEquals(fresh.getRadius(), ball.getRadius());
+        assertEquals(fresh.speed, ball.speed);
+        assertEquals(0, ball.getVx());
+        assertEquals(0, ball.getVy());
+        assertTrue(ball.isStuck());
+        assertEquals(BALL_DEFAULT_SKIN, ball.getCurrentSkinResource());
+        assertEquals(spawnId + 1, ball.getSpawnId());
+
+        // Store cũ không còn giữ bóng: sync lại danh sách rỗng không đụng tới trạng thái mới
+        store.sync(List.of());
+        assertEquals(fresh.getX(), ball.getX());
+    }
+}
@@ -4,7 +4,6 @@ import gameconfig.GameConfig;
 import gameobject.brick.Brick;
 import gameobject.brick.StandardBrick;
 import gameobject.powerup.Powerup;
-import javafx.scene.layout.Pane;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -23,7 +22,6 @@ import static org.junit.jupiter.api.Assertions.*;
 class PowerUpManagerTest {
 
     private PowerUpManager powerUpManager;
-    private Pane testPane;
 
     /**
      * Setup: Chạy TRƯỚC MỖI TEST
@@ -31,8 +29,7 @@ class PowerUpManagerTest {
      */
     @BeforeEach
     void setUp() {
-        testPane = new Pane();
-        powerUpManager = new PowerUpManager(testPane);
+        powerUpManager = new PowerUpManager();
     }
 
     /**
@@ -66,7 +63,7 @@ class PowerUpManagerTest {
      * KIỂM TRA:
      * - Thử spawn 50 lần
      * - Với xác suất 20%, ít nhất phải spawn được 1 lần
-     * - Power-up spawn phải có node (ImageView)
+     * - Power-up spawn phải nằm chính giữa brick
      *
      * LƯU Ý: Test này có thể FAIL nếu RẤT KHÔN NGOAN (xác suất < 0.001%)
      */
@@ -80,7 +77,9 @@ class PowerUpManagerTest {
             Powerup result = powerUpManager.trySpawnPowerup(testBrick);
             if (result != null) {
                 spawnedAtLeastOnce = true;
-                assertNotNull(result.getNode(), "Spawned power-up should have a node");
+                assertEquals(100 + 50 / 2.0 - GameConfig.POWERUP_WIDTH / 2, result.getX(), 1e-9,
+                    "Spawned power-up should be centered on the brick");
+                assertEquals(100 + 20 / 2.0, result.getY(), 1e-9);
                 break; // Tìm thấy rồi → dừng vòng lặp
             }
         }
@@ -0,0 +1,39 @@
+package gamemanager.render;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TrailBufferTest - Vòng đệm vị trí đuôi bóng
+ */
+class TrailBufferTest {
+
+    /**
+     * Test 1: Đẩy 25 vị trí vào vòng đệm 10 ô, xóa rồi đẩy lại
+     *
+     * KIỂM TRA:
+     * - size() tăng tới capacity rồi giữ nguyên
+     * - x(age) / y(age) là vị trí đẩy vào cách đây age lần, kể cả khi vòng đệm đã quay vòng
+     * - clear() đưa size() về 0, lần đẩy sau là vị trí mới nhất
+     */
+    @Test
+    void testKeepsLatestPositionsInOrder() {
+        TrailBuffer trail = new TrailBuffer(10);
+        for (int i = 0; i < 25; i++) {
+            trail.push(i, -i);
+            assertEquals(Math.min(i + 1, 10), trail.size());
+            for (int age = 0; age < trail.size(); age++) {
+                assertEquals(i - age, trail.x(age));
+                assertEquals(-(i - age), trail.y(age));
+            }
+        }
+
+        trail.clear();
+        assertEquals(0, trail.size());
+        trail.push(100, 200);
+        assertEquals(1, trail.size());
+        assertEquals(100, trail.x(0));
+        assertEquals(200, trail.y(0));
+    }
+}
@@ -0,0 +1,87 @@
+package gamemanager.render;
+
+import gamemanager.core.LevelManager;
+import gamemanager.render.WorldSnapshot.EntityState;
+import gameobject.brick.Brick;
+import gameobject.brick.StandardBrick;
+import org.junit.jupiter.api.Test;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * WorldSnapshotTest - Lớp gạch chụp theo nhật ký gạch của LevelManager
+ */
+class WorldSnapshotTest {
+
+    /**
+     * Test 1: 3 snapshot chụp luân phiên (như TripleBuffer), "renderer" bỏ qua 1/2 số snapshot
+     *
+     * KIỂM TRA:
+     * - Renderer chỉ áp dụng đoạn nhật ký mới (changedBrickId / brickState) vẫn khớp gạch còn sống và hitCount
+     * - Sang level mới (epoch đổi) → dựng lại cả lớp
+     */
+    @Test
+    void testIncrementalBricksMatchLevel() {
+        LevelManager level = new LevelManager(new Random(3));
+        Random random = new Random(9);
+        WorldSnapshot[] snapshots = {new WorldSnapshot(), new WorldSnapshot(), new WorldSnapshot()};
+        Map<Object, Integer> drawn = new IdentityHashMap<>();
+        long epoch = -1;
+        int logPos = 0;
+
+        for (int round = 0; round < 3; round++) {
+            level.clearAllBricks();
+            for (int i = 0; i < 200; i++) {
+                level.addBrick(new StandardBrick(i % 20 * 50, i / 20 * 20, 46, 16));
+            }
+            for (int step = 0; step < 400; step++) {
+                List<Brick> bricks = level.getBricks();
+                if (!bricks.isEmpty()) {
+                    Brick brick = bricks.get(random.nextInt(bricks.size()));
+                    brick.hit();
+                    if (brick.getHitCount() == 0) {
+                        level.removeBrick(brick);
+                    } else {
+                        level.markBrickChanged(brick);
+                    }
+                }
+
+                WorldSnapshot snapshot = snapshots[step % 3];
+                snapshot.begin(1, step);
+                snapshot.captureBricks(level.getBrickEpoch(), level.getBricks(),
+                        level.getBrickLog(), level.getBrickLogSize());
+                if (step % 2 == 1) continue;
+
+                if (snapshot.getBrickEpoch() != epoch) {
+                    epoch = snapshot.getBrickEpoch();
+                    drawn.clear();
+                    for (int i = 0; i < snapshot.bricks.size(); i++) {
+                        EntityState state = snapshot.bricks.get(i);
+                        if (state.hitCount != 0) drawn.put(state.id, state.hitCount);
+                    }
+                } else {
+                    for (int i = logPos; i < snapshot.getBrickLogEnd(); i++) {
+                        Object id = snapshot.changedBrickId(i);
+                        EntityState state = snapshot.brickState(id);
+                        if (state == null || state.hitCount == 0) {
+                            drawn.remove(id);
+                        } else {
+                            drawn.put(id, state.hitCount);
+                        }
+                    }
+                }
+                logPos = snapshot.getBrickLogEnd();
+
+                assertEquals(level.getBricks().size(), drawn.size());
+                for (Brick brick : level.getBricks()) {
+                    assertEquals(brick.getHitCount(), drawn.get(brick));
+                }
+            }
+        }
+    }
+}
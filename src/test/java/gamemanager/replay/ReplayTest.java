@@ -0,0 +1,73 @@
+package gamemanager.replay;
+
+import gameconfig.GameConfig.GameMode;
+import gamemanager.core.EngineContext;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ReplayTest - Đọc file replay hỏng / bị sửa tay
+ *
+ * MỤC ĐÍCH:
+ * - Replay.read chỉ ném IOException, không ném lỗi runtime hay cấp phát theo độ dài tùy ý
+ * - ReplayPlayer không đọc quá mảng input khi thiếu record kết thúc
+ */
+class ReplayTest {
+    private static final int MODE_OFFSET = 13;
+    private static final int TICK_RATE_OFFSET = 18;
+    private static final int LENGTH_OFFSET = 58;
+
+    /**
+     * Test 1: Header và phần input không hợp lệ
+     *
+     * KIỂM TRA:
+     * - Mode ngoài phạm vi, tick rate 0, độ dài âm / rất lớn, input không có record kết thúc → IOException
+     * - File hợp lệ vẫn đọc được
+     * - ReplayPlayer trên input thiếu record kết thúc chạy hết số tick mà không lỗi
+     */
+    @Test
+    void testCorruptReplayIsRejected() throws IOException {
+        byte[] valid = encode(new byte[]{0, 2, 10, 0});
+        assertEquals(GameMode.ENDLESS, Replay.read(new ByteArrayInputStream(valid)).getMode());
+
+        assertRejected(patch(valid, MODE_OFFSET, new byte[]{99}));
+        assertRejected(patch(valid, TICK_RATE_OFFSET, ByteBuffer.allocate(4).putInt(0).array()));
+        assertRejected(patch(valid, LENGTH_OFFSET, ByteBuffer.allocate(4).putInt(-1).array()));
+        assertRejected(patch(valid, LENGTH_OFFSET, ByteBuffer.allocate(4).putInt(Integer.MAX_VALUE).array()));
+
+        byte[] noEnd = new byte[]{0, 2, 10, (byte) 0x83};
+        assertRejected(encode(noEnd));
+
+        ReplayPlayer player = new ReplayPlayer(replay(noEnd));
+        for (int i = 0; i < 20; i++) {
+            player.next();
+        }
+        assertTrue(player.isFinished());
+    }
+
+    private static void assertRejected(byte[] file) {
+        assertThrows(IOException.class, () -> Replay.read(new ByteArrayInputStream(file)));
+    }
+
+    private static Replay replay(byte[] data) {
+        return new Replay(1L, GameMode.ENDLESS, 1, EngineContext.defaults(), 1280, 720, 20, data);
+    }
+
+    private static byte[] encode(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        replay(data).write(out);
+        return out.toByteArray();
+    }
+
+    private static byte[] patch(byte[] file, int offset, byte[] bytes) {
+        byte[] copy = file.clone();
+        System.arraycopy(bytes, 0, copy, offset, bytes.length);
+        return copy;
+    }
+}
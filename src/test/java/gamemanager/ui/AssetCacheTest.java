@@ -0,0 +1,46 @@
+package gamemanager.ui;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AssetCacheTest - Cache tài nguyên dùng chung của ImageManager (không cần JavaFX: loader giả)
+ *
+ * MỤC ĐÍCH:
+ * - Mỗi đường dẫn chỉ được nạp 1 lần, các lần sau trả về cùng đối tượng
+ * - Đường dẫn không đọc được cũng chỉ thử 1 lần
+ */
+class AssetCacheTest {
+
+    /**
+     * Test 1: Nạp 1 lần, dùng chung
+     *
+     * KIỂM TRA:
+     * - Lần đầu miss (gọi loader), các lần sau hit và trả về cùng instance
+     * - Đường dẫn không đọc được (loader trả null) được nhớ: không gọi loader lại
+     */
+    @Test
+    void testLoadsOncePerPath() {
+        List<String> loaded = new ArrayList<>();
+        AssetCache<StringBuilder> cache = new AssetCache<>(path -> {
+            loaded.add(path);
+            return path.startsWith("/missing") ? null : new StringBuilder(path);
+        });
+
+        StringBuilder first = cache.get("/imageball/default.png");
+        for (int i = 0; i < 10; i++) {
+            assertSame(first, cache.get("/imageball/default.png"));
+        }
+        assertNull(cache.get("/missing.png"));
+        assertNull(cache.get("/missing.png"));
+
+        assertEquals(List.of("/imageball/default.png", "/missing.png"), loaded);
+        assertEquals(2, cache.getMisses());
+        assertEquals(11, cache.getHits());
+        assertEquals(0, cache.getEvictions());
+    }
+}
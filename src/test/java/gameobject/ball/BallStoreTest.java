@@ -0,0 +1,102 @@
+package gameobject.ball;
+
+import gamemanager.core.LevelManager;
+import gamemanager.manager.CollisionManager;
+import gameconfig.GameConfig.WallSideType;
+import gameobject.paddle.Paddle;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static gameconfig.GameConfig.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BallStoreTest - Tích phân và va chạm tường theo lô (SoA)
+ *
+ * MỤC ĐÍCH:
+ * - BallStore (bản vô hướng và SIMD) phải cho kết quả giống hệt từng bit
+ *   Ball.update() + CollisionManager.checkWallCollision() trên từng bóng
+ */
+class BallStoreTest {
+    private static final double TPF = 1.0 / 60;
+
+    /**
+     * Test 1: 1003 bóng ngẫu nhiên (có bóng dính paddle, bóng đang đi nốt bước), 120 tick
+     *
+     * KIỂM TRA:
+     * - Vị trí, vận tốc, điểm đầu đoạn CCD và tường chạm giống bản từng bóng ở mọi tick
+     * - Có cả NORTH/WEST/EAST/BOTTOM_HIT trong quá trình chạy
+     * - Bóng tách khỏi store giữ nguyên trạng thái cuối
+     */
+    @Test
+    void testStoreMatchesPerBallUpdate() {
+        List<BallKernel> kernels = new ArrayList<>();
+        kernels.add(BallKernel.scalar());
+        if (BallKernel.isVectorAvailable()) {
+            kernels.add(BallKernel.vector());
+        }
+        Paddle paddle = new Paddle(300, GAME_HEIGHT - 50, PADDLE_WIDTH, PADDLE_HEIGHT, PADDLE_SPEED);
+        CollisionManager collisionManager = new CollisionManager(new LevelManager(new Random(1)), new Random(2));
+
+        for (BallKernel kernel : kernels) {
+            List<Ball> expected = randomBalls(new Random(7), paddle);
+            List<Ball> actual = randomBalls(new Random(7), paddle);
+            BallStore store = new BallStore(kernel);
+            boolean[] seen = new boolean[WallSideType.values().length];
+
+            for (int tick = 0; tick < 120; tick++) {
+                store.sync(actual);
+                store.integrate(TPF, paddle, false);
+                store.collideWalls(GAME_WIDTH, GAME_HEIGHT, false);
+                for (int i = 0; i < expected.size(); i++) {
+                    Ball e = expected.get(i);
+                    e.update(TPF, paddle, false);
+                    WallSideType wall = collisionManager.checkWallCollision(e, GAME_WIDTH, GAME_HEIGHT);
+                    String where = kernel.name() + " tick " + tick + " ball " + i;
+                    assertEquals(wall, store.getWallHit(i), where);
+                    assertSameState(e, actual.get(i), where);
+                    if (wall != null) seen[wall.ordinal()] = true;
+                }
+            }
+            assertTrue(seen[WallSideType.NORTH.ordinal()] && seen[WallSideType.WEST.ordinal()]
+                    && seen[WallSideType.EAST.ordinal()] && seen[WallSideType.BOTTOM_HIT.ordinal()]);
+
+            Ball last = actual.get(actual.size() - 1);
+            double x = last.getX();
+            store.sync(actual.subList(0, actual.size() - 1));
+            assertEquals(x, last.getX());
+        }
+    }
+
+    private static List<Ball> randomBalls(Random random, Paddle paddle) {
+        List<Ball> balls = new ArrayList<>();
+        for (int i = 0; i < 1003; i++) {
+            Ball ball = new Ball(random.nextDouble() * GAME_WIDTH, random.nextDouble() * GAME_HEIGHT,
+                    BALL_RADIUS, BALL_SPEED);
+            if (i % 10 != 0) {
+                ball.launch(random.nextGaussian() * 4, random.nextGaussian() * 4);
+            }
+            if (i % 7 == 0) {
+                // Đang đi nốt bước sau 1 va chạm → bước sau nối tiếp đoạn cũ
+                ball.update(TPF, paddle, false);
+                ball.rewindTo(0.5, 0);
+                ball.completeStep();
+            }
+            balls.add(ball);
+        }
+        return balls;
+    }
+
+    private static void assertSameState(Ball expected, Ball actual, String where) {
+        assertEquals(expected.getX(), actual.getX(), where);
+        assertEquals(expected.getY(), actual.getY(), where);
+        assertEquals(expected.getVx(), actual.getVx(), where);
+        assertEquals(expected.getVy(), actual.getVy(), where);
+        assertEquals(expected.getPrevX(), actual.getPrevX(), where);
+        assertEquals(expected.getPrevY(), actual.getPrevY(), where);
+        assertEquals(expected.isStuck(), actual.isStuck(), where);
+    }
+}
@@ -0,0 +1,54 @@
+package gameobject.ball;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FixedPointTest - Số học Q32.32 của chế độ vật lý FIXED
+ *
+ * MỤC ĐÍCH:
+ * - mul / div / sqrt khớp phép tính double trong sai số làm tròn
+ * - Giá trị Q32.32 trong phạm vi màn chơi qua double không mất bit nào (Ball / BallStore lưu double)
+ */
+class FixedPointTest {
+    private static final double ULP = 0x1p-32;
+
+    /**
+     * Test 1: 100000 cặp số ngẫu nhiên trong [-2000, 2000]
+     *
+     * KIỂM TRA:
+     * - of(toDouble(x)) == x
+     * - mul, div lệch không quá vài 2^-32 (tương đối với độ lớn kết quả)
+     * - sqrt lệch không quá vài 2^-32, kể cả số rất nhỏ; sqrt(0) = 0
+     * - Chia cho số rất nhỏ bị chặn về Long.MAX_VALUE thay vì tràn; chia cho 0 ném ArithmeticException
+     */
+    @Test
+    void testArithmeticMatchesDouble() {
+        Random random = new Random(11);
+        for (int i = 0; i < 100_000; i++) {
+            long a = FixedPoint.of((random.nextDouble() - 0.5) * 4000);
+            long b = FixedPoint.of((random.nextDouble() - 0.5) * 4000);
+            double da = FixedPoint.toDouble(a);
+            double db = FixedPoint.toDouble(b);
+            assertEquals(a, FixedPoint.of(da));
+
+            double product = da * db;
+            if (Math.abs(product) < 1e9) {
+                assertEquals(product, FixedPoint.toDouble(FixedPoint.mul(a, b)), 2 * ULP);
+            }
+            double quotient = da / db;
+            if (Math.abs(quotient) < 1e9) {
+                assertEquals(quotient, FixedPoint.toDouble(FixedPoint.div(a, b)), 2 * ULP * Math.max(1, Math.abs(quotient)));
+            }
+            long square = Math.abs(a) >> random.nextInt(40);
+            assertEquals(Math.sqrt(FixedPoint.toDouble(square)), FixedPoint.toDouble(FixedPoint.sqrt(square)), 4 * ULP);
+        }
+        assertEquals(0, FixedPoint.sqrt(0));
+        assertEquals(FixedPoint.of(3), FixedPoint.sqrt(FixedPoint.of(9)));
+        assertEquals(Long.MAX_VALUE, FixedPoint.div(FixedPoint.of(1000), 1));
+        assertThrows(ArithmeticException.class, () -> FixedPoint.div(FixedPoint.ONE, 0));
+    }
+}